@@ -0,0 +1,105 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.benchmark;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
+import de.ovgu.featureide.fm.core.analysis.cnf.analysis.AtomicSetAnalysis;
+import de.ovgu.featureide.fm.core.analysis.cnf.analysis.BackboneAnalysis;
+import de.ovgu.featureide.fm.core.analysis.cnf.analysis.CoreDeadAnalysis;
+import de.ovgu.featureide.fm.core.analysis.cnf.formula.FeatureModelFormula;
+import de.ovgu.featureide.fm.core.analysis.mig.MIGBuilder;
+import de.ovgu.featureide.fm.core.analysis.mig.ModalImplicationGraph;
+import de.ovgu.featureide.fm.core.constraint.analysis.DeRestrictionFactory;
+import de.ovgu.featureide.fm.core.constraint.analysis.PBSolver;
+import de.ovgu.featureide.fm.core.constraint.analysis.SAT4JPBSolver;
+import de.ovgu.featureide.fm.core.constraint.analysis.Translator;
+import de.ovgu.featureide.fm.core.constraint.analysis.UniqueId;
+import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
+
+/**
+ * Benchmarks for the analyses of a feature model.<br> Each invocation uses a new {@link FeatureModelFormula}, such that no cached results are reused.
+ *
+ * @author agent
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AnalysisBenchmark {
+
+	@Benchmark
+	public Object analyzeFeatureModel(FeatureModelState state) {
+		return new FeatureModelFormula(state.featureModel).getAnalyzer().analyzeFeatureModel(null);
+	}
+
+	@Benchmark
+	public CNF createCNF(FeatureModelState state) {
+		return new FeatureModelFormula(state.featureModel).getCNF();
+	}
+
+	@Benchmark
+	public LiteralSet coreDeadAnalysis(FeatureModelState state) {
+		return LongRunningWrapper.runMethod(new CoreDeadAnalysis(state.cnf));
+	}
+
+	@Benchmark
+	public LiteralSet backboneAnalysis(FeatureModelState state) {
+		return LongRunningWrapper.runMethod(new BackboneAnalysis(state.cnf));
+	}
+
+	/**
+	 * Computes the backbone with the pseudo boolean solver. Includes the translation of the feature model into restrictions.
+	 */
+	@Benchmark
+	public Set<Integer> pbBackbone(FeatureModelState state) {
+		final HashMap<String, Integer> map = Translator.buildFeatureNameMap(state.featureModel, new UniqueId());
+		final PBSolver solver = new SAT4JPBSolver();
+		solver.addRestrictions(Translator.translateFm(map, state.featureModel, new DeRestrictionFactory()));
+		return solver.backbone(new HashSet<>(map.values()));
+	}
+
+	@Benchmark
+	public List<LiteralSet> atomicSetAnalysis(FeatureModelState state) {
+		return LongRunningWrapper.runMethod(new AtomicSetAnalysis(state.cnf));
+	}
+
+	@Benchmark
+	public ModalImplicationGraph buildMIG(FeatureModelState state) {
+		return LongRunningWrapper.runMethod(new MIGBuilder(state.cnf, true));
+	}
+
+}
@@ -0,0 +1,82 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.benchmark;
+
+import java.io.FileNotFoundException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
+import de.ovgu.featureide.fm.core.analysis.cnf.formula.FeatureModelFormula;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.init.FMCoreLibrary;
+import de.ovgu.featureide.fm.core.init.LibraryManager;
+import de.ovgu.featureide.fm.core.io.manager.FeatureModelManager;
+
+/**
+ * Shared benchmark state that loads one of the feature models from the {@code featuremodels} folder of the repository.<br> The folder can be changed
+ * via the system property {@value #MODELS_PROPERTY}.
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+public class FeatureModelState {
+
+	public static final String MODELS_PROPERTY = "featureide.benchmark.models";
+
+	private static final String DEFAULT_MODELS_PATH = "../../featuremodels";
+	private static final String MODEL_FILE_NAME = "model.xml";
+
+	@Param({ "GPLmedium", "E-Shop", "BerkeleyDB", "Violet", "WaterlooGenerated" })
+	public String model;
+
+	public IFeatureModel featureModel;
+	public FeatureModelFormula formula;
+	public CNF cnf;
+
+	@Setup(Level.Trial)
+	public void loadModel() throws FileNotFoundException {
+		LibraryManager.registerLibrary(FMCoreLibrary.getInstance());
+
+		final Path modelFile = getModelsPath().resolve(model).resolve(MODEL_FILE_NAME);
+		if (!Files.isReadable(modelFile)) {
+			throw new FileNotFoundException(modelFile.toString());
+		}
+		featureModel = FeatureModelManager.load(modelFile);
+		if (featureModel == null) {
+			throw new IllegalStateException("Could not load feature model " + modelFile);
+		}
+		formula = new FeatureModelFormula(featureModel);
+		cnf = formula.getCNF();
+	}
+
+	public static Path getModelsPath() {
+		return Paths.get(System.getProperty(MODELS_PROPERTY, DEFAULT_MODELS_PATH)).toAbsolutePath().normalize();
+	}
+
+}
@@ -0,0 +1,120 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.base.impl.DefaultFeatureModelFactory;
+import de.ovgu.featureide.fm.core.base.impl.MultiFeatureModelFactory;
+import de.ovgu.featureide.fm.core.io.ProblemList;
+import de.ovgu.featureide.fm.core.io.dimacs.DIMACSFormat;
+import de.ovgu.featureide.fm.core.io.uvl.UVLFeatureModelFormat;
+import de.ovgu.featureide.fm.core.io.xml.XmlFeatureModelFormat;
+
+/**
+ * Benchmarks for reading and writing feature models in the XML, UVL, and DIMACS format.<br> The serialized models are created once per trial, such
+ * that only the parsing and printing is measured.
+ *
+ * @author agent
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FormatBenchmark {
+
+	@State(Scope.Thread)
+	public static class SourceState {
+
+		public final XmlFeatureModelFormat xmlFormat = new XmlFeatureModelFormat();
+		public final UVLFeatureModelFormat uvlFormat = new UVLFeatureModelFormat();
+		public final DIMACSFormat dimacsFormat = new DIMACSFormat();
+
+		public String xmlSource;
+		public String uvlSource;
+		public String dimacsSource;
+
+		@Setup(Level.Trial)
+		public void writeSources(FeatureModelState state) {
+			xmlSource = xmlFormat.write(state.featureModel);
+			uvlSource = uvlFormat.write(state.featureModel);
+			dimacsSource = dimacsFormat.write(state.featureModel);
+		}
+
+	}
+
+	@Benchmark
+	public IFeatureModel readXML(SourceState source) {
+		final IFeatureModel featureModel = DefaultFeatureModelFactory.getInstance().create();
+		check(source.xmlFormat.getInstance().read(featureModel, source.xmlSource));
+		return featureModel;
+	}
+
+	@Benchmark
+	public String writeXML(FeatureModelState state, SourceState source) {
+		return source.xmlFormat.write(state.featureModel);
+	}
+
+	@Benchmark
+	public IFeatureModel readUVL(SourceState source) {
+		final IFeatureModel featureModel = MultiFeatureModelFactory.getInstance().create();
+		check(source.uvlFormat.getInstance().read(featureModel, source.uvlSource));
+		return featureModel;
+	}
+
+	@Benchmark
+	public String writeUVL(FeatureModelState state, SourceState source) {
+		return source.uvlFormat.write(state.featureModel);
+	}
+
+	@Benchmark
+	public IFeatureModel readDIMACS(SourceState source) {
+		final IFeatureModel featureModel = DefaultFeatureModelFactory.getInstance().create();
+		check(source.dimacsFormat.getInstance().read(featureModel, source.dimacsSource));
+		return featureModel;
+	}
+
+	@Benchmark
+	public String writeDIMACS(FeatureModelState state, SourceState source) {
+		return source.dimacsFormat.write(state.featureModel);
+	}
+
+	private static void check(ProblemList problems) {
+		if (problems.containsError()) {
+			throw new IllegalStateException(problems.getErrors().toString());
+		}
+	}
+
+}
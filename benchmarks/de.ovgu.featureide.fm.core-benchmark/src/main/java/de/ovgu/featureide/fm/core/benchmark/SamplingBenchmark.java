@@ -0,0 +1,123 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
+import de.ovgu.featureide.fm.core.analysis.cnf.generator.configuration.twise.TWiseConfigurationGenerator;
+import de.ovgu.featureide.fm.core.base.IFeature;
+import de.ovgu.featureide.fm.core.configuration.Configuration;
+import de.ovgu.featureide.fm.core.configuration.ConfigurationPropagator;
+import de.ovgu.featureide.fm.core.configuration.SelectableFeature;
+import de.ovgu.featureide.fm.core.configuration.Selection;
+import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
+
+/**
+ * Benchmarks for t-wise sampling and for the decision propagation in configurations.
+ *
+ * @author agent
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SamplingBenchmark {
+
+	/**
+	 * A configuration of the feature model together with a fixed sequence of manual decisions.
+	 */
+	@State(Scope.Thread)
+	public static class ConfigurationState {
+
+		private static final long SEED = 0;
+
+		@Param({ "10" })
+		public int decisions;
+
+		public Configuration configuration;
+		public ConfigurationPropagator propagator;
+		public List<String> decisionFeatures;
+
+		@Setup(Level.Trial)
+		public void createConfiguration(FeatureModelState state) {
+			configuration = new Configuration(state.formula);
+			propagator = new ConfigurationPropagator(state.formula, configuration);
+
+			final List<String> features = new ArrayList<>();
+			for (final IFeature feature : state.featureModel.getFeatures()) {
+				if (feature.getStructure().isConcrete()) {
+					features.add(feature.getName());
+				}
+			}
+			final Random random = new Random(SEED);
+			decisionFeatures = new ArrayList<>(decisions);
+			for (int i = 0; i < decisions; i++) {
+				decisionFeatures.add(features.get(random.nextInt(features.size())));
+			}
+		}
+
+	}
+
+	@Param({ "2" })
+	public int t;
+
+	@Benchmark
+	public List<LiteralSet> twiseSampling(FeatureModelState state) {
+		return LongRunningWrapper.runMethod(new TWiseConfigurationGenerator(state.cnf, t));
+	}
+
+	/**
+	 * Applies each decision that is still open and propagates it, as done by the configuration editor.
+	 */
+	@Benchmark
+	public Configuration propagateDecisions(ConfigurationState state) {
+		final Configuration configuration = state.configuration;
+		configuration.resetValues();
+		LongRunningWrapper.runMethod(state.propagator.update());
+		for (final String name : state.decisionFeatures) {
+			final SelectableFeature feature = configuration.getSelectableFeature(name);
+			if (feature.getSelection() == Selection.UNDEFINED) {
+				configuration.setManual(feature, Selection.SELECTED);
+				LongRunningWrapper.runMethod(state.propagator.update());
+			}
+		}
+		return configuration;
+	}
+
+}
@@ -47,17 +47,18 @@ import org.prop4j.Literal;
 import org.prop4j.Node;
 import org.prop4j.NodeReader;
 import org.prop4j.Not;
-import org.prop4j.SatSolver;
-import org.sat4j.specs.TimeoutException;
 
 import de.ovgu.featureide.core.CorePlugin;
 import de.ovgu.featureide.core.builder.ComposerExtensionClass;
+import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
+import de.ovgu.featureide.fm.core.analysis.cnf.Variables;
 import de.ovgu.featureide.fm.core.analysis.cnf.formula.FeatureModelFormula;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.NodeSatSolver;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.RuntimeTimeoutException;
 import de.ovgu.featureide.fm.core.base.FeatureUtils;
 import de.ovgu.featureide.fm.core.base.IFeature;
 import de.ovgu.featureide.fm.core.base.IFeatureModel;
 import de.ovgu.featureide.fm.core.configuration.Configuration;
-import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator;
 import de.ovgu.featureide.fm.core.explanations.preprocessors.InvariantPresenceConditionExplanation;
 import de.ovgu.featureide.fm.core.explanations.preprocessors.InvariantPresenceConditionExplanationCreator;
 import de.ovgu.featureide.fm.core.explanations.preprocessors.PreprocessorExplanationCreatorFactory;
@@ -116,6 +117,16 @@ public abstract class PPComposerExtensionClass extends ComposerExtensionClass {
 	 */
 	protected boolean voidFeatureModel;
 
+	/**
+	 * Solver for the feature model that is shared by all annotation checks of a build. Will be created in {@link #prepareFullBuild(Path)}.
+	 */
+	protected NodeSatSolver featureModelSolver;
+
+	/**
+	 * Solver for annotation checks without the feature model. Will be created in {@link #prepareFullBuild(Path)}.
+	 */
+	protected NodeSatSolver expressionSolver;
+
 	/**
 	 * Preprocessor name used for messages in build markers (must set in subclass).
 	 */
@@ -209,10 +220,12 @@ public abstract class PPComposerExtensionClass extends ComposerExtensionClass {
 			patternIsConcreteFeature = Pattern.compile(concreteFeatures.substring(0, concreteFeatures.length() - 1));
 		}
 
-		// create expression of feature model
+		// create solvers that are shared by all annotations
+		featureModelSolver = new NodeSatSolver(persistentFormula.getCNF());
+		expressionSolver = new NodeSatSolver(new CNF(new Variables()));
 		try {
-			voidFeatureModel = !new SatSolver(AdvancedNodeCreator.createNodes(featureModel), 1000).hasSolution();
-		} catch (final TimeoutException e) {
+			voidFeatureModel = !featureModelSolver.hasSolution();
+		} catch (final RuntimeTimeoutException e) {
 			voidFeatureModel = false;
 		}
 
@@ -240,14 +253,14 @@ public abstract class PPComposerExtensionClass extends ComposerExtensionClass {
 		}
 
 		try {
-			return isContradictionOrTautology(expression, AdvancedNodeCreator.createNodes(featureModel), nestedExpressions);
-		} catch (final TimeoutException e) {
+			return isContradictionOrTautology(expression, nestedExpressions);
+		} catch (final RuntimeTimeoutException e) {
 			CorePlugin.getDefault().logError(e);
 			return AnnotationStatus.NORMAL;
 		}
 	}
 
-	private AnnotationStatus isContradictionOrTautology(Node expression, Node featureModel, Node nestedExpressions) throws TimeoutException {
+	private AnnotationStatus isContradictionOrTautology(Node expression, Node nestedExpressions) {
 		if (voidFeatureModel) {
 			return AnnotationStatus.VOID;
 		}
@@ -255,23 +268,21 @@ public abstract class PPComposerExtensionClass extends ComposerExtensionClass {
 		/*
 		 * -SAT(expression)
 		 */
-		if (!new SatSolver(expression, 1000).hasSolution()) {
+		if (!expressionSolver.hasSolution(expression)) {
 			return AnnotationStatus.CONTRADICTION;
 		}
 
 		/*
 		 * -SAT(-expression)
 		 */
-		if (!new SatSolver(new Not(expression), 1000).hasSolution()) {
+		if (!expressionSolver.hasSolution(new Not(expression))) {
 			return AnnotationStatus.TAUTOLOGY;
 		}
 
-		final Node context = (nestedExpressions != null) ? new And(featureModel, nestedExpressions) : featureModel;
-
 		/*
 		 * -SAT(FM & nestedExpressions & expression)
 		 */
-		if (!new SatSolver(new And(context, expression), 1000).hasSolution()) {
+		if (!featureModelSolver.hasSolution(nestedExpressions, expression)) {
 			return AnnotationStatus.DEAD;
 		}
 
@@ -279,7 +290,7 @@ public abstract class PPComposerExtensionClass extends ComposerExtensionClass {
 		 * TAUT(FM & nestedExpressions => expression) = -SAT(-(FM & nestedExpressions => expression)) = -SAT(-(-(FM & nestedExpressions) | expression)) =
 		 * -SAT(-(-FM | -nestedExpressions | expression)) = -SAT(FM & nestedExpressions & -expression)
 		 */
-		if (!new SatSolver(new And(context, new Not(expression)), 1000).hasSolution()) {
+		if (!featureModelSolver.hasSolution(nestedExpressions, new Not(expression))) {
 			return AnnotationStatus.SUPERFLUOUS;
 		}
 
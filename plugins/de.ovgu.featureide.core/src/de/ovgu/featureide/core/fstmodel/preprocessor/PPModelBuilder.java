@@ -29,7 +29,13 @@ import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Scanner;
+import java.util.Set;
 import java.util.Vector;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.regex.Pattern;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IFolder;
@@ -50,6 +56,7 @@ import de.ovgu.featureide.core.signature.base.AbstractFieldSignature;
 import de.ovgu.featureide.core.signature.base.AbstractMethodSignature;
 import de.ovgu.featureide.core.signature.base.AbstractSignature;
 import de.ovgu.featureide.fm.core.base.FeatureUtils;
+import de.ovgu.featureide.fm.core.base.util.MultiStringMatcher;
 import de.ovgu.featureide.fm.core.functional.Functional;
 
 /**
@@ -60,12 +67,54 @@ import de.ovgu.featureide.fm.core.functional.Functional;
  */
 public class PPModelBuilder {
 
+	/**
+	 * Feature names that can only be referenced by a text that contains the name itself.
+	 */
+	private static final Pattern LITERAL_FEATURE_NAME = Pattern.compile("\\w+");
+
+	/**
+	 * Source file that is read and scanned for feature names before it is added to the model.
+	 */
+	private final class SourceFile implements Callable<Void> {
+
+		private final IFile file;
+		private final String className;
+
+		private Vector<String> lines;
+		private final List<String> features = new ArrayList<>();
+
+		private SourceFile(IFile file, String className) {
+			this.file = file;
+			this.className = className;
+		}
+
+		@Override
+		public Void call() {
+			final String text = getText(file);
+			final Set<String> candidates = featureNameMatcher.findAll(text);
+			for (final String feature : featureNames) {
+				if ((candidates.contains(feature) || !LITERAL_FEATURE_NAME.matcher(feature).matches()) && containsFeature(text, feature)) {
+					features.add(feature);
+				}
+			}
+			if (!features.isEmpty()) {
+				lines = PPComposerExtensionClass.loadStringsFromFile(file);
+			}
+			return null;
+		}
+
+	}
+
 	protected final IFeatureProject featureProject;
 
 	protected FSTModelForPP model;
 	protected FSTModel modelOutline;
 	protected Collection<String> featureNames = Collections.emptyList();
 
+	private MultiStringMatcher featureNameMatcher;
+
+	private int threads = Runtime.getRuntime().availableProcessors();
+
 	public PPModelBuilder(IFeatureProject featureProject) {
 		model = new FSTModelForPP(featureProject);
 		modelOutline = new FSTModel(featureProject);
@@ -83,6 +132,7 @@ public class PPModelBuilder {
 			model.addFeature(featureName);
 			modelOutline.addFeature(featureName);
 		}
+		featureNameMatcher = new MultiStringMatcher(featureNames);
 		try {
 			buildModel(featureProject.getSourceFolder(), featureProject.getSourcePath());
 		} catch (final CoreException e) {
@@ -91,6 +141,19 @@ public class PPModelBuilder {
 		featureProject.setFSTModel(model);
 	}
 
+	public int getThreads() {
+		return threads;
+	}
+
+	/**
+	 * Sets the number of threads that read and scan source files concurrently. The model itself is always built sequentially in the order of the files.
+	 *
+	 * @param threads the number of threads ({@code 1} disables concurrent scanning)
+	 */
+	public void setThreads(int threads) {
+		this.threads = Math.max(1, threads);
+	}
+
 	protected IFile currentFile = null;
 
 	/**
@@ -99,32 +162,57 @@ public class PPModelBuilder {
 	 * @throws CoreException
 	 */
 	private void buildModel(IFolder folder, String packageName) throws CoreException {
+		final List<SourceFile> sourceFiles = new ArrayList<>();
+		collectSourceFiles(folder, packageName, sourceFiles);
+		scanSourceFiles(sourceFiles);
+
+		for (final SourceFile sourceFile : sourceFiles) {
+			currentFile = sourceFile.file;
+			final String className = sourceFile.className;
+			if (!sourceFile.features.isEmpty()) {
+				for (final String feature : sourceFile.features) {
+					model.addRole(feature, model.getAbsoluteClassName(currentFile), currentFile);
+				}
+				final LinkedList<FSTDirective> directives = buildModelDirectivesForFile(sourceFile.lines);
+				addRoleElementsToDirectives(directives, currentFile, className);
+				addDirectivesToRoleElement(directives, currentFile, className);
+
+				addDirectivesToModel(directives, currentFile, className);
+			} else {
+				// add class without annotations
+				model.addClass(new FSTClass(className));
+			}
+		}
+	}
+
+	private void collectSourceFiles(IFolder folder, String packageName, List<SourceFile> sourceFiles) throws CoreException {
 		for (final IResource res : folder.members()) {
 			if (res instanceof IFolder) {
-				buildModel((IFolder) res, packageName.isEmpty() ? res.getName() : packageName + "/" + res.getName());
+				collectSourceFiles((IFolder) res, packageName.isEmpty() ? res.getName() : packageName + "/" + res.getName(), sourceFiles);
 			} else if (res instanceof IFile) {
-				currentFile = (IFile) res;
-				final String text = getText(currentFile);
-				final String className = packageName.isEmpty() ? res.getName() : packageName + "/" + res.getName();
-
-				final Vector<String> lines = PPComposerExtensionClass.loadStringsFromFile(currentFile);
-				boolean classAdded = false;
-				for (final String feature : featureNames) {
-					if (containsFeature(text, feature)) {
-						model.addRole(feature, model.getAbsoluteClassName(currentFile), currentFile);
-						classAdded = true;
-					}
-				}
-				if (classAdded) {
-					final LinkedList<FSTDirective> directives = buildModelDirectivesForFile(lines);
-					addRoleElementsToDirectives(directives, currentFile, className);
-					addDirectivesToRoleElement(directives, currentFile, className);
-
-					addDirectivesToModel(directives, currentFile, className);
-				} else {
-					// add class without annotations
-					model.addClass(new FSTClass(className));
+				sourceFiles.add(new SourceFile((IFile) res, packageName.isEmpty() ? res.getName() : packageName + "/" + res.getName()));
+			}
+		}
+	}
+
+	private void scanSourceFiles(List<SourceFile> sourceFiles) {
+		if ((threads > 1) && (sourceFiles.size() > 1)) {
+			final ForkJoinPool pool = new ForkJoinPool(threads);
+			try {
+				for (final Future<Void> future : pool.invokeAll(sourceFiles)) {
+					future.get();
 				}
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new RuntimeException(e);
+			} catch (final ExecutionException e) {
+				throw new RuntimeException(e.getCause());
+			} finally {
+				pool.shutdown();
+			}
+		} else {
+			for (final SourceFile sourceFile : sourceFiles) {
+				sourceFile.call();
 			}
 		}
 	}
@@ -269,7 +357,8 @@ public class PPModelBuilder {
 	}
 
 	/**
-	 * This method should be implemented by preprocessor plug-ins. Return true if the file contains the feature.
+	 * This method should be implemented by preprocessor plug-ins. Return true if the file contains the feature.<br> Is only called for features whose
+	 * name occurs in the text (or is not a plain identifier) and may be called concurrently for different files.
 	 *
 	 * @param text The file text.
 	 * @param feature The current feature.
@@ -0,0 +1,201 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.attributes.computations.impl;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.List;
+
+import de.ovgu.featureide.fm.attributes.base.IFeatureAttribute;
+import de.ovgu.featureide.fm.attributes.base.impl.DoubleFeatureAttribute;
+import de.ovgu.featureide.fm.attributes.base.impl.ExtendedFeature;
+import de.ovgu.featureide.fm.attributes.base.impl.LongFeatureAttribute;
+import de.ovgu.featureide.fm.core.analysis.cnf.IVariables;
+import de.ovgu.featureide.fm.core.analysis.cnf.formula.FeatureModelFormula;
+import de.ovgu.featureide.fm.core.base.IFeature;
+import de.ovgu.featureide.fm.core.configuration.CompactConfiguration;
+import de.ovgu.featureide.fm.core.configuration.Configuration;
+import de.ovgu.featureide.fm.core.constraint.analysis.SAT4JPBOptimizer;
+import de.ovgu.featureide.fm.core.constraint.analysis.SAT4JPBOptimizer.Optimum;
+
+/**
+ * Computes the exact minimal and maximal sum of a numerical attribute over all valid configurations, including cross-tree constraints.<br> The values of
+ * {@link LongFeatureAttribute long} and {@link DoubleFeatureAttribute double} attributes are scaled to the integer coefficients of an objective function
+ * over the CNF of the feature model. The optimizer keeps its solver, such that queries for a changed selection of a configuration are cheap.<br> Use
+ * {@link AttributeOptimizerCreator} to get the optimizer of a {@link FeatureModelFormula}.
+ *
+ * @author agent
+ */
+public class AttributeOptimizer {
+
+	/**
+	 * The optimal sum of an attribute and a configuration that achieves it.
+	 */
+	public static final class Result {
+
+		private final double value;
+		private final CompactConfiguration witness;
+		private final boolean optimal;
+
+		private Result(double value, CompactConfiguration witness, boolean optimal) {
+			this.value = value;
+			this.witness = witness;
+			this.optimal = optimal;
+		}
+
+		public double getValue() {
+			return value;
+		}
+
+		/**
+		 * @return a complete and valid configuration whose sum of the attribute equals {@link #getValue()}.
+		 */
+		public CompactConfiguration getWitness() {
+			return witness;
+		}
+
+		/**
+		 * @return {@code true} if the value was proven to be optimal, {@code false} if the solver reached its timeout before.
+		 */
+		public boolean isOptimal() {
+			return optimal;
+		}
+
+	}
+
+	/**
+	 * The maximal number of decimal places of double values that are considered.
+	 */
+	private static final int MAX_SCALE = 6;
+
+	private final FeatureModelFormula formula;
+	private final String attributeName;
+
+	private SAT4JPBOptimizer optimizer;
+	private int scale;
+
+	public AttributeOptimizer(FeatureModelFormula formula, String attributeName) {
+		this.formula = formula;
+		this.attributeName = attributeName;
+	}
+
+	public String getAttributeName() {
+		return attributeName;
+	}
+
+	/**
+	 * @param configuration the configuration whose selected and deselected features are fixed
+	 * @return the minimal sum of the attribute, or {@code null} if there is no valid configuration or the sum cannot be computed exactly
+	 */
+	public synchronized Result getMinimum(Configuration configuration) {
+		return optimize(configuration, false);
+	}
+
+	/**
+	 * @param configuration the configuration whose selected and deselected features are fixed
+	 * @return the maximal sum of the attribute, or {@code null} if there is no valid configuration or the sum cannot be computed exactly
+	 */
+	public synchronized Result getMaximum(Configuration configuration) {
+		return optimize(configuration, true);
+	}
+
+	private Result optimize(Configuration configuration, boolean maximize) {
+		try {
+			// attribute values can change without a new formula
+			updateCoefficients();
+		} catch (final ArithmeticException e) {
+			// the scaled values exceed the range of long
+			return null;
+		}
+		final int[] assumptions = getAssumptions(configuration);
+		final Optimum optimum = maximize ? optimizer.maximize(assumptions) : optimizer.minimize(assumptions);
+		if (optimum == null) {
+			return null;
+		}
+		return new Result(BigDecimal.valueOf(optimum.getValue(), scale).doubleValue(), CompactConfiguration.of(optimum.getSolution(), formula.getVariables()),
+				optimum.isOptimal());
+	}
+
+	private void updateCoefficients() {
+		final IVariables variables = formula.getVariables();
+		final BigDecimal[] values = new BigDecimal[variables.size()];
+		int newScale = 0;
+		for (final IFeature feature : formula.getFeatureModel().getFeatures()) {
+			final int variable = variables.getVariable(feature.getName());
+			if ((variable > 0) && (feature instanceof ExtendedFeature)) {
+				for (final IFeatureAttribute attribute : ((ExtendedFeature) feature).getAttributes()) {
+					final BigDecimal value = getValue(attribute);
+					if (value != null) {
+						values[variable - 1] = (values[variable - 1] == null) ? value : values[variable - 1].add(value);
+						newScale = Math.max(newScale, Math.min(MAX_SCALE, value.stripTrailingZeros().scale()));
+					}
+				}
+			}
+		}
+
+		final long[] coefficients = new long[values.length];
+		for (int i = 0; i < values.length; i++) {
+			if (values[i] != null) {
+				coefficients[i] = values[i].movePointRight(newScale).setScale(0, RoundingMode.HALF_UP).longValueExact();
+			}
+		}
+		scale = newScale;
+		if (optimizer == null) {
+			optimizer = new SAT4JPBOptimizer(formula.getCNF(), coefficients);
+		} else {
+			optimizer.setCoefficients(coefficients);
+		}
+	}
+
+	private BigDecimal getValue(IFeatureAttribute attribute) {
+		if (attribute.getName().equals(attributeName) && (attribute.getValue() != null)) {
+			if (attribute instanceof LongFeatureAttribute) {
+				return BigDecimal.valueOf((Long) attribute.getValue());
+			} else if (attribute instanceof DoubleFeatureAttribute) {
+				return BigDecimal.valueOf((Double) attribute.getValue());
+			}
+		}
+		return null;
+	}
+
+	private int[] getAssumptions(Configuration configuration) {
+		final IVariables variables = formula.getVariables();
+		final List<IFeature> selectedFeatures = configuration.getSelectedFeatures();
+		final List<IFeature> unselectedFeatures = configuration.getUnSelectedFeatures();
+		final int[] assumptions = new int[selectedFeatures.size() + unselectedFeatures.size()];
+		int length = 0;
+		for (final IFeature feature : selectedFeatures) {
+			final int variable = variables.getVariable(feature.getName());
+			if (variable > 0) {
+				assumptions[length++] = variable;
+			}
+		}
+		for (final IFeature feature : unselectedFeatures) {
+			final int variable = variables.getVariable(feature.getName());
+			if (variable > 0) {
+				assumptions[length++] = -variable;
+			}
+		}
+		return (length == assumptions.length) ? assumptions : Arrays.copyOf(assumptions, length);
+	}
+
+}
@@ -0,0 +1,156 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.attributes.outlineentry;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.swt.graphics.Image;
+
+import de.ovgu.featureide.fm.attributes.base.IFeatureAttribute;
+import de.ovgu.featureide.fm.attributes.base.impl.DoubleFeatureAttribute;
+import de.ovgu.featureide.fm.attributes.base.impl.LongFeatureAttribute;
+import de.ovgu.featureide.fm.attributes.computations.impl.AttributeOptimizer;
+import de.ovgu.featureide.fm.attributes.computations.impl.AttributeOptimizerCreator;
+import de.ovgu.featureide.fm.core.configuration.Configuration;
+import de.ovgu.featureide.fm.core.job.IRunner;
+import de.ovgu.featureide.fm.core.job.JobStartingStrategy;
+import de.ovgu.featureide.fm.core.job.JobToken;
+import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
+import de.ovgu.featureide.fm.ui.views.outline.IOutlineEntry;
+
+/**
+ * Outline entry for the minimal or maximal sum of a numeric attribute. The entry first shows an estimated sum and computes the exact sum in the
+ * background. Once the exact sum is known, the entry notifies its change listener.
+ *
+ * @author agent
+ */
+public abstract class AttributeOptimumEntry implements IOutlineEntry {
+
+	private static final String EST = " (est)";
+
+	/**
+	 * One token for each label and attribute, such that a new configuration cancels the pending computation for the previous one.
+	 */
+	private static final Map<String, JobToken> tokens = new ConcurrentHashMap<>();
+
+	IFeatureAttribute attribute;
+	Configuration config;
+	volatile Double result;
+	private volatile String labelSuffix = EST;
+	private volatile Consumer<IOutlineEntry> changeListener;
+
+	private final String label;
+
+	protected AttributeOptimumEntry(Configuration config, IFeatureAttribute attribute, String label) {
+		this.config = config;
+		this.attribute = attribute;
+		this.label = label;
+		result = estimate();
+		if (supportsType(null)) {
+			computeExactResult(config.clone());
+		}
+	}
+
+	/**
+	 * @return the estimated sum of the attribute for the current configuration
+	 */
+	protected abstract Double estimate();
+
+	/**
+	 * @param optimizer the optimizer of the attribute
+	 * @param configuration a copy of the current configuration
+	 * @return the exact sum of the attribute, or {@code null} if it cannot be computed
+	 */
+	protected abstract AttributeOptimizer.Result optimize(AttributeOptimizer optimizer, Configuration configuration);
+
+	private void computeExactResult(Configuration configuration) {
+		final IRunner<Boolean> runner = LongRunningWrapper.getRunner(monitor -> {
+			final AttributeOptimizer.Result optimum = optimize(getOptimizer(configuration), configuration);
+			if ((optimum != null) && optimum.isOptimal()) {
+				result = optimum.getValue();
+				labelSuffix = "";
+				final Consumer<IOutlineEntry> listener = changeListener;
+				if (listener != null) {
+					listener.accept(this);
+				}
+			}
+			return true;
+		}, label + attribute.getName());
+		runner.setPriority(Job.DECORATE);
+		final JobToken token = tokens.computeIfAbsent(label + attribute.getName(), key -> LongRunningWrapper.createToken(JobStartingStrategy.CANCEL_WAIT_ONE));
+		LongRunningWrapper.startJob(token, runner);
+	}
+
+	private AttributeOptimizer getOptimizer(Configuration configuration) {
+		return configuration.getFeatureModelFormula().getElement(new AttributeOptimizerCreator(attribute.getName()));
+	}
+
+	public Double getResult() {
+		return result;
+	}
+
+	@Override
+	public String getLabel() {
+		final Double currentResult = result;
+		if (attribute instanceof LongFeatureAttribute) {
+			return label + String.valueOf(currentResult.longValue()) + labelSuffix;
+		}
+		return label + currentResult.toString() + labelSuffix;
+	}
+
+	@Override
+	public Image getLabelImage() {
+		return null;
+	}
+
+	@Override
+	public boolean hasChildren() {
+		return false;
+	}
+
+	@Override
+	public List<IOutlineEntry> getChildren() {
+		return null;
+	}
+
+	@Override
+	public boolean supportsType(Object element) {
+		return attribute instanceof LongFeatureAttribute || attribute instanceof DoubleFeatureAttribute;
+	}
+
+	@Override
+	public void setConfig(Configuration config) {
+		this.config = config;
+	}
+
+	@Override
+	public void handleDoubleClick() {}
+
+	@Override
+	public void setChangeListener(Consumer<IOutlineEntry> listener) {
+		changeListener = listener;
+	}
+
+}
@@ -29,6 +29,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 
+import de.ovgu.featureide.fm.core.analysis.AnalysisResultCache;
+import de.ovgu.featureide.fm.core.analysis.AnalysisResultCache.KeyBuilder;
 import de.ovgu.featureide.fm.core.analysis.ConstraintProperties;
 import de.ovgu.featureide.fm.core.analysis.FeatureModelProperties;
 import de.ovgu.featureide.fm.core.analysis.FeatureProperties;
@@ -37,6 +39,7 @@ import de.ovgu.featureide.fm.core.analysis.cnf.IVariables;
 import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
 import de.ovgu.featureide.fm.core.analysis.cnf.Nodes;
 import de.ovgu.featureide.fm.core.analysis.cnf.analysis.AClauseAnalysis;
+import de.ovgu.featureide.fm.core.analysis.cnf.analysis.AVariableAnalysis;
 import de.ovgu.featureide.fm.core.analysis.cnf.analysis.AbstractAnalysis;
 import de.ovgu.featureide.fm.core.analysis.cnf.analysis.AnalysisResult;
 import de.ovgu.featureide.fm.core.analysis.cnf.analysis.AtomicSetAnalysis;
@@ -68,6 +71,7 @@ import de.ovgu.featureide.fm.core.explanations.fm.FalseOptionalFeatureExplanatio
 import de.ovgu.featureide.fm.core.explanations.fm.FeatureModelExplanationCreatorFactory;
 import de.ovgu.featureide.fm.core.explanations.fm.RedundantConstraintExplanation;
 import de.ovgu.featureide.fm.core.explanations.fm.RedundantConstraintExplanationCreator;
+import de.ovgu.featureide.fm.core.explanations.fm.impl.ParallelFeatureModelExplainer;
 import de.ovgu.featureide.fm.core.filter.HiddenFeatureFilter;
 import de.ovgu.featureide.fm.core.filter.OptionalFeatureFilter;
 import de.ovgu.featureide.fm.core.functional.Functional;
@@ -83,6 +87,28 @@ import de.ovgu.featureide.fm.core.job.monitor.NullMonitor;
  */
 public class AnalysesCollection {
 
+	private static int defaultParallelism = Runtime.getRuntime().availableProcessors();
+
+	/**
+	 * @return the parallelism of newly created collections.
+	 *
+	 * @see #setParallelism(int)
+	 */
+	public static int getDefaultParallelism() {
+		return defaultParallelism;
+	}
+
+	/**
+	 * Sets the parallelism of all collections that are created afterwards. The default value is the number of available processors.
+	 *
+	 * @param parallelism the number of solvers used in parallel
+	 *
+	 * @see #setParallelism(int)
+	 */
+	public static void setDefaultParallelism(int parallelism) {
+		defaultParallelism = Math.max(1, parallelism);
+	}
+
 	/**
 	 * Remembers results for analyzed features.
 	 */
@@ -131,6 +157,10 @@ public class AnalysesCollection {
 	 * Creates explanations for redundant constraints. Stored for performance so the underlying CNF is not recreated for every explanation.
 	 */
 	final RedundantConstraintExplanationCreator redundantConstraintExplanationCreator = explanationCreatorFactory.getRedundantConstraintExplanationCreator();
+	/**
+	 * The timeout in milliseconds for each explanation that is created for all defects at once.
+	 */
+	private int explanationTimeout = ParallelFeatureModelExplainer.DEFAULT_TIMEOUT;
 
 	static class StringToFeature implements Function<String, IFeature> {
 
@@ -153,6 +183,7 @@ public class AnalysesCollection {
 		private Object syncObject = new Object();
 		private IMonitor<R> monitor = new NullMonitor<>();
 		private boolean enabled = true;
+		private AnalysisResultCache resultCache;
 
 		private AnalysisResult<R> analysisResult;
 
@@ -182,14 +213,24 @@ public class AnalysesCollection {
 				this.monitor = monitor != null ? monitor : new NullMonitor<>();
 				R result = null;
 				if (curAnalysisResult == null) {
-					final AbstractAnalysis<R> analysisInstance = createNewAnalysis();
-					try {
-						result = LongRunningWrapper.runMethod(analysisInstance, this.monitor);
-						curAnalysisResult = result == null ? null : analysisInstance.getResult();
-					} catch (final MethodCancelException e) {
-
-					} catch (final Exception e) {
-						Logger.logError(e);
+					final String cacheKey = getCacheKey();
+					result = getCachedResult(cacheKey);
+					if (result != null) {
+						curAnalysisResult = new AnalysisResult<>(analysis.getName(), new LiteralSet(), result);
+						this.monitor.done();
+					} else {
+						final AbstractAnalysis<R> analysisInstance = createNewAnalysis();
+						try {
+							result = LongRunningWrapper.runMethod(analysisInstance, this.monitor);
+							curAnalysisResult = result == null ? null : analysisInstance.getResult();
+							if ((cacheKey != null) && (result != null) && !analysisInstance.isTimeoutOccured() && AnalysisResultCache.isSupported(result)) {
+								resultCache.put(cacheKey, result);
+							}
+						} catch (final MethodCancelException e) {
+
+						} catch (final Exception e) {
+							Logger.logError(e);
+						}
 					}
 					synchronized (this) {
 						if (curSyncObject == this.syncObject) {
@@ -224,6 +265,50 @@ public class AnalysesCollection {
 
 		protected void configureAnalysis(CNF cnf, A analysis) {}
 
+		/**
+		 * @return {@code true} if results of this analysis can be stored in an {@link AnalysisResultCache}.
+		 */
+		protected boolean isCacheable() {
+			return true;
+		}
+
+		/**
+		 * Adds all inputs of the analysis besides its CNF to the key of its result. Must be overridden by wrappers that override
+		 * {@link #configureAnalysis(CNF, AbstractAnalysis)}.
+		 */
+		protected void addCacheKeyInputs(CNF cnf, KeyBuilder key) {}
+
+		private String getCacheKey() {
+			if ((resultCache == null) || !isCacheable()) {
+				return null;
+			}
+			try {
+				final CNF cnf = getCNF();
+				final KeyBuilder key = new KeyBuilder(analysis.getName()).add(cnf);
+				addCacheKeyInputs(cnf, key);
+				return key.build();
+			} catch (final Exception e) {
+				Logger.logError(e);
+				return null;
+			}
+		}
+
+		@SuppressWarnings("unchecked")
+		private R getCachedResult(String cacheKey) {
+			if (cacheKey == null) {
+				return null;
+			}
+			try {
+				return (R) resultCache.get(cacheKey);
+			} catch (final ClassCastException e) {
+				return null;
+			}
+		}
+
+		public void setResultCache(AnalysisResultCache resultCache) {
+			this.resultCache = resultCache;
+		}
+
 		public void setFormula(FeatureModelFormula formula) {
 			this.formula = formula;
 		}
@@ -247,6 +332,29 @@ public class AnalysesCollection {
 
 	}
 
+	static class VariableAnalysisWrapper<R, A extends AVariableAnalysis<R>> extends AnalysisWrapper<R, A> {
+
+		private int parallelism = defaultParallelism;
+
+		public VariableAnalysisWrapper(Class<A> analysis) {
+			super(analysis);
+		}
+
+		@Override
+		protected void configureAnalysis(CNF cnf, A analysis) {
+			analysis.setParallelism(parallelism);
+		}
+
+		public int getParallelism() {
+			return parallelism;
+		}
+
+		public void setParallelism(int parallelism) {
+			this.parallelism = Math.max(1, parallelism);
+		}
+
+	}
+
 	static final class CauseAnalysisWrapper extends AConstraintAnalysisWrapper<List<Anomalies>, CauseAnalysis> {
 
 		private final AnalysisWrapper<LiteralSet, CoreDeadAnalysis> coreDeadAnalysis;
@@ -282,6 +390,11 @@ public class AnalysesCollection {
 			analysis.setRelevantConstraint(relevantConstraint);
 		}
 
+		@Override
+		protected boolean isCacheable() {
+			return false;
+		}
+
 		public void setRelevantConstraint(boolean[] relevantConstraint) {
 			this.relevantConstraint = relevantConstraint;
 		}
@@ -296,9 +409,17 @@ public class AnalysesCollection {
 
 		@Override
 		protected void configureAnalysis(CNF cnf, IndeterminedAnalysis analysis) {
-			final LiteralSet convertToVariables = cnf.getVariables()
+			analysis.setVariables(getHiddenVariables(cnf));
+		}
+
+		@Override
+		protected void addCacheKeyInputs(CNF cnf, KeyBuilder key) {
+			key.add(getHiddenVariables(cnf));
+		}
+
+		private LiteralSet getHiddenVariables(CNF cnf) {
+			return cnf.getVariables()
 					.convertToVariables(Functional.mapToList(formula.getFeatureModel().getFeatures(), new HiddenFeatureFilter(), IFeature::getName));
-			analysis.setVariables(convertToVariables);
 		}
 	}
 
@@ -324,6 +445,11 @@ public class AnalysesCollection {
 			analysis.setClauseGroupSize(clauseGroupSize);
 		}
 
+		@Override
+		protected void addCacheKeyInputs(CNF cnf, KeyBuilder key) {
+			key.add(constraintClauses).add(clauseGroupSize);
+		}
+
 	}
 
 	static class AConstraintAnalysisWrapper<R, A extends AbstractAnalysis<R>> extends AnalysisWrapper<R, A> {
@@ -371,13 +497,22 @@ public class AnalysesCollection {
 
 		@Override
 		protected void configureAnalysis(CNF cnf, IndependentRedundancyAnalysis analysis) {
+			analysis.setClauseList(getOptionalClauses(cnf));
+		}
+
+		@Override
+		protected void addCacheKeyInputs(CNF cnf, KeyBuilder key) {
+			key.add(getOptionalClauses(cnf));
+		}
+
+		private List<LiteralSet> getOptionalClauses(CNF cnf) {
 			final List<LiteralSet> literalSetList = new ArrayList<>();
 			final IVariables variables = cnf.getVariables();
 			for (final IFeature iFeature : optionalFeatures) {
 				literalSetList.add(new LiteralSet(variables.getVariable(FeatureUtils.getParent(iFeature).getName(), false),
 						variables.getVariable(iFeature.getName(), true)));
 			}
-			analysis.setClauseList(literalSetList);
+			return literalSetList;
 		}
 
 		public void setOptionalFeatures(List<IFeature> optionalFeatures) {
@@ -390,8 +525,8 @@ public class AnalysesCollection {
 
 	private FeatureModelFormula formula;
 	final AnalysisWrapper<Boolean, HasSolutionAnalysis> validAnalysis = new AnalysisWrapper<>(HasSolutionAnalysis.class);
-	final AnalysisWrapper<List<LiteralSet>, AtomicSetAnalysis> atomicSetAnalysis = new AnalysisWrapper<>(AtomicSetAnalysis.class);
-	final AnalysisWrapper<LiteralSet, CoreDeadAnalysis> coreDeadAnalysis = new AnalysisWrapper<>(CoreDeadAnalysis.class);
+	final VariableAnalysisWrapper<List<LiteralSet>, AtomicSetAnalysis> atomicSetAnalysis = new VariableAnalysisWrapper<>(AtomicSetAnalysis.class);
+	final VariableAnalysisWrapper<LiteralSet, CoreDeadAnalysis> coreDeadAnalysis = new VariableAnalysisWrapper<>(CoreDeadAnalysis.class);
 	final FalseOptionalAnalysisWrapper foAnalysis = new FalseOptionalAnalysisWrapper();
 	final AnalysisWrapper<LiteralSet, IndeterminedAnalysis> determinedAnalysis = new IndeterminesAnalzsisWrapper(IndeterminedAnalysis.class);
 	final ConstraintAnalysisWrapper<RemoveRedundancyAnalysis> constraintRedundancyAnalysis =
@@ -442,8 +577,10 @@ public class AnalysesCollection {
 
 	void init(FeatureModelFormula formula) {
 		this.formula = formula;
+		final AnalysisResultCache resultCache = AnalysisResultCache.getInstance(formula.getFeatureModel().getSourceFile());
 		for (final AnalysisWrapper<?, ?> analysisWrapper : list) {
 			analysisWrapper.setFormula(formula);
+			analysisWrapper.setResultCache(resultCache);
 		}
 
 		deadFeatureExplanationCreator.setFeatureModel(formula.getFeatureModel());
@@ -457,6 +594,33 @@ public class AnalysesCollection {
 		while (thisAnalysesIterator.hasNext()) {
 			thisAnalysesIterator.next().setEnabled(otherAnalysesIterator.next().isEnabled());
 		}
+		setParallelism(otherCollection.getParallelism());
+		setExplanationTimeout(otherCollection.getExplanationTimeout());
+	}
+
+	public int getParallelism() {
+		return coreDeadAnalysis.getParallelism();
+	}
+
+	/**
+	 * Defines how many solvers are used in parallel for computing core and dead features as well as atomic sets and for explaining all defects at once.
+	 * The default value is given by {@link #getDefaultParallelism()}. A value of {@code 1} uses a single solver and does not start any threads.
+	 */
+	public void setParallelism(int parallelism) {
+		coreDeadAnalysis.setParallelism(parallelism);
+		atomicSetAnalysis.setParallelism(parallelism);
+	}
+
+	public int getExplanationTimeout() {
+		return explanationTimeout;
+	}
+
+	/**
+	 * Defines the timeout in milliseconds for each explanation that is created for all defects at once. The default value is
+	 * {@link ParallelFeatureModelExplainer#DEFAULT_TIMEOUT}.
+	 */
+	public void setExplanationTimeout(int explanationTimeout) {
+		this.explanationTimeout = explanationTimeout;
 	}
 
 	/**
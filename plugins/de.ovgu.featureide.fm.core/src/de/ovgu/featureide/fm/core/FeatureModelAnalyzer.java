@@ -24,6 +24,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map.Entry;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -59,6 +60,7 @@ import de.ovgu.featureide.fm.core.explanations.fm.FalseOptionalFeatureExplanatio
 import de.ovgu.featureide.fm.core.explanations.fm.FalseOptionalFeatureExplanationCreator;
 import de.ovgu.featureide.fm.core.explanations.fm.RedundantConstraintExplanation;
 import de.ovgu.featureide.fm.core.explanations.fm.RedundantConstraintExplanationCreator;
+import de.ovgu.featureide.fm.core.explanations.fm.impl.ParallelFeatureModelExplainer;
 import de.ovgu.featureide.fm.core.filter.FeatureSetFilter;
 import de.ovgu.featureide.fm.core.filter.OptionalFeatureFilter;
 import de.ovgu.featureide.fm.core.functional.Functional;
@@ -587,6 +589,85 @@ public class FeatureModelAnalyzer implements IEventListener {
 		}
 	}
 
+	/**
+	 * Creates explanations for all dead features, false-optional features, and redundant constraints found by the last analysis at once. The explanations
+	 * are computed concurrently and remembered until the feature model changes. Defects that already have an explanation are skipped. Explanations that
+	 * could not be created (e.g., due to a timeout) are not remembered.<br> The number of threads and the timeout of each explanation are given by
+	 * {@link AnalysesCollection#getParallelism()} and {@link AnalysesCollection#getExplanationTimeout()}.
+	 *
+	 * @param monitor a monitor for tracking the progress
+	 */
+	public void createExplanations(IMonitor<ParallelFeatureModelExplainer.Result> monitor) {
+		final List<IFeature> deadFeatures = new ArrayList<>();
+		final List<IFeature> falseOptionalFeatures = new ArrayList<>();
+		final List<IConstraint> redundantConstraints = new ArrayList<>();
+		for (final IFeature feature : featureModel.getFeatures()) {
+			final FeatureProperties featureProperties = getFeatureProperties(feature);
+			if (featureProperties != null) {
+				if (featureProperties.hasStatus(FeatureStatus.DEAD) && (featureProperties.getDeadExplanation() == null)) {
+					deadFeatures.add(feature);
+				}
+				if (featureProperties.hasStatus(FeatureStatus.FALSE_OPTIONAL) && (featureProperties.getFalseOptionalExplanation() == null)) {
+					falseOptionalFeatures.add(feature);
+				}
+			}
+		}
+		for (final IConstraint constraint : constraints) {
+			final ConstraintProperties constraintProperties = getConstraintProperties(constraint);
+			if ((constraintProperties != null) && constraintProperties.hasStatus(ConstraintStatus.REDUNDANT)
+				&& (constraintProperties.getRedundantExplanation() == null)) {
+				redundantConstraints.add(constraint);
+			}
+		}
+		if (deadFeatures.isEmpty() && falseOptionalFeatures.isEmpty() && redundantConstraints.isEmpty()) {
+			return;
+		}
+
+		final ParallelFeatureModelExplainer explainer = new ParallelFeatureModelExplainer(analysesCollection.explanationCreatorFactory,
+				analysesCollection.deadFeatureExplanationCreator, analysesCollection.falseOptionalFeatureExplanationCreator,
+				analysesCollection.redundantConstraintExplanationCreator);
+		explainer.setThreads(analysesCollection.getParallelism());
+		explainer.setTimeout(analysesCollection.getExplanationTimeout());
+		explainer.addDeadFeatures(deadFeatures);
+		explainer.addFalseOptionalFeatures(falseOptionalFeatures);
+		explainer.addRedundantConstraints(redundantConstraints);
+		final ParallelFeatureModelExplainer.Result result = LongRunningWrapper.runMethod(explainer, monitor);
+		if (result == null) {
+			return;
+		}
+
+		for (final Entry<IFeature, DeadFeatureExplanation> entry : result.getDeadFeatureExplanations().entrySet()) {
+			if (entry.getValue() == null) {
+				continue;
+			}
+			final IFeature feature = entry.getKey();
+			synchronized (feature) {
+				getFeatureProperties(feature).setDeadExplanation(entry.getValue());
+			}
+			analysesCollection.deadFeatureExplanations.put(feature, entry.getValue());
+		}
+		for (final Entry<IFeature, FalseOptionalFeatureExplanation> entry : result.getFalseOptionalFeatureExplanations().entrySet()) {
+			if (entry.getValue() == null) {
+				continue;
+			}
+			final IFeature feature = entry.getKey();
+			synchronized (feature) {
+				getFeatureProperties(feature).setFalseOptionalExplanation(entry.getValue());
+			}
+			analysesCollection.falseOptionalFeatureExplanations.put(feature, entry.getValue());
+		}
+		for (final Entry<IConstraint, RedundantConstraintExplanation> entry : result.getRedundantConstraintExplanations().entrySet()) {
+			if (entry.getValue() == null) {
+				continue;
+			}
+			final IConstraint constraint = entry.getKey();
+			synchronized (constraint) {
+				getConstraintProperties(constraint).setRedundantExplanation(entry.getValue());
+			}
+			analysesCollection.redundantConstraintExplanations.put(constraint, entry.getValue());
+		}
+	}
+
 	/**
 	 * <p> Returns whether the conjunction of A always implies the disjunction of B in the current feature model. </p>
 	 *
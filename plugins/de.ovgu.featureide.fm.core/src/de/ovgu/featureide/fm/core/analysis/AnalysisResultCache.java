@@ -0,0 +1,345 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.analysis;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import de.ovgu.featureide.fm.core.Logger;
+import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
+import de.ovgu.featureide.fm.core.io.AnalysisResultCacheFormat;
+import de.ovgu.featureide.fm.core.io.FileSystem;
+import de.ovgu.featureide.fm.core.io.manager.AFileManager;
+import de.ovgu.featureide.fm.core.io.manager.SimpleFileHandler;
+
+/**
+ * Stores analysis results persistently next to a feature model file (see {@link AFileManager#constructExtraPath(Path, IPersistentFormat)}).<br>
+ * Each result is identified by a key that is computed from the analysis, its CNF, and its further inputs (see {@link KeyBuilder}). Thus, results
+ * are only reused as long as the feature model has the same formula. The cache keeps the {@link #MAX_ENTRIES most recently used} results.<br>
+ * Supported results are {@link Boolean Booleans}, {@link LiteralSet LiteralSets}, and lists of {@link LiteralSet LiteralSets}.<br> The cache is
+ * disabled by default and is enabled when running within Eclipse.
+ *
+ * @author agent
+ */
+public class AnalysisResultCache {
+
+	/**
+	 * Computes a key for an analysis result.<br> The key is a SHA-256 hash of all given inputs. CNFs are hashed in a canonical form, such that the
+	 * order of their clauses and of the literals within a clause does not matter.
+	 */
+	public static final class KeyBuilder {
+
+		private final MessageDigest digest;
+
+		public KeyBuilder(String analysisName) {
+			try {
+				digest = MessageDigest.getInstance("SHA-256");
+			} catch (final NoSuchAlgorithmException e) {
+				throw new RuntimeException(e);
+			}
+			add(analysisName);
+		}
+
+		public KeyBuilder add(String value) {
+			if (value == null) {
+				add(-1);
+			} else {
+				final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+				add(bytes.length);
+				digest.update(bytes);
+			}
+			return this;
+		}
+
+		public KeyBuilder add(int value) {
+			digest.update((byte) (value >>> 24));
+			digest.update((byte) (value >>> 16));
+			digest.update((byte) (value >>> 8));
+			digest.update((byte) value);
+			return this;
+		}
+
+		public KeyBuilder add(int[] values) {
+			if (values == null) {
+				add(-1);
+			} else {
+				add(values.length);
+				for (final int value : values) {
+					add(value);
+				}
+			}
+			return this;
+		}
+
+		public KeyBuilder add(LiteralSet literalSet) {
+			return add(literalSet == null ? null : literalSet.getLiterals());
+		}
+
+		public KeyBuilder add(List<LiteralSet> literalSets) {
+			if (literalSets == null) {
+				add(-1);
+			} else {
+				add(literalSets.size());
+				for (final LiteralSet literalSet : literalSets) {
+					add(literalSet);
+				}
+			}
+			return this;
+		}
+
+		public KeyBuilder add(CNF cnf) {
+			final String[] names = cnf.getVariables().getNames();
+			add(names.length);
+			for (final String name : names) {
+				add(name);
+			}
+
+			final int[][] clauses = new int[cnf.getClauses().size()][];
+			int i = 0;
+			for (final LiteralSet clause : cnf.getClauses()) {
+				final int[] literals = Arrays.copyOf(clause.getLiterals(), clause.size());
+				Arrays.sort(literals);
+				clauses[i++] = literals;
+			}
+			Arrays.sort(clauses, KeyBuilder::compare);
+			add(clauses.length);
+			for (final int[] clause : clauses) {
+				add(clause);
+			}
+			return this;
+		}
+
+		private static int compare(int[] a, int[] b) {
+			final int length = Math.min(a.length, b.length);
+			for (int i = 0; i < length; i++) {
+				final int diff = Integer.compare(a[i], b[i]);
+				if (diff != 0) {
+					return diff;
+				}
+			}
+			return Integer.compare(a.length, b.length);
+		}
+
+		public String build() {
+			final StringBuilder sb = new StringBuilder();
+			for (final byte b : digest.digest()) {
+				sb.append(Character.forDigit((b >>> 4) & 0xF, 16));
+				sb.append(Character.forDigit(b & 0xF, 16));
+			}
+			return sb.toString();
+		}
+
+	}
+
+	/**
+	 * Maximum number of results that are stored for one feature model.
+	 */
+	public static final int MAX_ENTRIES = 64;
+
+	private static final Map<Path, AnalysisResultCache> instances = new HashMap<>();
+
+	private static boolean enabled = false;
+
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Defines whether analysis results are stored persistently. Disabled by default.
+	 *
+	 * @param enabled {@code true} to enable the cache
+	 */
+	public static void setEnabled(boolean enabled) {
+		AnalysisResultCache.enabled = enabled;
+	}
+
+	/**
+	 * Returns the cache for the given feature model file.
+	 *
+	 * @param modelFile the path to the feature model file
+	 * @return the cache instance or {@code null} if the cache is disabled or no cache file can be constructed.
+	 */
+	public static AnalysisResultCache getInstance(Path modelFile) {
+		if (!enabled || (modelFile == null)) {
+			return null;
+		}
+		final Path absolutePath = modelFile.toAbsolutePath();
+		synchronized (instances) {
+			AnalysisResultCache cache = instances.get(absolutePath);
+			if (cache == null) {
+				try {
+					cache = new AnalysisResultCache(AFileManager.constructExtraPath(absolutePath, new AnalysisResultCacheFormat()));
+				} catch (final IllegalArgumentException e) {
+					return null;
+				}
+				instances.put(absolutePath, cache);
+			}
+			return cache;
+		}
+	}
+
+	/**
+	 * Checks whether a result can be stored in a cache.
+	 *
+	 * @param result the result
+	 * @return {@code true} if the result is a {@link Boolean}, a {@link LiteralSet}, or a list of {@link LiteralSet LiteralSets}.
+	 */
+	public static boolean isSupported(Object result) {
+		if ((result instanceof Boolean) || (result instanceof LiteralSet)) {
+			return true;
+		}
+		if (result instanceof List<?>) {
+			for (final Object element : (List<?>) result) {
+				if ((element != null) && !(element instanceof LiteralSet)) {
+					return false;
+				}
+			}
+			return true;
+		}
+		return false;
+	}
+
+	private final Path path;
+	private final LinkedHashMap<String, Object> results = new LinkedHashMap<String, Object>(16, 0.75f, true) {
+
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Entry<String, Object> eldest) {
+			return size() > MAX_ENTRIES;
+		}
+	};
+	private boolean loaded;
+
+	/**
+	 * Creates a cache without a file. Used for reading and writing cache files.
+	 */
+	public AnalysisResultCache() {
+		this(null);
+	}
+
+	private AnalysisResultCache(Path path) {
+		this.path = path;
+		loaded = path == null;
+	}
+
+	public Path getPath() {
+		return path;
+	}
+
+	/**
+	 * @param key the key of the result
+	 * @return the stored result or {@code null} if there is no result for the given key.
+	 */
+	public synchronized Object get(String key) {
+		load();
+		return copy(results.get(key));
+	}
+
+	/**
+	 * Stores a result and writes the cache file.
+	 *
+	 * @param key the key of the result
+	 * @param result the result
+	 *
+	 * @see #isSupported(Object)
+	 */
+	public synchronized void put(String key, Object result) {
+		if (!isSupported(result)) {
+			throw new IllegalArgumentException(String.valueOf(result));
+		}
+		load();
+		results.put(key, copy(result));
+		save();
+	}
+
+	/**
+	 * Stores a result without writing the cache file. Used when reading a cache file.
+	 *
+	 * @param key the key of the result
+	 * @param result the result
+	 */
+	public synchronized void add(String key, Object result) {
+		if (!isSupported(result)) {
+			throw new IllegalArgumentException(String.valueOf(result));
+		}
+		results.put(key, result);
+	}
+
+	/**
+	 * @return all stored results from the least recently used to the most recently used.
+	 */
+	public synchronized List<Entry<String, Object>> getEntries() {
+		return new ArrayList<>(results.entrySet());
+	}
+
+	public synchronized void clear() {
+		results.clear();
+	}
+
+	private static Object copy(Object result) {
+		if (result instanceof LiteralSet) {
+			return ((LiteralSet) result).clone();
+		} else if (result instanceof List<?>) {
+			final List<LiteralSet> list = new ArrayList<>(((List<?>) result).size());
+			for (final Object element : (List<?>) result) {
+				list.add(element == null ? null : ((LiteralSet) element).clone());
+			}
+			return list;
+		}
+		return result;
+	}
+
+	private void load() {
+		if (!loaded) {
+			loaded = true;
+			if (FileSystem.exists(path)) {
+				if (SimpleFileHandler.load(path, this, new AnalysisResultCacheFormat()).containsError()) {
+					results.clear();
+				}
+			}
+		}
+	}
+
+	private void save() {
+		if (path != null) {
+			try {
+				FileSystem.mkDir(path.getParent());
+			} catch (final IOException e) {
+				Logger.logError(e);
+				return;
+			}
+			SimpleFileHandler.save(path, this, new AnalysisResultCacheFormat());
+		}
+	}
+
+}
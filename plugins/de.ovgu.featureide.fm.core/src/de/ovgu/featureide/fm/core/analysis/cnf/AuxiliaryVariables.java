@@ -0,0 +1,149 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.analysis.cnf;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet.Order;
+
+/**
+ * Variables of a {@link CNF} that contains auxiliary variables, e.g., from a Tseitin encoding.<br> The original variables keep their IDs, the auxiliary
+ * variables are appended after them. Auxiliary variables cannot be looked up by name and are omitted when literals are converted to names.
+ *
+ * @author agent
+ */
+public class AuxiliaryVariables extends Variables {
+
+	private static final long serialVersionUID = 5160637433102937042L;
+
+	private static final String AUXILIARY_PREFIX = "__aux_";
+
+	protected final int numberOfOriginalVariables;
+
+	public AuxiliaryVariables(IVariables originalVariables, int numberOfAuxiliaryVariables) {
+		super(createNames(originalVariables, numberOfAuxiliaryVariables));
+		numberOfOriginalVariables = originalVariables.maxVariableID();
+		for (int i = numberOfOriginalVariables + 1; i < intToVar.length; i++) {
+			varToInt.remove(intToVar[i]);
+		}
+	}
+
+	protected AuxiliaryVariables(AuxiliaryVariables oldSatMapping) {
+		super(oldSatMapping);
+		numberOfOriginalVariables = oldSatMapping.numberOfOriginalVariables;
+	}
+
+	private static List<String> createNames(IVariables originalVariables, int numberOfAuxiliaryVariables) {
+		final List<String> originalNames = Arrays.asList(originalVariables.getNames()).subList(1, originalVariables.maxVariableID() + 1);
+		String prefix = AUXILIARY_PREFIX;
+		while (containsPrefix(originalNames, prefix)) {
+			prefix = "_" + prefix;
+		}
+		final List<String> names = new ArrayList<>(originalNames.size() + numberOfAuxiliaryVariables);
+		names.addAll(originalNames);
+		for (int i = 1; i <= numberOfAuxiliaryVariables; i++) {
+			names.add(prefix + i);
+		}
+		return names;
+	}
+
+	private static boolean containsPrefix(List<String> names, String prefix) {
+		for (final String name : names) {
+			if (name.startsWith(prefix)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @return the number of variables that are not auxiliary variables.
+	 */
+	public int getNumberOfOriginalVariables() {
+		return numberOfOriginalVariables;
+	}
+
+	/**
+	 * @return the number of auxiliary variables.
+	 */
+	public int getNumberOfAuxiliaryVariables() {
+		return maxVariableID() - numberOfOriginalVariables;
+	}
+
+	public boolean isAuxiliary(int literal) {
+		return Math.abs(literal) > numberOfOriginalVariables;
+	}
+
+	/**
+	 * Removes all literals of auxiliary variables from the given literal set (e.g., a solution).
+	 *
+	 * @param literals the literal set
+	 * @return a new literal set that only contains literals of original variables or the given set, if it does not contain any auxiliary variable.
+	 */
+	public LiteralSet removeAuxiliaryVariables(LiteralSet literals) {
+		final int[] oldLiterals = literals.getLiterals();
+		if (literals.getOrder() == Order.INDEX) {
+			return (oldLiterals.length > numberOfOriginalVariables)
+				? new LiteralSet(Arrays.copyOf(oldLiterals, numberOfOriginalVariables), Order.INDEX, false) : literals;
+		}
+		final int[] newLiterals = removeAuxiliaryVariables(oldLiterals);
+		return (newLiterals.length == oldLiterals.length) ? literals : new LiteralSet(newLiterals, literals.getOrder(), false);
+	}
+
+	private int[] removeAuxiliaryVariables(int[] literals) {
+		int count = 0;
+		for (final int literal : literals) {
+			if (!isAuxiliary(literal)) {
+				count++;
+			}
+		}
+		if (count == literals.length) {
+			return literals;
+		}
+		final int[] newLiterals = new int[count];
+		int i = 0;
+		for (final int literal : literals) {
+			if (!isAuxiliary(literal)) {
+				newLiterals[i++] = literal;
+			}
+		}
+		return newLiterals;
+	}
+
+	@Override
+	public List<String> convertToString(int[] literals, boolean includePositive, boolean includeNegative, boolean markNegative) {
+		return super.convertToString(removeAuxiliaryVariables(literals), includePositive, includeNegative, markNegative);
+	}
+
+	@Override
+	public AuxiliaryVariables clone() {
+		return new AuxiliaryVariables(this);
+	}
+
+	@Override
+	public String toString() {
+		return "AuxiliaryVariables [" + Arrays.toString(Arrays.copyOf(intToVar, numberOfOriginalVariables + 1)) + ", auxiliary="
+			+ getNumberOfAuxiliaryVariables() + "]";
+	}
+
+}
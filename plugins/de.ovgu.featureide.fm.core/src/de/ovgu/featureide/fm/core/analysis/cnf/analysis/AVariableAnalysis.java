@@ -35,6 +35,11 @@ public abstract class AVariableAnalysis<T> extends AbstractAnalysis<T> {
 
 	protected LiteralSet variables;
 
+	/**
+	 * The number of solvers that are used in parallel. A value of {@code 1} uses only the solver of this analysis.
+	 */
+	protected int parallelism = 1;
+
 	public AVariableAnalysis(ISatSolver solver) {
 		super(solver);
 	}
@@ -50,4 +55,28 @@ public abstract class AVariableAnalysis<T> extends AbstractAnalysis<T> {
 	public void setVariables(LiteralSet variables) {
 		this.variables = variables;
 	}
+
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	public void setParallelism(int parallelism) {
+		this.parallelism = Math.max(1, parallelism);
+	}
+
+	/**
+	 * Creates a tester for the current {@link #parallelism parallelism}. Falls back to the solver of this analysis if it cannot be cloned.
+	 *
+	 * @return a new tester, which must be {@link ParallelImplicationTester#dispose() disposed} after use
+	 */
+	ParallelImplicationTester createImplicationTester() {
+		if (parallelism > 1) {
+			final ParallelImplicationTester tester = new ParallelImplicationTester(solver, parallelism, getTimeout(), getRandom());
+			if (tester.prepare()) {
+				return tester;
+			}
+			tester.dispose();
+		}
+		return new ParallelImplicationTester(solver, 1, getTimeout(), getRandom());
+	}
 }
@@ -48,13 +48,27 @@ public class AtomicSetAnalysis extends AVariableAnalysis<List<LiteralSet>> {
 
 	@Override
 	public List<LiteralSet> analyze(IMonitor<List<LiteralSet>> monitor) throws Exception {
+		final ParallelImplicationTester tester = createImplicationTester();
+		try {
+			return analyze(tester, monitor);
+		} finally {
+			tester.dispose();
+		}
+	}
+
+	/**
+	 * Computes the atomic sets one after another. The satisfiability tests for each atomic set are left to the given tester, which may distribute them
+	 * over several solvers.
+	 */
+	private List<LiteralSet> analyze(ParallelImplicationTester tester, IMonitor<List<LiteralSet>> monitor) throws Exception {
 		final List<LiteralSet> result = new ArrayList<>();
 
 		solver.setSelectionStrategy(SelectionStrategy.POSITIVE);
-		final int[] model1 = solver.findSolution();
+		int[] model1 = solver.findSolution();
 		solver.useSolutionList(1000);
 
 		if (model1 != null) {
+			model1 = Arrays.copyOf(model1, model1.length);
 			solver.setSelectionStrategy(SelectionStrategy.NEGATIVE);
 			final int[] model2 = solver.findSolution();
 			solver.setSelectionStrategy(SelectionStrategy.POSITIVE);
@@ -64,43 +78,31 @@ public class AtomicSetAnalysis extends AVariableAnalysis<List<LiteralSet>> {
 			final int[] model1Copy = Arrays.copyOf(model1, model1.length);
 
 			LiteralSet.resetConflicts(model1Copy, model2);
-			for (int i = 0; i < model1Copy.length; i++) {
-				final int varX = model1Copy[i];
-				if (varX != 0) {
-					solver.assignmentPush(-varX);
-					switch (solver.hasSolution()) {
-					case FALSE:
-						done[i] = 2;
-						solver.assignmentReplaceLast(varX);
-						break;
-					case TIMEOUT:
-						solver.assignmentPop();
-						reportTimeout();
-						break;
-					case TRUE:
-						solver.assignmentPop();
-						LiteralSet.resetConflicts(model1Copy, solver.getSolution());
-						solver.shuffleOrder(getRandom());
-						break;
-					}
-				}
+			tester.setSelectionStrategy(SelectionStrategy.POSITIVE);
+			for (final int literal : tester.test(model1Copy, monitor)) {
+				done[Math.abs(literal) - 1] = 2;
+				solver.assignmentPush(literal);
+			}
+			if (tester.isTimeoutOccured()) {
+				reportTimeout();
 			}
 			final int fixedSize = solver.getAssignmentSize();
 			result.add(new LiteralSet(solver.getAssignmentArray(0, fixedSize)));
 
 			solver.setSelectionStrategy(SelectionStrategy.RANDOM);
+			tester.setSelectionStrategy(SelectionStrategy.RANDOM);
 
 			for (int i = 0; i < model1.length; i++) {
 				if (done[i] == 0) {
 					done[i] = 2;
 
-					// int c = 0;
 					int[] xModel0 = Arrays.copyOf(model1, model1.length);
 
 					final int mx0 = xModel0[i];
 					solver.assignmentPush(mx0);
 					final RingList<int[]> solutions = solver.getSolutionList();
 
+					final int[] candidates = new int[xModel0.length];
 					inner: for (int j = i + 1; j < xModel0.length; j++) {
 						final int my0 = xModel0[j];
 						if ((my0 != 0) && (done[j] == 0)) {
@@ -112,24 +114,15 @@ public class AtomicSetAnalysis extends AVariableAnalysis<List<LiteralSet>> {
 									continue inner;
 								}
 							}
-
-							solver.assignmentPush(-my0);
-
-							switch (solver.hasSolution()) {
-							case FALSE:
-								done[j] = 1;
-								break;
-							case TIMEOUT:
-								reportTimeout();
-								break;
-							case TRUE:
-								LiteralSet.resetConflicts(xModel0, solver.getSolution());
-								solver.shuffleOrder(getRandom());
-								break;
-							}
-							solver.assignmentPop();
+							candidates[j] = my0;
 						}
 					}
+					for (final int literal : tester.test(candidates, monitor)) {
+						done[Math.abs(literal) - 1] = 1;
+					}
+					if (tester.isTimeoutOccured()) {
+						reportTimeout();
+					}
 
 					solver.assignmentPop();
 					solver.assignmentPush(-mx0);
@@ -148,34 +141,23 @@ public class AtomicSetAnalysis extends AVariableAnalysis<List<LiteralSet>> {
 						break;
 					}
 
+					final int[] equivalentCandidates = new int[xModel0.length];
 					for (int j = i + 1; j < xModel0.length; j++) {
 						if (done[j] == 1) {
 							final int my0 = xModel0[j];
 							if (my0 != 0) {
-								solver.assignmentPush(-my0);
-
-								switch (solver.hasSolution()) {
-								case FALSE:
-									done[j] = 2;
-									solver.assignmentReplaceLast(my0);
-									break;
-								case TIMEOUT:
-									done[j] = 0;
-									solver.assignmentPop();
-									reportTimeout();
-									break;
-								case TRUE:
-									done[j] = 0;
-									LiteralSet.resetConflicts(xModel0, solver.getSolution());
-									solver.shuffleOrder(getRandom());
-									solver.assignmentPop();
-									break;
-								}
-							} else {
-								done[j] = 0;
+								equivalentCandidates[j] = my0;
 							}
+							done[j] = 0;
 						}
 					}
+					for (final int literal : tester.test(equivalentCandidates, monitor)) {
+						done[Math.abs(literal) - 1] = 2;
+						solver.assignmentPush(literal);
+					}
+					if (tester.isTimeoutOccured()) {
+						reportTimeout();
+					}
 
 					result.add(new LiteralSet(solver.getAssignmentArray(fixedSize, solver.getAssignmentSize())));
 					solver.assignmentClear(fixedSize);
@@ -0,0 +1,203 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.analysis.cnf.analysis;
+
+import java.util.Arrays;
+
+import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.ISatSolver;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.ISimpleSatSolver.SatResult;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.ModifiableSatSolver;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.RuntimeContradictionException;
+import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
+
+/**
+ * Finds core and dead features using a {@link BackboneEngine}.<br> Yields the same result as {@link CoreDeadAnalysis}, but additionally exploits the
+ * unsatisfiable cores of the solver.
+ *
+ * @author agent
+ */
+public class BackboneAnalysis extends AVariableAnalysis<LiteralSet> {
+
+	private int chunkSize = BackboneEngine.DEFAULT_CHUNK_SIZE;
+	private boolean useCores = false;
+
+	private int numberOfSolverCalls;
+
+	public BackboneAnalysis(ISatSolver solver) {
+		this(solver, null);
+	}
+
+	public BackboneAnalysis(CNF satInstance) {
+		this(satInstance, null);
+	}
+
+	public BackboneAnalysis(CNF satInstance, LiteralSet variables) {
+		super(satInstance);
+		this.variables = variables;
+	}
+
+	public BackboneAnalysis(ISatSolver solver, LiteralSet variables) {
+		super(solver);
+		this.variables = variables;
+	}
+
+	public int getChunkSize() {
+		return chunkSize;
+	}
+
+	public void setChunkSize(int chunkSize) {
+		this.chunkSize = chunkSize;
+	}
+
+	public boolean isUseCores() {
+		return useCores;
+	}
+
+	/**
+	 * @see BackboneEngine#setUseCores(boolean)
+	 */
+	public void setUseCores(boolean useCores) {
+		this.useCores = useCores;
+	}
+
+	/**
+	 * @return the number of solver calls of the last execution.
+	 */
+	public int getNumberOfSolverCalls() {
+		return numberOfSolverCalls;
+	}
+
+	@Override
+	protected ISatSolver initSolver(CNF satInstance) {
+		try {
+			return new ModifiableSatSolver(satInstance);
+		} catch (final RuntimeContradictionException e) {
+			return null;
+		}
+	}
+
+	@Override
+	protected LiteralSet analyze(IMonitor<LiteralSet> monitor) throws Exception {
+		final int initialAssignmentLength = solver.getAssignmentSize();
+		final int numberOfVariables = solver.getSatInstance().getVariables().size();
+
+		final boolean[] assigned = new boolean[numberOfVariables + 1];
+		for (int i = 0; i < initialAssignmentLength; i++) {
+			assigned[Math.abs(solver.assignmentGet(i))] = true;
+		}
+		final int[] candidates = new int[numberOfVariables];
+		int candidateCount = 0;
+		if (variables != null) {
+			for (final int literal : variables.getLiterals()) {
+				final int var = Math.abs(literal);
+				if ((var > 0) && !assigned[var]) {
+					candidates[candidateCount++] = var;
+				}
+			}
+		} else {
+			for (int var = 1; var <= numberOfVariables; var++) {
+				if (!assigned[var]) {
+					candidates[candidateCount++] = var;
+				}
+			}
+		}
+
+		final BackboneEngine engine = new BackboneEngine(new SolverOracle());
+		engine.setChunkSize(chunkSize);
+		engine.setUseCores(useCores);
+		final int[] backbone = engine.compute(Arrays.copyOf(candidates, candidateCount));
+		numberOfSolverCalls = engine.getNumberOfSolverCalls();
+		if (backbone == null) {
+			return new LiteralSet();
+		}
+
+		for (final int literal : backbone) {
+			solver.assignmentPush(literal);
+			monitor.invoke(new LiteralSet(literal));
+		}
+		if (engine.isTimeoutOccurred()) {
+			reportTimeout();
+		}
+		return new LiteralSet(solver.getAssignmentArray(initialAssignmentLength, solver.getAssignmentSize()));
+	}
+
+	/**
+	 * Passes the assumptions and the clause of the engine to the solver of this analysis and restores the solver afterwards. After the first solution, the
+	 * solver prefers the opposite assignment, such that further solutions remove as many candidates as possible.
+	 */
+	private final class SolverOracle implements BackboneEngine.IOracle {
+
+		private boolean firstSolution = true;
+		private int[] solution;
+		/**
+		 * Whether the solver has an unsatisfiable core for the last call.
+		 */
+		private boolean unsatCoreAvailable;
+
+		@Override
+		public SatResult solve(int[] assumptions, int[] clause) {
+			unsatCoreAvailable = false;
+			final int assignmentSize = solver.getAssignmentSize();
+			solver.assignmentPushAll(assumptions);
+			try {
+				if (clause != null) {
+					try {
+						solver.addInternalClause(new LiteralSet(clause));
+					} catch (final RuntimeContradictionException e) {
+						return SatResult.FALSE;
+					}
+				}
+				final SatResult result = solver.hasSolution();
+				// sat4j explains an unsatisfiable result only in terms of the assumptions, if the formula is satisfiable without them, which an
+				// additional clause may change
+				unsatCoreAvailable = (result == SatResult.FALSE) && !firstSolution && (clause == null) && (solver.getAssignmentSize() > 0);
+				if (result == SatResult.TRUE) {
+					solution = Arrays.copyOf(solver.getSolution(), solver.getSolution().length);
+					if (firstSolution) {
+						firstSolution = false;
+						solver.setSelectionStrategy(solution, true);
+					}
+					solver.shuffleOrder(getRandom());
+				}
+				if (clause != null) {
+					solver.removeLastClause();
+				}
+				return result;
+			} finally {
+				solver.assignmentClear(assignmentSize);
+			}
+		}
+
+		@Override
+		public int[] getSolution() {
+			return solution;
+		}
+
+		@Override
+		public int[] getUnsatCore() {
+			return unsatCoreAvailable ? solver.getContradictoryAssignment() : null;
+		}
+
+	}
+
+}
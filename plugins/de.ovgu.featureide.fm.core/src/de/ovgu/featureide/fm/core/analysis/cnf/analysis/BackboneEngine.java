@@ -0,0 +1,369 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.analysis.cnf.analysis;
+
+import java.util.Arrays;
+
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.ISimpleSatSolver.SatResult;
+
+/**
+ * Computes the backbone of a satisfiable formula, i.e., all literals that are true in every solution.<br> The engine only needs a solver that can be queried
+ * under assumptions (see {@link IOracle}), such that it can be used with the CNF solvers as well as with the pseudo boolean solver. To save solver calls, it
+ * <ul>
+ * <li>removes every candidate that is assigned differently in any found solution (model filtering),</li>
+ * <li>tests the candidates in chunks, which are only split if one of their candidates can be flipped (chunking), and</li>
+ * <li>optionally assumes the negations of all candidates at once and uses the unsatisfiable cores to identify backbone literals (core-based
+ * elimination).</li>
+ * </ul>
+ *
+ * @author agent
+ */
+public class BackboneEngine {
+
+	/**
+	 * A solver that can be queried under assumptions.
+	 */
+	public interface IOracle {
+
+		/**
+		 * @param assumptions the literals that are assumed to be true for this call only
+		 * @param clause a clause that must be satisfied for this call only, or {@code null}. Contains at least two literals.
+		 * @return the result of the satisfiability check
+		 */
+		SatResult solve(int[] assumptions, int[] clause);
+
+		/**
+		 * @return the solution of the last call of {@link #solve(int[], int[])} that returned {@link SatResult#TRUE}. The literal of variable {@code v} must be
+		 *         at index {@code v - 1}.
+		 */
+		int[] getSolution();
+
+		/**
+		 * @return a subset of the assumptions of the last call of {@link #solve(int[], int[])} that returned {@link SatResult#FALSE}, which is already
+		 *         unsatisfiable. May be {@code null} or empty, if the solver does not provide one.
+		 */
+		int[] getUnsatCore();
+
+	}
+
+	public static final int DEFAULT_CHUNK_SIZE = 64;
+
+	private final IOracle oracle;
+
+	private int chunkSize = DEFAULT_CHUNK_SIZE;
+	private boolean useCores = false;
+
+	private boolean timeoutOccurred;
+	private int numberOfSolverCalls;
+
+	/**
+	 * The current candidate literal of each variable, or {@code 0} if the variable is no (longer a) candidate.
+	 */
+	private int[] candidates;
+	private int[] backbone;
+	private int backboneSize;
+
+	public BackboneEngine(IOracle oracle) {
+		this.oracle = oracle;
+	}
+
+	public int getChunkSize() {
+		return chunkSize;
+	}
+
+	/**
+	 * @param chunkSize the maximum number of candidates that are tested with a single solver call. A value of {@code 1} tests each candidate individually.
+	 */
+	public void setChunkSize(int chunkSize) {
+		this.chunkSize = Math.max(1, chunkSize);
+	}
+
+	public boolean isUseCores() {
+		return useCores;
+	}
+
+	/**
+	 * @param useCores whether the unsatisfiable cores of the solver are used to identify backbone literals before the candidates are tested in chunks. This
+	 *        mainly pays off for formulas with large backbones. For typical feature models, chunking alone needs fewer solver calls.
+	 */
+	public void setUseCores(boolean useCores) {
+		this.useCores = useCores;
+	}
+
+	/**
+	 * @return whether a candidate was skipped during the last computation, because the solver reached its timeout.
+	 */
+	public boolean isTimeoutOccurred() {
+		return timeoutOccurred;
+	}
+
+	/**
+	 * @return the number of solver calls of the last computation.
+	 */
+	public int getNumberOfSolverCalls() {
+		return numberOfSolverCalls;
+	}
+
+	/**
+	 * Computes which of the given variables belong to the backbone.
+	 *
+	 * @param variables the (positive) indices of the variables to examine
+	 * @return the backbone literals of the given variables in the order in which they were found, or {@code null} if the formula is unsatisfiable
+	 */
+	public int[] compute(int[] variables) {
+		timeoutOccurred = false;
+		numberOfSolverCalls = 0;
+
+		switch (solve(new int[0], null)) {
+		case FALSE:
+			return null;
+		case TIMEOUT:
+			timeoutOccurred = true;
+			return new int[0];
+		case TRUE:
+		default:
+			break;
+		}
+
+		int maxVariable = 0;
+		for (final int variable : variables) {
+			maxVariable = Math.max(maxVariable, Math.abs(variable));
+		}
+		candidates = new int[maxVariable + 1];
+		backbone = new int[variables.length];
+		backboneSize = 0;
+
+		final int[] solution = oracle.getSolution();
+		int[] order = new int[variables.length];
+		int orderLength = 0;
+		for (final int variable : variables) {
+			final int var = Math.abs(variable);
+			if ((var != 0) && (candidates[var] == 0)) {
+				final int literal = getLiteral(solution, var);
+				if (literal != 0) {
+					candidates[var] = literal;
+					order[orderLength++] = var;
+				}
+			}
+		}
+		order = Arrays.copyOf(order, orderLength);
+
+		if (useCores) {
+			order = eliminateByCores(order);
+		}
+		for (int start = 0; start < order.length; start += chunkSize) {
+			testChunk(Arrays.copyOfRange(order, start, Math.min(start + chunkSize, order.length)));
+		}
+
+		final int[] result = Arrays.copyOf(backbone, backboneSize);
+		candidates = null;
+		backbone = null;
+		return result;
+	}
+
+	/**
+	 * Repeatedly assumes the negations of all remaining candidates. A solution removes all of them, an unsatisfiable core with a single candidate yields a
+	 * backbone literal, and the candidates of any other core are deferred.
+	 *
+	 * @return the deferred candidates
+	 */
+	private int[] eliminateByCores(int[] order) {
+		final int[] deferred = new int[order.length];
+		int deferredLength = 0;
+		int[] remaining = order;
+		while (true) {
+			final int length = retainCandidates(remaining);
+			if (length <= 1) {
+				if (length == 1) {
+					deferred[deferredLength++] = remaining[0];
+				}
+				break;
+			}
+			final SatResult result = solve(getAssumptions(remaining, length), null);
+			if (result == SatResult.TRUE) {
+				filter(oracle.getSolution());
+				continue;
+			}
+			final int[] coreVariables = (result == SatResult.FALSE) ? getCoreVariables(remaining, length) : new int[0];
+			if (coreVariables.length == 1) {
+				addBackbone(coreVariables[0]);
+				remaining = Arrays.copyOf(remaining, length);
+			} else if (coreVariables.length > 0) {
+				System.arraycopy(coreVariables, 0, deferred, deferredLength, coreVariables.length);
+				deferredLength += coreVariables.length;
+				remaining = removeSubsequence(remaining, length, coreVariables);
+			} else {
+				System.arraycopy(remaining, 0, deferred, deferredLength, length);
+				deferredLength += length;
+				break;
+			}
+		}
+		return Arrays.copyOf(deferred, deferredLength);
+	}
+
+	/**
+	 * Removes the given subsequence from the first {@code length} elements of an array.
+	 */
+	private static int[] removeSubsequence(int[] vars, int length, int[] subsequence) {
+		final int[] rest = new int[length - subsequence.length];
+		int restLength = 0;
+		int subsequenceIndex = 0;
+		for (int i = 0; i < length; i++) {
+			if ((subsequenceIndex < subsequence.length) && (vars[i] == subsequence[subsequenceIndex])) {
+				subsequenceIndex++;
+			} else {
+				rest[restLength++] = vars[i];
+			}
+		}
+		return rest;
+	}
+
+	/**
+	 * Tests whether at least one candidate of the chunk can be flipped. If not, all candidates belong to the backbone. Otherwise, the found solution filters
+	 * the candidates and the remaining ones are tested in two halves.
+	 */
+	private void testChunk(int[] chunk) {
+		final int length = retainCandidates(chunk);
+		switch (length) {
+		case 0:
+			return;
+		case 1:
+			testSingle(chunk[0]);
+			return;
+		default:
+			break;
+		}
+
+		final int[] clause = new int[length];
+		for (int i = 0; i < length; i++) {
+			clause[i] = -candidates[chunk[i]];
+		}
+		switch (solve(Arrays.copyOf(backbone, backboneSize), clause)) {
+		case FALSE:
+			for (int i = 0; i < length; i++) {
+				addBackbone(chunk[i]);
+			}
+			return;
+		case TRUE:
+			filter(oracle.getSolution());
+			break;
+		case TIMEOUT:
+		default:
+			break;
+		}
+		final int half = length / 2;
+		testChunk(Arrays.copyOfRange(chunk, 0, half));
+		testChunk(Arrays.copyOfRange(chunk, half, length));
+	}
+
+	private void testSingle(int var) {
+		final int[] assumptions = Arrays.copyOf(backbone, backboneSize + 1);
+		assumptions[backboneSize] = -candidates[var];
+		switch (solve(assumptions, null)) {
+		case TRUE:
+			filter(oracle.getSolution());
+			break;
+		case FALSE:
+			addBackbone(var);
+			break;
+		case TIMEOUT:
+		default:
+			candidates[var] = 0;
+			timeoutOccurred = true;
+			break;
+		}
+	}
+
+	/**
+	 * Moves all variables that are still candidates to the front of the given array.
+	 *
+	 * @return the number of remaining candidates
+	 */
+	private int retainCandidates(int[] vars) {
+		int length = 0;
+		for (final int var : vars) {
+			if (candidates[var] != 0) {
+				vars[length++] = var;
+			}
+		}
+		return length;
+	}
+
+	private int[] getAssumptions(int[] vars, int length) {
+		final int[] assumptions = Arrays.copyOf(backbone, backboneSize + length);
+		for (int i = 0; i < length; i++) {
+			assumptions[backboneSize + i] = -candidates[vars[i]];
+		}
+		return assumptions;
+	}
+
+	/**
+	 * Returns the variables whose negated candidates are contained in the unsatisfiable core of the last solver call.
+	 */
+	private int[] getCoreVariables(int[] vars, int length) {
+		final int[] core = oracle.getUnsatCore();
+		if (core == null) {
+			return new int[0];
+		}
+		final int[] coreVariables = new int[length];
+		int coreLength = 0;
+		for (int i = 0; i < length; i++) {
+			final int negatedCandidate = -candidates[vars[i]];
+			for (final int literal : core) {
+				if (literal == negatedCandidate) {
+					coreVariables[coreLength++] = vars[i];
+					break;
+				}
+			}
+		}
+		return Arrays.copyOf(coreVariables, coreLength);
+	}
+
+	private void addBackbone(int var) {
+		backbone[backboneSize++] = candidates[var];
+		candidates[var] = 0;
+	}
+
+	private void filter(int[] solution) {
+		for (int var = 1; var < candidates.length; var++) {
+			final int candidate = candidates[var];
+			if ((candidate != 0) && (getLiteral(solution, var) != candidate)) {
+				candidates[var] = 0;
+			}
+		}
+	}
+
+	private SatResult solve(int[] assumptions, int[] clause) {
+		numberOfSolverCalls++;
+		return oracle.solve(assumptions, clause);
+	}
+
+	private static int getLiteral(int[] solution, int var) {
+		if (var <= solution.length) {
+			final int literal = solution[var - 1];
+			if (Math.abs(literal) == var) {
+				return literal;
+			}
+		}
+		return 0;
+	}
+
+}
@@ -61,7 +61,12 @@ public class CoreDeadAnalysis extends AVariableAnalysis<LiteralSet> {
 
 	@Override
 	public LiteralSet analyze(IMonitor<LiteralSet> monitor) throws Exception {
-		return analyze1(monitor);
+		final ParallelImplicationTester tester = createImplicationTester();
+		try {
+			return analyze(tester, monitor);
+		} finally {
+			tester.dispose();
+		}
 	}
 
 	@Override
@@ -186,6 +191,55 @@ public class CoreDeadAnalysis extends AVariableAnalysis<LiteralSet> {
 		}
 	}
 
+	/**
+	 * Computes the same literals as {@link #analyze1(IMonitor)}, but leaves the satisfiability tests to the given tester, which may distribute them over
+	 * several solvers.
+	 */
+	private LiteralSet analyze(ParallelImplicationTester tester, IMonitor<LiteralSet> monitor) throws Exception {
+		final int initialAssignmentLength = solver.getAssignmentSize();
+		solver.setSelectionStrategy(SelectionStrategy.POSITIVE);
+		int[] model1 = solver.findSolution();
+
+		if (model1 != null) {
+			solver.setSelectionStrategy(SelectionStrategy.NEGATIVE);
+			final int[] model2 = solver.findSolution();
+
+			if (variables != null) {
+				final int[] model3 = new int[model1.length];
+				for (int i = 0; i < variables.getLiterals().length; i++) {
+					final int index = variables.getLiterals()[i] - 1;
+					if (index >= 0) {
+						model3[index] = model1[index];
+					}
+				}
+				model1 = model3;
+			} else {
+				model1 = Arrays.copyOf(model1, model1.length);
+			}
+
+			for (int i = 0; i < initialAssignmentLength; i++) {
+				model1[Math.abs(solver.assignmentGet(i)) - 1] = 0;
+			}
+
+			LiteralSet.resetConflicts(model1, model2);
+			final boolean min =
+				model1.length > (new LiteralSet(model2, Order.INDEX, false).countNegative() + new LiteralSet(model1, Order.INDEX, false).countNegative());
+			solver.setSelectionStrategy(model1, min);
+			tester.setSelectionStrategy(model1, min);
+
+			final int[] impliedLiterals = tester.test(model1, monitor);
+			for (final int literal : impliedLiterals) {
+				solver.assignmentPush(literal);
+				monitor.invoke(new LiteralSet(literal));
+			}
+			if (tester.isTimeoutOccured()) {
+				reportTimeout();
+			}
+		}
+
+		return new LiteralSet(solver.getAssignmentArray(initialAssignmentLength, solver.getAssignmentSize()));
+	}
+
 	public LiteralSet analyze1(IMonitor<LiteralSet> monitor) throws Exception {
 		final int initialAssignmentLength = solver.getAssignmentSize();
 		solver.setSelectionStrategy(SelectionStrategy.POSITIVE);
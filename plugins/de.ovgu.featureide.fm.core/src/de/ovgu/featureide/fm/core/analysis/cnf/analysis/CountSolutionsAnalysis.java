@@ -29,9 +29,11 @@ import de.ovgu.featureide.fm.core.analysis.cnf.solver.RuntimeContradictionExcept
 import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
 
 /**
- * Attempts to count the number of possible solutions of a given {@link CNF}.
+ * Attempts to count the number of possible solutions of a given {@link CNF} by enumerating them.
  *
  * @author Sebastian Krieter
+ *
+ * @see ExactCountSolutionsAnalysis
  */
 public class CountSolutionsAnalysis extends AbstractAnalysis<Long> {
 
@@ -0,0 +1,69 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.analysis.cnf.analysis;
+
+import java.math.BigInteger;
+
+import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.ISatSolver;
+import de.ovgu.featureide.fm.core.analysis.ddnnf.DDNNFCompiler;
+import de.ovgu.featureide.fm.core.analysis.ddnnf.DecisionDNNF;
+import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
+import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
+
+/**
+ * Counts the exact number of solutions of a given {@link CNF} by compiling it into a {@link DecisionDNNF}.<br> If a compiled formula is already available
+ * (e.g., from {@link de.ovgu.featureide.fm.core.analysis.cnf.formula.DDNNFCreator DDNNFCreator}), it can be set via {@link #setDecisionDNNF(DecisionDNNF)}
+ * and is used instead of compiling the CNF again.
+ *
+ * @author agent
+ *
+ * @see CountSolutionsAnalysis
+ */
+public class ExactCountSolutionsAnalysis extends AbstractAnalysis<BigInteger> {
+
+	private DecisionDNNF decisionDNNF;
+
+	public ExactCountSolutionsAnalysis(ISatSolver solver) {
+		super(solver);
+	}
+
+	public ExactCountSolutionsAnalysis(CNF satInstance) {
+		super(satInstance);
+	}
+
+	@Override
+	public BigInteger analyze(IMonitor<BigInteger> monitor) throws Exception {
+		if (decisionDNNF == null) {
+			decisionDNNF = LongRunningWrapper.runMethod(new DDNNFCompiler(solver.getSatInstance()), monitor.subTask(1));
+		}
+		return decisionDNNF.countSolutions(assumptions);
+	}
+
+	public DecisionDNNF getDecisionDNNF() {
+		return decisionDNNF;
+	}
+
+	public void setDecisionDNNF(DecisionDNNF decisionDNNF) {
+		this.decisionDNNF = decisionDNNF;
+	}
+
+}
@@ -0,0 +1,418 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.analysis.cnf.analysis;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import org.sat4j.core.VecInt;
+
+import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet.Order;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.ISatSolver;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.ISatSolver.SelectionStrategy;
+import de.ovgu.featureide.fm.core.analysis.mig.CollectingVisitor;
+import de.ovgu.featureide.fm.core.analysis.mig.ModalImplicationGraph;
+import de.ovgu.featureide.fm.core.analysis.mig.Traverser;
+import de.ovgu.featureide.fm.core.analysis.mig.Vertex;
+import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
+
+/**
+ * Finds core and dead features under the given assumptions and reuses the results of its previous execution.<br> The analysis is meant to be executed
+ * repeatedly with slightly changing assumptions (e.g., for each decision within a configuration). It keeps its solver (including the learned clauses), the
+ * literals implied by the previous assumptions, and a list of recently found solutions. On each execution, only those variables are tested with the solver
+ * that could have changed their value:
+ * <ul>
+ * <li>If assumptions were only added, all previously implied literals remain implied. Only undetermined variables that are reachable from the added
+ * assumptions within the {@link ModalImplicationGraph} may become implied.</li>
+ * <li>If assumptions were only removed, all previously undetermined variables remain undetermined. Only implied literals that are reachable from the removed
+ * assumptions within the {@link ModalImplicationGraph} may become undetermined.</li>
+ * <li>Otherwise, the analysis first removes and then adds the changed assumptions.</li>
+ * </ul>
+ * Additionally, literals that are implied by strong edges of the graph are set without calling the solver, and all variables that have different values in
+ * stored solutions satisfying the current assumptions are skipped.<br> The result contains the implied literals except for the assumptions (as for
+ * {@link CoreDeadAnalysis}).
+ *
+ * @author agent
+ */
+public class IncrementalCoreDeadAnalysis extends AbstractAnalysis<LiteralSet> {
+
+	/**
+	 * Number of solutions that are remembered between executions.
+	 */
+	private static final int SOLUTION_BUFFER_SIZE = 128;
+
+	private final ModalImplicationGraph mig;
+	private final Traverser traverser;
+	private final int numberOfVariables;
+
+	private int[] previousAssumptions = null;
+	private int[] previousImplied = null;
+
+	/**
+	 * @param satInstance the formula
+	 * @param mig a modal implication graph of the formula, may be {@code null}
+	 */
+	public IncrementalCoreDeadAnalysis(CNF satInstance, ModalImplicationGraph mig) {
+		super(satInstance);
+		numberOfVariables = satInstance.getVariables().maxVariableID();
+		this.mig = ((mig != null) && !mig.getAdjList().isEmpty()) ? mig : null;
+		traverser = (this.mig != null) ? this.mig.traverse() : null;
+		init();
+	}
+
+	/**
+	 * @param solver the solver
+	 * @param mig a modal implication graph of the solver's formula, may be {@code null}
+	 */
+	public IncrementalCoreDeadAnalysis(ISatSolver solver, ModalImplicationGraph mig) {
+		super(solver);
+		numberOfVariables = solver.getSatInstance().getVariables().maxVariableID();
+		this.mig = ((mig != null) && !mig.getAdjList().isEmpty()) ? mig : null;
+		traverser = (this.mig != null) ? this.mig.traverse() : null;
+		init();
+	}
+
+	private void init() {
+		if (solver != null) {
+			solver.useSolutionList(SOLUTION_BUFFER_SIZE);
+		}
+	}
+
+	/**
+	 * Forgets the results of the previous execution. The next execution will compute all implied literals from scratch (but still reuses the solver).
+	 */
+	public void reset() {
+		previousAssumptions = null;
+		previousImplied = null;
+	}
+
+	@Override
+	protected LiteralSet analyze(IMonitor<LiteralSet> monitor) throws Exception {
+		final int[] currentAssumptions = new int[numberOfVariables];
+		for (final int literal : assumptions.getLiterals()) {
+			final int index = Math.abs(literal) - 1;
+			if (currentAssumptions[index] == -literal) {
+				reset();
+				return new LiteralSet();
+			}
+			currentAssumptions[index] = literal;
+		}
+
+		int[] implied;
+		if (previousImplied == null) {
+			implied = getCoreLiterals();
+			implied = setAssumptions(currentAssumptions, implied) ? propagate(implied, null, monitor) : null;
+		} else if (isSubset(previousAssumptions, currentAssumptions)) {
+			implied = addAssumptions(currentAssumptions, monitor);
+		} else if (isSubset(currentAssumptions, previousAssumptions)) {
+			implied = removeAssumptions(currentAssumptions, monitor);
+		} else {
+			// Remove changed assumptions first, then add the new ones
+			final int[] commonAssumptions = new int[numberOfVariables];
+			for (int i = 0; i < numberOfVariables; i++) {
+				if (previousAssumptions[i] == currentAssumptions[i]) {
+					commonAssumptions[i] = currentAssumptions[i];
+				}
+			}
+			implied = removeAssumptions(commonAssumptions, monitor);
+			if (implied != null) {
+				previousAssumptions = commonAssumptions;
+				previousImplied = implied;
+				implied = addAssumptions(currentAssumptions, monitor);
+			}
+		}
+
+		if (implied == null) {
+			reset();
+			return new LiteralSet();
+		}
+		previousAssumptions = currentAssumptions;
+		previousImplied = implied;
+
+		final VecInt result = new VecInt();
+		for (int i = 0; i < numberOfVariables; i++) {
+			final int literal = implied[i];
+			if ((literal != 0) && (currentAssumptions[i] == 0)) {
+				result.push(literal);
+			}
+		}
+		return new LiteralSet(Arrays.copyOf(result.toArray(), result.size()));
+	}
+
+	private int[] addAssumptions(int[] currentAssumptions, IMonitor<LiteralSet> monitor) {
+		final int[] implied = Arrays.copyOf(previousImplied, numberOfVariables);
+		if (!setAssumptions(currentAssumptions, implied)) {
+			return null;
+		}
+		final BitSet candidates = getReachableVariables(getDifference(currentAssumptions, previousAssumptions), implied);
+		return propagate(implied, candidates, monitor);
+	}
+
+	private int[] removeAssumptions(int[] currentAssumptions, IMonitor<LiteralSet> monitor) {
+		final int[] implied = getCoreLiterals();
+		if (!setAssumptions(currentAssumptions, implied)) {
+			return null;
+		}
+		BitSet candidates = getReachableVariables(getDifference(previousAssumptions, currentAssumptions), implied);
+		if (candidates == null) {
+			candidates = new BitSet(numberOfVariables);
+			candidates.set(0, numberOfVariables);
+		}
+		for (int i = 0; i < numberOfVariables; i++) {
+			if (previousImplied[i] == 0) {
+				candidates.clear(i);
+			} else if (!candidates.get(i) && (implied[i] == 0)) {
+				implied[i] = previousImplied[i];
+			}
+		}
+		return propagate(implied, candidates, monitor);
+	}
+
+	/**
+	 * Computes all literals implied by the current assumptions.
+	 *
+	 * @param implied literals that are already known to be implied by the current assumptions (will be modified)
+	 * @param candidates the variables which may be implied (all, if {@code null})
+	 * @param monitor the monitor
+	 * @return all implied literals indexed by variable (including the assumptions) or {@code null}, if the assumptions are contradicting
+	 */
+	private int[] propagate(int[] implied, BitSet candidates, IMonitor<LiteralSet> monitor) {
+		monitor.checkCancel();
+		solver.assignmentClear(0);
+		for (final int literal : implied) {
+			if (literal != 0) {
+				solver.assignmentPush(literal);
+			}
+		}
+
+		final int[] model1;
+		final boolean min;
+		if (candidates == null) {
+			solver.setSelectionStrategy(SelectionStrategy.POSITIVE);
+			final int[] firstSolution = solver.findSolution();
+			if (firstSolution == null) {
+				return null;
+			}
+			model1 = Arrays.copyOf(firstSolution, firstSolution.length);
+			solver.setSelectionStrategy(SelectionStrategy.NEGATIVE);
+			final int[] model2 = solver.findSolution();
+
+			for (int i = 0; i < numberOfVariables; i++) {
+				if (implied[i] != 0) {
+					model1[i] = 0;
+				}
+			}
+			LiteralSet.resetConflicts(model1, model2);
+			min = model1.length > (new LiteralSet(model2, Order.INDEX, false).countNegative() + new LiteralSet(model1, Order.INDEX, false).countNegative());
+		} else {
+			// Any stored solution that satisfies the current assumptions proves their satisfiability
+			int[] model = null;
+			for (final int[] solution : solver.getSolutionList()) {
+				if (isSubset(implied, solution)) {
+					if (model == null) {
+						model = Arrays.copyOf(solution, solution.length);
+					} else {
+						LiteralSet.resetConflicts(model, solution);
+					}
+				}
+			}
+			if (model == null) {
+				final int[] solution = solver.findSolution();
+				if (solution == null) {
+					return null;
+				}
+				model = Arrays.copyOf(solution, solution.length);
+			}
+			model1 = model;
+
+			for (int i = 0; i < numberOfVariables; i++) {
+				if ((implied[i] != 0) || !candidates.get(i)) {
+					model1[i] = 0;
+				}
+			}
+			min = model1.length > (2 * new LiteralSet(model1, Order.INDEX, false).countNegative());
+		}
+		solver.setSelectionStrategy(model1, min);
+
+		for (int i = 0; i < numberOfVariables; i++) {
+			final int varX = model1[i];
+			if (varX != 0) {
+				solver.assignmentPush(-varX);
+				switch (solver.hasSolution()) {
+				case FALSE:
+					solver.assignmentReplaceLast(varX);
+					model1[i] = 0;
+					final VecInt newImplied = setImplied(implied, varX);
+					for (int j = 0; j < newImplied.size(); j++) {
+						final int literal = newImplied.get(j);
+						if (literal != varX) {
+							solver.assignmentPush(literal);
+							model1[Math.abs(literal) - 1] = 0;
+						}
+					}
+					break;
+				case TIMEOUT:
+					solver.assignmentPop();
+					reportTimeout();
+					break;
+				case TRUE:
+					solver.assignmentPop();
+					LiteralSet.resetConflicts(model1, solver.getSolution());
+					solver.shuffleOrder(getRandom());
+					break;
+				}
+				monitor.checkCancel();
+			}
+		}
+		return implied;
+	}
+
+	/**
+	 * Sets all assumptions and the literals they imply according to the {@link ModalImplicationGraph}.
+	 *
+	 * @return {@code false}, if an assumption contradicts a known implied literal, {@code true} otherwise
+	 */
+	private boolean setAssumptions(int[] currentAssumptions, int[] implied) {
+		for (int i = 0; i < numberOfVariables; i++) {
+			final int literal = currentAssumptions[i];
+			if (literal != 0) {
+				if (implied[i] == -literal) {
+					return false;
+				} else if (implied[i] == 0) {
+					setImplied(implied, literal);
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Sets the given literal and all literals that are implied by it according to the {@link ModalImplicationGraph}.
+	 *
+	 * @return the newly set literals
+	 */
+	private VecInt setImplied(int[] implied, int literal) {
+		if (traverser != null) {
+			final CollectingVisitor visitor = new CollectingVisitor();
+			traverser.setModel(implied);
+			traverser.setVisitor(visitor);
+			traverser.traverseStrong(literal);
+			return visitor.getResult()[0];
+		} else {
+			implied[Math.abs(literal) - 1] = literal;
+			return new VecInt(new int[] { literal });
+		}
+	}
+
+	/**
+	 * Computes all variables that are reachable from the given literals within the {@link ModalImplicationGraph}. A literal {@code v} is reachable from a
+	 * literal {@code u}, if there is a clause containing {@code -u} and {@code v}. Literals that are known to be false are not considered.<br> When adding
+	 * the given literals to the assumptions, only reachable variables can become implied.
+	 *
+	 * @param startLiterals the changed literals
+	 * @param implied literals that are known to be implied
+	 * @return the indices of all reachable variables or {@code null}, if no graph is available
+	 */
+	private BitSet getReachableVariables(VecInt startLiterals, int[] implied) {
+		if (mig == null) {
+			return null;
+		}
+		final BitSet reachableVariables = new BitSet(numberOfVariables);
+		final BitSet visited = new BitSet(mig.getAdjList().size());
+		final VecInt queue = new VecInt();
+		for (int i = 0; i < startLiterals.size(); i++) {
+			visit(startLiterals.get(i), implied, visited, reachableVariables, queue);
+		}
+		while (!queue.isEmpty()) {
+			final int literal = queue.last();
+			queue.pop();
+			final Vertex vertex = mig.getVertex(literal);
+			for (final int strongLiteral : vertex.getStrongEdges()) {
+				visit(strongLiteral, implied, visited, reachableVariables, queue);
+			}
+			for (final int clauseIndex : vertex.getComplexClauses()) {
+				for (final int clauseLiteral : mig.getComplexClauses().get(clauseIndex).getLiterals()) {
+					if (clauseLiteral != -literal) {
+						visit(clauseLiteral, implied, visited, reachableVariables, queue);
+					}
+				}
+			}
+		}
+		return reachableVariables;
+	}
+
+	private void visit(int literal, int[] implied, BitSet visited, BitSet reachableVariables, VecInt queue) {
+		final int index = Math.abs(literal) - 1;
+		if (implied[index] != -literal) {
+			final int id = mig.getVertex(literal).getId();
+			if (!visited.get(id)) {
+				visited.set(id);
+				reachableVariables.set(index);
+				queue.push(literal);
+			}
+		}
+	}
+
+	private int[] getCoreLiterals() {
+		final int[] coreLiterals = new int[numberOfVariables];
+		if (mig != null) {
+			for (final Vertex vertex : mig.getAdjList()) {
+				if (vertex.isCore()) {
+					final int literal = vertex.getVar();
+					coreLiterals[Math.abs(literal) - 1] = literal;
+				}
+			}
+		}
+		return coreLiterals;
+	}
+
+	/**
+	 * @return all literals of {@code literals} that are not contained in {@code otherLiterals}
+	 */
+	private static VecInt getDifference(int[] literals, int[] otherLiterals) {
+		final VecInt difference = new VecInt();
+		for (int i = 0; i < literals.length; i++) {
+			final int literal = literals[i];
+			if ((literal != 0) && (literal != otherLiterals[i])) {
+				difference.push(literal);
+			}
+		}
+		return difference;
+	}
+
+	/**
+	 * @param subset literals indexed by variable
+	 * @param superset literals indexed by variable
+	 * @return {@code true}, if every literal of {@code subset} is contained in {@code superset}
+	 */
+	private static boolean isSubset(int[] subset, int[] superset) {
+		for (int i = 0; i < subset.length; i++) {
+			final int literal = subset[i];
+			if ((literal != 0) && (literal != superset[i])) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+}
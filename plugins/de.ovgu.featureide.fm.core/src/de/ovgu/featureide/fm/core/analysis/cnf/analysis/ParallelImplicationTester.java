@@ -0,0 +1,340 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.analysis.cnf.analysis;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.sat4j.core.VecInt;
+
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.ISatSolver;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.ISatSolver.SelectionStrategy;
+import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
+
+/**
+ * Tests candidate literals for being implied by the current assignment of a {@link ISatSolver solver}.<br> The candidates are distributed over a
+ * {@link ForkJoinPool} of cloned solvers. Implied literals found by one worker are shared with all other workers as additional assumptions and
+ * every solution found by a worker removes the candidates it refutes for all workers. With a parallelism of {@code 1}, all candidates are tested
+ * by the original solver and no threads are started.<br> The monitor is only checked by the calling thread.
+ *
+ * @author agent
+ */
+final class ParallelImplicationTester {
+
+	private static final int MIN_CANDIDATES_PER_WORKER = 4;
+
+	private static final long CANCEL_CHECK_INTERVAL = 100;
+
+	private final ISatSolver solver;
+	private final int parallelism;
+	private final int timeout;
+
+	private final ISatSolver[] workerSolvers;
+	private final Random[] workerRandoms;
+
+	private ForkJoinPool pool;
+
+	private SelectionStrategy strategy = SelectionStrategy.ORG;
+	private int[] strategyModel;
+	private boolean strategyMin;
+
+	private boolean timeoutOccured;
+
+	/**
+	 * @param solver the solver that holds the current assignment; must support {@link ISatSolver#clone() cloning}
+	 * @param parallelism the number of worker solvers; {@code 1} uses only the given solver
+	 * @param timeout the timeout for each satisfiability test in milliseconds
+	 * @param random used to seed the random generators of the workers
+	 */
+	ParallelImplicationTester(ISatSolver solver, int parallelism, int timeout, Random random) {
+		this.solver = solver;
+		this.parallelism = parallelism;
+		this.timeout = timeout;
+		workerSolvers = new ISatSolver[parallelism];
+		workerRandoms = new Random[parallelism];
+		for (int i = 0; i < parallelism; i++) {
+			workerRandoms[i] = new Random(random.nextLong());
+		}
+	}
+
+	/**
+	 * Creates the first worker solver to check whether the solver can be used with this class.
+	 *
+	 * @return {@code true} if the solver supports cloning or no worker solvers are needed, {@code false} otherwise.
+	 */
+	public boolean prepare() {
+		if (parallelism == 1) {
+			return true;
+		}
+		try {
+			workerSolvers[0] = createWorkerSolver();
+			return true;
+		} catch (final RuntimeException e) {
+			return false;
+		}
+	}
+
+	public void setSelectionStrategy(SelectionStrategy strategy) {
+		this.strategy = strategy;
+		strategyModel = null;
+	}
+
+	public void setSelectionStrategy(int[] model, boolean min) {
+		strategy = SelectionStrategy.FIXED;
+		strategyModel = Arrays.copyOf(model, model.length);
+		strategyMin = min;
+	}
+
+	/**
+	 * Tests every non-zero entry of the given model for being implied by the current assignment of the solver.<br> Entries that are not implied are
+	 * set to zero.
+	 *
+	 * @param model the candidate literals, indexed by their variable
+	 * @param monitor the monitor, which is checked for cancellation
+	 * @return the implied literals in variable order
+	 *
+	 * @throws Exception if a worker fails or the monitor is canceled
+	 */
+	public int[] test(int[] model, IMonitor<?> monitor) throws Exception {
+		timeoutOccured = false;
+		int numberOfCandidates = 0;
+		for (final int literal : model) {
+			if (literal != 0) {
+				numberOfCandidates++;
+			}
+		}
+		if ((parallelism == 1) || (numberOfCandidates < (MIN_CANDIDATES_PER_WORKER * parallelism))) {
+			return testSequential(model, monitor);
+		}
+
+		final AtomicIntegerArray candidates = new AtomicIntegerArray(model);
+		final AtomicIntegerArray implied = new AtomicIntegerArray(model.length);
+		final VecInt sharedLiterals = new VecInt();
+		final AtomicInteger nextIndex = new AtomicInteger();
+		final AtomicBoolean abort = new AtomicBoolean();
+		final AtomicBoolean timeout = new AtomicBoolean();
+		final int[] assignment = solver.getAssignmentArray();
+
+		if (pool == null) {
+			pool = new ForkJoinPool(parallelism);
+		}
+		final List<Callable<Void>> tasks = new ArrayList<>(parallelism);
+		for (int i = 0; i < parallelism; i++) {
+			final int workerIndex = i;
+			tasks.add(() -> {
+				final ISatSolver workerSolver = getWorkerSolver(workerIndex, assignment);
+				final Random random = workerRandoms[workerIndex];
+				int knownLiterals = 0;
+				try {
+					for (int index = nextIndex.getAndIncrement(); index < model.length; index = nextIndex.getAndIncrement()) {
+						if (abort.get()) {
+							break;
+						}
+						final int varX = candidates.get(index);
+						if (varX != 0) {
+							synchronized (sharedLiterals) {
+								for (; knownLiterals < sharedLiterals.size(); knownLiterals++) {
+									workerSolver.assignmentPush(sharedLiterals.get(knownLiterals));
+								}
+							}
+							workerSolver.assignmentPush(-varX);
+							switch (workerSolver.hasSolution()) {
+							case FALSE:
+								// The literal is added as assumption together with the literals of the other workers
+								workerSolver.assignmentPop();
+								implied.set(index, varX);
+								synchronized (sharedLiterals) {
+									sharedLiterals.push(varX);
+								}
+								break;
+							case TIMEOUT:
+								workerSolver.assignmentPop();
+								timeout.set(true);
+								break;
+							case TRUE:
+								workerSolver.assignmentPop();
+								resetConflicts(candidates, workerSolver.getSolution());
+								workerSolver.shuffleOrder(random);
+								break;
+							}
+						}
+					}
+				} catch (final Exception e) {
+					abort.set(true);
+					throw e;
+				}
+				return null;
+			});
+		}
+
+		final List<Future<Void>> futures = new ArrayList<>(parallelism);
+		for (final Callable<Void> task : tasks) {
+			futures.add(pool.submit(task));
+		}
+		try {
+			for (final Future<Void> future : futures) {
+				await(future, monitor);
+			}
+		} catch (final Exception | Error e) {
+			// Stop the remaining workers before their solvers are used again
+			abort.set(true);
+			for (final Future<Void> future : futures) {
+				try {
+					future.get();
+				} catch (final ExecutionException e1) {}
+			}
+			throw e;
+		}
+		timeoutOccured = timeout.get();
+
+		final VecInt result = new VecInt();
+		for (int i = 0; i < model.length; i++) {
+			final int literal = implied.get(i);
+			if (literal != 0) {
+				result.push(literal);
+			} else {
+				model[i] = 0;
+			}
+		}
+		return Arrays.copyOf(result.toArray(), result.size());
+	}
+
+	private static void await(Future<Void> future, IMonitor<?> monitor) throws Exception {
+		while (true) {
+			try {
+				future.get(CANCEL_CHECK_INTERVAL, TimeUnit.MILLISECONDS);
+				return;
+			} catch (final TimeoutException e) {
+				monitor.checkCancel();
+			} catch (final ExecutionException e) {
+				final Throwable cause = e.getCause();
+				if (cause instanceof Exception) {
+					throw (Exception) cause;
+				} else if (cause instanceof Error) {
+					throw (Error) cause;
+				}
+				throw e;
+			}
+		}
+	}
+
+	/**
+	 * Uses only the original solver if there are no workers or for small numbers of candidates, for which the synchronization of the workers does not
+	 * pay off.
+	 */
+	private int[] testSequential(int[] model, IMonitor<?> monitor) {
+		final int initialAssignmentSize = solver.getAssignmentSize();
+		final VecInt result = new VecInt();
+		try {
+			for (int i = 0; i < model.length; i++) {
+				final int varX = model[i];
+				if (varX != 0) {
+					monitor.checkCancel();
+					solver.assignmentPush(-varX);
+					switch (solver.hasSolution()) {
+					case FALSE:
+						solver.assignmentReplaceLast(varX);
+						result.push(varX);
+						break;
+					case TIMEOUT:
+						solver.assignmentPop();
+						model[i] = 0;
+						timeoutOccured = true;
+						break;
+					case TRUE:
+						solver.assignmentPop();
+						model[i] = 0;
+						LiteralSet.resetConflicts(model, solver.getSolution());
+						solver.shuffleOrder(workerRandoms[0]);
+						break;
+					}
+				}
+			}
+		} finally {
+			solver.assignmentClear(initialAssignmentSize);
+		}
+		return Arrays.copyOf(result.toArray(), result.size());
+	}
+
+	private ISatSolver createWorkerSolver() {
+		final ISatSolver workerSolver = solver.clone();
+		workerSolver.setTimeout(timeout);
+		// A clone keeps the selection strategy of its original, but not the corresponding variable order.
+		workerSolver.setSelectionStrategy(SelectionStrategy.ORG);
+		return workerSolver;
+	}
+
+	private ISatSolver getWorkerSolver(int workerIndex, int[] assignment) {
+		ISatSolver workerSolver = workerSolvers[workerIndex];
+		if (workerSolver == null) {
+			workerSolver = createWorkerSolver();
+			workerSolvers[workerIndex] = workerSolver;
+		}
+		workerSolver.assignmentClear(0);
+		workerSolver.assignmentPushAll(assignment);
+		if (strategy == SelectionStrategy.FIXED) {
+			workerSolver.setSelectionStrategy(Arrays.copyOf(strategyModel, strategyModel.length), strategyMin);
+		} else {
+			workerSolver.setSelectionStrategy(strategy);
+		}
+		return workerSolver;
+	}
+
+	private static void resetConflicts(AtomicIntegerArray candidates, int[] solution) {
+		for (int i = 0; i < solution.length; i++) {
+			final int candidate = candidates.get(i);
+			if ((candidate != 0) && (candidate != solution[i])) {
+				candidates.set(i, 0);
+			}
+		}
+	}
+
+	/**
+	 * @return {@code true} if at least one test of the last call to {@link #test(int[], IMonitor)} timed out.
+	 */
+	public boolean isTimeoutOccured() {
+		return timeoutOccured;
+	}
+
+	/**
+	 * Releases the worker threads and solvers.
+	 */
+	public void dispose() {
+		if (pool != null) {
+			pool.shutdownNow();
+			pool = null;
+		}
+		Arrays.fill(workerSolvers, null);
+	}
+
+}
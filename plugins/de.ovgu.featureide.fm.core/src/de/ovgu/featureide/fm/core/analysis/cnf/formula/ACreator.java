@@ -22,6 +22,9 @@ package de.ovgu.featureide.fm.core.analysis.cnf.formula;
 
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
 
 /**
  * Abstract creator to derive an element from a {@link FeatureModelFormula feature model}.
@@ -35,13 +38,25 @@ public abstract class ACreator<T> {
 	protected FeatureModelFormula formula;
 
 	private Lock lock;
-	private T formulaElement;
+	private volatile T formulaElement;
 
 	T get() {
+		return get(this::create);
+	}
+
+	/**
+	 * Returns the element, if it was already created. Otherwise, creates the element with the given function instead of {@link #create()}. If the
+	 * function returns {@code null}, no element is remembered.
+	 *
+	 * @param creator the function that creates the element
+	 * @return the element or {@code null}, if it could not be created
+	 */
+	T get(Supplier<T> creator) {
 		lock.lock();
 		try {
 			if (formulaElement == null) {
-				formulaElement = create();
+				final ACreator<T> previousCreator = isReusable() ? formula.getPreviousCreator(this) : null;
+				formulaElement = (previousCreator != null) && formula.isEqualToPreviousFormula() ? reuse(previousCreator) : creator.get();
 			}
 			return formulaElement;
 		} finally {
@@ -49,6 +64,13 @@ public abstract class ACreator<T> {
 		}
 	}
 
+	/**
+	 * @return the element if it was already created, {@code null} otherwise.
+	 */
+	T getIfPresent() {
+		return formulaElement;
+	}
+
 	void init(FeatureModelFormula formula) {
 		this.formula = formula;
 		this.lock = new ReentrantLock();
@@ -56,6 +78,39 @@ public abstract class ACreator<T> {
 
 	protected abstract T create();
 
+	/**
+	 * Takes over the element of an equal creator from the previous formula.
+	 *
+	 * @param previousCreator the creator of the previous formula
+	 * @return the element of the previous creator
+	 *
+	 * @see #isReusable()
+	 */
+	protected T reuse(ACreator<T> previousCreator) {
+		return previousCreator.formulaElement;
+	}
+
+	/**
+	 * @return the equal creator of the previous formula, if its element was already created, {@code null} otherwise.
+	 *
+	 * @see FeatureModelFormula#FeatureModelFormula(IFeatureModel, FeatureModelFormula)
+	 */
+	protected ACreator<T> getPreviousCreator() {
+		return formula.getPreviousCreator(this);
+	}
+
+	/**
+	 * Defines whether the element can be reused by a formula of a modified feature model, if the CNF node and the variables of both
+	 * feature models are equal.
+	 *
+	 * @return {@code true} if the element only depends on the CNF node and the variables of the feature model, {@code false} otherwise.
+	 *
+	 * @see FeatureModelFormula#FeatureModelFormula(IFeatureModel, FeatureModelFormula)
+	 */
+	protected boolean isReusable() {
+		return false;
+	}
+
 	@Override
 	public int hashCode() {
 		return getClass().getName().hashCode();
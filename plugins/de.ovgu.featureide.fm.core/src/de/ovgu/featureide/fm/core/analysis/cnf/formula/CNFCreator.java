@@ -20,22 +20,74 @@
  */
 package de.ovgu.featureide.fm.core.analysis.cnf.formula;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.prop4j.And;
+import org.prop4j.Node;
+
 import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
 import de.ovgu.featureide.fm.core.analysis.cnf.FeatureModelCNF;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
 import de.ovgu.featureide.fm.core.analysis.cnf.Nodes;
 
 /**
- * Creates a {@link CNF}.
+ * Creates a {@link CNF}.<br> If the variables did not change, the clauses of constraints that were not modified are taken from the CNF of the
+ * previous formula.
  *
  * @author Sebastian Krieter
  */
 public class CNFCreator extends ACreator<CNF> {
 
+	private Map<Node[], List<LiteralSet>> clauseGroups = new IdentityHashMap<>();
+
 	@Override
 	protected CNF create() {
 		final CNF cnf = new FeatureModelCNF(formula.getFeatureModel(), false);
-		cnf.addClauses(Nodes.convert(cnf.getVariables(), formula.getElement(new CNFNodeCreator())));
+		formula.getElement(new CNFNodeCreator());
+		final CNFNodeCreator nodeCreator = (CNFNodeCreator) formula.getCreator(new CNFNodeCreator());
+
+		final CNFCreator previousCreator = (CNFCreator) getPreviousCreator();
+		final Map<Node[], List<LiteralSet>> previousClauseGroups = (previousCreator != null)
+			&& Arrays.equals(cnf.getVariables().getNames(), previousCreator.getIfPresent().getVariables().getNames()) ? previousCreator.clauseGroups
+				: Collections.<Node[], List<LiteralSet>> emptyMap();
+
+		final List<LiteralSet> clauses = new ArrayList<>();
+		for (final Node[] clauseNodes : nodeCreator.getClauseGroups()) {
+			List<LiteralSet> clauseGroup = previousClauseGroups.get(clauseNodes);
+			if (clauseGroup == null) {
+				clauseGroup = Nodes.convert(cnf.getVariables(), new And(clauseNodes));
+			}
+			clauseGroups.put(clauseNodes, clauseGroup);
+			if (isContradiction(clauseGroup)) {
+				// same as converting the complete CNF node at once
+				clauses.clear();
+				clauses.addAll(clauseGroup);
+				break;
+			}
+			clauses.addAll(clauseGroup);
+		}
+		cnf.addClauses(clauses);
 		return cnf;
 	}
 
+	private static boolean isContradiction(List<LiteralSet> clauseGroup) {
+		return (clauseGroup.size() == 1) && (clauseGroup.get(0).size() == 1) && (clauseGroup.get(0).getLiterals()[0] == 0);
+	}
+
+	@Override
+	protected CNF reuse(ACreator<CNF> previousCreator) {
+		clauseGroups = ((CNFCreator) previousCreator).clauseGroups;
+		return super.reuse(previousCreator);
+	}
+
+	@Override
+	protected boolean isReusable() {
+		return true;
+	}
+
 }
@@ -20,20 +20,65 @@
  */
 package de.ovgu.featureide.fm.core.analysis.cnf.formula;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.prop4j.And;
 import org.prop4j.Node;
 
+import de.ovgu.featureide.fm.core.base.IConstraint;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
 import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator;
+import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator.CNFType;
+import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator.ModelType;
 
 /**
- * Creates a {@link Node} in CNF.
+ * Creates a {@link Node} in CNF.<br> The clauses of each constraint are remembered, such that the formula of a modified feature model only
+ * converts constraints that were added or modified.
  *
  * @author Sebastian Krieter
  */
 public class CNFNodeCreator extends ACreator<Node> {
 
+	private final HashMap<NodeKey, Node[]> constraintClauses = new HashMap<>();
+	private final List<Node[]> clauseGroups = new ArrayList<>();
+
 	@Override
 	protected Node create() {
-		return AdvancedNodeCreator.createRegularCNF(formula.getFeatureModel());
+		final IFeatureModel featureModel = formula.getFeatureModel();
+		final CNFNodeCreator previousCreator = (CNFNodeCreator) getPreviousCreator();
+		final Map<NodeKey, Node[]> previousConstraintClauses =
+			previousCreator != null ? previousCreator.constraintClauses : Collections.<NodeKey, Node[]> emptyMap();
+
+		final AdvancedNodeCreator nodeCreator = new AdvancedNodeCreator(featureModel, CNFType.Regular, ModelType.OnlyStructure, false);
+		final Node[] structuralClauses = nodeCreator.createNodes().getChildren();
+		clauseGroups.add(structuralClauses);
+		final List<Node> clauses = new ArrayList<>(Arrays.asList(structuralClauses));
+		for (final IConstraint constraint : featureModel.getConstraints()) {
+			final NodeKey key = new NodeKey(constraint.getNode().clone());
+			Node[] clausesOfConstraint = constraintClauses.get(key);
+			if (clausesOfConstraint == null) {
+				clausesOfConstraint = previousConstraintClauses.get(key);
+				if (clausesOfConstraint == null) {
+					clausesOfConstraint = nodeCreator.createConstraintNode(constraint).getChildren();
+				}
+				constraintClauses.put(key, clausesOfConstraint);
+			}
+			clauseGroups.add(clausesOfConstraint);
+			clauses.addAll(Arrays.asList(clausesOfConstraint));
+		}
+		return new And(clauses.toArray(new Node[clauses.size()]));
+	}
+
+	/**
+	 * @return the clauses of the feature tree followed by the clauses of each constraint. Must only be called after the element was created.
+	 */
+	List<Node[]> getClauseGroups() {
+		return Collections.unmodifiableList(clauseGroups);
 	}
 
 }
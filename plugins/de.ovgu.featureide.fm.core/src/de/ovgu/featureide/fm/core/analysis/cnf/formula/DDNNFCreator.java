@@ -0,0 +1,95 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.analysis.cnf.formula;
+
+import de.ovgu.featureide.fm.core.Logger;
+import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.RuntimeTimeoutException;
+import de.ovgu.featureide.fm.core.analysis.ddnnf.DDNNFCompiler;
+import de.ovgu.featureide.fm.core.analysis.ddnnf.DecisionDNNF;
+import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
+import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
+import de.ovgu.featureide.fm.core.job.monitor.NullMonitor;
+
+/**
+ * Creates a {@link DecisionDNNF} by compiling a {@link CNF} of the feature model.<br> By default, the CNF of the {@link CNFCreator} is compiled. Use
+ * {@link #DDNNFCreator(ACreator)} to compile another CNF (e.g., without hidden or abstract features). Use
+ * {@link #getDecisionDNNF(FeatureModelFormula, ACreator, long, IMonitor)} to bound the compilation by a timeout.
+ *
+ * @author agent
+ */
+public class DDNNFCreator extends ACreator<DecisionDNNF> {
+
+	private final ACreator<CNF> cnfCreator;
+
+	public DDNNFCreator() {
+		this(new CNFCreator());
+	}
+
+	public DDNNFCreator(ACreator<CNF> cnfCreator) {
+		this.cnfCreator = cnfCreator;
+	}
+
+	/**
+	 * Returns the compiled formula for the CNF of the given creator. If the formula is not cached yet, it is compiled with the given timeout and cached
+	 * in the feature model formula, such that it is shared with all {@link DDNNFCreator DDNNFCreators} for the same CNF.
+	 *
+	 * @param formula the feature model formula
+	 * @param cnfCreator the creator of the compiled CNF
+	 * @param timeout the maximal time for compiling the CNF in milliseconds, or {@code 0} for no limit
+	 * @param monitor the monitor to cancel the compilation (can be {@code null})
+	 * @return the compiled formula, or {@code null} if the CNF could not be compiled within the timeout
+	 */
+	public static DecisionDNNF getDecisionDNNF(FeatureModelFormula formula, ACreator<CNF> cnfCreator, long timeout, IMonitor<DecisionDNNF> monitor) {
+		final ACreator<DecisionDNNF> creator = formula.getCreator(new DDNNFCreator(cnfCreator));
+		return creator.get(() -> {
+			final DDNNFCompiler compiler = new DDNNFCompiler(formula.getElement(cnfCreator));
+			compiler.setTimeout(timeout);
+			try {
+				return compiler.execute(monitor != null ? monitor : new NullMonitor<DecisionDNNF>());
+			} catch (final RuntimeTimeoutException | IllegalStateException e) {
+				// the formula cannot be compiled within the timeout or with the available stack size
+				return null;
+			} catch (final RuntimeException e) {
+				throw e;
+			} catch (final Exception e) {
+				Logger.logError(e);
+				return null;
+			}
+		});
+	}
+
+	@Override
+	protected DecisionDNNF create() {
+		return LongRunningWrapper.runMethod(new DDNNFCompiler(formula.getElement(cnfCreator)));
+	}
+
+	@Override
+	public int hashCode() {
+		return (31 * super.hashCode()) + cnfCreator.hashCode();
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		return super.equals(obj) && cnfCreator.equals(((DDNNFCreator) obj).cnfCreator);
+	}
+
+}
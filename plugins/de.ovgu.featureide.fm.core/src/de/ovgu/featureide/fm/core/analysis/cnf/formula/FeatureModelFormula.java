@@ -20,6 +20,7 @@
  */
 package de.ovgu.featureide.fm.core.analysis.cnf.formula;
 
+import java.util.Arrays;
 import java.util.HashMap;
 
 import org.prop4j.Node;
@@ -46,25 +47,65 @@ public class FeatureModelFormula {
 	 *
 	 * @return a {@link Node} instance.
 	 */
-	@SuppressWarnings("unchecked")
 	public <T> T getElement(ACreator<T> formulaElement) {
-		ACreator<?> mappedFormulaElement;
+		return getCreator(formulaElement).get();
+	}
+
+	/**
+	 * Get an element that can be derived from the associated feature model, if it was already computed.
+	 *
+	 * @return the cached element or {@code null}, if it was not computed yet.
+	 */
+	public <T> T getElementIfPresent(ACreator<T> formulaElement) {
+		final ACreator<?> mappedFormulaElement;
 		synchronized (map) {
 			mappedFormulaElement = map.get(formulaElement);
-			if (mappedFormulaElement == null) {
-				map.put(formulaElement, formulaElement);
-				formulaElement.init(this);
-				mappedFormulaElement = formulaElement;
-			}
 		}
+		@SuppressWarnings("unchecked")
+		final T element = (mappedFormulaElement != null) ? ((ACreator<T>) mappedFormulaElement).getIfPresent() : null;
+		return element;
+	}
 
-		return (T) mappedFormulaElement.get();
+	/**
+	 * @return the creator of this formula that is equal to the given one.
+	 */
+	@SuppressWarnings("unchecked")
+	<T> ACreator<T> getCreator(ACreator<T> formulaElement) {
+		synchronized (map) {
+			final ACreator<?> mappedFormulaElement = map.get(formulaElement);
+			if (mappedFormulaElement != null) {
+				return (ACreator<T>) mappedFormulaElement;
+			}
+			map.put(formulaElement, formulaElement);
+			formulaElement.init(this);
+			return formulaElement;
+		}
 	}
 
 	private final IFeatureModel featureModel;
 
+	private volatile FeatureModelFormula previousFormula;
+	private Boolean equalToPreviousFormula;
+
 	public FeatureModelFormula(IFeatureModel featureModel) {
+		this(featureModel, null);
+	}
+
+	/**
+	 * Creates a formula for a modified version of a feature model.<br> {@link ACreator#isReusable() Reusable} elements that were already computed by
+	 * the previous formula are not created again, if the CNF nodes and the variables of both feature models are equal. Other creators may use the
+	 * previous formula to update their elements incrementally (e.g., {@link CNFNodeCreator} and {@link CNFCreator} only convert modified
+	 * constraints).
+	 *
+	 * @param featureModel the feature model
+	 * @param previousFormula the formula of the previous version of the feature model (can be {@code null})
+	 */
+	public FeatureModelFormula(IFeatureModel featureModel, FeatureModelFormula previousFormula) {
 		this.featureModel = featureModel;
+		if (previousFormula != null) {
+			previousFormula.previousFormula = null;
+		}
+		this.previousFormula = previousFormula;
 	}
 
 	public IFeatureModel getFeatureModel() {
@@ -110,6 +151,37 @@ public class FeatureModelFormula {
 		synchronized (map) {
 			map.clear();
 		}
+		previousFormula = null;
+	}
+
+	/**
+	 * @return the creator of the previous formula that is equal to the given one, if its element was already created, {@code null} otherwise.
+	 */
+	@SuppressWarnings("unchecked")
+	<T> ACreator<T> getPreviousCreator(ACreator<T> formulaElement) {
+		final FeatureModelFormula previous = previousFormula;
+		if (previous == null) {
+			return null;
+		}
+		final ACreator<?> previousFormulaElement;
+		synchronized (previous.map) {
+			previousFormulaElement = previous.map.get(formulaElement);
+		}
+		return (previousFormulaElement != null) && (previousFormulaElement.getIfPresent() != null) ? (ACreator<T>) previousFormulaElement : null;
+	}
+
+	/**
+	 * @return {@code true} if the CNF node and the variables of this formula and the previous formula are equal.
+	 */
+	synchronized boolean isEqualToPreviousFormula() {
+		if (equalToPreviousFormula == null) {
+			final FeatureModelFormula previous = previousFormula;
+			final ACreator<Node> previousNodeCreator = getPreviousCreator(new CNFNodeCreator());
+			equalToPreviousFormula = (previousNodeCreator != null)
+				&& Arrays.equals(getVariables().getNames(), previous.getVariables().getNames())
+				&& NodeKey.equalNodes(getCNFNode(), previousNodeCreator.getIfPresent());
+		}
+		return equalToPreviousFormula;
 	}
 
 }
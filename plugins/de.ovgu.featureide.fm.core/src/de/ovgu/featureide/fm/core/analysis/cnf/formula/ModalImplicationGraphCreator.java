@@ -20,8 +20,9 @@
  */
 package de.ovgu.featureide.fm.core.analysis.cnf.formula;
 
-import de.ovgu.featureide.fm.core.analysis.mig.MIGBuilder;
+import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
 import de.ovgu.featureide.fm.core.analysis.mig.ModalImplicationGraph;
+import de.ovgu.featureide.fm.core.analysis.mig.SparseMIGBuilder;
 import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
 
 /**
@@ -32,10 +33,12 @@ import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
 public class ModalImplicationGraphCreator extends ACreator<ModalImplicationGraph> {
 
 	private boolean complete = false;
+	private boolean sparse = false;
 
 	@Override
 	protected ModalImplicationGraph create() {
-		return LongRunningWrapper.runMethod(new MIGBuilder(formula.getElement(new CNFCreator()), complete));
+		final CNF cnf = formula.getElement(new CNFCreator());
+		return LongRunningWrapper.runMethod(sparse ? new SparseMIGBuilder(cnf, complete) : ModalImplicationGraph.getBuilder(cnf, complete));
 	}
 
 	public boolean isComplete() {
@@ -46,4 +49,22 @@ public class ModalImplicationGraphCreator extends ACreator<ModalImplicationGraph
 		this.complete = complete;
 	}
 
+	public boolean isSparse() {
+		return sparse;
+	}
+
+	/**
+	 * @param sparse whether the graph should always be built by a {@link SparseMIGBuilder}. Otherwise, the builder is chosen by the size of the formula.
+	 *
+	 * @see ModalImplicationGraph#getBuilder(CNF, boolean)
+	 */
+	public void setSparse(boolean sparse) {
+		this.sparse = sparse;
+	}
+
+	@Override
+	protected boolean isReusable() {
+		return true;
+	}
+
 }
@@ -0,0 +1,103 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.analysis.cnf.formula;
+
+import org.prop4j.Literal;
+import org.prop4j.Node;
+
+/**
+ * Wraps a {@link Node} to use it as key in hash-based collections. In contrast to {@link Node#equals(Object)}, the order of children is considered,
+ * such that equality can be checked in linear time.
+ *
+ * @author agent
+ */
+final class NodeKey {
+
+	private final Node node;
+	private final int hashCode;
+
+	/**
+	 * @param node the node (should not be modified afterwards)
+	 */
+	NodeKey(Node node) {
+		this.node = node;
+		hashCode = hashCode(node);
+	}
+
+	private static int hashCode(Node node) {
+		if (node instanceof Literal) {
+			return node.hashCode();
+		}
+		int hashCode = node.getClass().hashCode();
+		for (final Node child : node.getChildren()) {
+			hashCode = (31 * hashCode) + hashCode(child);
+		}
+		return hashCode;
+	}
+
+	/**
+	 * Compares two nodes including the order of their children.
+	 *
+	 * @param node1 the first node
+	 * @param node2 the second node
+	 * @return {@code true} if both nodes have the same structure.
+	 */
+	static boolean equalNodes(Node node1, Node node2) {
+		if (node1 == node2) {
+			return true;
+		}
+		if ((node1 == null) || (node2 == null) || (node1.getClass() != node2.getClass())) {
+			return false;
+		}
+		if (node1 instanceof Literal) {
+			return node1.equals(node2);
+		}
+		final Node[] children1 = node1.getChildren();
+		final Node[] children2 = node2.getChildren();
+		if (children1.length != children2.length) {
+			return false;
+		}
+		for (int i = 0; i < children1.length; i++) {
+			if (!equalNodes(children1[i], children2[i])) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public int hashCode() {
+		return hashCode;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if ((obj == null) || (getClass() != obj.getClass())) {
+			return false;
+		}
+		final NodeKey other = (NodeKey) obj;
+		return (hashCode == other.hashCode) && equalNodes(node, other.node);
+	}
+
+}
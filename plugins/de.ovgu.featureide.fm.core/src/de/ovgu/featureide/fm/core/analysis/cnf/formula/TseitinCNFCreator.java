@@ -0,0 +1,457 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.analysis.cnf.formula;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.prop4j.And;
+import org.prop4j.AtLeast;
+import org.prop4j.AtMost;
+import org.prop4j.Choose;
+import org.prop4j.Equals;
+import org.prop4j.False;
+import org.prop4j.Implies;
+import org.prop4j.Literal;
+import org.prop4j.Node;
+import org.prop4j.NodeWriter;
+import org.prop4j.Not;
+import org.prop4j.Or;
+import org.prop4j.True;
+
+import de.ovgu.featureide.fm.core.analysis.cnf.AuxiliaryVariables;
+import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
+import de.ovgu.featureide.fm.core.analysis.cnf.Variables;
+import de.ovgu.featureide.fm.core.base.FeatureUtils;
+import de.ovgu.featureide.fm.core.base.IConstraint;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator;
+import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator.CNFType;
+import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator.ModelType;
+import de.ovgu.featureide.fm.core.editing.NodeCreator;
+
+/**
+ * Creates a {@link CNF} using a structure-preserving encoding for complex constraints.<br> Constraints whose conversion by distribution would result in
+ * more clauses than a given limit are encoded with auxiliary variables for their subformulas (Tseitin encoding). Equal subformulas of all constraints share
+ * the same auxiliary variable. All other constraints and the feature tree are converted as in {@link CNFCreator}.<br> The auxiliary variables are appended
+ * after the features (see {@link AuxiliaryVariables}). By default, each auxiliary variable is equivalent to its subformula, such that the CNF has exactly one
+ * solution for each configuration of the feature model.
+ *
+ * @author agent
+ */
+public class TseitinCNFCreator extends ACreator<CNF> {
+
+	/**
+	 * The default maximum number of clauses for which a constraint is converted by distribution.
+	 */
+	public static final int DEFAULT_DISTRIBUTION_LIMIT = 100;
+
+	private static final String[] SYMBOLS_WITHOUT_CARDINALITY = Arrays.copyOf(NodeWriter.logicalSymbols, NodeWriter.logicalSymbols.length);
+	static {
+		SYMBOLS_WITHOUT_CARDINALITY[6] = NodeWriter.noSymbol;
+		SYMBOLS_WITHOUT_CARDINALITY[7] = NodeWriter.noSymbol;
+		SYMBOLS_WITHOUT_CARDINALITY[8] = NodeWriter.noSymbol;
+	}
+
+	private static final int TRUE = Integer.MAX_VALUE;
+	private static final int FALSE = -TRUE;
+
+	private static final int POSITIVE = 1;
+	private static final int NEGATIVE = 2;
+	private static final int BOTH = POSITIVE | NEGATIVE;
+
+	/**
+	 * An auxiliary variable that is defined by a conjunction or an equivalence of literals.
+	 */
+	private static final class Gate {
+
+		private final Class<? extends Node> type;
+		private final int[] inputs;
+		private final int hashCode;
+
+		private int variable;
+		private int definedPolarity;
+
+		private Gate(Class<? extends Node> type, int[] inputs) {
+			this.type = type;
+			this.inputs = inputs;
+			hashCode = (31 * type.hashCode()) + Arrays.hashCode(inputs);
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if ((obj == null) || (getClass() != obj.getClass())) {
+				return false;
+			}
+			final Gate other = (Gate) obj;
+			return (type == other.type) && Arrays.equals(inputs, other.inputs);
+		}
+
+	}
+
+	private final int distributionLimit;
+	private final boolean polarityBased;
+
+	private final List<LiteralSet> clauses = new ArrayList<>();
+	private final Map<Gate, Gate> gates = new HashMap<>();
+	private Variables variables;
+	private int numberOfVariables;
+	private boolean contradiction;
+
+	public TseitinCNFCreator() {
+		this(DEFAULT_DISTRIBUTION_LIMIT, false);
+	}
+
+	/**
+	 * @param distributionLimit the maximum number of clauses for which a constraint is converted by distribution
+	 * @param polarityBased whether auxiliary variables are only defined in the direction in which their subformulas occur (Plaisted-Greenbaum encoding).
+	 *        This results in fewer clauses, but a configuration of the feature model can correspond to multiple solutions of the CNF.
+	 */
+	protected TseitinCNFCreator(int distributionLimit, boolean polarityBased) {
+		this.distributionLimit = distributionLimit;
+		this.polarityBased = polarityBased;
+	}
+
+	@Override
+	protected CNF create() {
+		final IFeatureModel featureModel = formula.getFeatureModel();
+		variables = new Variables(FeatureUtils.getFeatureNamesList(featureModel));
+		numberOfVariables = variables.maxVariableID();
+
+		final AdvancedNodeCreator nodeCreator = new AdvancedNodeCreator(featureModel, CNFType.Regular, ModelType.OnlyStructure, false);
+		addCNF(nodeCreator.createNodes());
+		for (final IConstraint constraint : featureModel.getConstraints()) {
+			if (contradiction) {
+				break;
+			}
+			Node node = constraint.getNode();
+			if (containsCardinality(node)) {
+				node = node.clone().eliminateNotSupportedSymbols(SYMBOLS_WITHOUT_CARDINALITY);
+			}
+			if (estimateNumberOfClauses(node)[0] <= distributionLimit) {
+				addCNF(node.toRegularCNF());
+			} else {
+				addConstraint(node);
+			}
+		}
+
+		final AuxiliaryVariables auxiliaryVariables = new AuxiliaryVariables(variables, numberOfVariables - variables.maxVariableID());
+		if (contradiction) {
+			// same as converting a contradicting CNF node
+			clauses.clear();
+			clauses.add(new LiteralSet(0));
+		}
+		final CNF cnf = new CNF(auxiliaryVariables, new ArrayList<>(clauses));
+		clauses.clear();
+		gates.clear();
+		return cnf;
+	}
+
+	private static boolean containsCardinality(Node node) {
+		if ((node instanceof Choose) || (node instanceof AtLeast) || (node instanceof AtMost)) {
+			return true;
+		}
+		if (!(node instanceof Literal)) {
+			for (final Node child : node.getChildren()) {
+				if (containsCardinality(child)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Computes an upper bound for the number of clauses that result from converting the given node and its negation by distribution. Both numbers are
+	 * limited to the distribution limit plus one.
+	 *
+	 * @param node the node without cardinality constraints
+	 * @return the number of clauses for the node and its negation
+	 */
+	private long[] estimateNumberOfClauses(Node node) {
+		if ((node instanceof Literal) || (node instanceof True) || (node instanceof False)) {
+			return new long[] { 1, 1 };
+		} else if (node instanceof Not) {
+			final long[] childEstimation = estimateNumberOfClauses(node.getChildren()[0]);
+			return new long[] { childEstimation[1], childEstimation[0] };
+		} else if ((node instanceof And) || (node instanceof Or)) {
+			long sum = 0;
+			long product = 1;
+			final boolean and = node instanceof And;
+			for (final Node child : node.getChildren()) {
+				final long[] childEstimation = estimateNumberOfClauses(child);
+				sum = add(sum, and ? childEstimation[0] : childEstimation[1]);
+				product = multiply(product, and ? childEstimation[1] : childEstimation[0]);
+			}
+			return and ? new long[] { sum, product } : new long[] { product, sum };
+		} else if (node instanceof Implies) {
+			final long[] left = estimateNumberOfClauses(node.getChildren()[0]);
+			final long[] right = estimateNumberOfClauses(node.getChildren()[1]);
+			return new long[] { multiply(left[1], right[0]), add(left[0], right[1]) };
+		} else if (node instanceof Equals) {
+			final long[] left = estimateNumberOfClauses(node.getChildren()[0]);
+			final long[] right = estimateNumberOfClauses(node.getChildren()[1]);
+			return new long[] { add(multiply(left[1], right[0]), multiply(left[0], right[1])),
+				add(multiply(left[0], right[0]), multiply(left[1], right[1])) };
+		} else {
+			return new long[] { distributionLimit + 1L, distributionLimit + 1L };
+		}
+	}
+
+	private long add(long x, long y) {
+		return Math.min(x + y, distributionLimit + 1L);
+	}
+
+	private long multiply(long x, long y) {
+		return Math.min(x * y, distributionLimit + 1L);
+	}
+
+	private void addCNF(Node cnfNode) {
+		for (final Node clauseNode : cnfNode.getChildren()) {
+			addClause(encode(clauseNode.getChildren(), POSITIVE));
+		}
+	}
+
+	/**
+	 * Adds the clauses for a node that must be satisfied. Auxiliary variables are only introduced below the top-level conjunctions and disjunctions.
+	 */
+	private void addConstraint(Node node) {
+		final Node[] children = node.getChildren();
+		if (node instanceof And) {
+			for (final Node child : children) {
+				addConstraint(child);
+			}
+		} else if (node instanceof Or) {
+			addClause(encode(children, POSITIVE));
+		} else if (node instanceof Implies) {
+			addClause(-encode(children[0], NEGATIVE), encode(children[1], POSITIVE));
+		} else if (node instanceof Not) {
+			final Node child = children[0];
+			final Node[] grandChildren = child.getChildren();
+			if (child instanceof Not) {
+				addConstraint(grandChildren[0]);
+			} else if (child instanceof Or) {
+				for (final Node grandChild : grandChildren) {
+					addConstraint(new Not(grandChild));
+				}
+			} else if (child instanceof Implies) {
+				addConstraint(grandChildren[0]);
+				addConstraint(new Not(grandChildren[1]));
+			} else if (child instanceof And) {
+				final int[] literals = encode(grandChildren, NEGATIVE);
+				for (int i = 0; i < literals.length; i++) {
+					literals[i] = -literals[i];
+				}
+				addClause(literals);
+			} else {
+				addClause(-encode(child, NEGATIVE));
+			}
+		} else {
+			addClause(encode(node, POSITIVE));
+		}
+	}
+
+	private int[] encode(Node[] nodes, int polarity) {
+		final int[] literals = new int[nodes.length];
+		for (int i = 0; i < nodes.length; i++) {
+			literals[i] = encode(nodes[i], polarity);
+		}
+		return literals;
+	}
+
+	/**
+	 * Returns a literal that represents the given node. The literal is defined by additional clauses, if necessary.
+	 *
+	 * @param node the node without cardinality constraints
+	 * @param polarity whether the node occurs positive, negative, or both
+	 * @return the literal, {@link #TRUE}, or {@link #FALSE}
+	 */
+	private int encode(Node node, int polarity) {
+		final Node[] children = node.getChildren();
+		if (node instanceof Literal) {
+			return getLiteral((Literal) node);
+		} else if (node instanceof True) {
+			return TRUE;
+		} else if (node instanceof False) {
+			return FALSE;
+		} else if (node instanceof Not) {
+			return -encode(children[0], flip(polarity));
+		} else if (node instanceof And) {
+			return and(encode(children, polarity), polarity);
+		} else if (node instanceof Or) {
+			return or(encode(children, polarity), polarity);
+		} else if (node instanceof Implies) {
+			return or(new int[] { -encode(children[0], flip(polarity)), encode(children[1], polarity) }, polarity);
+		} else if (node instanceof Equals) {
+			return equivalent(encode(children[0], BOTH), encode(children[1], BOTH), polarity);
+		} else {
+			throw new IllegalArgumentException("Unsupported node " + node.getClass().getSimpleName());
+		}
+	}
+
+	private static int flip(int polarity) {
+		return (polarity == BOTH) ? BOTH : polarity ^ BOTH;
+	}
+
+	private int getLiteral(Literal literal) {
+		final int variable;
+		if (NodeCreator.varTrue.equals(literal.var)) {
+			variable = TRUE;
+		} else if (NodeCreator.varFalse.equals(literal.var)) {
+			variable = FALSE;
+		} else {
+			variable = variables.getVariable(String.valueOf(literal.var));
+			if (variable == 0) {
+				throw new IllegalArgumentException("Unknown variable " + literal.var);
+			}
+		}
+		return literal.positive ? variable : -variable;
+	}
+
+	private int and(int[] inputs, int polarity) {
+		final int[] literals = simplify(inputs, TRUE);
+		if (literals == null) {
+			return FALSE;
+		} else if (literals.length == 0) {
+			return TRUE;
+		} else if (literals.length == 1) {
+			return literals[0];
+		}
+		final Gate gate = getGate(And.class, literals);
+		final int x = gate.variable;
+		final int missingPolarity = getMissingPolarity(gate, polarity);
+		if ((missingPolarity & POSITIVE) != 0) {
+			for (final int literal : literals) {
+				addClause(-x, literal);
+			}
+		}
+		if ((missingPolarity & NEGATIVE) != 0) {
+			final int[] clause = new int[literals.length + 1];
+			for (int i = 0; i < literals.length; i++) {
+				clause[i] = -literals[i];
+			}
+			clause[literals.length] = x;
+			addClause(clause);
+		}
+		return x;
+	}
+
+	private int or(int[] inputs, int polarity) {
+		final int[] negatedInputs = new int[inputs.length];
+		for (int i = 0; i < inputs.length; i++) {
+			negatedInputs[i] = -inputs[i];
+		}
+		return -and(negatedInputs, flip(polarity));
+	}
+
+	private int equivalent(int a, int b, int polarity) {
+		if ((a == TRUE) || (a == FALSE)) {
+			return (a == TRUE) ? b : -b;
+		} else if ((b == TRUE) || (b == FALSE)) {
+			return (b == TRUE) ? a : -a;
+		} else if (a == b) {
+			return TRUE;
+		} else if (a == -b) {
+			return FALSE;
+		}
+		// (a <=> b) is equal to (-a <=> -b) and -(a <=> b) is equal to (-a <=> b)
+		final int sign = ((a < 0) == (b < 0)) ? 1 : -1;
+		final int[] literals = { Math.min(Math.abs(a), Math.abs(b)), Math.max(Math.abs(a), Math.abs(b)) };
+		final Gate gate = getGate(Equals.class, literals);
+		final int x = gate.variable;
+		final int missingPolarity = getMissingPolarity(gate, (sign > 0) ? polarity : flip(polarity));
+		if ((missingPolarity & POSITIVE) != 0) {
+			addClause(-x, -literals[0], literals[1]);
+			addClause(-x, literals[0], -literals[1]);
+		}
+		if ((missingPolarity & NEGATIVE) != 0) {
+			addClause(x, literals[0], literals[1]);
+			addClause(x, -literals[0], -literals[1]);
+		}
+		return sign * x;
+	}
+
+	private Gate getGate(Class<? extends Node> type, int[] inputs) {
+		final Gate newGate = new Gate(type, inputs);
+		final Gate gate = gates.get(newGate);
+		if (gate != null) {
+			return gate;
+		}
+		newGate.variable = ++numberOfVariables;
+		gates.put(newGate, newGate);
+		return newGate;
+	}
+
+	private int getMissingPolarity(Gate gate, int polarity) {
+		final int requiredPolarity = polarityBased ? polarity : BOTH;
+		final int missingPolarity = requiredPolarity & ~gate.definedPolarity;
+		gate.definedPolarity |= requiredPolarity;
+		return missingPolarity;
+	}
+
+	/**
+	 * Removes duplicates and neutral elements from the given literals.
+	 *
+	 * @param literals the literals
+	 * @param neutral the neutral element ({@link #TRUE} for conjunctions and {@link #FALSE} for disjunctions)
+	 * @return the sorted literals or {@code null}, if the literals contain the absorbing element or complementary literals
+	 */
+	private static int[] simplify(int[] literals, int neutral) {
+		final int[] sortedLiterals = Arrays.copyOf(literals, literals.length);
+		Arrays.sort(sortedLiterals);
+		for (final int literal : sortedLiterals) {
+			if ((literal == -neutral) || (Arrays.binarySearch(sortedLiterals, -literal) >= 0)) {
+				return null;
+			}
+		}
+		int count = 0;
+		for (final int literal : sortedLiterals) {
+			if ((literal != neutral) && ((count == 0) || (sortedLiterals[count - 1] != literal))) {
+				sortedLiterals[count++] = literal;
+			}
+		}
+		return Arrays.copyOf(sortedLiterals, count);
+	}
+
+	private void addClause(int... literals) {
+		final int[] clause = simplify(literals, FALSE);
+		if (clause != null) {
+			if (clause.length == 0) {
+				contradiction = true;
+			} else {
+				clauses.add(new LiteralSet(clause));
+			}
+		}
+	}
+
+}
@@ -24,6 +24,7 @@ import java.util.ArrayList;
 
 import de.ovgu.featureide.fm.core.analysis.cnf.ClauseList;
 import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
+import de.ovgu.featureide.fm.core.analysis.cnf.generator.configuration.twise.ParallelCombinationChecker.CheckedCombination;
 import de.ovgu.featureide.fm.core.analysis.cnf.generator.configuration.util.Pair;
 
 /**
@@ -46,14 +47,25 @@ class CoverAll implements ICoverStrategy {
 		if (util.isCovered(nextCondition)) {
 			return CombinationStatus.COVERED;
 		}
+		return coverUncovered(nextCondition, null);
+	}
+
+	@Override
+	public CombinationStatus cover(CheckedCombination checkedCombination) {
+		if (checkedCombination.isCovered() || util.isCovered(checkedCombination.getCombination())) {
+			return CombinationStatus.COVERED;
+		}
+		return coverUncovered(checkedCombination.getCombination(), checkedCombination);
+	}
 
+	private CombinationStatus coverUncovered(ClauseList nextCondition, CheckedCombination checkedCombination) {
 		util.initCandidatesList(nextCondition, candidatesList);
 
 		if (util.cover(false, candidatesList)) {
 			return CombinationStatus.COVERED;
 		}
 
-		if (util.removeInvalidClauses(nextCondition, candidatesList)) {
+		if (util.removeInvalidClauses(nextCondition, candidatesList, checkedCombination)) {
 			return CombinationStatus.INVALID;
 		}
 
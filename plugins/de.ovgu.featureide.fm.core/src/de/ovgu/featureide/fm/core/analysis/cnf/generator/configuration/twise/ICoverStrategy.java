@@ -21,6 +21,7 @@
 package de.ovgu.featureide.fm.core.analysis.cnf.generator.configuration.twise;
 
 import de.ovgu.featureide.fm.core.analysis.cnf.ClauseList;
+import de.ovgu.featureide.fm.core.analysis.cnf.generator.configuration.twise.ParallelCombinationChecker.CheckedCombination;
 
 /**
  * A strategy for covering a given {@link ClauseList expressions} within a list of {@link TWiseConfiguration solutions}.
@@ -35,4 +36,14 @@ interface ICoverStrategy {
 
 	CombinationStatus cover(final ClauseList nextCondition);
 
+	/**
+	 * Covers the given combination using the results of a previous check.
+	 *
+	 * @param checkedCombination the checked combination
+	 * @return the status of the combination
+	 */
+	default CombinationStatus cover(final CheckedCombination checkedCombination) {
+		return checkedCombination.isCovered() ? CombinationStatus.COVERED : cover(checkedCombination.getCombination());
+	}
+
 }
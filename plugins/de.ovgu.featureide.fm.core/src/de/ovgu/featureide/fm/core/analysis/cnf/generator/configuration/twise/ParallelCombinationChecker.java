@@ -0,0 +1,229 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.analysis.cnf.generator.configuration.twise;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import de.ovgu.featureide.fm.core.analysis.cnf.ClauseList;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
+import de.ovgu.featureide.fm.core.analysis.cnf.generator.configuration.util.Pair;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.ISatSolver;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.ISatSolver.SelectionStrategy;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.ISimpleSatSolver.SatResult;
+
+/**
+ * Checks a batch of combinations concurrently against the current state of a {@link TWiseConfigurationUtil}.<br> Each thread uses its own clone of
+ * the solver. The results only contain information that remains true while the combinations are covered one after another, so the sample is
+ * independent of the timing of the threads. Each thread always checks the same part of a batch, such that the solutions found by its solver are
+ * reproducible as well.
+ *
+ * @author agent
+ */
+final class ParallelCombinationChecker {
+
+	/**
+	 * The result of checking a single combination.
+	 */
+	static final class CheckedCombination {
+
+		private final ClauseList combination;
+		private final boolean covered;
+		private final boolean[] valid;
+		private final int[][] solutions;
+
+		private CheckedCombination(ClauseList combination, boolean covered, boolean[] valid, int[][] solutions) {
+			this.combination = combination;
+			this.covered = covered;
+			this.valid = valid;
+			this.solutions = solutions;
+		}
+
+		public ClauseList getCombination() {
+			return combination;
+		}
+
+		/**
+		 * @return {@code true} if the combination is already covered by the sample.
+		 */
+		public boolean isCovered() {
+			return covered;
+		}
+
+		/**
+		 * @return {@code true} if the validity of the clauses of the combination was computed.
+		 */
+		public boolean isValidityChecked() {
+			return valid != null;
+		}
+
+		public boolean isValid(int clauseIndex) {
+			return valid[clauseIndex];
+		}
+
+		/**
+		 * @return the solution that proves the validity of the clause or {@code null} if no new solution was found.
+		 */
+		public int[] getSolution(int clauseIndex) {
+			return solutions[clauseIndex];
+		}
+
+	}
+
+	private final TWiseConfigurationUtil util;
+	private final int threads;
+	private final int timeout;
+	private final ISatSolver[] solvers;
+
+	private ForkJoinPool pool;
+
+	public ParallelCombinationChecker(TWiseConfigurationUtil util, int threads, int timeout) {
+		this.util = util;
+		this.threads = threads;
+		this.timeout = timeout;
+		solvers = new ISatSolver[threads];
+	}
+
+	/**
+	 * Clones the solver for each thread.
+	 *
+	 * @return {@code false} if the solver does not support cloning, {@code true} otherwise.
+	 */
+	public boolean prepare() {
+		if (util.hasSolver()) {
+			try {
+				for (int i = 0; i < threads; i++) {
+					final ISatSolver solver = util.getSolver().clone();
+					solver.setTimeout(timeout);
+					// A clone keeps the selection strategy of its original, but not the corresponding variable order.
+					solver.setSelectionStrategy(SelectionStrategy.ORG);
+					solvers[i] = solver;
+				}
+			} catch (final RuntimeException e) {
+				return false;
+			}
+		}
+		pool = new ForkJoinPool(threads);
+		return true;
+	}
+
+	/**
+	 * Checks the given combinations. Must not be called while the sample is modified.
+	 *
+	 * @param combinations the combinations
+	 * @return the results in the same order as the combinations
+	 *
+	 * @throws Exception if a thread fails
+	 */
+	public List<CheckedCombination> check(List<ClauseList> combinations) throws Exception {
+		final int size = combinations.size();
+		final CheckedCombination[] results = new CheckedCombination[size];
+		final List<Callable<Void>> tasks = new ArrayList<>(threads);
+		for (int i = 0; i < threads; i++) {
+			final ISatSolver solver = solvers[i];
+			final int start = (int) (((long) size * i) / threads);
+			final int end = (int) (((long) size * (i + 1)) / threads);
+			tasks.add(() -> {
+				final List<Pair<LiteralSet, TWiseConfiguration>> candidatesList = new ArrayList<>();
+				for (int j = start; j < end; j++) {
+					results[j] = check(combinations.get(j), solver, candidatesList);
+				}
+				return null;
+			});
+		}
+		for (final Future<Void> future : pool.invokeAll(tasks)) {
+			try {
+				future.get();
+			} catch (final ExecutionException e) {
+				final Throwable cause = e.getCause();
+				if (cause instanceof Exception) {
+					throw (Exception) cause;
+				} else if (cause instanceof Error) {
+					throw (Error) cause;
+				}
+				throw e;
+			}
+		}
+
+		final List<CheckedCombination> resultList = new ArrayList<>(size);
+		for (final CheckedCombination checkedCombination : results) {
+			resultList.add(checkedCombination);
+		}
+		return resultList;
+	}
+
+	private CheckedCombination check(ClauseList combination, ISatSolver solver, List<Pair<LiteralSet, TWiseConfiguration>> candidatesList) {
+		if (util.isCovered(combination)) {
+			return new CheckedCombination(combination, true, null, null);
+		}
+
+		// The validity is only required if no configuration can be extended without calling the solver
+		util.initCandidatesList(combination, candidatesList);
+		for (final Pair<LiteralSet, TWiseConfiguration> pair : candidatesList) {
+			if (util.isSelectionPossible(pair.getKey(), pair.getValue(), false)) {
+				return new CheckedCombination(combination, false, null, null);
+			}
+		}
+
+		final boolean[] valid = new boolean[combination.size()];
+		final int[][] solutions = new int[combination.size()][];
+		for (int i = 0; i < valid.length; i++) {
+			final LiteralSet literals = combination.get(i);
+			if (!util.hasSolver()) {
+				valid[i] = true;
+			} else if (util.isCombinationInvalidMIG(literals)) {
+				valid[i] = false;
+			} else if (util.isCombinationValidSample(literals)) {
+				valid[i] = true;
+			} else {
+				final int orgAssingmentLength = solver.getAssignmentSize();
+				solver.assignmentPushAll(literals.getLiterals());
+				try {
+					if (solver.hasSolution() == SatResult.TRUE) {
+						valid[i] = true;
+						solutions[i] = solver.getSolution();
+					}
+				} finally {
+					solver.assignmentClear(orgAssingmentLength);
+				}
+			}
+		}
+		return new CheckedCombination(combination, false, valid, solutions);
+	}
+
+	/**
+	 * Releases the threads and solvers.
+	 */
+	public void dispose() {
+		if (pool != null) {
+			pool.shutdownNow();
+			pool = null;
+		}
+		for (int i = 0; i < threads; i++) {
+			solvers[i] = null;
+		}
+	}
+
+}
@@ -32,9 +32,11 @@ import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
 import de.ovgu.featureide.fm.core.analysis.cnf.generator.configuration.AConfigurationGenerator;
 import de.ovgu.featureide.fm.core.analysis.cnf.generator.configuration.ITWiseConfigurationGenerator;
 import de.ovgu.featureide.fm.core.analysis.cnf.generator.configuration.twise.ICoverStrategy.CombinationStatus;
+import de.ovgu.featureide.fm.core.analysis.cnf.generator.configuration.twise.ParallelCombinationChecker.CheckedCombination;
 import de.ovgu.featureide.fm.core.analysis.cnf.generator.configuration.twise.iterator.ICombinationSupplier;
 import de.ovgu.featureide.fm.core.analysis.cnf.generator.configuration.twise.iterator.MergeIterator3;
 import de.ovgu.featureide.fm.core.analysis.cnf.generator.configuration.twise.iterator.SingleIterator;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.AdvancedSatSolver;
 import de.ovgu.featureide.fm.core.analysis.cnf.solver.ISatSolver.SelectionStrategy;
 import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
 import de.ovgu.featureide.fm.core.job.monitor.MonitorThread;
@@ -123,9 +125,14 @@ public class TWiseConfigurationGenerator extends AConfigurationGenerator impleme
 		return TWiseCombiner.convertExpressions(expressions);
 	}
 
+	private static final int BATCH_SIZE_PER_THREAD = 256;
+
 	// TODO Variation Point: Iterations of removing low-contributing Configurations
 	private int iterations = 5;
 
+	private int threads = 1;
+	private ParallelCombinationChecker checker;
+
 	protected TWiseConfigurationUtil util;
 	protected TWiseCombiner combiner;
 
@@ -168,6 +175,9 @@ public class TWiseConfigurationGenerator extends AConfigurationGenerator impleme
 		}
 		util.setMaxSampleSize(maxSampleSize);
 		util.setRandom(getRandom());
+		if (solver instanceof AdvancedSatSolver) {
+			((AdvancedSatSolver) solver).setPhaseSeed(getRandom().nextLong());
+		}
 
 		util.computeRandomSample();
 		if (!util.getCnf().getClauses().isEmpty()) {
@@ -189,9 +199,23 @@ public class TWiseConfigurationGenerator extends AConfigurationGenerator impleme
 
 		phaseCount = 0;
 
-		for (int i = 0; i < iterations; i++) {
-			trimConfigurations();
-			buildCombinations();
+		if (threads > 1) {
+			checker = new ParallelCombinationChecker(util, threads, getTimeout());
+			if (!checker.prepare()) {
+				checker.dispose();
+				checker = null;
+			}
+		}
+		try {
+			for (int i = 0; i < iterations; i++) {
+				trimConfigurations();
+				buildCombinations();
+			}
+		} finally {
+			if (checker != null) {
+				checker.dispose();
+				checker = null;
+			}
 		}
 
 		bestResult.forEach(configuration -> addResult(configuration.getCompleteSolution()));
@@ -202,6 +226,7 @@ public class TWiseConfigurationGenerator extends AConfigurationGenerator impleme
 			final TWiseConfigurationStatistic statistic = new TWiseConfigurationStatistic();
 			statistic.setT(t);
 			statistic.setFastCalc(true);
+			statistic.setThreads(threads);
 			statistic.calculate(util, curResult, presenceConditionManager.getGroupedPresenceConditions());
 
 			final double[] normConfigValues = statistic.getConfigValues2();
@@ -229,7 +254,7 @@ public class TWiseConfigurationGenerator extends AConfigurationGenerator impleme
 		return index;
 	}
 
-	private void buildCombinations() {
+	private void buildCombinations() throws Exception {
 		// TODO Variation Point: Cover Strategies
 		final List<? extends ICoverStrategy> phaseList = Arrays.asList(//
 				new CoverAll(util) //
@@ -256,33 +281,44 @@ public class TWiseConfigurationGenerator extends AConfigurationGenerator impleme
 			count = coveredCount;
 			phaseCount++;
 			ICoverStrategy phase = phaseList.get(0);
-			while (true) {
-				final ClauseList combinedCondition = it.get();
-				if (combinedCondition == null) {
-					break;
-				}
-				if (combinedCondition.isEmpty()) {
-					invalidCount++;
-				} else {
-					final CombinationStatus covered = phase.cover(combinedCondition);
-					switch (covered) {
-					case NOT_COVERED:
-						combinationListUncovered.add(combinedCondition);
-						break;
-					case COVERED:
-						coveredCount++;
-						combinedCondition.clear();
+			if (checker == null) {
+				while (true) {
+					final ClauseList combinedCondition = it.get();
+					if (combinedCondition == null) {
 						break;
-					case INVALID:
+					}
+					if (combinedCondition.isEmpty()) {
 						invalidCount++;
-						combinedCondition.clear();
-						break;
-					default:
-						combinedCondition.clear();
-						break;
+					} else {
+						updateCounts(combinedCondition, phase.cover(combinedCondition), combinationListUncovered);
+					}
+					count++;
+				}
+			} else {
+				final int batchSize = BATCH_SIZE_PER_THREAD * threads;
+				final List<ClauseList> batch = new ArrayList<>(batchSize);
+				boolean hasNext = true;
+				while (hasNext) {
+					batch.clear();
+					while (batch.size() < batchSize) {
+						final ClauseList combinedCondition = it.get();
+						if (combinedCondition == null) {
+							hasNext = false;
+							break;
+						}
+						if (combinedCondition.isEmpty()) {
+							invalidCount++;
+							count++;
+						} else {
+							batch.add(combinedCondition);
+						}
+					}
+					for (final CheckedCombination checkedCombination : checker.check(batch)) {
+						final ClauseList combinedCondition = checkedCombination.getCombination();
+						updateCounts(combinedCondition, phase.cover(checkedCombination), combinationListUncovered);
+						count++;
 					}
 				}
-				count++;
 			}
 
 			int coveredIndex = -1;
@@ -321,6 +357,25 @@ public class TWiseConfigurationGenerator extends AConfigurationGenerator impleme
 		}
 	}
 
+	private void updateCounts(ClauseList combinedCondition, CombinationStatus covered, List<ClauseList> combinationListUncovered) {
+		switch (covered) {
+		case NOT_COVERED:
+			combinationListUncovered.add(combinedCondition);
+			break;
+		case COVERED:
+			coveredCount++;
+			combinedCondition.clear();
+			break;
+		case INVALID:
+			invalidCount++;
+			combinedCondition.clear();
+			break;
+		default:
+			combinedCondition.clear();
+			break;
+		}
+	}
+
 	public TWiseConfigurationUtil getUtil() {
 		return util;
 	}
@@ -333,4 +388,18 @@ public class TWiseConfigurationGenerator extends AConfigurationGenerator impleme
 		this.iterations = iterations;
 	}
 
+	public int getThreads() {
+		return threads;
+	}
+
+	/**
+	 * Sets the number of threads that check combinations concurrently. The sample only depends on the {@link #setRandom(java.util.Random) random
+	 * generator} and the number of threads.
+	 *
+	 * @param threads the number of threads ({@code 1} disables concurrent checking)
+	 */
+	public void setThreads(int threads) {
+		this.threads = Math.max(1, threads);
+	}
+
 }
@@ -25,10 +25,11 @@ import java.util.List;
 
 import de.ovgu.featureide.fm.core.analysis.cnf.ClauseList;
 import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
-import de.ovgu.featureide.fm.core.analysis.cnf.generator.configuration.util.Pair;
+import de.ovgu.featureide.fm.core.analysis.cnf.generator.configuration.twise.TWiseCoverageCalculator.CombinationVisitor;
 
 /**
- * Calculates statistics regarding t-wise feature coverage of a set of solutions.
+ * Calculates statistics regarding t-wise feature coverage of a set of solutions.<br> The configurations covering a combination of presence
+ * conditions are computed with a {@link TWiseCoverageCalculator}, which stores the configurations as bit sets.
  *
  * @author Sebastian Krieter
  */
@@ -53,6 +54,7 @@ public class TWiseConfigurationStatistic {
 	private boolean fastCalc = false;
 	private boolean onlyCoverage = false;
 	private int t;
+	private int threads = 1;
 
 	public boolean isCountValid() {
 		return countValid;
@@ -86,6 +88,19 @@ public class TWiseConfigurationStatistic {
 		this.onlyCoverage = onlyCoverage;
 	}
 
+	public int getThreads() {
+		return threads;
+	}
+
+	/**
+	 * Sets the number of threads that are used to compute the statistic. The results do not depend on the number of threads.
+	 *
+	 * @param threads the number of threads ({@code 1} computes the statistic in the calling thread)
+	 */
+	public void setThreads(int threads) {
+		this.threads = Math.max(1, threads);
+	}
+
 	public void calculate(TWiseConfigurationUtil util, List<? extends LiteralSet> configurations, List<List<PresenceCondition>> groupedPresenceConditions) {
 		numberOfValidConditions = 0;
 		numberOfInvalidConditions = 0;
@@ -95,143 +110,91 @@ public class TWiseConfigurationStatistic {
 		configValues = null;
 		configValues2 = null;
 
-		if (onlyCoverage) {
-			completeCalc2(util, configurations, groupedPresenceConditions);
-		} else {
-			if (fastCalc) {
-				fastCalc(util, configurations, groupedPresenceConditions);
+		final TWiseCoverageCalculator calculator = new TWiseCoverageCalculator(util, configurations, threads);
+		try {
+			if (onlyCoverage) {
+				completeCalc(util, calculator, groupedPresenceConditions, false);
 			} else {
-				completeCalc(util, configurations, groupedPresenceConditions);
+				if (fastCalc) {
+					fastCalc(calculator, configurations, groupedPresenceConditions);
+				} else {
+					completeCalc(util, calculator, groupedPresenceConditions, true);
+				}
 			}
+		} finally {
+			calculator.dispose();
 		}
 	}
 
-	private void completeCalc(TWiseConfigurationUtil util, List<? extends LiteralSet> configurations, List<List<PresenceCondition>> groupedPresenceConditions) {
-		configValues = new double[configurations.size()];
-		configValues2 = new double[configurations.size()];
+	private class CoverageVisitor implements CombinationVisitor {
 
-		final TWiseCombiner combiner = new TWiseCombiner(util.getCnf().getVariables().size());
-		final ClauseList combinedCondition = new ClauseList();
-		final PresenceCondition[] clauseListArray = new PresenceCondition[t];
+		private final TWiseCoverageCalculator calculator;
+		private final TWiseCombiner combiner;
+		private final ClauseList combinedCondition = new ClauseList();
+		private final double[] blockConfigValues;
+		private final double[] blockConfigValues2;
 
-		final ArrayList<List<Pair<Integer, LiteralSet>>> lists = new ArrayList<>(t);
-		{
-			for (int i = 0; i <= t; i++) {
-				lists.add(new ArrayList<Pair<Integer, LiteralSet>>());
-			}
-			final List<Pair<Integer, LiteralSet>> list = lists.get(0);
-			int confIndex = 0;
-			for (final LiteralSet configuration : configurations) {
-				list.add(new Pair<>(confIndex++, configuration));
-			}
-		}
-		final List<Pair<Integer, LiteralSet>> curConfigurationList = lists.get(t);
-
-		for (final List<PresenceCondition> expressions : groupedPresenceConditions) {
-			final int n = expressions.size();
-			if (n == 0) {
-				continue;
-			}
-			final int t2 = (n < t) ? n : t;
-			final int[] c = new int[t2 + 1];
-			c[0] = -1;
-			for (int i = 1; i <= t2; i++) {
-				c[i] = n - (t2 - i);
-			}
-			boolean first = true;
-
-			combinationLoop: while (true) {
-				int i = t2;
-				for (; i > 0; i--) {
-					final int ci = ++c[i];
-					if (ci < ((n - t2) + i)) {
-						break;
-					}
-				}
+		private long valid, invalid, covered, uncovered;
 
-				if (i == 0) {
-					if (first) {
-						first = false;
-					} else {
-						break combinationLoop;
-					}
-				}
+		private CoverageVisitor(TWiseConfigurationUtil util, TWiseCoverageCalculator calculator, boolean computeConfigValues) {
+			this.calculator = calculator;
+			combiner = countValid ? new TWiseCombiner(util.getCnf().getVariables().size()) : null;
+			blockConfigValues = computeConfigValues ? new double[calculator.getNumberOfConfigurations()] : null;
+			blockConfigValues2 = computeConfigValues ? new double[calculator.getNumberOfConfigurations()] : null;
+		}
 
-				for (int j = i + 1; j <= t2; j++) {
-					c[j] = c[j - 1] + 1;
+		@Override
+		public boolean visit(PresenceCondition[] combination, long[] coveringConfigurations, int count) {
+			if (count > 0) {
+				covered++;
+				if (countValid) {
+					valid++;
 				}
-
-				for (int j = i; j <= t2; j++) {
-					if (j > 0) {
-						final List<Pair<Integer, LiteralSet>> prevList = lists.get(j - 1);
-						final List<Pair<Integer, LiteralSet>> curList = lists.get(j);
-						curList.clear();
-						final PresenceCondition presenceCondition = expressions.get(c[j]);
-						entryLoop: for (final Pair<Integer, LiteralSet> entry : prevList) {
-							for (final LiteralSet literals : presenceCondition) {
-								if (entry.getValue().containsAll(literals)) {
-									curList.add(entry);
-									continue entryLoop;
-								}
-							}
+				if (blockConfigValues != null) {
+					final double value = 1.0 / count;
+					for (int k = TWiseCoverageCalculator.nextSetBit(coveringConfigurations, 0); k >= 0; k =
+						TWiseCoverageCalculator.nextSetBit(coveringConfigurations, k + 1)) {
+						blockConfigValues[k] += value;
+						if (count == 1) {
+							blockConfigValues2[k]++;
 						}
 					}
 				}
-
-				final int count = curConfigurationList.size();
-				if (count > 0) {
-					numberOfCoveredConditions++;
-					if (countValid) {
-						numberOfValidConditions++;
-					}
-					final double value = 1.0 / count;
-					final long value2 = count == 1 ? 1 : 0;
-					for (final Pair<Integer, LiteralSet> entry : curConfigurationList) {
-						final int k = entry.getKey();
-						configValues[k] += value;
-						configValues2[k] += value2;
-					}
-				} else {
-					if (countValid) {
-						for (int j = 1; j < c.length; j++) {
-							clauseListArray[j - 1] = expressions.get(c[j]);
-						}
-						combinedCondition.clear();
-						combiner.combineConditions(clauseListArray, combinedCondition);
-						if (util.isCombinationValid(combinedCondition)) {
-							numberOfValidConditions++;
-							numberOfUncoveredConditions++;
-						} else {
-							numberOfInvalidConditions++;
-						}
+			} else {
+				if (countValid) {
+					combinedCondition.clear();
+					combiner.combineConditions(combination, combinedCondition);
+					if (calculator.isCombinationValid(combinedCondition)) {
+						valid++;
+						uncovered++;
 					} else {
-						numberOfUncoveredConditions++;
+						invalid++;
 					}
+				} else {
+					uncovered++;
 				}
 			}
+			return true;
 		}
-	}
 
-	private void completeCalc2(TWiseConfigurationUtil util, List<? extends LiteralSet> configurations, List<List<PresenceCondition>> groupedPresenceConditions) {
-		configValues = new double[configurations.size()];
-		configValues2 = new double[configurations.size()];
-
-		final TWiseCombiner combiner = new TWiseCombiner(util.getCnf().getVariables().size());
-		final ClauseList combinedCondition = new ClauseList();
-		final PresenceCondition[] clauseListArray = new PresenceCondition[t];
-
-		final ArrayList<List<Pair<Integer, LiteralSet>>> lists = new ArrayList<>(t);
-		{
-			for (int i = 0; i <= t; i++) {
-				lists.add(new ArrayList<Pair<Integer, LiteralSet>>());
-			}
-			final List<Pair<Integer, LiteralSet>> list = lists.get(0);
-			int confIndex = 0;
-			for (final LiteralSet configuration : configurations) {
-				list.add(new Pair<>(confIndex++, configuration));
+		private void addTo(TWiseConfigurationStatistic statistic) {
+			statistic.numberOfValidConditions += valid;
+			statistic.numberOfInvalidConditions += invalid;
+			statistic.numberOfCoveredConditions += covered;
+			statistic.numberOfUncoveredConditions += uncovered;
+			if (blockConfigValues != null) {
+				for (int k = 0; k < blockConfigValues.length; k++) {
+					statistic.configValues[k] += blockConfigValues[k];
+					statistic.configValues2[k] += blockConfigValues2[k];
+				}
 			}
 		}
-		final List<Pair<Integer, LiteralSet>> curConfigurationList = lists.get(t);
+	}
+
+	private void completeCalc(TWiseConfigurationUtil util, TWiseCoverageCalculator calculator, List<List<PresenceCondition>> groupedPresenceConditions,
+			boolean computeConfigValues) {
+		configValues = new double[calculator.getNumberOfConfigurations()];
+		configValues2 = new double[calculator.getNumberOfConfigurations()];
 
 		for (final List<PresenceCondition> expressions : groupedPresenceConditions) {
 			final int n = expressions.size();
@@ -239,93 +202,41 @@ public class TWiseConfigurationStatistic {
 				continue;
 			}
 			final int t2 = (n < t) ? n : t;
-			final int[] c = new int[t2 + 1];
-			c[0] = -1;
-			for (int i = 1; i <= t2; i++) {
-				c[i] = n - (t2 - i);
+			for (final CoverageVisitor visitor : calculator.visitCombinations(expressions, t2,
+					() -> new CoverageVisitor(util, calculator, computeConfigValues))) {
+				visitor.addTo(this);
 			}
-			boolean first = true;
-
-			combinationLoop: while (true) {
-				int i = t2;
-				for (; i > 0; i--) {
-					final int ci = ++c[i];
-					if (ci < ((n - t2) + i)) {
-						break;
-					}
-				}
+		}
+	}
 
-				if (i == 0) {
-					if (first) {
-						first = false;
-					} else {
-						break combinationLoop;
-					}
-				}
+	private static class UniqueCoverageVisitor implements CombinationVisitor {
 
-				for (int j = i + 1; j <= t2; j++) {
-					c[j] = c[j - 1] + 1;
-				}
+		private final double[] blockConfigValues2;
 
-				for (int j = i; j <= t2; j++) {
-					if (j > 0) {
-						final List<Pair<Integer, LiteralSet>> prevList = lists.get(j - 1);
-						final List<Pair<Integer, LiteralSet>> curList = lists.get(j);
-						curList.clear();
-						final PresenceCondition presenceCondition = expressions.get(c[j]);
-						entryLoop: for (final Pair<Integer, LiteralSet> entry : prevList) {
-							for (final LiteralSet literals : presenceCondition) {
-								if (entry.getValue().containsAll(literals)) {
-									curList.add(entry);
-									continue entryLoop;
-								}
-							}
-						}
-					}
-				}
+		private long covered, uncovered;
 
-				final int count = curConfigurationList.size();
-				if (count > 0) {
-					numberOfCoveredConditions++;
-					if (countValid) {
-						numberOfValidConditions++;
-					}
-				} else {
-					if (countValid) {
-						for (int j = 1; j < c.length; j++) {
-							clauseListArray[j - 1] = expressions.get(c[j]);
-						}
-						combinedCondition.clear();
-						combiner.combineConditions(clauseListArray, combinedCondition);
-						if (util.isCombinationValid(combinedCondition)) {
-							numberOfValidConditions++;
-							numberOfUncoveredConditions++;
-						} else {
-							numberOfInvalidConditions++;
-						}
-					} else {
-						numberOfUncoveredConditions++;
-					}
+		private UniqueCoverageVisitor(int numberOfConfigurations) {
+			blockConfigValues2 = new double[numberOfConfigurations];
+		}
+
+		@Override
+		public boolean visit(PresenceCondition[] combination, long[] coveringConfigurations, int count) {
+			if (count > 0) {
+				covered++;
+				if (count == 1) {
+					blockConfigValues2[TWiseCoverageCalculator.nextSetBit(coveringConfigurations, 0)]++;
 				}
+			} else {
+				uncovered++;
 			}
+			return true;
 		}
 	}
 
-	private void fastCalc(TWiseConfigurationUtil util, List<? extends LiteralSet> configurations, List<List<PresenceCondition>> groupedPresenceConditions) {
+	private void fastCalc(TWiseCoverageCalculator calculator, List<? extends LiteralSet> configurations,
+			List<List<PresenceCondition>> groupedPresenceConditions) {
 		configValues2 = new double[configurations.size()];
 
-		final ArrayList<List<Pair<Integer, LiteralSet>>> lists = new ArrayList<>(t);
-		{
-			for (int i = 0; i < t; i++) {
-				lists.add(new ArrayList<Pair<Integer, LiteralSet>>(configurations.size()));
-			}
-			final List<Pair<Integer, LiteralSet>> list = lists.get(0);
-			int confIndex = 0;
-			for (final LiteralSet configuration : configurations) {
-				list.add(new Pair<>(confIndex++, configuration));
-			}
-		}
-
 		for (List<PresenceCondition> expressions : groupedPresenceConditions) {
 			if (expressions.size() < t) {
 				if (expressions.size() == 0) {
@@ -338,72 +249,12 @@ public class TWiseConfigurationStatistic {
 				}
 				expressions = paddedExpressions;
 			}
-			final int n = expressions.size();
-			final int[] c = new int[t + 1];
-			c[0] = -1;
-			for (int i = 1; i <= t; i++) {
-				c[i] = n - (t - i);
-			}
-			boolean first = true;
-
-			combinationLoop: while (true) {
-				int i = t;
-				for (; i > 0; i--) {
-					final int ci = ++c[i];
-					if (ci < ((n - t) + i)) {
-						break;
-					}
-				}
-
-				if (i == 0) {
-					if (first) {
-						first = false;
-					} else {
-						break combinationLoop;
-					}
-				}
-
-				for (int j = i + 1; j <= t; j++) {
-					c[j] = c[j - 1] + 1;
-				}
-
-				for (int j = i; j < t; j++) {
-					if (j > 0) {
-						final List<Pair<Integer, LiteralSet>> prevList = lists.get(j - 1);
-						final List<Pair<Integer, LiteralSet>> curList = lists.get(j);
-						curList.clear();
-						final PresenceCondition presenceCondition = expressions.get(c[j]);
-						entryLoop: for (final Pair<Integer, LiteralSet> entry : prevList) {
-							for (final LiteralSet literals : presenceCondition) {
-								if (entry.getValue().containsAll(literals)) {
-									curList.add(entry);
-									continue entryLoop;
-								}
-							}
-						}
-					}
-				}
-
-				Pair<Integer, LiteralSet> curEntry = null;
-				final PresenceCondition presenceCondition = expressions.get(c[t]);
-				entryLoop: for (final Pair<Integer, LiteralSet> entry : lists.get(t - 1)) {
-					for (final LiteralSet literals : presenceCondition) {
-						if (entry.getValue().containsAll(literals)) {
-							if (curEntry == null) {
-								numberOfCoveredConditions++;
-								curEntry = entry;
-								continue entryLoop;
-							} else {
-								continue combinationLoop;
-							}
-						}
-					}
-				}
-
-				if (curEntry != null) {
-					configValues2[curEntry.getKey()]++;
-				} else {
-					numberOfUncoveredConditions++;
+			for (final UniqueCoverageVisitor visitor : calculator.visitCombinations(expressions, t,
+					() -> new UniqueCoverageVisitor(configurations.size()))) {
+				numberOfCoveredConditions += visitor.covered;
+				numberOfUncoveredConditions += visitor.uncovered;
+				for (int k = 0; k < configValues2.length; k++) {
+					configValues2[k] += visitor.blockConfigValues2[k];
 				}
 			}
 		}
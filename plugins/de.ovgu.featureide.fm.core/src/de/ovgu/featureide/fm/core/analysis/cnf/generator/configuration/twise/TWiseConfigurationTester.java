@@ -26,8 +26,7 @@ import java.util.List;
 import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
 import de.ovgu.featureide.fm.core.analysis.cnf.ClauseList;
 import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
-import de.ovgu.featureide.fm.core.analysis.cnf.generator.configuration.twise.iterator.ICombinationIterator;
-import de.ovgu.featureide.fm.core.analysis.cnf.generator.configuration.twise.iterator.LexicographicIterator;
+import de.ovgu.featureide.fm.core.analysis.cnf.generator.configuration.twise.TWiseCoverageCalculator.CombinationVisitor;
 import de.ovgu.featureide.fm.core.analysis.cnf.solver.AdvancedSatSolver;
 
 /**
@@ -42,6 +41,7 @@ public class TWiseConfigurationTester {
 	private List<LiteralSet> sample;
 	private PresenceConditionManager presenceConditionManager;
 	private int t;
+	private int threads = 1;
 
 	public TWiseConfigurationTester(CNF cnf) {
 		if (!cnf.getClauses().isEmpty()) {
@@ -68,6 +68,19 @@ public class TWiseConfigurationTester {
 		this.sample = sample;
 	}
 
+	public int getThreads() {
+		return threads;
+	}
+
+	/**
+	 * Sets the number of threads that are used to compute the coverage and the uncovered conditions.
+	 *
+	 * @param threads the number of threads ({@code 1} computes everything in the calling thread)
+	 */
+	public void setThreads(int threads) {
+		this.threads = Math.max(1, threads);
+	}
+
 	/**
 	 * Creates statistic values about covered combinations.<br>
 	 * To get a percentage value of covered combinations use:<br>
@@ -90,6 +103,7 @@ public class TWiseConfigurationTester {
 		final TWiseConfigurationStatistic statistic = new TWiseConfigurationStatistic();
 		statistic.setT(t);
 		statistic.setOnlyCoverage(true);
+		statistic.setThreads(threads);
 		statistic.calculate(util, sample, presenceConditionManager.getGroupedPresenceConditions());
 		return statistic;
 	}
@@ -108,29 +122,49 @@ public class TWiseConfigurationTester {
 		return getUncoveredConditions(false);
 	}
 
-	private List<ClauseList> getUncoveredConditions(boolean cancelAfterFirst) {
-		final ArrayList<ClauseList> uncoveredConditions = new ArrayList<>();
-		final TWiseCombiner combiner = new TWiseCombiner(util.getCnf().getVariables().size());
-		ClauseList combinedCondition = new ClauseList();
-
-		groupLoop: for (final List<PresenceCondition> expressions : presenceConditionManager.getGroupedPresenceConditions()) {
-			for (final ICombinationIterator iterator = new LexicographicIterator(t, expressions); iterator.hasNext();) {
-				final PresenceCondition[] clauseListArray = iterator.next();
-				if (clauseListArray == null) {
-					break;
-				}
+	private class UncoveredConditionVisitor implements CombinationVisitor {
+
+		private final TWiseCoverageCalculator calculator;
+		private final boolean cancelAfterFirst;
+		private final TWiseCombiner combiner = new TWiseCombiner(util.getCnf().getVariables().size());
+		private final ArrayList<ClauseList> uncoveredConditions = new ArrayList<>();
+		private ClauseList combinedCondition = new ClauseList();
 
+		private UncoveredConditionVisitor(TWiseCoverageCalculator calculator, boolean cancelAfterFirst) {
+			this.calculator = calculator;
+			this.cancelAfterFirst = cancelAfterFirst;
+		}
+
+		@Override
+		public boolean visit(PresenceCondition[] combination, long[] coveringConfigurations, int count) {
+			if (count == 0) {
 				combinedCondition.clear();
-				combiner.combineConditions(clauseListArray, combinedCondition);
-				if (!TWiseConfigurationUtil.isCovered(combinedCondition, sample) && util.isCombinationValid(combinedCondition)) {
+				combiner.combineConditions(combination, combinedCondition);
+				if (calculator.isCombinationValid(combinedCondition)) {
 					uncoveredConditions.add(combinedCondition);
 					combinedCondition = new ClauseList();
-					if (cancelAfterFirst) {
-						break groupLoop;
-					}
+					return !cancelAfterFirst;
 				}
+			}
+			return true;
+		}
+	}
 
+	private List<ClauseList> getUncoveredConditions(boolean cancelAfterFirst) {
+		final ArrayList<ClauseList> uncoveredConditions = new ArrayList<>();
+		final TWiseCoverageCalculator calculator = new TWiseCoverageCalculator(util, sample, cancelAfterFirst ? 1 : threads);
+		try {
+			for (final List<PresenceCondition> expressions : presenceConditionManager.getGroupedPresenceConditions()) {
+				for (final UncoveredConditionVisitor visitor : calculator.visitCombinations(expressions, t,
+						() -> new UncoveredConditionVisitor(calculator, cancelAfterFirst))) {
+					uncoveredConditions.addAll(visitor.uncoveredConditions);
+					if (cancelAfterFirst && !uncoveredConditions.isEmpty()) {
+						return uncoveredConditions;
+					}
+				}
 			}
+		} finally {
+			calculator.dispose();
 		}
 		return uncoveredConditions;
 	}
@@ -39,11 +39,11 @@ import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet.Order;
 import de.ovgu.featureide.fm.core.analysis.cnf.generator.configuration.ITWiseConfigurationGenerator;
 import de.ovgu.featureide.fm.core.analysis.cnf.generator.configuration.ITWiseConfigurationGenerator.Deduce;
 import de.ovgu.featureide.fm.core.analysis.cnf.generator.configuration.UniformRandomConfigurationGenerator;
+import de.ovgu.featureide.fm.core.analysis.cnf.generator.configuration.twise.ParallelCombinationChecker.CheckedCombination;
 import de.ovgu.featureide.fm.core.analysis.cnf.generator.configuration.util.Pair;
 import de.ovgu.featureide.fm.core.analysis.cnf.solver.ISatSolver;
 import de.ovgu.featureide.fm.core.analysis.cnf.solver.ISimpleSatSolver.SatResult;
 import de.ovgu.featureide.fm.core.analysis.mig.CollectingStrongVisitor;
-import de.ovgu.featureide.fm.core.analysis.mig.MIGBuilder;
 import de.ovgu.featureide.fm.core.analysis.mig.ModalImplicationGraph;
 import de.ovgu.featureide.fm.core.analysis.mig.Traverser;
 import de.ovgu.featureide.fm.core.analysis.mig.Vertex;
@@ -101,7 +101,7 @@ class TWiseConfigurationUtil {
 		if (ITWiseConfigurationGenerator.VERBOSE) {
 			System.out.print("Init graph... ");
 		}
-		mig = LongRunningWrapper.runMethod(new MIGBuilder(localSolver.getSatInstance(), false));
+		mig = ModalImplicationGraph.build(localSolver.getSatInstance(), false);
 		strongHull = new LiteralSet[mig.getAdjList().size()];
 
 		for (final Vertex vertex : mig.getAdjList()) {
@@ -205,6 +205,50 @@ class TWiseConfigurationUtil {
 		return !clauses.isEmpty();
 	}
 
+	/**
+	 * Checks whether a combination is valid using the given solver instead of the shared one. Found solutions are not stored, such that this method
+	 * can be called concurrently with different solvers.
+	 *
+	 * @param clauses the combined condition
+	 * @param solver a solver for the CNF of this object (e.g., a clone of {@link #getSolver()})
+	 * @return {@code true} if at least one clause of the combined condition is satisfiable.
+	 */
+	public boolean isCombinationValid(ClauseList clauses, ISatSolver solver) {
+		if (hasSolver()) {
+			for (final LiteralSet literalSet : clauses) {
+				if (isCombinationInvalidMIG(literalSet)) {
+					return false;
+				}
+			}
+			for (final LiteralSet literalSet : clauses) {
+				if (isCombinationValidSample(literalSet)) {
+					return true;
+				}
+			}
+			for (final LiteralSet literalSet : clauses) {
+				final int orgAssingmentLength = solver.getAssignmentSize();
+				solver.assignmentPushAll(literalSet.getLiterals());
+				try {
+					if (solver.hasSolution() == SatResult.TRUE) {
+						return true;
+					}
+				} finally {
+					solver.assignmentClear(orgAssingmentLength);
+				}
+			}
+			return false;
+		}
+		return !clauses.isEmpty();
+	}
+
+	private boolean isCombinationValid(CheckedCombination checkedCombination, int clauseIndex) {
+		final int[] solution = checkedCombination.getSolution(clauseIndex);
+		if (solution != null) {
+			addSolverSolution(solution);
+		}
+		return checkedCombination.isValid(clauseIndex);
+	}
+
 	public boolean isCombinationInvalidMIG(LiteralSet literals) {
 		if (hasSolver()) {
 			for (final int literal : literals.getLiterals()) {
@@ -216,12 +260,19 @@ class TWiseConfigurationUtil {
 		return false;
 	}
 
+	public boolean isCombinationValidSample(LiteralSet literals) {
+		for (final LiteralSet s : randomSample) {
+			if (!s.hasConflicts(literals)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	public boolean isCombinationValidSAT(LiteralSet literals) {
 		if (hasSolver()) {
-			for (final LiteralSet s : randomSample) {
-				if (!s.hasConflicts(literals)) {
-					return true;
-				}
+			if (isCombinationValidSample(literals)) {
+				return true;
 			}
 
 			final ISatSolver solver = getSolver();
@@ -247,9 +298,24 @@ class TWiseConfigurationUtil {
 	}
 
 	public boolean removeInvalidClauses(ClauseList nextCondition, List<Pair<LiteralSet, TWiseConfiguration>> candidatesList) {
+		return removeInvalidClauses(nextCondition, candidatesList, null);
+	}
+
+	/**
+	 * Removes all candidates with invalid clauses.
+	 *
+	 * @param nextCondition the combination
+	 * @param candidatesList the candidates for the combination
+	 * @param checkedCombination the precomputed validity of the clauses (can be {@code null})
+	 * @return {@code true} if all clauses of the combination are invalid.
+	 */
+	public boolean removeInvalidClauses(ClauseList nextCondition, List<Pair<LiteralSet, TWiseConfiguration>> candidatesList,
+			CheckedCombination checkedCombination) {
+		final boolean checked = (checkedCombination != null) && checkedCombination.isValidityChecked();
 		int validCount = nextCondition.size();
-		for (final LiteralSet literals : nextCondition) {
-			if (!isCombinationValid(literals)) {
+		for (int i = 0; i < nextCondition.size(); i++) {
+			final LiteralSet literals = nextCondition.get(i);
+			if (!(checked ? isCombinationValid(checkedCombination, i) : isCombinationValid(literals))) {
 				validCount--;
 				for (final Iterator<Pair<LiteralSet, TWiseConfiguration>> iterator = candidatesList.iterator(); iterator.hasNext();) {
 					final Pair<LiteralSet, TWiseConfiguration> pair = iterator.next();
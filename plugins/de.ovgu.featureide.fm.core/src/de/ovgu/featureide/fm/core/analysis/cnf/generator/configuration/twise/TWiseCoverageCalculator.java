@@ -0,0 +1,365 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.analysis.cnf.generator.configuration.twise;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import de.ovgu.featureide.fm.core.analysis.cnf.ClauseList;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.ISatSolver;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.ISatSolver.SelectionStrategy;
+
+/**
+ * Computes which configurations cover which combinations of presence conditions.<br> Each literal is represented by a bit set of the configurations
+ * that contain it. The configurations covering a combination are then computed by combining the bit sets of its presence conditions with bitwise
+ * operations.<br> The combinations of a group are split into a fixed number of blocks that can be visited in parallel. As the blocks do not depend on
+ * the number of threads, the results of the visitors are the same for any number of threads.
+ *
+ * @author agent
+ */
+final class TWiseCoverageCalculator {
+
+	/**
+	 * Visits combinations of presence conditions together with the configurations that cover them.
+	 */
+	interface CombinationVisitor {
+
+		/**
+		 * @param combination the presence conditions of the combination (must not be stored)
+		 * @param coveringConfigurations bit set of the indices of the covering configurations (must not be modified or stored)
+		 * @param count the number of covering configurations
+		 * @return {@code false} to skip the remaining combinations, {@code true} otherwise. When using multiple threads, combinations of other blocks
+		 *         may still be visited.
+		 */
+		boolean visit(PresenceCondition[] combination, long[] coveringConfigurations, int count);
+
+	}
+
+	private static final int NUMBER_OF_BLOCKS = 64;
+
+	private final TWiseConfigurationUtil util;
+	private final int numberOfVariables;
+	private final int numberOfConfigurations;
+	private final int words;
+
+	/**
+	 * Bit sets of the configurations that contain a literal. Positive literals at index {@code 2 * (var - 1)}, negative literals at index
+	 * {@code 2 * (var - 1) + 1}.
+	 */
+	private final long[][] literalColumns;
+	private final long[] allConfigurations;
+
+	private final int threads;
+	private ForkJoinPool pool;
+	private ThreadLocal<ISatSolver> solvers;
+
+	public TWiseCoverageCalculator(TWiseConfigurationUtil util, List<? extends LiteralSet> configurations, int threads) {
+		this.util = util;
+		this.threads = Math.max(1, threads);
+		numberOfVariables = util.getCnf().getVariables().size();
+		numberOfConfigurations = configurations.size();
+		words = (numberOfConfigurations + (Long.SIZE - 1)) / Long.SIZE;
+
+		allConfigurations = new long[words];
+		for (int i = 0; i < numberOfConfigurations; i++) {
+			allConfigurations[i / Long.SIZE] |= 1L << i;
+		}
+
+		literalColumns = new long[2 * numberOfVariables][];
+		int configurationIndex = 0;
+		for (final LiteralSet configuration : configurations) {
+			final long bit = 1L << configurationIndex;
+			final int word = configurationIndex / Long.SIZE;
+			for (final int literal : configuration.getLiterals()) {
+				final int columnIndex = getColumnIndex(literal);
+				if (columnIndex >= 0) {
+					long[] column = literalColumns[columnIndex];
+					if (column == null) {
+						column = new long[words];
+						literalColumns[columnIndex] = column;
+					}
+					column[word] |= bit;
+				}
+			}
+			configurationIndex++;
+		}
+	}
+
+	private int getColumnIndex(int literal) {
+		final int var = Math.abs(literal);
+		if ((var == 0) || (var > numberOfVariables)) {
+			return -1;
+		}
+		return (2 * (var - 1)) + (literal < 0 ? 1 : 0);
+	}
+
+	public int getNumberOfConfigurations() {
+		return numberOfConfigurations;
+	}
+
+	/**
+	 * @param presenceCondition the presence condition
+	 * @return a new bit set of the configurations that contain all literals of at least one clause of the presence condition.
+	 */
+	public long[] getCoveringConfigurations(ClauseList presenceCondition) {
+		final long[] result = new long[words];
+		final long[] clauseConfigurations = new long[words];
+		clauseLoop: for (final LiteralSet clause : presenceCondition) {
+			System.arraycopy(allConfigurations, 0, clauseConfigurations, 0, words);
+			for (final int literal : clause.getLiterals()) {
+				final int columnIndex = getColumnIndex(literal);
+				final long[] column = columnIndex >= 0 ? literalColumns[columnIndex] : null;
+				if (column == null) {
+					continue clauseLoop;
+				}
+				for (int i = 0; i < words; i++) {
+					clauseConfigurations[i] &= column[i];
+				}
+			}
+			for (int i = 0; i < words; i++) {
+				result[i] |= clauseConfigurations[i];
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Visits all combinations of {@code t} presence conditions from the given list in lexicographic order.
+	 *
+	 * @param expressions the presence conditions
+	 * @param t the number of presence conditions per combination
+	 * @param visitorSupplier creates a new visitor for each block of combinations
+	 * @return the visitors of all blocks in lexicographic order of their combinations
+	 */
+	public <V extends CombinationVisitor> List<V> visitCombinations(List<PresenceCondition> expressions, int t, Supplier<V> visitorSupplier) {
+		final int n = expressions.size();
+		if ((t <= 0) || (n < t)) {
+			return new ArrayList<>();
+		}
+		final long[][] expressionConfigurations = new long[n][];
+		for (int i = 0; i < n; i++) {
+			expressionConfigurations[i] = getCoveringConfigurations(expressions.get(i));
+		}
+
+		final int[] blockStarts = computeBlocks(n, t);
+		final int numberOfBlocks = blockStarts.length - 1;
+		final List<V> visitors = new ArrayList<>(numberOfBlocks);
+		for (int i = 0; i < numberOfBlocks; i++) {
+			visitors.add(visitorSupplier.get());
+		}
+
+		if ((threads == 1) || (numberOfBlocks == 1)) {
+			for (int i = 0; i < numberOfBlocks; i++) {
+				if (!new BlockVisitor(expressions, expressionConfigurations, t, visitors.get(i)).visit(blockStarts[i], blockStarts[i + 1])) {
+					break;
+				}
+			}
+		} else {
+			final List<Callable<Void>> tasks = new ArrayList<>(numberOfBlocks);
+			for (int i = 0; i < numberOfBlocks; i++) {
+				final int blockIndex = i;
+				tasks.add(() -> {
+					new BlockVisitor(expressions, expressionConfigurations, t, visitors.get(blockIndex)).visit(blockStarts[blockIndex],
+							blockStarts[blockIndex + 1]);
+					return null;
+				});
+			}
+			invokeAll(tasks);
+		}
+		return visitors;
+	}
+
+	/**
+	 * Splits the possible first elements of the combinations into blocks with a similar number of combinations.
+	 */
+	private static int[] computeBlocks(int n, int t) {
+		final int maxFirst = (n - t) + 1;
+		final double[] combinationsPerFirst = new double[maxFirst];
+		double totalCombinations = 0;
+		for (int first = 0; first < maxFirst; first++) {
+			combinationsPerFirst[first] = binomial((n - 1) - first, t - 1);
+			totalCombinations += combinationsPerFirst[first];
+		}
+		final double combinationsPerBlock = totalCombinations / NUMBER_OF_BLOCKS;
+		final int[] blockStarts = new int[Math.min(NUMBER_OF_BLOCKS, maxFirst) + 1];
+		int blockIndex = 1;
+		double currentCombinations = 0;
+		for (int first = 0; (first < maxFirst) && (blockIndex < (blockStarts.length - 1)); first++) {
+			currentCombinations += combinationsPerFirst[first];
+			if (currentCombinations >= (combinationsPerBlock * blockIndex)) {
+				blockStarts[blockIndex++] = first + 1;
+			}
+		}
+		for (; blockIndex < blockStarts.length; blockIndex++) {
+			blockStarts[blockIndex] = maxFirst;
+		}
+		return Arrays.copyOf(blockStarts, deduplicate(blockStarts));
+	}
+
+	private static int deduplicate(int[] blockStarts) {
+		int length = 1;
+		for (int i = 1; i < blockStarts.length; i++) {
+			if (blockStarts[i] != blockStarts[length - 1]) {
+				blockStarts[length++] = blockStarts[i];
+			}
+		}
+		return length;
+	}
+
+	private static double binomial(int n, int k) {
+		double result = 1;
+		for (int i = 1; i <= k; i++) {
+			result = (result * ((n - k) + i)) / i;
+		}
+		return result;
+	}
+
+	private final class BlockVisitor {
+
+		private final List<PresenceCondition> expressions;
+		private final long[][] expressionConfigurations;
+		private final int t;
+		private final CombinationVisitor visitor;
+
+		private final PresenceCondition[] combination;
+		private final long[][] prefixConfigurations;
+
+		private BlockVisitor(List<PresenceCondition> expressions, long[][] expressionConfigurations, int t, CombinationVisitor visitor) {
+			this.expressions = expressions;
+			this.expressionConfigurations = expressionConfigurations;
+			this.t = t;
+			this.visitor = visitor;
+			combination = new PresenceCondition[t];
+			prefixConfigurations = new long[t + 1][words];
+			System.arraycopy(allConfigurations, 0, prefixConfigurations[0], 0, words);
+		}
+
+		private boolean visit(int firstStart, int firstEnd) {
+			return visit(0, firstStart, firstEnd);
+		}
+
+		private boolean visit(int level, int start, int end) {
+			final long[] prefix = prefixConfigurations[level];
+			final long[] current = prefixConfigurations[level + 1];
+			final boolean last = (level + 1) == t;
+			for (int i = start; i < end; i++) {
+				combination[level] = expressions.get(i);
+				final long[] configurations = expressionConfigurations[i];
+				int count = 0;
+				for (int j = 0; j < words; j++) {
+					final long word = prefix[j] & configurations[j];
+					current[j] = word;
+					count += Long.bitCount(word);
+				}
+				if (last) {
+					if (!visitor.visit(combination, current, count)) {
+						return false;
+					}
+				} else if (!visit(level + 1, i + 1, ((expressions.size() - t) + level + 2))) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
+	/**
+	 * Checks whether a combined condition is valid. Can be called concurrently from different visitors.
+	 *
+	 * @param combinedCondition the combined condition
+	 * @return {@code true} if at least one clause of the combined condition is satisfiable.
+	 */
+	public boolean isCombinationValid(ClauseList combinedCondition) {
+		if ((threads == 1) || !util.hasSolver()) {
+			return util.isCombinationValid(combinedCondition);
+		}
+		return util.isCombinationValid(combinedCondition, solvers.get());
+	}
+
+	private void invokeAll(List<Callable<Void>> tasks) {
+		if (pool == null) {
+			pool = new ForkJoinPool(threads);
+			solvers = ThreadLocal.withInitial(() -> {
+				final ISatSolver solver = util.getSolver().clone();
+				// A clone keeps the selection strategy of its original, but not the corresponding variable order.
+				solver.setSelectionStrategy(SelectionStrategy.ORG);
+				return solver;
+			});
+		}
+		for (final Future<Void> future : pool.invokeAll(tasks)) {
+			try {
+				future.get();
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new RuntimeException(e);
+			} catch (final ExecutionException e) {
+				final Throwable cause = e.getCause();
+				if (cause instanceof RuntimeException) {
+					throw (RuntimeException) cause;
+				} else if (cause instanceof Error) {
+					throw (Error) cause;
+				}
+				throw new RuntimeException(cause);
+			}
+		}
+	}
+
+	/**
+	 * Releases the threads and solvers.
+	 */
+	public void dispose() {
+		if (pool != null) {
+			pool.shutdownNow();
+			pool = null;
+			solvers = null;
+		}
+	}
+
+	/**
+	 * @param bits a bit set
+	 * @param fromIndex the first index to check
+	 * @return the index of the next set bit or {@code -1} if there is none.
+	 */
+	public static int nextSetBit(long[] bits, int fromIndex) {
+		int wordIndex = fromIndex / Long.SIZE;
+		if (wordIndex >= bits.length) {
+			return -1;
+		}
+		long word = bits[wordIndex] & (-1L << fromIndex);
+		while (true) {
+			if (word != 0) {
+				return (wordIndex * Long.SIZE) + Long.numberOfTrailingZeros(word);
+			}
+			if (++wordIndex == bits.length) {
+				return -1;
+			}
+			word = bits[wordIndex];
+		}
+	}
+
+}
@@ -0,0 +1,352 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.analysis.cnf.generator.configuration.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
+import de.ovgu.featureide.fm.core.job.monitor.IMonitor.MethodCancelException;
+
+/**
+ * Determines the order in which a list of configurations should be built or tested. Configurations are given by the names of their selected features.
+ * Both orderings work on bit-encoded configurations and only need linear memory per step.
+ *
+ * @see #sortByDissimilarity(List, IMonitor)
+ * @see #sortByInteractions(List, List, int, boolean, IMonitor)
+ *
+ * @author agent
+ */
+public class ConfigurationPrioritizer {
+
+	@FunctionalInterface
+	private interface Block {
+
+		void run(int start, int end);
+	}
+
+	/**
+	 * The minimal number of configurations that are processed by a single task.
+	 */
+	private static final int MIN_BLOCK_SIZE = 256;
+
+	private final int threads;
+	private ForkJoinPool pool;
+
+	public ConfigurationPrioritizer(int threads) {
+		this.threads = Math.max(1, threads);
+	}
+
+	/**
+	 * Sorts the configurations such that each next configuration is the one with the largest distance to the nearest of all previous configurations
+	 * (farthest-first traversal). The distance of two configurations is the number of features that are selected in only one of them. The first
+	 * configuration is the one with the most selected features. Ties are broken by the order of the given list.
+	 *
+	 * @param configurations the selected features of each configuration
+	 * @param monitor the monitor
+	 * @return the indices of the configurations in the sorted order
+	 * @throws MethodCancelException if the monitor was canceled
+	 */
+	public int[] sortByDissimilarity(List<? extends Collection<String>> configurations, IMonitor<?> monitor) throws MethodCancelException {
+		final int size = configurations.size();
+		final int[] order = new int[size];
+		if (size == 0) {
+			return order;
+		}
+
+		final Map<String, Integer> featureIndex = new HashMap<>();
+		for (final Collection<String> configuration : configurations) {
+			for (final String feature : configuration) {
+				featureIndex.putIfAbsent(feature, featureIndex.size());
+			}
+		}
+		final int words = Math.max(1, (featureIndex.size() + (Long.SIZE - 1)) / Long.SIZE);
+		final long[] bits = new long[size * words];
+		int first = 0;
+		int maxSelected = 0;
+		for (int i = 0; i < size; i++) {
+			final Collection<String> configuration = configurations.get(i);
+			for (final String feature : configuration) {
+				final int index = featureIndex.get(feature);
+				bits[(i * words) + (index / Long.SIZE)] |= 1L << index;
+			}
+			final int selected = bitCount(bits, i * words, words);
+			if (selected > maxSelected) {
+				maxSelected = selected;
+				first = i;
+			}
+		}
+
+		final int[] remaining = new int[size - 1];
+		for (int i = 0, j = 0; i < size; i++) {
+			if (i != first) {
+				remaining[j++] = i;
+			}
+		}
+		final int[] minDistance = new int[size];
+		Arrays.fill(minDistance, Integer.MAX_VALUE);
+
+		order[0] = first;
+		int remainingSize = remaining.length;
+		for (int k = 1; k < size; k++) {
+			monitor.checkCancel();
+			final int last = order[k - 1];
+			final int currentSize = remainingSize;
+			runInBlocks(currentSize, (start, end) -> {
+				for (int i = start; i < end; i++) {
+					final int configuration = remaining[i];
+					final int distance = distance(bits, configuration * words, last * words, words);
+					if (distance < minDistance[configuration]) {
+						minDistance[configuration] = distance;
+					}
+				}
+			});
+
+			int selectedIndex = 0;
+			int maxDistance = 0;
+			for (int i = 0; i < currentSize; i++) {
+				final int distance = minDistance[remaining[i]];
+				if (distance > maxDistance) {
+					maxDistance = distance;
+					selectedIndex = i;
+				}
+			}
+			order[k] = remaining[selectedIndex];
+			System.arraycopy(remaining, selectedIndex + 1, remaining, selectedIndex, currentSize - selectedIndex - 1);
+			remainingSize--;
+		}
+		return order;
+	}
+
+	/**
+	 * Sorts the configurations greedily by the number of t-wise interactions they cover and that are not covered by any previous configuration. An
+	 * interaction is a combination of up to t features, each being either selected or deselected. Ties are broken by the order of the given list.
+	 *
+	 * @param features the features that are considered for interactions
+	 * @param configurations the selected features of each configuration
+	 * @param t the maximal number of features in an interaction
+	 * @param skipCovered whether configurations that do not cover any new interaction are omitted
+	 * @param monitor the monitor
+	 * @return the indices of the configurations in the sorted order
+	 * @throws MethodCancelException if the monitor was canceled
+	 */
+	public int[] sortByInteractions(List<String> features, List<? extends Collection<String>> configurations, int t, boolean skipCovered,
+			IMonitor<?> monitor) throws MethodCancelException {
+		final int size = configurations.size();
+		final int bitsPerLiteral = Long.SIZE - Long.numberOfLeadingZeros(2L * features.size());
+		if ((t < 1) || ((bitsPerLiteral * t) >= Long.SIZE)) {
+			throw new IllegalArgumentException("Unsupported interaction size " + t + " for " + features.size() + " features");
+		}
+
+		final long[][] interactions = new long[size][];
+		runInBlocks(size, (start, end) -> {
+			for (int i = start; i < end; i++) {
+				interactions[i] = getInteractions(features, configurations.get(i), t, bitsPerLiteral);
+			}
+		});
+		monitor.checkCancel();
+
+		final int[] order = new int[size];
+		final int[] remaining = new int[size];
+		for (int i = 0; i < size; i++) {
+			remaining[i] = i;
+		}
+		int remainingSize = size;
+		int orderSize = 0;
+		while (remainingSize > 0) {
+			monitor.checkCancel();
+			int selectedIndex = 0;
+			int maxCovered = -1;
+			for (int i = 0; i < remainingSize; i++) {
+				final int covered = interactions[remaining[i]].length;
+				if (covered > maxCovered) {
+					maxCovered = covered;
+					selectedIndex = i;
+				}
+			}
+			if (maxCovered == 0) {
+				if (!skipCovered) {
+					System.arraycopy(remaining, 0, order, orderSize, remainingSize);
+					orderSize += remainingSize;
+				}
+				break;
+			}
+
+			final int selected = remaining[selectedIndex];
+			order[orderSize++] = selected;
+			System.arraycopy(remaining, selectedIndex + 1, remaining, selectedIndex, remainingSize - selectedIndex - 1);
+			remainingSize--;
+
+			final long[] covered = interactions[selected];
+			interactions[selected] = null;
+			final int currentSize = remainingSize;
+			runInBlocks(currentSize, (start, end) -> {
+				for (int i = start; i < end; i++) {
+					final int configuration = remaining[i];
+					interactions[configuration] = removeAll(interactions[configuration], covered);
+				}
+			});
+			monitor.step();
+		}
+		return orderSize == size ? order : Arrays.copyOf(order, orderSize);
+	}
+
+	/**
+	 * Releases the threads of this prioritizer.
+	 */
+	public void dispose() {
+		if (pool != null) {
+			pool.shutdownNow();
+			pool = null;
+		}
+	}
+
+	/**
+	 * Encodes all interactions of a configuration as sorted keys. Each key consists of the literals of an interaction in the order of the features. A literal
+	 * is encoded by {@code 2 * index + 1} for a selected and by {@code 2 * index + 2} for a deselected feature.
+	 */
+	private static long[] getInteractions(List<String> features, Collection<String> configuration, int t, int bitsPerLiteral) {
+		final Set<String> selectedFeatures = configuration instanceof Set ? (Set<String>) configuration : new HashSet<>(configuration);
+		final long[] literals = new long[features.size()];
+		int index = 0;
+		for (final String feature : features) {
+			literals[index] = (2 * index) + (selectedFeatures.contains(feature) ? 1 : 2);
+			index++;
+		}
+		final LongList keys = new LongList();
+		addInteractions(keys, literals, 0, 0L, t, bitsPerLiteral);
+		final long[] result = keys.toArray();
+		Arrays.sort(result);
+		return result;
+	}
+
+	private static void addInteractions(LongList keys, long[] literals, int start, long key, int t, int bitsPerLiteral) {
+		if (t == 0) {
+			return;
+		}
+		for (int i = start; i < literals.length; i++) {
+			final long newKey = (key << bitsPerLiteral) | literals[i];
+			keys.add(newKey);
+			addInteractions(keys, literals, i + 1, newKey, t - 1, bitsPerLiteral);
+		}
+	}
+
+	/**
+	 * @return the elements of the sorted array {@code keys} that are not contained in the sorted array {@code removedKeys}.
+	 */
+	private static long[] removeAll(long[] keys, long[] removedKeys) {
+		final long[] result = new long[keys.length];
+		int size = 0;
+		int j = 0;
+		for (final long key : keys) {
+			while ((j < removedKeys.length) && (removedKeys[j] < key)) {
+				j++;
+			}
+			if ((j == removedKeys.length) || (removedKeys[j] != key)) {
+				result[size++] = key;
+			}
+		}
+		return size == keys.length ? keys : Arrays.copyOf(result, size);
+	}
+
+	private static int bitCount(long[] bits, int offset, int words) {
+		int count = 0;
+		for (int i = 0; i < words; i++) {
+			count += Long.bitCount(bits[offset + i]);
+		}
+		return count;
+	}
+
+	private static int distance(long[] bits, int offset1, int offset2, int words) {
+		int distance = 0;
+		for (int i = 0; i < words; i++) {
+			distance += Long.bitCount(bits[offset1 + i] ^ bits[offset2 + i]);
+		}
+		return distance;
+	}
+
+	private void runInBlocks(int size, Block block) {
+		if ((threads == 1) || (size < (2 * MIN_BLOCK_SIZE))) {
+			block.run(0, size);
+			return;
+		}
+		if (pool == null) {
+			pool = new ForkJoinPool(threads);
+		}
+		final int numberOfBlocks = Math.min(4 * threads, size / MIN_BLOCK_SIZE);
+		final List<Callable<Void>> tasks = new ArrayList<>(numberOfBlocks);
+		for (int i = 0; i < numberOfBlocks; i++) {
+			final int start = (int) (((long) size * i) / numberOfBlocks);
+			final int end = (int) (((long) size * (i + 1)) / numberOfBlocks);
+			tasks.add(() -> {
+				block.run(start, end);
+				return null;
+			});
+		}
+		for (final Future<Void> future : pool.invokeAll(tasks)) {
+			try {
+				future.get();
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new RuntimeException(e);
+			} catch (final ExecutionException e) {
+				final Throwable cause = e.getCause();
+				if (cause instanceof RuntimeException) {
+					throw (RuntimeException) cause;
+				} else if (cause instanceof Error) {
+					throw (Error) cause;
+				}
+				throw new RuntimeException(cause);
+			}
+		}
+	}
+
+	/**
+	 * A growing array of primitive longs.
+	 */
+	private static final class LongList {
+
+		private long[] elements = new long[16];
+		private int size = 0;
+
+		private void add(long element) {
+			if (size == elements.length) {
+				elements = Arrays.copyOf(elements, 2 * size);
+			}
+			elements[size++] = element;
+		}
+
+		private long[] toArray() {
+			return Arrays.copyOf(elements, size);
+		}
+	}
+
+}
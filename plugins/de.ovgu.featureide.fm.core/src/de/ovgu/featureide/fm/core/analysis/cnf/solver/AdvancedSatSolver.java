@@ -28,7 +28,6 @@ import org.sat4j.core.VecInt;
 import org.sat4j.minisat.orders.NegativeLiteralSelectionStrategy;
 import org.sat4j.minisat.orders.PositiveLiteralSelectionStrategy;
 import org.sat4j.minisat.orders.RSATPhaseSelectionStrategy;
-import org.sat4j.minisat.orders.RandomLiteralSelectionStrategy;
 import org.sat4j.minisat.orders.VarOrderHeap;
 import org.sat4j.specs.IVecInt;
 import org.sat4j.specs.TimeoutException;
@@ -44,6 +43,8 @@ import de.ovgu.featureide.fm.core.base.util.RingList;
  */
 public class AdvancedSatSolver extends SimpleSatSolver implements ISatSolver {
 
+	private static final long PHASE_RANDOM_SEED = 123456789;
+
 	protected final VecInt assignment;
 	protected final int[] order;
 
@@ -53,9 +54,16 @@ public class AdvancedSatSolver extends SimpleSatSolver implements ISatSolver {
 
 	protected boolean globalTimeout = false;
 
+	/**
+	 * Used by the random selection strategies. Each solver has its own generator, so solvers with the same history yield the same solutions. A clone
+	 * derives the seed of its generator from the generator of the original solver, such that clones make different choices.
+	 */
+	protected final Random phaseRandom;
+
 	public AdvancedSatSolver(CNF satInstance) {
 		super(satInstance);
 		strategy = SelectionStrategy.ORG;
+		phaseRandom = new Random(PHASE_RANDOM_SEED);
 
 		assignment = new VecInt(satInstance.getVariables().size());
 		order = new int[satInstance.getVariables().size()];
@@ -65,6 +73,7 @@ public class AdvancedSatSolver extends SimpleSatSolver implements ISatSolver {
 	protected AdvancedSatSolver(AdvancedSatSolver oldSolver) {
 		super(oldSolver);
 		strategy = oldSolver.strategy;
+		phaseRandom = new Random(oldSolver.phaseRandom.nextLong());
 
 		order = Arrays.copyOf(oldSolver.order, oldSolver.order.length);
 		assignment = new VecInt(0);
@@ -251,6 +260,16 @@ public class AdvancedSatSolver extends SimpleSatSolver implements ISatSolver {
 		}
 	}
 
+	/**
+	 * Sets the seed for the random phase selection of the {@link SelectionStrategy#RANDOM random} and {@link SelectionStrategy#UNIFORM_RANDOM uniform
+	 * random} selection strategies.
+	 *
+	 * @param seed the seed
+	 */
+	public void setPhaseSeed(long seed) {
+		phaseRandom.setSeed(seed);
+	}
+
 	@Override
 	public void setSelectionStrategy(SelectionStrategy strategy) {
 		if (contradiction) {
@@ -269,7 +288,7 @@ public class AdvancedSatSolver extends SimpleSatSolver implements ISatSolver {
 				solver.setOrder(new VarOrderHeap2(new PositiveLiteralSelectionStrategy(), order));
 				break;
 			case RANDOM:
-				solver.setOrder(new VarOrderHeap2(new RandomLiteralSelectionStrategy(), order));
+				solver.setOrder(new VarOrderHeap2(new RandomSelectionStrategy(phaseRandom), order));
 				break;
 			case FIXED:
 			case UNIFORM_RANDOM:
@@ -297,7 +316,7 @@ public class AdvancedSatSolver extends SimpleSatSolver implements ISatSolver {
 			return;
 		}
 		strategy = SelectionStrategy.UNIFORM_RANDOM;
-		solver.setOrder(new VarOrderHeap3(sample));
+		solver.setOrder(new VarOrderHeap3(sample, phaseRandom));
 		solver.getOrder().init();
 	}
 
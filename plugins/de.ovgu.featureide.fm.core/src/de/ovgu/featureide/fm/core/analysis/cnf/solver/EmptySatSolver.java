@@ -179,6 +179,7 @@ public class EmptySatSolver implements ISatSolver {
 	@Override
 	public void shuffleOrder(Random rnd) {}
 
+
 	@Override
 	public void setSelectionStrategy(SelectionStrategy strategy) {}
 
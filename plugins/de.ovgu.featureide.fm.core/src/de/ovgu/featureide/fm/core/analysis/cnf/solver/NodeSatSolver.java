@@ -0,0 +1,260 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.analysis.cnf.solver;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.prop4j.Literal;
+import org.prop4j.Node;
+import org.prop4j.NodeWriter;
+
+import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
+import de.ovgu.featureide.fm.core.analysis.cnf.ClauseList;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
+import de.ovgu.featureide.fm.core.analysis.cnf.Nodes;
+import de.ovgu.featureide.fm.core.analysis.cnf.Variables;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.ISimpleSatSolver.SatResult;
+import de.ovgu.featureide.fm.core.editing.NodeCreator;
+
+/**
+ * Checks the satisfiability of propositional {@link Node nodes} in conjunction with a fixed {@link CNF}.<br> The CNF is encoded only once. The clauses
+ * of each distinct node are added to the same solver guarded by a selector variable, which is activated via an assumption for the queries the node
+ * takes part in. Thus, no clauses have to be removed between queries. Results are cached for each combination of nodes.<br> Variables that are not
+ * contained in the CNF are treated as free variables.
+ *
+ * @author agent
+ */
+public class NodeSatSolver {
+
+	public static final int DEFAULT_TIMEOUT = 1000;
+
+	private static final int INITIAL_NUMBER_OF_FREE_VARIABLES = 256;
+
+	private static final String FREE_VARIABLE_PREFIX = "\u0000";
+
+	private final CNF cnf;
+	private final int timeout;
+
+	private final HashMap<String, Boolean> results = new HashMap<>();
+	private final HashMap<String, Integer> selectors = new HashMap<>();
+	private final HashMap<String, String> freeVariables = new HashMap<>();
+
+	private Variables variables;
+	private ISimpleSatSolver solver;
+	private int numberOfFreeVariables;
+	private int nextFreeVariable;
+
+	private Boolean satisfiable;
+
+	public NodeSatSolver(CNF cnf) {
+		this(cnf, DEFAULT_TIMEOUT);
+	}
+
+	public NodeSatSolver(CNF cnf, int timeout) {
+		this.cnf = cnf;
+		this.timeout = timeout;
+		numberOfFreeVariables = INITIAL_NUMBER_OF_FREE_VARIABLES;
+	}
+
+	/**
+	 * @return {@code true} if the CNF itself is satisfiable.
+	 *
+	 * @throws RuntimeTimeoutException if the solver experiences a timeout
+	 */
+	public synchronized boolean hasSolution() {
+		if (satisfiable == null) {
+			satisfiable = solve(getSolver());
+		}
+		return satisfiable;
+	}
+
+	/**
+	 * Checks whether the CNF is satisfiable in conjunction with all given nodes.
+	 *
+	 * @param nodes the nodes to check ({@code null} elements are ignored)
+	 * @return {@code true} if the conjunction of the CNF and all given nodes is satisfiable.
+	 *
+	 * @throws RuntimeTimeoutException if the solver experiences a timeout
+	 */
+	public synchronized boolean hasSolution(Node... nodes) {
+		final List<String> keys = new ArrayList<>(nodes.length);
+		final List<Node> relevantNodes = new ArrayList<>(nodes.length);
+		for (final Node node : nodes) {
+			if (node != null) {
+				keys.add(node.toString(NodeWriter.javaSymbols));
+				relevantNodes.add(node);
+			}
+		}
+		final String resultKey = String.join("\u0000", keys);
+		final Boolean cachedResult = results.get(resultKey);
+		if (cachedResult != null) {
+			return cachedResult;
+		}
+
+		final boolean result;
+		if (!hasSolution()) {
+			result = false;
+		} else {
+			final int[] assumptions = getSelectors(keys, relevantNodes);
+			result = (assumptions != null) && solve(solver, assumptions);
+		}
+		results.put(resultKey, result);
+		return result;
+	}
+
+	private boolean solve(ISimpleSatSolver solver, int... assumptions) {
+		final SatResult satResult = assumptions.length == 0 ? solver.hasSolution() : solver.hasSolution(assumptions);
+		switch (satResult) {
+		case FALSE:
+			return false;
+		case TRUE:
+			return true;
+		case TIMEOUT:
+		default:
+			throw new RuntimeTimeoutException();
+		}
+	}
+
+	/**
+	 * Returns the selector literals for the given nodes and adds the clauses of all nodes that were not encoded before.
+	 *
+	 * @return the selector literals or {@code null} if one of the nodes is a contradiction on its own.
+	 */
+	private int[] getSelectors(List<String> keys, List<Node> nodes) {
+		final Set<String> allVariables = new LinkedHashSet<>();
+		final Set<String> newVariables = new LinkedHashSet<>();
+		int newNodes = 0;
+		for (int i = 0; i < nodes.size(); i++) {
+			final boolean newNode = !selectors.containsKey(keys.get(i));
+			if (newNode) {
+				newNodes++;
+			}
+			for (final Object var : Nodes.getDistinctVariableObjects(nodes.get(i))) {
+				if (isFreeVariable(var)) {
+					final String name = String.valueOf(var);
+					allVariables.add(name);
+					if (newNode && !freeVariables.containsKey(name)) {
+						newVariables.add(name);
+					}
+				}
+			}
+		}
+		if ((nextFreeVariable + newNodes + newVariables.size()) > numberOfFreeVariables) {
+			// rebuilding the solver discards all encoded nodes
+			numberOfFreeVariables = Math.max(2 * numberOfFreeVariables, nodes.size() + allVariables.size());
+			solver = null;
+			getSolver();
+		}
+
+		final int[] assumptions = new int[nodes.size()];
+		for (int i = 0; i < nodes.size(); i++) {
+			final String key = keys.get(i);
+			Integer selector = selectors.get(key);
+			if (selector == null) {
+				selector = addNode(nodes.get(i));
+				selectors.put(key, selector);
+			}
+			if (selector == 0) {
+				return null;
+			}
+			assumptions[i] = selector;
+		}
+		return assumptions;
+	}
+
+	/**
+	 * Adds the clauses of the given node, each extended by the negation of a new selector variable.
+	 *
+	 * @return the selector variable or {@code 0} if the node is a contradiction.
+	 */
+	private int addNode(Node node) {
+		final Node renamedNode = node.clone();
+		renameFreeVariables(renamedNode);
+		final ClauseList clauses = Nodes.convert(variables, renamedNode);
+		for (final LiteralSet clause : clauses) {
+			if ((clause.size() == 1) && (clause.getLiterals()[0] == 0)) {
+				return 0;
+			}
+		}
+
+		final int selector = variables.getVariable(getFreeVariableName(nextFreeVariable++));
+		for (final LiteralSet clause : clauses) {
+			final int[] literals = clause.getLiterals();
+			final int[] guardedLiterals = Arrays.copyOf(literals, literals.length + 1);
+			guardedLiterals[literals.length] = -selector;
+			solver.addClause(new LiteralSet(guardedLiterals));
+		}
+		return selector;
+	}
+
+	private void renameFreeVariables(Node node) {
+		if (node instanceof Literal) {
+			final Literal literal = (Literal) node;
+			if (isFreeVariable(literal.var)) {
+				final String name = String.valueOf(literal.var);
+				String freeVariableName = freeVariables.get(name);
+				if (freeVariableName == null) {
+					freeVariableName = getFreeVariableName(nextFreeVariable++);
+					freeVariables.put(name, freeVariableName);
+				}
+				literal.var = freeVariableName;
+			}
+		} else {
+			for (final Node child : node.getChildren()) {
+				renameFreeVariables(child);
+			}
+		}
+	}
+
+	private boolean isFreeVariable(Object var) {
+		return (variables.getVariable(String.valueOf(var)) == 0) && !NodeCreator.varTrue.equals(var) && !NodeCreator.varFalse.equals(var);
+	}
+
+	private ISimpleSatSolver getSolver() {
+		if (solver == null) {
+			selectors.clear();
+			freeVariables.clear();
+			nextFreeVariable = 0;
+
+			final List<String> names = new ArrayList<>(Math.max(0, cnf.getVariables().size()) + numberOfFreeVariables);
+			for (int i = 1; i <= cnf.getVariables().size(); i++) {
+				names.add(cnf.getVariables().getName(i));
+			}
+			for (int i = 0; i < numberOfFreeVariables; i++) {
+				names.add(getFreeVariableName(i));
+			}
+			variables = new Variables(names);
+			solver = new SimpleSatSolver(new CNF(variables, cnf.getClauses()));
+			solver.setTimeout(timeout);
+		}
+		return solver;
+	}
+
+	private static String getFreeVariableName(int index) {
+		return FREE_VARIABLE_PREFIX + index;
+	}
+
+}
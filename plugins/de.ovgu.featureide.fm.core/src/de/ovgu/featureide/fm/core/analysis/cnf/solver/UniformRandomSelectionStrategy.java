@@ -50,7 +50,14 @@ public class UniformRandomSelectionStrategy implements IPhaseSelectionStrategy {
 	private final int[] model;
 	private final int[] ratio;
 
+	private final Random random;
+
 	public UniformRandomSelectionStrategy(List<LiteralSet> sample) {
+		this(sample, RAND);
+	}
+
+	public UniformRandomSelectionStrategy(List<LiteralSet> sample, Random random) {
+		this.random = random;
 		usedSamples.addAll(sample);
 		model = new int[sample.get(0).size()];
 		ratio = new int[sample.get(0).size()];
@@ -88,7 +95,7 @@ public class UniformRandomSelectionStrategy implements IPhaseSelectionStrategy {
 
 	@Override
 	public int select(int var) {
-		return (RAND.nextInt(usedSamples.size()) < ratio[var - 1]) ? posLit(var) : negLit(var);
+		return (random.nextInt(usedSamples.size()) < ratio[var - 1]) ? posLit(var) : negLit(var);
 	}
 
 	@Override
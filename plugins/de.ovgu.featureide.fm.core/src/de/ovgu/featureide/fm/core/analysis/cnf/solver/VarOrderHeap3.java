@@ -21,6 +21,7 @@
 package de.ovgu.featureide.fm.core.analysis.cnf.solver;
 
 import java.util.List;
+import java.util.Random;
 
 import org.sat4j.minisat.orders.VarOrderHeap;
 import org.sat4j.specs.ISolver;
@@ -39,7 +40,11 @@ public class VarOrderHeap3 extends VarOrderHeap {
 	private final UniformRandomSelectionStrategy selectionStrategy;
 
 	public VarOrderHeap3(List<LiteralSet> sample) {
-		super(new UniformRandomSelectionStrategy(sample));
+		this(sample, UniformRandomSelectionStrategy.RAND);
+	}
+
+	public VarOrderHeap3(List<LiteralSet> sample, Random random) {
+		super(new UniformRandomSelectionStrategy(sample, random));
 		selectionStrategy = (UniformRandomSelectionStrategy) phaseStrategy;
 	}
 
@@ -0,0 +1,547 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.analysis.ddnnf;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
+import de.ovgu.featureide.fm.core.analysis.cnf.IInternalVariables;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.RuntimeTimeoutException;
+import de.ovgu.featureide.fm.core.job.LongRunningMethod;
+import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
+
+/**
+ * Compiles a {@link CNF} into a smooth {@link DecisionDNNF}.<br> Uses an exhaustive DPLL search with unit propagation, dynamic decomposition into
+ * independent components, and component caching (similar to the knowledge compilers Dsharp and c2d). Branching variables are chosen according to a greedy
+ * elimination order of the formula's primal graph, which favors variables that separate the formula into independent components.<br> The compilation
+ * can be bounded by a {@link #setTimeout(long) timeout}, in which case a {@link RuntimeTimeoutException} is thrown. If the formula is too deeply nested to
+ * be compiled with the available stack size, an {@link IllegalStateException} is thrown.
+ *
+ * @author agent
+ */
+public class DDNNFCompiler implements LongRunningMethod<DecisionDNNF> {
+
+	private static final int[] EMPTY = new int[0];
+
+	/**
+	 * Maximum number of neighbors for which fill-in edges are added when computing the elimination order.
+	 */
+	private static final int MAX_FILL_IN_DEGREE = 64;
+
+	private static final class Component {
+
+		private final int[] variables;
+		private final int[] clauses;
+		private final int hashCode;
+
+		private Component(int[] variables, int[] clauses) {
+			this.variables = variables;
+			this.clauses = clauses;
+			hashCode = (31 * Arrays.hashCode(variables)) + Arrays.hashCode(clauses);
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if ((obj == null) || (getClass() != obj.getClass())) {
+				return false;
+			}
+			final Component other = (Component) obj;
+			return Arrays.equals(variables, other.variables) && Arrays.equals(clauses, other.clauses);
+		}
+
+	}
+
+	private final CNF satInstance;
+	private final int numberOfVariables;
+
+	private final HashMap<Component, Integer> cache = new HashMap<>();
+
+	private int[][] clauses;
+	private int[][] occurrences;
+
+	private byte[] assignment;
+	private int[] trail;
+	private int trailSize;
+
+	private int[] variableStamps;
+	private int[] clauseStamps;
+	private int[] visitedClauseStamps;
+	private int stamp;
+
+	private int[] priorities;
+
+	private byte[] nodeTypes = new byte[1024];
+	private int[] nodeLiterals = new int[1024];
+	private int[] nodeChildIndex = new int[1025];
+	private int[] nodeChildren = new int[4096];
+	private int nodeCount;
+	private int childCount;
+
+	private int[] literalNodes;
+	private int[] freeNodes;
+
+	private IMonitor<DecisionDNNF> monitor;
+
+	private long timeout = 0;
+	private long deadline;
+
+	public DDNNFCompiler(CNF satInstance) {
+		this.satInstance = satInstance;
+		numberOfVariables = satInstance.getVariables().size();
+	}
+
+	public long getTimeout() {
+		return timeout;
+	}
+
+	/**
+	 * @param timeout the maximal time for the compilation in milliseconds, or {@code 0} for no limit
+	 */
+	public void setTimeout(long timeout) {
+		this.timeout = timeout;
+	}
+
+	@Override
+	public DecisionDNNF execute(IMonitor<DecisionDNNF> monitor) throws Exception {
+		this.monitor = monitor;
+		deadline = (timeout > 0) ? System.currentTimeMillis() + timeout : 0;
+		monitor.setRemainingWork(2);
+
+		addNode(DecisionDNNF.FALSE, 0, EMPTY, 0);
+		addNode(DecisionDNNF.TRUE, 0, EMPTY, 0);
+		literalNodes = new int[(2 * numberOfVariables) + 1];
+		freeNodes = new int[numberOfVariables + 1];
+
+		assignment = new byte[numberOfVariables + 1];
+		trail = new int[numberOfVariables];
+		variableStamps = new int[numberOfVariables + 1];
+
+		final boolean satisfiable = init();
+		monitor.step();
+
+		if (satisfiable) {
+			final int[] variables = new int[numberOfVariables];
+			for (int i = 0; i < variables.length; i++) {
+				variables[i] = i + 1;
+			}
+			final int[] clauseIndices = new int[clauses.length];
+			for (int i = 0; i < clauseIndices.length; i++) {
+				clauseIndices[i] = i;
+			}
+			final int root;
+			try {
+				root = decompose(variables, clauseIndices, 0);
+			} catch (final StackOverflowError e) {
+				throw new IllegalStateException("Formula is too deeply nested to be compiled", e);
+			} finally {
+				cache.clear();
+			}
+			// ensure that the root is the last node
+			if (root != (nodeCount - 1)) {
+				addNode(DecisionDNNF.AND, 0, new int[] { root }, 1);
+			}
+		} else {
+			addNode(DecisionDNNF.FALSE, 0, EMPTY, 0);
+		}
+		monitor.step();
+
+		return new DecisionDNNF(satInstance, numberOfVariables, Arrays.copyOf(nodeTypes, nodeCount), Arrays.copyOf(nodeLiterals, nodeCount),
+				Arrays.copyOf(nodeChildIndex, nodeCount + 1), Arrays.copyOf(nodeChildren, childCount));
+	}
+
+	/**
+	 * Converts the clauses into internal literals (removing duplicate literals and tautologies), builds the occurrence lists, and propagates all unit
+	 * clauses.
+	 *
+	 * @return {@code false} if the formula is trivially unsatisfiable, {@code true} otherwise.
+	 */
+	private boolean init() {
+		final IInternalVariables variables = satInstance.getInternalVariables();
+		final int[] occurrenceCount = new int[(2 * numberOfVariables) + 1];
+		final int[][] tempClauses = new int[satInstance.getClauses().size()][];
+		final LinkedHashSet<Integer> units = new LinkedHashSet<>();
+		int clauseCount = 0;
+
+		outer: for (final LiteralSet clause : satInstance.getClauses()) {
+			final int[] literals = variables.convertToInternal(clause.getLiterals());
+			final LinkedHashSet<Integer> literalSet = new LinkedHashSet<>();
+			for (final int literal : literals) {
+				if (literal == 0) {
+					continue;
+				}
+				if (literalSet.contains(-literal)) {
+					continue outer;
+				}
+				literalSet.add(literal);
+			}
+			switch (literalSet.size()) {
+			case 0:
+				return false;
+			case 1:
+				units.add(literalSet.iterator().next());
+				break;
+			default:
+				final int[] newClause = new int[literalSet.size()];
+				int i = 0;
+				for (final Integer literal : literalSet) {
+					newClause[i++] = literal;
+					occurrenceCount[numberOfVariables + literal]++;
+				}
+				tempClauses[clauseCount++] = newClause;
+				break;
+			}
+		}
+
+		clauses = Arrays.copyOf(tempClauses, clauseCount);
+		occurrences = new int[occurrenceCount.length][];
+		for (int i = 0; i < occurrences.length; i++) {
+			occurrences[i] = new int[occurrenceCount[i]];
+			occurrenceCount[i] = 0;
+		}
+		for (int i = 0; i < clauses.length; i++) {
+			for (final int literal : clauses[i]) {
+				final int index = numberOfVariables + literal;
+				occurrences[index][occurrenceCount[index]++] = i;
+			}
+		}
+		computePriorities();
+		clauseStamps = new int[clauses.length];
+		visitedClauseStamps = new int[clauses.length];
+
+		for (final Integer unit : units) {
+			if (!propagate(unit)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Computes a greedy min-degree elimination order of the primal graph (variables are adjacent if they occur in a common clause). Variables that are
+	 * eliminated late get a high priority for branching, as they usually separate the formula into independent components.
+	 */
+	private void computePriorities() {
+		final List<HashSet<Integer>> neighbors = new ArrayList<>(numberOfVariables + 1);
+		for (int i = 0; i <= numberOfVariables; i++) {
+			neighbors.add(new HashSet<Integer>());
+		}
+		for (final int[] clause : clauses) {
+			for (final int literal1 : clause) {
+				final HashSet<Integer> variableNeighbors = neighbors.get(Math.abs(literal1));
+				for (final int literal2 : clause) {
+					if (literal1 != literal2) {
+						variableNeighbors.add(Math.abs(literal2));
+					}
+				}
+			}
+		}
+
+		final PriorityQueue<int[]> queue = new PriorityQueue<>(numberOfVariables + 1, (o1, o2) -> (o1[0] != o2[0]) ? o1[0] - o2[0] : o1[1] - o2[1]);
+		final int[] degrees = new int[numberOfVariables + 1];
+		for (int i = 1; i <= numberOfVariables; i++) {
+			degrees[i] = neighbors.get(i).size();
+			queue.add(new int[] { degrees[i], i });
+		}
+
+		priorities = new int[numberOfVariables + 1];
+		int position = 0;
+		while (!queue.isEmpty()) {
+			final int[] entry = queue.poll();
+			final int variable = entry[1];
+			// skip outdated entries
+			if ((priorities[variable] != 0) || (entry[0] != degrees[variable])) {
+				continue;
+			}
+			priorities[variable] = ++position;
+
+			final HashSet<Integer> variableNeighbors = neighbors.get(variable);
+			neighbors.set(variable, null);
+			for (final Integer neighbor : variableNeighbors) {
+				final HashSet<Integer> otherNeighbors = neighbors.get(neighbor);
+				otherNeighbors.remove(variable);
+				if (variableNeighbors.size() <= MAX_FILL_IN_DEGREE) {
+					for (final Integer fillInNeighbor : variableNeighbors) {
+						if (!neighbor.equals(fillInNeighbor)) {
+							otherNeighbors.add(fillInNeighbor);
+						}
+					}
+				}
+				degrees[neighbor] = otherNeighbors.size();
+				queue.add(new int[] { degrees[neighbor], neighbor });
+			}
+		}
+	}
+
+	/**
+	 * Compiles a component, i.e., a set of unassigned variables and the set of unsatisfied clauses containing them.
+	 */
+	private int compile(int[] variables, int[] clauseIndices) {
+		monitor.checkCancel();
+		if ((deadline > 0) && (System.currentTimeMillis() > deadline)) {
+			throw new RuntimeTimeoutException();
+		}
+		final Component component = new Component(variables, clauseIndices);
+		final Integer cachedNode = cache.get(component);
+		if (cachedNode != null) {
+			return cachedNode;
+		}
+
+		final int branchVariable = selectVariable(variables);
+		final int positiveNode = compileBranch(variables, clauseIndices, branchVariable);
+		final int negativeNode = compileBranch(variables, clauseIndices, -branchVariable);
+
+		final int node;
+		if (positiveNode == DecisionDNNF.FALSE) {
+			node = negativeNode;
+		} else if (negativeNode == DecisionDNNF.FALSE) {
+			node = positiveNode;
+		} else {
+			node = addNode(DecisionDNNF.OR, 0, new int[] { positiveNode, negativeNode }, 2);
+		}
+		cache.put(component, node);
+		return node;
+	}
+
+	private int compileBranch(int[] variables, int[] clauseIndices, int literal) {
+		final int mark = trailSize;
+		final int node = propagate(literal) ? decompose(variables, clauseIndices, mark) : DecisionDNNF.FALSE;
+		undo(mark);
+		return node;
+	}
+
+	/**
+	 * Creates a conjunction of all literals assigned since the given trail position and all independent components that remain from the given variables
+	 * and clauses.
+	 */
+	private int decompose(int[] variables, int[] clauseIndices, int mark) {
+		final int currentStamp = ++stamp;
+		int activeClauseCount = 0;
+		for (final int clauseIndex : clauseIndices) {
+			if (!isSatisfied(clauses[clauseIndex])) {
+				clauseStamps[clauseIndex] = currentStamp;
+				activeClauseCount++;
+			}
+		}
+
+		final int[] childNodes = new int[(trailSize - mark) + variables.length];
+		int childNodeCount = 0;
+		for (int i = mark; i < trailSize; i++) {
+			childNodes[childNodeCount++] = getLiteralNode(trail[i]);
+		}
+
+		if (activeClauseCount == 0) {
+			for (final int variable : variables) {
+				if (assignment[variable] == 0) {
+					childNodes[childNodeCount++] = getFreeNode(variable);
+				}
+			}
+			return addAnd(childNodes, childNodeCount);
+		}
+
+		// find independent components
+		final int[][] componentVariables = new int[variables.length][];
+		final int[][] componentClauses = new int[variables.length][];
+		int componentCount = 0;
+		final int[] variableStack = new int[variables.length];
+		final int[] clauseBuffer = new int[activeClauseCount];
+		for (final int variable : variables) {
+			if ((assignment[variable] == 0) && (variableStamps[variable] != currentStamp)) {
+				variableStamps[variable] = currentStamp;
+				variableStack[0] = variable;
+				int variableCount = 1;
+				int clauseCount = 0;
+				for (int i = 0; i < variableCount; i++) {
+					final int curVariable = variableStack[i];
+					for (int sign = -1; sign <= 1; sign += 2) {
+						for (final int clauseIndex : occurrences[numberOfVariables + (sign * curVariable)]) {
+							if ((clauseStamps[clauseIndex] == currentStamp) && (visitedClauseStamps[clauseIndex] != currentStamp)) {
+								visitedClauseStamps[clauseIndex] = currentStamp;
+								clauseBuffer[clauseCount++] = clauseIndex;
+								for (final int clauseLiteral : clauses[clauseIndex]) {
+									final int clauseVariable = Math.abs(clauseLiteral);
+									if ((assignment[clauseVariable] == 0) && (variableStamps[clauseVariable] != currentStamp)) {
+										variableStamps[clauseVariable] = currentStamp;
+										variableStack[variableCount++] = clauseVariable;
+									}
+								}
+							}
+						}
+					}
+				}
+				if (clauseCount == 0) {
+					childNodes[childNodeCount++] = getFreeNode(variable);
+				} else {
+					final int[] newVariables = Arrays.copyOf(variableStack, variableCount);
+					final int[] newClauses = Arrays.copyOf(clauseBuffer, clauseCount);
+					Arrays.sort(newVariables);
+					Arrays.sort(newClauses);
+					componentVariables[componentCount] = newVariables;
+					componentClauses[componentCount] = newClauses;
+					componentCount++;
+				}
+			}
+		}
+
+		for (int i = 0; i < componentCount; i++) {
+			final int componentNode = compile(componentVariables[i], componentClauses[i]);
+			if (componentNode == DecisionDNNF.FALSE) {
+				return DecisionDNNF.FALSE;
+			}
+			childNodes[childNodeCount++] = componentNode;
+		}
+		return addAnd(childNodes, childNodeCount);
+	}
+
+	/**
+	 * Selects the variable of a component with the highest priority.
+	 *
+	 * @see #computePriorities()
+	 */
+	private int selectVariable(int[] variables) {
+		int bestVariable = variables[0];
+		for (final int variable : variables) {
+			if (priorities[variable] > priorities[bestVariable]) {
+				bestVariable = variable;
+			}
+		}
+		return bestVariable;
+	}
+
+	private boolean isSatisfied(int[] clause) {
+		for (final int literal : clause) {
+			if ((assignment[Math.abs(literal)] * literal) > 0) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Assigns the given literal and performs unit propagation.
+	 *
+	 * @return {@code false} if a conflict occurred, {@code true} otherwise.
+	 */
+	private boolean propagate(int literal) {
+		int head = trailSize;
+		if (!assign(literal)) {
+			return false;
+		}
+		while (head < trailSize) {
+			final int falseLiteral = -trail[head++];
+			clauseLoop: for (final int clauseIndex : occurrences[numberOfVariables + falseLiteral]) {
+				int unassignedLiteral = 0;
+				for (final int clauseLiteral : clauses[clauseIndex]) {
+					final int value = assignment[Math.abs(clauseLiteral)] * clauseLiteral;
+					if (value > 0) {
+						continue clauseLoop;
+					} else if (value == 0) {
+						if (unassignedLiteral != 0) {
+							continue clauseLoop;
+						}
+						unassignedLiteral = clauseLiteral;
+					}
+				}
+				if ((unassignedLiteral == 0) || !assign(unassignedLiteral)) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	private boolean assign(int literal) {
+		final int variable = Math.abs(literal);
+		final int value = assignment[variable] * literal;
+		if (value != 0) {
+			return value > 0;
+		}
+		assignment[variable] = (byte) (literal > 0 ? 1 : -1);
+		trail[trailSize++] = literal;
+		return true;
+	}
+
+	private void undo(int mark) {
+		while (trailSize > mark) {
+			assignment[Math.abs(trail[--trailSize])] = 0;
+		}
+	}
+
+	private int getLiteralNode(int literal) {
+		final int index = numberOfVariables + literal;
+		if (literalNodes[index] == 0) {
+			literalNodes[index] = addNode(DecisionDNNF.LITERAL, literal, EMPTY, 0);
+		}
+		return literalNodes[index];
+	}
+
+	private int getFreeNode(int variable) {
+		if (freeNodes[variable] == 0) {
+			freeNodes[variable] = addNode(DecisionDNNF.FREE, variable, EMPTY, 0);
+		}
+		return freeNodes[variable];
+	}
+
+	private int addAnd(int[] childNodes, int length) {
+		switch (length) {
+		case 0:
+			return DecisionDNNF.TRUE;
+		case 1:
+			return childNodes[0];
+		default:
+			return addNode(DecisionDNNF.AND, 0, childNodes, length);
+		}
+	}
+
+	private int addNode(byte type, int literal, int[] childNodes, int length) {
+		if (nodeCount == nodeTypes.length) {
+			final int newLength = nodeTypes.length << 1;
+			nodeTypes = Arrays.copyOf(nodeTypes, newLength);
+			nodeLiterals = Arrays.copyOf(nodeLiterals, newLength);
+			nodeChildIndex = Arrays.copyOf(nodeChildIndex, newLength + 1);
+		}
+		if ((childCount + length) > nodeChildren.length) {
+			nodeChildren = Arrays.copyOf(nodeChildren, Math.max(nodeChildren.length << 1, childCount + length));
+		}
+		System.arraycopy(childNodes, 0, nodeChildren, childCount, length);
+		childCount += length;
+
+		nodeTypes[nodeCount] = type;
+		nodeLiterals[nodeCount] = literal;
+		nodeChildIndex[++nodeCount] = childCount;
+		return nodeCount - 1;
+	}
+
+}
@@ -0,0 +1,283 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.analysis.ddnnf;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+
+import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
+import de.ovgu.featureide.fm.core.analysis.cnf.IInternalVariables;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
+
+/**
+ * Compiled representation of a {@link CNF} as smooth decision-DNNF.<br> The nodes are stored in topological order (children always have a lower index
+ * than their parents) in primitive arrays. Counting solutions and computing the commonality of all variables under a given set of assumptions takes time
+ * linear in the size of the compiled formula.
+ *
+ * @author agent
+ *
+ * @see DDNNFCompiler
+ */
+public class DecisionDNNF {
+
+	static final byte FALSE = 0;
+	static final byte TRUE = 1;
+	static final byte LITERAL = 2;
+	static final byte FREE = 3;
+	static final byte AND = 4;
+	static final byte OR = 5;
+
+	private final CNF satInstance;
+	private final int numberOfVariables;
+
+	private final byte[] types;
+	private final int[] literals;
+	private final int[] childIndex;
+	private final int[] children;
+
+	DecisionDNNF(CNF satInstance, int numberOfVariables, byte[] types, int[] literals, int[] childIndex, int[] children) {
+		this.satInstance = satInstance;
+		this.numberOfVariables = numberOfVariables;
+		this.types = types;
+		this.literals = literals;
+		this.childIndex = childIndex;
+		this.children = children;
+	}
+
+	public CNF getSatInstance() {
+		return satInstance;
+	}
+
+	/**
+	 * @return the number of nodes in the compiled formula.
+	 */
+	public int size() {
+		return types.length;
+	}
+
+	/**
+	 * @return the number of edges in the compiled formula.
+	 */
+	public int getNumberOfEdges() {
+		return children.length;
+	}
+
+	public boolean isSatisfiable() {
+		return types[types.length - 1] != FALSE;
+	}
+
+	public BigInteger countSolutions() {
+		return countSolutions(new LiteralSet());
+	}
+
+	/**
+	 * Counts the solutions of the compiled formula that are consistent with the given assumptions.
+	 *
+	 * @param assumptions the literals that must be contained in each solution
+	 * @return the exact number of solutions
+	 */
+	public BigInteger countSolutions(LiteralSet assumptions) {
+		final byte[] assignment = getInternalAssignment(assumptions);
+		if (assignment == null) {
+			return BigInteger.ZERO;
+		}
+		return computeValues(assignment)[types.length - 1];
+	}
+
+	/**
+	 * Counts for each variable the solutions of the compiled formula that contain the (positive) variable and are consistent with the given assumptions. Uses
+	 * one bottom-up and one top-down pass over the compiled formula.
+	 *
+	 * @param assumptions the literals that must be contained in each solution
+	 * @return an array containing the number of solutions for each variable ID (index 0 is not used)
+	 */
+	public BigInteger[] countSolutionsPerVariable(LiteralSet assumptions) {
+		final IInternalVariables variables = satInstance.getInternalVariables();
+		final BigInteger[] counts = new BigInteger[satInstance.getVariables().maxVariableID() + 1];
+		final BigInteger[] internalCounts = new BigInteger[numberOfVariables + 1];
+		for (int i = 0; i < internalCounts.length; i++) {
+			internalCounts[i] = BigInteger.ZERO;
+		}
+
+		final byte[] assignment = getInternalAssignment(assumptions);
+		if (assignment != null) {
+			final BigInteger[] values = computeValues(assignment);
+			final BigInteger[] derivatives = computeDerivatives(values);
+			for (int i = 0; i < types.length; i++) {
+				final BigInteger derivative = derivatives[i];
+				if (derivative.signum() != 0) {
+					final int literal = literals[i];
+					switch (types[i]) {
+					case LITERAL:
+						if ((literal > 0) && (values[i].signum() != 0)) {
+							internalCounts[literal] = internalCounts[literal].add(derivative);
+						}
+						break;
+					case FREE:
+						if (assignment[literal] >= 0) {
+							internalCounts[literal] = internalCounts[literal].add(derivative);
+						}
+						break;
+					default:
+						break;
+					}
+				}
+			}
+		}
+
+		for (int i = 0; i < counts.length; i++) {
+			counts[i] = BigInteger.ZERO;
+		}
+		for (int i = 1; i < internalCounts.length; i++) {
+			counts[variables.convertToOriginal(i)] = internalCounts[i];
+		}
+		return counts;
+	}
+
+	/**
+	 * Computes for each variable the fraction of solutions (consistent with the given assumptions) that contain the (positive) variable.
+	 *
+	 * @param assumptions the literals that must be contained in each solution
+	 * @return an array containing the commonality for each variable ID (index 0 is not used), all values are 0 if there is no solution
+	 */
+	public double[] getCommonality(LiteralSet assumptions) {
+		final BigInteger[] counts = countSolutionsPerVariable(assumptions);
+		final double[] commonality = new double[counts.length];
+		final BigInteger count = countSolutions(assumptions);
+		if (count.signum() != 0) {
+			final BigDecimal total = new BigDecimal(count);
+			for (int i = 1; i < counts.length; i++) {
+				commonality[i] = new BigDecimal(counts[i]).divide(total, MathContext.DECIMAL64).doubleValue();
+			}
+		}
+		return commonality;
+	}
+
+	private byte[] getInternalAssignment(LiteralSet assumptions) {
+		final byte[] assignment = new byte[numberOfVariables + 1];
+		for (final int literal : satInstance.getInternalVariables().convertToInternal(assumptions.getLiterals())) {
+			final int var = Math.abs(literal);
+			if (var != 0) {
+				final byte value = (byte) (literal > 0 ? 1 : -1);
+				if (assignment[var] == -value) {
+					return null;
+				}
+				assignment[var] = value;
+			}
+		}
+		return assignment;
+	}
+
+	private BigInteger[] computeValues(byte[] assignment) {
+		final BigInteger two = BigInteger.valueOf(2);
+		final BigInteger[] values = new BigInteger[types.length];
+		for (int i = 0; i < types.length; i++) {
+			switch (types[i]) {
+			case FALSE:
+				values[i] = BigInteger.ZERO;
+				break;
+			case TRUE:
+				values[i] = BigInteger.ONE;
+				break;
+			case LITERAL: {
+				final int literal = literals[i];
+				values[i] = ((assignment[Math.abs(literal)] * literal) < 0) ? BigInteger.ZERO : BigInteger.ONE;
+				break;
+			}
+			case FREE:
+				values[i] = (assignment[literals[i]] != 0) ? BigInteger.ONE : two;
+				break;
+			case AND: {
+				BigInteger value = BigInteger.ONE;
+				for (int j = childIndex[i]; j < childIndex[i + 1]; j++) {
+					value = value.multiply(values[children[j]]);
+					if (value.signum() == 0) {
+						break;
+					}
+				}
+				values[i] = value;
+				break;
+			}
+			case OR: {
+				BigInteger value = BigInteger.ZERO;
+				for (int j = childIndex[i]; j < childIndex[i + 1]; j++) {
+					value = value.add(values[children[j]]);
+				}
+				values[i] = value;
+				break;
+			}
+			default:
+				throw new AssertionError(types[i]);
+			}
+		}
+		return values;
+	}
+
+	private BigInteger[] computeDerivatives(BigInteger[] values) {
+		final BigInteger[] derivatives = new BigInteger[types.length];
+		for (int i = 0; i < derivatives.length; i++) {
+			derivatives[i] = BigInteger.ZERO;
+		}
+		derivatives[types.length - 1] = BigInteger.ONE;
+
+		for (int i = types.length - 1; i >= 0; i--) {
+			final BigInteger derivative = derivatives[i];
+			if (derivative.signum() == 0) {
+				continue;
+			}
+			final int start = childIndex[i];
+			final int end = childIndex[i + 1];
+			switch (types[i]) {
+			case AND: {
+				// product of all other children = prefix product * suffix product
+				final BigInteger[] suffix = new BigInteger[(end - start) + 1];
+				suffix[end - start] = BigInteger.ONE;
+				for (int j = end - 1; j >= start; j--) {
+					suffix[j - start] = suffix[(j - start) + 1].multiply(values[children[j]]);
+				}
+				BigInteger prefix = derivative;
+				for (int j = start; j < end; j++) {
+					final int child = children[j];
+					derivatives[child] = derivatives[child].add(prefix.multiply(suffix[(j - start) + 1]));
+					prefix = prefix.multiply(values[child]);
+				}
+				break;
+			}
+			case OR:
+				for (int j = start; j < end; j++) {
+					final int child = children[j];
+					derivatives[child] = derivatives[child].add(derivative);
+				}
+				break;
+			default:
+				break;
+			}
+		}
+		return derivatives;
+	}
+
+	@Override
+	public String toString() {
+		return "DecisionDNNF [nodes=" + types.length + ", edges=" + children.length + "]";
+	}
+
+}
@@ -443,7 +443,7 @@ public class MIGBuilder implements LongRunningMethod<ModalImplicationGraph>, IEd
 	// Transitive closure for weak edges
 	private void dfsWeak(int curVar) {
 		final int curIndex = Math.abs(curVar) - 1;
-		final boolean curSelected = curIndex > 0;
+		final boolean curSelected = curVar > 0;
 
 		if ((dfsMark[curIndex] & 1) != 0) {
 			return;
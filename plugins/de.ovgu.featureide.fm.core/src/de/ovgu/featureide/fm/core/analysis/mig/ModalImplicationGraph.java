@@ -29,6 +29,7 @@ import java.util.List;
 import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
 import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
 import de.ovgu.featureide.fm.core.analysis.cnf.solver.RuntimeContradictionException;
+import de.ovgu.featureide.fm.core.job.LongRunningMethod;
 import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
 
 /**
@@ -40,8 +41,27 @@ public class ModalImplicationGraph implements IEdgeTypes, Serializable {
 
 	private static final long serialVersionUID = 5258868675944962032L;
 
+	/**
+	 * Maximum number of variables for which a graph is built using a dense adjacency matrix (i.e., {@link MIGBuilder}). For larger formulas the
+	 * {@link SparseMIGBuilder} is used.
+	 */
+	public static final int DENSE_VARIABLE_LIMIT = 4096;
+
 	public static ModalImplicationGraph build(CNF satInstance, boolean detectStrong) {
-		return LongRunningWrapper.runMethod(new MIGBuilder(satInstance, detectStrong));
+		return LongRunningWrapper.runMethod(getBuilder(satInstance, detectStrong));
+	}
+
+	/**
+	 * Returns a builder for the given formula. Both builders yield the same graph, but the memory consumption of {@link MIGBuilder} is quadratic in the number
+	 * of variables.
+	 *
+	 * @param satInstance the formula
+	 * @param detectStrong whether all strong edges should be detected
+	 * @return a {@link MIGBuilder} or a {@link SparseMIGBuilder}, if the formula has more than {@link #DENSE_VARIABLE_LIMIT} variables
+	 */
+	public static LongRunningMethod<ModalImplicationGraph> getBuilder(CNF satInstance, boolean detectStrong) {
+		return (satInstance.getVariables().size() > DENSE_VARIABLE_LIMIT) ? new SparseMIGBuilder(satInstance, detectStrong)
+			: new MIGBuilder(satInstance, detectStrong);
 	}
 
 	final List<Vertex> adjList;
@@ -0,0 +1,160 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.analysis.mig;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
+
+/**
+ * Sparse adjacency matrix implementation for a modal implication graph.<br> Each row only stores its non-empty entries as a pair of primitive arrays (column
+ * indices and edge values), which are kept sorted by column index. Thus, the memory consumption is linear in the number of edges instead of quadratic in the
+ * number of variables.
+ *
+ * @author agent
+ *
+ * @see AdjMatrix
+ */
+class SparseAdjMatrix implements IEdgeTypes {
+
+	private static final int[] EMPTY_COLUMNS = new int[0];
+	private static final byte[] EMPTY_VALUES = new byte[0];
+
+	final List<LiteralSet> clauseList = new ArrayList<>();
+
+	final byte[] core;
+
+	private final int[][] columns;
+	private final byte[][] values;
+	private final int[] rowSizes;
+	private final int numVariables;
+
+	public SparseAdjMatrix(int numVariables) {
+		this.numVariables = numVariables;
+		core = new byte[numVariables];
+		columns = new int[numVariables][];
+		values = new byte[numVariables][];
+		rowSizes = new int[numVariables];
+		Arrays.fill(columns, EMPTY_COLUMNS);
+		Arrays.fill(values, EMPTY_VALUES);
+	}
+
+	public List<LiteralSet> getClauseList() {
+		return clauseList;
+	}
+
+	public byte getCore(int i) {
+		return core[i];
+	}
+
+	public int getNumVariables() {
+		return numVariables;
+	}
+
+	/**
+	 * @param fromIndex the row
+	 * @return the number of stored entries within the given row
+	 */
+	public int getRowSize(int fromIndex) {
+		return rowSizes[fromIndex];
+	}
+
+	/**
+	 * @param fromIndex the row
+	 * @param position the position of an entry within the row
+	 * @return the column index of the entry
+	 */
+	public int getColumn(int fromIndex, int position) {
+		return columns[fromIndex][position];
+	}
+
+	/**
+	 * @param fromIndex the row
+	 * @param position the position of an entry within the row
+	 * @return the edge value of the entry
+	 */
+	public byte getValue(int fromIndex, int position) {
+		return values[fromIndex][position];
+	}
+
+	/**
+	 * Returns the position of the first entry in the given row that has a column index greater than {@code toIndex}. Can be used to iterate over a row while
+	 * new entries are inserted into it.
+	 *
+	 * @param fromIndex the row
+	 * @param toIndex the column index
+	 * @return the position of the next entry or {@link #getRowSize(int)} if there is none
+	 */
+	public int getNextPosition(int fromIndex, int toIndex) {
+		final int position = Arrays.binarySearch(columns[fromIndex], 0, rowSizes[fromIndex], toIndex);
+		return position < 0 ? -(position + 1) : position + 1;
+	}
+
+	public byte getEdge(int fromIndex, int toIndex) {
+		final int position = Arrays.binarySearch(columns[fromIndex], 0, rowSizes[fromIndex], toIndex);
+		return position < 0 ? EDGE_NONE : values[fromIndex][position];
+	}
+
+	public void setEdge(int fromIndex, int toIndex, byte edge) {
+		final int rowSize = rowSizes[fromIndex];
+		final int position = Arrays.binarySearch(columns[fromIndex], 0, rowSize, toIndex);
+		if (position >= 0) {
+			values[fromIndex][position] = edge;
+		} else if (edge != EDGE_NONE) {
+			final int insertionPoint = -(position + 1);
+			int[] rowColumns = columns[fromIndex];
+			byte[] rowValues = values[fromIndex];
+			if (rowSize == rowColumns.length) {
+				final int newLength = Math.min(numVariables, Math.max(4, rowSize + (rowSize >> 1)));
+				rowColumns = Arrays.copyOf(rowColumns, newLength);
+				rowValues = Arrays.copyOf(rowValues, newLength);
+				columns[fromIndex] = rowColumns;
+				values[fromIndex] = rowValues;
+			}
+			System.arraycopy(rowColumns, insertionPoint, rowColumns, insertionPoint + 1, rowSize - insertionPoint);
+			System.arraycopy(rowValues, insertionPoint, rowValues, insertionPoint + 1, rowSize - insertionPoint);
+			rowColumns[insertionPoint] = toIndex;
+			rowValues[insertionPoint] = edge;
+			rowSizes[fromIndex] = rowSize + 1;
+		}
+	}
+
+	/**
+	 * Removes all edges, but keeps the allocated rows.
+	 */
+	public void clearEdges() {
+		Arrays.fill(rowSizes, 0);
+	}
+
+	/**
+	 * @return the number of stored entries
+	 */
+	public long getNumberOfEntries() {
+		long numberOfEntries = 0;
+		for (final int rowSize : rowSizes) {
+			numberOfEntries += rowSize;
+		}
+		return numberOfEntries;
+	}
+
+}
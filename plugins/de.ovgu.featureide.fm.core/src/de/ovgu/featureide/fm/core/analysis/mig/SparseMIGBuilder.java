@@ -0,0 +1,669 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.analysis.mig;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.sat4j.specs.ContradictionException;
+
+import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.AdvancedSatSolver;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.ISatSolver;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.ISatSolver.SelectionStrategy;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.ISimpleSatSolver.SatResult;
+import de.ovgu.featureide.fm.core.job.LongRunningMethod;
+import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
+
+/**
+ * Builds a {@link ModalImplicationGraph} without materializing a dense adjacency matrix.<br> Performs the same steps as {@link MIGBuilder} and yields the
+ * same graph, but stores edges in a {@link SparseAdjMatrix}, uses primitive arrays instead of boxed lists, and uses bit sets for marking variables during
+ * depth-first search. Thus, its memory consumption grows with the number of edges instead of the square of the number of variables, which allows building
+ * graphs for formulas with many thousand variables.
+ *
+ * @author agent
+ */
+public class SparseMIGBuilder implements LongRunningMethod<ModalImplicationGraph>, IEdgeTypes {
+
+	/**
+	 * For sorting clauses by length. Starting with the longest.
+	 */
+	private static final Comparator<LiteralSet> lengthComparator = new Comparator<LiteralSet>() {
+
+		@Override
+		public int compare(LiteralSet o1, LiteralSet o2) {
+			return o1.getLiterals().length - o2.getLiterals().length;
+		}
+	};
+
+	private final Set<LiteralSet> cleanClauseSet = new HashSet<>();
+	private final List<LiteralSet> newClauseList = new ArrayList<>();
+	private final BitSet dfsVisited;
+	private final BitSet dfsCompleted;
+	private final SparseAdjMatrix adjMatrix;
+	private final CNF satInstance;
+	private final boolean detectStrong;
+	private final ModalImplicationGraph mig;
+	private final int numberOfVariables;
+
+	private int[] dfsStack;
+	private int dfsStackSize = 0;
+
+	private ISatSolver solver;
+
+	protected Random random = new Random(112358);
+
+	public SparseMIGBuilder(CNF satInstance, boolean detectStrong) {
+		this.satInstance = satInstance;
+		this.detectStrong = detectStrong;
+		numberOfVariables = satInstance.getVariables().size();
+		dfsVisited = new BitSet(numberOfVariables);
+		dfsCompleted = new BitSet(numberOfVariables);
+		dfsStack = new int[numberOfVariables + 1];
+		adjMatrix = new SparseAdjMatrix(numberOfVariables);
+		mig = new ModalImplicationGraph(2 * numberOfVariables);
+	}
+
+	@Override
+	public ModalImplicationGraph execute(IMonitor<ModalImplicationGraph> monitor) throws Exception {
+		monitor.setRemainingWork(5 + (detectStrong ? 3 : 0));
+		if (!init()) {
+			return null;
+		}
+		monitor.step();
+
+		if (detectStrong) {
+			// Build transitive hull
+			dfsStrong();
+			monitor.step();
+			dfsWeak();
+			monitor.step();
+
+			dfsDetectStrongEdges();
+			monitor.step();
+		}
+		cleanClauseList();
+		monitor.step();
+
+		readdEdges();
+		monitor.step();
+		dfsStrong();
+		monitor.step();
+
+		transformToAdjList();
+		monitor.step();
+
+		return mig;
+	}
+
+	private void transformToAdjList() {
+		final List<LiteralSet> clauseList = adjMatrix.getClauseList();
+		if (!clauseList.isEmpty()) {
+			assert clauseList.get(0).getLiterals().length > 0;
+
+			// Add clauses with 3 or more literals
+			int firstComplexClause = 0;
+			while ((firstComplexClause < clauseList.size()) && (clauseList.get(firstComplexClause).getLiterals().length <= 2)) {
+				firstComplexClause++;
+			}
+			mig.complexClauses.addAll(clauseList.subList(firstComplexClause, clauseList.size()));
+
+			// Index clauses by variable (compressed sparse rows)
+			final int[] relevantClausesStart = new int[numberOfVariables + 1];
+			for (final LiteralSet clause : mig.complexClauses) {
+				for (final int literal : clause.getLiterals()) {
+					relevantClausesStart[Math.abs(literal)]++;
+				}
+			}
+			for (int i = 1; i <= numberOfVariables; i++) {
+				relevantClausesStart[i] += relevantClausesStart[i - 1];
+			}
+			final int[] relevantClausesIndex = new int[relevantClausesStart[numberOfVariables]];
+			final int[] relevantClausesFill = Arrays.copyOf(relevantClausesStart, numberOfVariables);
+			for (int clauseIndex = 0; clauseIndex < mig.complexClauses.size(); clauseIndex++) {
+				for (final int literal : mig.complexClauses.get(clauseIndex).getLiterals()) {
+					relevantClausesIndex[relevantClausesFill[Math.abs(literal) - 1]++] = clauseIndex;
+				}
+			}
+
+			for (int var = 1; var <= numberOfVariables; var++) {
+				final int varIndex = var - 1;
+
+				// Calculate array size for vertex
+				int negStrongCount = 0;
+				int posStrongCount = 0;
+				final int rowSize = adjMatrix.getRowSize(varIndex);
+				for (int position = 0; position < rowSize; position++) {
+					final byte relation = adjMatrix.getValue(varIndex, position);
+					if ((relation & (EDGE_00 | EDGE_01)) != 0) {
+						negStrongCount++;
+					}
+					if ((relation & (EDGE_10 | EDGE_11)) != 0) {
+						posStrongCount++;
+					}
+				}
+				int negComplexCount = 0;
+				int posComplexCount = 0;
+				final int relevantClausesEnd = relevantClausesStart[var];
+				for (int i = relevantClausesStart[varIndex]; i < relevantClausesEnd; i++) {
+					if (posEdge(var, mig.complexClauses.get(relevantClausesIndex[i]).getLiterals())) {
+						posComplexCount += 1;
+					} else {
+						negComplexCount += 1;
+					}
+				}
+
+				// Initialize arrays
+				final int[] negStrongEdges = new int[negStrongCount];
+				final int[] posStrongEdges = new int[posStrongCount];
+				final int[] negComplexClauses = new int[negComplexCount];
+				final int[] posComplexClauses = new int[posComplexCount];
+
+				negStrongCount = 0;
+				posStrongCount = 0;
+				for (int position = 0; position < rowSize; position++) {
+					final int column = adjMatrix.getColumn(varIndex, position);
+					final byte relation = adjMatrix.getValue(varIndex, position);
+					if ((relation & EDGE_00) != 0) {
+						negStrongEdges[negStrongCount++] = -(column + 1);
+					} else if ((relation & EDGE_01) != 0) {
+						negStrongEdges[negStrongCount++] = (column + 1);
+					}
+					if ((relation & EDGE_10) != 0) {
+						posStrongEdges[posStrongCount++] = -(column + 1);
+					} else if ((relation & EDGE_11) != 0) {
+						posStrongEdges[posStrongCount++] = (column + 1);
+					}
+				}
+
+				for (int i = relevantClausesStart[varIndex]; i < relevantClausesEnd; i++) {
+					final int clauseIndex = relevantClausesIndex[i];
+					if (posEdge(var, mig.complexClauses.get(clauseIndex).getLiterals())) {
+						posComplexClauses[--posComplexCount] = clauseIndex;
+					} else {
+						negComplexClauses[--negComplexCount] = clauseIndex;
+					}
+				}
+				final Vertex negVertex = new Vertex(-var);
+				final Vertex posVertex = new Vertex(var);
+
+				negVertex.setCore(adjMatrix.getCore(varIndex) < 0);
+				negVertex.setDead(adjMatrix.getCore(varIndex) > 0);
+				posVertex.setCore(adjMatrix.getCore(varIndex) > 0);
+				posVertex.setDead(adjMatrix.getCore(varIndex) < 0);
+
+				negVertex.setStrongEdges(negStrongEdges);
+				posVertex.setStrongEdges(posStrongEdges);
+
+				negVertex.setComplexClauses(negComplexClauses);
+				posVertex.setComplexClauses(posComplexClauses);
+
+				negVertex.setId(mig.adjList.size());
+				mig.adjList.add(negVertex);
+				posVertex.setId(mig.adjList.size());
+				mig.adjList.add(posVertex);
+			}
+		}
+	}
+
+	public void dfsDetectStrongEdges() {
+		dfsStackSize = 0;
+		dfsVisited.clear();
+		dfsCompleted.clear();
+		for (int i = 0; i < adjMatrix.getNumVariables(); i++) {
+			push(i + 1);
+			testVariable();
+			push(-(i + 1));
+			testVariable();
+		}
+	}
+
+	public void dfsStrong() {
+		dfsStackSize = 0;
+		dfsVisited.clear();
+		dfsCompleted.clear();
+		for (int nextIndex = 1; nextIndex <= adjMatrix.getNumVariables(); nextIndex++) {
+			dfsStrong(nextIndex);
+			dfsVisited.clear();
+			dfsStrong(-nextIndex);
+			dfsVisited.clear();
+			dfsCompleted.set(nextIndex - 1);
+		}
+	}
+
+	public void dfsWeak() {
+		dfsStackSize = 0;
+		dfsVisited.clear();
+		dfsCompleted.clear();
+		for (int nextIndex = 1; nextIndex <= adjMatrix.getNumVariables(); nextIndex++) {
+			dfsWeak(nextIndex);
+			dfsVisited.clear();
+			dfsWeak(-nextIndex);
+			dfsVisited.clear();
+			dfsCompleted.set(nextIndex - 1);
+		}
+	}
+
+	public boolean init() throws ContradictionException {
+		// Init solver
+		solver = new AdvancedSatSolver(satInstance);
+		solver.setSelectionStrategy(SelectionStrategy.POSITIVE);
+
+		final boolean satisfiable = getCoreFeatures();
+		if (satisfiable) {
+			initEdges();
+		}
+		return satisfiable;
+	}
+
+	/**
+	 * @return the number of edge entries stored in the sparse adjacency matrix
+	 */
+	public long getNumberOfEntries() {
+		return adjMatrix.getNumberOfEntries();
+	}
+
+	private LiteralSet addClause(final int... varX) {
+		if (varX != null) {
+			final LiteralSet newClause = new LiteralSet(varX);
+			if (cleanClauseSet.add(newClause)) {
+				newClauseList.add(newClause);
+			}
+			return newClause;
+		}
+		return null;
+	}
+
+	public void cleanClauseList() {
+		Collections.sort(newClauseList, lengthComparator);
+		final AdvancedSatSolver newSolver = new AdvancedSatSolver(new CNF(satInstance, false));
+
+		for (final LiteralSet clause : newClauseList) {
+			if ((clause.getLiterals().length < 3) || !isRedundant(newSolver, clause)) {
+				newSolver.addClause(clause);
+				adjMatrix.clauseList.add(clause);
+			}
+		}
+
+		newClauseList.clear();
+	}
+
+	private final boolean isRedundant(ISatSolver solver, LiteralSet curClause) {
+		return solver.hasSolution(curClause.negate()) == SatResult.FALSE;
+	}
+
+	private void initEdges() {
+		// Remembers the sign of each variable contained in the current clause
+		final byte[] literalMark = new byte[numberOfVariables];
+		outer: for (final LiteralSet clause : solver.getSatInstance().getClauses()) {
+			final int[] literals = clause.getLiterals();
+			final int[] literalArray = new int[literals.length];
+			int literalCount = 0;
+
+			// Sort out dead and core features
+			int childrenCount = literals.length;
+			boolean skip = false;
+			for (final int var : literals) {
+				final int index = Math.abs(var) - 1;
+				final int coreB = var * adjMatrix.core[index];
+				if (coreB > 0) {
+					// Clause is satisfied
+					skip = true;
+					break;
+				} else if (coreB < 0) {
+					// Current literal is unsatisfied (dead or core feature)
+					if (childrenCount <= 2) {
+						skip = true;
+						break;
+					}
+					childrenCount--;
+				} else {
+					final byte sign = (byte) (var > 0 ? 1 : -1);
+					if (literalMark[index] == -sign) {
+						skip = true;
+						break;
+					} else if (literalMark[index] == 0) {
+						literalMark[index] = sign;
+						literalArray[literalCount++] = var;
+					}
+				}
+			}
+			for (int i = 0; i < literalCount; i++) {
+				literalMark[Math.abs(literalArray[i]) - 1] = 0;
+			}
+			if (skip) {
+				continue outer;
+			}
+			final int[] newLiterals = Arrays.copyOf(literalArray, literalCount);
+			addClause(newLiterals);
+			addRelation(newLiterals);
+		}
+	}
+
+	private void addRelation(final int[] newLiterals) {
+		if (newLiterals.length == 2) {
+			addStrongRelation(newLiterals[0], newLiterals[1]);
+		} else {
+			for (int i = 0; i < (newLiterals.length - 1); i++) {
+				for (int j = i + 1; j < newLiterals.length; j++) {
+					addWeakRelation(newLiterals[i], newLiterals[j]);
+				}
+			}
+		}
+	}
+
+	public void readdEdges() {
+		adjMatrix.clearEdges();
+		for (final LiteralSet clause : adjMatrix.clauseList) {
+			addRelation(clause.getLiterals());
+		}
+	}
+
+	private boolean addStrongRelation(final int signedVarX, final int signedVarY) {
+		final int indexX = Math.abs(signedVarX) - 1;
+		final int indexY = Math.abs(signedVarY) - 1;
+		if (indexX == indexY) {
+			return false;
+		}
+
+		final byte oldXY = adjMatrix.getEdge(indexX, indexY);
+		final byte oldYX = adjMatrix.getEdge(indexY, indexX);
+		final byte newXY;
+		final byte newYX;
+
+		if (signedVarX > 0) {
+			if (signedVarY > 0) {
+				newXY = (byte) ((oldXY & (~EDGE_NEGATIVE)) | EDGE_01);
+				newYX = (byte) ((oldYX & (~EDGE_NEGATIVE)) | EDGE_01);
+			} else {
+				newXY = (byte) ((oldXY & (~EDGE_NEGATIVE)) | EDGE_00);
+				newYX = (byte) ((oldYX & (~EDGE_POSITIVE)) | EDGE_11);
+			}
+		} else {
+			if (signedVarY > 0) {
+				newXY = (byte) ((oldXY & (~EDGE_POSITIVE)) | EDGE_11);
+				newYX = (byte) ((oldYX & (~EDGE_NEGATIVE)) | EDGE_00);
+			} else {
+				newXY = (byte) ((oldXY & (~EDGE_POSITIVE)) | EDGE_10);
+				newYX = (byte) ((oldYX & (~EDGE_POSITIVE)) | EDGE_10);
+			}
+		}
+		adjMatrix.setEdge(indexX, indexY, newXY);
+		adjMatrix.setEdge(indexY, indexX, newYX);
+
+		return (oldXY != newXY) || (oldYX != newYX);
+	}
+
+	private void addWeakRelation(final int signedVarX, final int signedVarY) {
+		final int indexX = Math.abs(signedVarX) - 1;
+		final int indexY = Math.abs(signedVarY) - 1;
+		if (indexX == indexY) {
+			return;
+		}
+
+		final byte oldXY = adjMatrix.getEdge(indexX, indexY);
+		final byte oldYX = adjMatrix.getEdge(indexY, indexX);
+
+		if (signedVarX > 0) {
+			if (signedVarY > 0) {
+				if ((oldXY & EDGE_STRONG_NEGATIVE) == 0) {
+					adjMatrix.setEdge(indexX, indexY, (byte) (oldXY | EDGE_01Q));
+				}
+				if ((oldYX & EDGE_STRONG_NEGATIVE) == 0) {
+					adjMatrix.setEdge(indexY, indexX, (byte) (oldYX | EDGE_01Q));
+				}
+			} else {
+				if ((oldXY & EDGE_STRONG_NEGATIVE) == 0) {
+					adjMatrix.setEdge(indexX, indexY, (byte) (oldXY | EDGE_00Q));
+				}
+				if ((oldYX & EDGE_STRONG_POSITIVE) == 0) {
+					adjMatrix.setEdge(indexY, indexX, (byte) (oldYX | EDGE_11Q));
+				}
+			}
+		} else {
+			if (signedVarY > 0) {
+				if ((oldXY & EDGE_STRONG_POSITIVE) == 0) {
+					adjMatrix.setEdge(indexX, indexY, (byte) (oldXY | EDGE_11Q));
+				}
+				if ((oldYX & EDGE_STRONG_NEGATIVE) == 0) {
+					adjMatrix.setEdge(indexY, indexX, (byte) (oldYX | EDGE_00Q));
+				}
+			} else {
+				if ((oldXY & EDGE_STRONG_POSITIVE) == 0) {
+					adjMatrix.setEdge(indexX, indexY, (byte) (oldXY | EDGE_10Q));
+				}
+				if ((oldYX & EDGE_STRONG_POSITIVE) == 0) {
+					adjMatrix.setEdge(indexY, indexX, (byte) (oldYX | EDGE_10Q));
+				}
+			}
+		}
+	}
+
+	// Transitive closure for strong edges
+	private void dfsStrong(int curVar) {
+		final int curIndex = Math.abs(curVar) - 1;
+		final boolean curSelected = curVar > 0;
+
+		if (dfsVisited.get(curIndex)) {
+			return;
+		}
+		dfsVisited.set(curIndex);
+
+		final int size = dfsStackSize;
+		if (size > 1) {
+			// Note the minus (we construct a virtual clause)
+			addStrongRelation(-dfsStack[0], curVar);
+		}
+
+		if ((size > 0) && dfsCompleted.get(Math.abs(dfsStack[size - 1]) - 1)) {
+			return;
+		}
+		push(curVar);
+
+		// New edges may be inserted into the current row while iterating
+		for (int nextIndex = -1, position = 0; position < adjMatrix.getRowSize(curIndex); position = adjMatrix.getNextPosition(curIndex, nextIndex)) {
+			nextIndex = adjMatrix.getColumn(curIndex, position);
+			final byte relation = adjMatrix.getValue(curIndex, position);
+			final byte bitMask = (byte) (curSelected ? relation >>> 4 : relation);
+			if ((bitMask & EDGE_00) != 0) {
+				dfsStrong(-(nextIndex + 1));
+			} else if ((bitMask & EDGE_01) != 0) {
+				dfsStrong((nextIndex + 1));
+			}
+		}
+		dfsStackSize--;
+	}
+
+	// Transitive closure for weak edges
+	private void dfsWeak(int curVar) {
+		final int curIndex = Math.abs(curVar) - 1;
+		final boolean curSelected = curVar > 0;
+
+		if (dfsVisited.get(curIndex)) {
+			return;
+		}
+		dfsVisited.set(curIndex);
+
+		final int size = dfsStackSize;
+		if (size > 1) {
+			// Note the minus (we construct a virtual clause)
+			addWeakRelation(-dfsStack[0], curVar);
+		}
+
+		if ((size > 0) && dfsCompleted.get(Math.abs(dfsStack[size - 1]) - 1)) {
+			return;
+		}
+		push(curVar);
+
+		for (int nextIndex = -1, position = 0; position < adjMatrix.getRowSize(curIndex); position = adjMatrix.getNextPosition(curIndex, nextIndex)) {
+			nextIndex = adjMatrix.getColumn(curIndex, position);
+			final byte relation = adjMatrix.getValue(curIndex, position);
+			final byte bitMask = (byte) (curSelected ? relation >>> 4 : relation);
+			if ((bitMask & EDGE_00) != 0) {
+				dfsWeak(-(nextIndex + 1));
+			} else if ((bitMask & EDGE_01) != 0) {
+				dfsWeak((nextIndex + 1));
+			} else {
+				if ((bitMask & EDGE_00Q) != 0) {
+					dfsWeak(-(nextIndex + 1));
+				}
+				if ((bitMask & EDGE_01Q) != 0) {
+					dfsWeak((nextIndex + 1));
+				}
+			}
+		}
+		dfsStackSize--;
+	}
+
+	private boolean getCoreFeatures() {
+		// satisfiable?
+		final int[] firstSolution = solver.findSolution();
+		if (firstSolution != null) {
+			solver.setSelectionStrategy(SelectionStrategy.NEGATIVE);
+			LiteralSet.resetConflicts(firstSolution, solver.findSolution());
+			solver.setSelectionStrategy(SelectionStrategy.POSITIVE);
+
+			// find core/dead features
+			for (int i = 0; i < firstSolution.length; i++) {
+				final int varX = firstSolution[i];
+				if (varX != 0) {
+					solver.assignmentPush(-varX);
+					switch (solver.hasSolution()) {
+					case FALSE:
+						addClause(varX);
+						solver.assignmentReplaceLast(varX);
+						adjMatrix.core[i] = (byte) Math.signum(varX);
+						break;
+					case TIMEOUT:
+						solver.assignmentPop();
+						break;
+					case TRUE:
+						solver.assignmentPop();
+						LiteralSet.resetConflicts(firstSolution, solver.getSolution());
+						solver.shuffleOrder(random);
+						break;
+					}
+				}
+			}
+			return true;
+		}
+		return false;
+	}
+
+	private void push(int literal) {
+		if (dfsStackSize == dfsStack.length) {
+			dfsStack = Arrays.copyOf(dfsStack, dfsStackSize << 1);
+		}
+		dfsStack[dfsStackSize++] = literal;
+	}
+
+	private void testVariable() {
+		final int mx1 = dfsStack[dfsStackSize - 1];
+		final int i = Math.abs(mx1) - 1;
+		final boolean positive = mx1 > 0;
+		// Marks whether a variable was already tested positively or negatively, respectively
+		final BitSet tested = positive ? dfsVisited : dfsCompleted;
+
+		if ((adjMatrix.core[i] == 0) && !tested.get(i)) {
+			tested.set(i);
+
+			int[] xModel1 = null;
+			for (final int[] solution : solver.getSolutionList()) {
+				if (mx1 == solution[i]) {
+					xModel1 = solution;
+					break;
+				}
+			}
+			solver.assignmentPush(mx1);
+			if (xModel1 == null) {
+				xModel1 = solver.findSolution();
+			}
+
+			int c = 0;
+
+			// New edges may be inserted into the current row while iterating
+			inner1: for (int j = i, position = adjMatrix.getNextPosition(i, i); position < adjMatrix.getRowSize(i); position = adjMatrix.getNextPosition(i, j)) {
+				j = adjMatrix.getColumn(i, position);
+				if (j >= xModel1.length) {
+					break;
+				}
+				final byte b = adjMatrix.getValue(i, position);
+				if ((adjMatrix.core[j] == 0) && ((positive && ((b & EDGE_WEAK_POSITIVE) != 0)) || (!positive && ((b & EDGE_WEAK_NEGATIVE) != 0)))) {
+
+					final int my1 = xModel1[j];
+					for (final int[] solution : solver.getSolutionList()) {
+						final int mxI = solution[i];
+						final int myI = solution[j];
+						if ((mx1 == mxI) && (my1 != myI)) {
+							continue inner1;
+						}
+					}
+
+					solver.assignmentPush(-my1);
+					solver.setSelectionStrategy(((c++ % 2) != 0) ? SelectionStrategy.POSITIVE : SelectionStrategy.NEGATIVE);
+
+					switch (solver.hasSolution()) {
+					case FALSE:
+						for (int k = dfsStackSize - 1; k >= 0; k--) {
+							final int mx0 = dfsStack[k];
+							if (addStrongRelation(-mx0, my1)) {
+								addClause(-mx0, my1);
+							}
+						}
+						push(my1);
+						solver.assignmentPop();
+						solver.assignmentPop();
+						testVariable();
+						solver.assignmentPush(mx1);
+						break;
+					case TIMEOUT:
+						solver.assignmentPop();
+						break;
+					case TRUE:
+						solver.shuffleOrder(random);
+						solver.assignmentPop();
+						break;
+					}
+				}
+			}
+			solver.assignmentPop();
+		}
+		dfsStackSize--;
+	}
+
+	private boolean posEdge(int j, final int[] literals) {
+		for (final int literal : literals) {
+			if (Math.abs(literal) == j) {
+				return (literal < 0);
+			}
+		}
+		throw new RuntimeException();
+	}
+
+}
@@ -0,0 +1,161 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.base.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Finds all occurrences of a fixed set of strings in a text within a single pass (Aho-Corasick automaton).<br> The automaton is immutable after
+ * construction and can be used by multiple threads concurrently.
+ *
+ * @author agent
+ */
+public class MultiStringMatcher {
+
+	private static final class State {
+
+		private char[] keys = new char[0];
+		private int[] targets = new int[0];
+
+		private int failure;
+		private int dictionaryLink = -1;
+		private int pattern = -1;
+
+		private int getTarget(char c) {
+			final int index = Arrays.binarySearch(keys, c);
+			return index >= 0 ? targets[index] : -1;
+		}
+
+		private void addTarget(char c, int target) {
+			final int index = -(Arrays.binarySearch(keys, c) + 1);
+			final int length = keys.length;
+			keys = Arrays.copyOf(keys, length + 1);
+			targets = Arrays.copyOf(targets, length + 1);
+			System.arraycopy(keys, index, keys, index + 1, length - index);
+			System.arraycopy(targets, index, targets, index + 1, length - index);
+			keys[index] = c;
+			targets[index] = target;
+		}
+
+	}
+
+	private final String[] patterns;
+	private final State[] states;
+
+	public MultiStringMatcher(Collection<String> patterns) {
+		final Set<String> distinctPatterns = new LinkedHashSet<>(patterns);
+		distinctPatterns.remove("");
+		this.patterns = distinctPatterns.toArray(new String[distinctPatterns.size()]);
+
+		final List<State> stateList = new ArrayList<>();
+		stateList.add(new State());
+		for (int i = 0; i < this.patterns.length; i++) {
+			final String pattern = this.patterns[i];
+			int current = 0;
+			for (int j = 0; j < pattern.length(); j++) {
+				final char c = pattern.charAt(j);
+				int next = stateList.get(current).getTarget(c);
+				if (next < 0) {
+					next = stateList.size();
+					stateList.add(new State());
+					stateList.get(current).addTarget(c, next);
+				}
+				current = next;
+			}
+			stateList.get(current).pattern = i;
+		}
+		states = stateList.toArray(new State[stateList.size()]);
+
+		// breadth-first computation of failure and dictionary links
+		final ArrayDeque<Integer> queue = new ArrayDeque<>();
+		for (final int child : states[0].targets) {
+			queue.add(child);
+		}
+		while (!queue.isEmpty()) {
+			final State state = states[queue.poll()];
+			for (int i = 0; i < state.keys.length; i++) {
+				final char c = state.keys[i];
+				final int child = state.targets[i];
+				final State childState = states[child];
+
+				int failure = state.failure;
+				int target = states[failure].getTarget(c);
+				while ((target < 0) && (failure != 0)) {
+					failure = states[failure].failure;
+					target = states[failure].getTarget(c);
+				}
+				childState.failure = ((target < 0) || (target == child)) ? 0 : target;
+
+				final State failureState = states[childState.failure];
+				childState.dictionaryLink = failureState.pattern >= 0 ? childState.failure : failureState.dictionaryLink;
+				queue.add(child);
+			}
+		}
+	}
+
+	/**
+	 * Returns all strings that occur at least once in the given text.
+	 *
+	 * @param text the text to search
+	 * @return the contained strings in the order of the collection given to the constructor
+	 */
+	public Set<String> findAll(CharSequence text) {
+		final boolean[] found = new boolean[patterns.length];
+		final boolean[] visited = new boolean[states.length];
+		int numberOfFoundPatterns = 0;
+
+		int current = 0;
+		for (int i = 0; (i < text.length()) && (numberOfFoundPatterns < patterns.length); i++) {
+			final char c = text.charAt(i);
+			int next = states[current].getTarget(c);
+			while ((next < 0) && (current != 0)) {
+				current = states[current].failure;
+				next = states[current].getTarget(c);
+			}
+			current = next < 0 ? 0 : next;
+
+			// report all patterns ending here, skipping suffix chains that were already reported
+			for (int state = current; (state >= 0) && !visited[state]; state = states[state].dictionaryLink) {
+				visited[state] = true;
+				final int pattern = states[state].pattern;
+				if ((pattern >= 0) && !found[pattern]) {
+					found[pattern] = true;
+					numberOfFoundPatterns++;
+				}
+			}
+		}
+
+		final Set<String> result = new LinkedHashSet<>();
+		for (int i = 0; i < patterns.length; i++) {
+			if (found[i]) {
+				result.add(patterns[i]);
+			}
+		}
+		return result;
+	}
+
+}
@@ -25,6 +25,7 @@ import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Random;
 
 import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
 import de.ovgu.featureide.fm.core.analysis.cnf.ClauseList;
@@ -58,6 +59,8 @@ public class ConfigurationGenerator extends ACLIFunction {
 	private int t;
 	private int m;
 	private int limit;
+	private int threads;
+	private Long seed;
 
 	@Override
 	public String getId() {
@@ -79,7 +82,7 @@ public class ConfigurationGenerator extends ACLIFunction {
 		}
 
 		final CNF cnf = new CNF();
-		ProblemList lastProblems = FileHandler.load(fmFile, cnf, new DIMACSFormatCNF());
+		ProblemList lastProblems = new DIMACSFormatCNF().read(cnf, fmFile);
 		if (lastProblems.containsError()) {
 			throw new IllegalArgumentException(lastProblems.getErrors().get(0).error);
 		}
@@ -116,6 +119,10 @@ public class ConfigurationGenerator extends ACLIFunction {
 				generator = new TWiseConfigurationGenerator(cnf, expressionGroups, t, limit);
 			}
 			((TWiseConfigurationGenerator) generator).setIterations(m);
+			((TWiseConfigurationGenerator) generator).setThreads(threads);
+			if (seed != null) {
+				((TWiseConfigurationGenerator) generator).setRandom(new Random(seed));
+			}
 			break;
 		}
 		case "random": {
@@ -141,6 +148,8 @@ public class ConfigurationGenerator extends ACLIFunction {
 		t = 0;
 		m = 1;
 		limit = Integer.MAX_VALUE;
+		threads = 1;
+		seed = null;
 	}
 
 	private void parseArguments(List<String> args) {
@@ -177,6 +186,14 @@ public class ConfigurationGenerator extends ACLIFunction {
 					expressionFile = Paths.get(getArgValue(iterator, arg));
 					break;
 				}
+				case "threads": {
+					threads = Integer.parseInt(getArgValue(iterator, arg));
+					break;
+				}
+				case "seed": {
+					seed = Long.parseLong(getArgValue(iterator, arg));
+					break;
+				}
 				default: {
 					throw new IllegalArgumentException(arg);
 				}
@@ -21,6 +21,7 @@
 package de.ovgu.featureide.fm.core.cli;
 
 import java.util.Arrays;
+import java.util.List;
 
 import de.ovgu.featureide.fm.core.ExtensionManager.NoSuchExtensionException;
 import de.ovgu.featureide.fm.core.init.FMCoreLibrary;
@@ -56,8 +57,18 @@ public class FeatureIDECLI {
 			return;
 		}
 
+		final List<String> functionArgs = Arrays.asList(args).subList(1, args.length);
+		if (function instanceof ModelAnalyzer) {
+			// the exit status of the analysis is used by build scripts
+			final int status = ((ModelAnalyzer) function).analyze(functionArgs);
+			if (status != 0) {
+				System.exit(status);
+			}
+			return;
+		}
+
 		try {
-			function.run(Arrays.asList(args).subList(1, args.length));
+			function.run(functionArgs);
 		} catch (final IllegalArgumentException e) {
 			System.err.println(e.getMessage());
 			return;
@@ -0,0 +1,527 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.cli;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import de.ovgu.featureide.fm.core.FeatureModelAnalyzer;
+import de.ovgu.featureide.fm.core.analysis.AnalysisResultCache;
+import de.ovgu.featureide.fm.core.analysis.cnf.formula.FeatureModelFormula;
+import de.ovgu.featureide.fm.core.base.IConstraint;
+import de.ovgu.featureide.fm.core.base.IFeature;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.io.manager.FeatureModelManager;
+import de.ovgu.featureide.fm.core.io.manager.FileHandler;
+import de.ovgu.featureide.fm.core.job.monitor.NullMonitor;
+
+/**
+ * Command line interface for analyzing a set of feature models.<br> Loads all feature models in the given files or directories in any registered format
+ * and runs the selected analyses. Models are analyzed in parallel and each result is written as soon as it is available, either as one JSON object per
+ * line or as CSV. In CSV, list results are given as the number of elements.
+ *
+ * @author agent
+ */
+public class ModelAnalyzer extends ACLIFunction {
+
+	/**
+	 * The analyses that can be selected with the option {@code -a}.
+	 */
+	public enum Analysis {
+
+		VALID("valid", false), //
+		CORE("core", false), //
+		DEAD("dead", true), //
+		FALSE_OPTIONAL("falseoptional", true), //
+		ATOMIC_SETS("atomicsets", false), //
+		INDETERMINED("indetermined", true), //
+		REDUNDANT("redundant", true), //
+		TAUTOLOGY("tautology", true), //
+		VOID("void", true), //
+		CONTRADICTORY("contradictory", true);
+
+		private final String id;
+		private final boolean anomaly;
+
+		private Analysis(String id, boolean anomaly) {
+			this.id = id;
+			this.anomaly = anomaly;
+		}
+
+		public String getId() {
+			return id;
+		}
+
+		/**
+		 * @return {@code true} if a non-empty result of this analysis indicates a defect in the feature model.
+		 */
+		public boolean isAnomaly() {
+			return anomaly;
+		}
+
+		public static Analysis getAnalysis(String id) {
+			for (final Analysis analysis : values()) {
+				if (analysis.id.equals(id)) {
+					return analysis;
+				}
+			}
+			throw new IllegalArgumentException("Unknown analysis " + id);
+		}
+
+	}
+
+	/**
+	 * The results for one feature model.
+	 */
+	private static class Result {
+
+		private final Path path;
+		private final Map<Analysis, Object> values = new LinkedHashMap<>();
+		private int featureCount = -1;
+		private int constraintCount = -1;
+		private long time;
+		private String error;
+
+		public Result(Path path) {
+			this.path = path;
+		}
+
+		public boolean isSkipped() {
+			return (error == null) && (featureCount < 0);
+		}
+
+		public boolean hasAnomalies() {
+			if (Boolean.FALSE.equals(values.get(Analysis.VALID))) {
+				return true;
+			}
+			for (final Entry<Analysis, Object> entry : values.entrySet()) {
+				if (entry.getKey().isAnomaly() && !((Collection<?>) entry.getValue()).isEmpty()) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+	}
+
+	private static final EnumSet<Analysis> DEFAULT_ANALYSES =
+		EnumSet.of(Analysis.VALID, Analysis.CORE, Analysis.DEAD, Analysis.FALSE_OPTIONAL, Analysis.REDUNDANT, Analysis.TAUTOLOGY);
+
+	private final List<Path> inputPaths = new ArrayList<>();
+	private EnumSet<Analysis> analyses;
+	private Path outputFile;
+	private boolean csv;
+	private boolean strict;
+	private boolean cache;
+	private int threads;
+
+	@Override
+	public String getId() {
+		return "analyze";
+	}
+
+	/**
+	 * Runs the analyses like {@link #run(List)}, but reports a failure by its exit status instead of an exception.
+	 *
+	 * @param args the arguments of the command
+	 * @return {@code 0} if all models were analyzed, {@code 1} if the arguments are invalid, a model could not be read, or, with {@code -strict}, a model
+	 *         contains anomalies
+	 */
+	public int analyze(List<String> args) {
+		try {
+			run(args);
+			return 0;
+		} catch (final IllegalArgumentException | IllegalStateException e) {
+			System.err.println(e.getMessage());
+			return 1;
+		}
+	}
+
+	@Override
+	public void run(List<String> args) {
+		parseArguments(args);
+
+		if (inputPaths.isEmpty()) {
+			throw new IllegalArgumentException("No feature model specified!");
+		}
+		final List<Path> modelFiles = new ArrayList<>();
+		final List<Path> explicitFiles = new ArrayList<>();
+		for (final Path inputPath : inputPaths) {
+			if (Files.isDirectory(inputPath)) {
+				try (Stream<Path> files = Files.walk(inputPath)) {
+					modelFiles.addAll(files.filter(Files::isRegularFile).filter(FeatureModelManager::isFileSupported).sorted().collect(Collectors.toList()));
+				} catch (final IOException e) {
+					throw new IllegalArgumentException("Could not read directory " + inputPath);
+				}
+			} else if (Files.isRegularFile(inputPath)) {
+				modelFiles.add(inputPath);
+				explicitFiles.add(inputPath);
+			} else {
+				throw new IllegalArgumentException("No such file or directory " + inputPath);
+			}
+		}
+
+		final boolean cacheEnabled = AnalysisResultCache.isEnabled();
+		AnalysisResultCache.setEnabled(cache);
+
+		// analyses within a model only get the processors that are not already used for other models
+		final int analysisParallelism = Math.max(1, Runtime.getRuntime().availableProcessors() / threads);
+		final ForkJoinPool pool = new ForkJoinPool(threads);
+		int failedModels = 0;
+		int defectiveModels = 0;
+		try (Writer out = createWriter()) {
+			if (csv) {
+				writeCSVHeader(out);
+			}
+			final CompletionService<Result> completionService = new ExecutorCompletionService<>(pool);
+			for (final Path modelFile : modelFiles) {
+				completionService.submit(() -> analyze(modelFile, explicitFiles.contains(modelFile), analysisParallelism));
+			}
+			for (int i = 0; i < modelFiles.size(); i++) {
+				final Result result = completionService.take().get();
+				if (!result.isSkipped()) {
+					if (result.error != null) {
+						failedModels++;
+					} else if (result.hasAnomalies()) {
+						defectiveModels++;
+					}
+					if (csv) {
+						writeCSV(out, result);
+					} else {
+						writeJSON(out, result);
+					}
+					out.flush();
+				}
+			}
+		} catch (final IOException e) {
+			throw new UncheckedIOException(e);
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			// Partial results must not pass as a successful analysis
+			throw new IllegalStateException("Analysis was interrupted!", e);
+		} catch (final ExecutionException e) {
+			final Throwable cause = e.getCause();
+			throw (cause instanceof RuntimeException) ? (RuntimeException) cause : new RuntimeException(cause);
+		} finally {
+			pool.shutdownNow();
+			AnalysisResultCache.setEnabled(cacheEnabled);
+		}
+
+		if (failedModels > 0) {
+			throw new IllegalStateException(failedModels + " feature model(s) could not be analyzed!");
+		}
+		if (strict && (defectiveModels > 0)) {
+			throw new IllegalStateException(defectiveModels + " feature model(s) contain anomalies!");
+		}
+	}
+
+	private Result analyze(Path modelFile, boolean explicit, int analysisParallelism) {
+		final Result result = new Result(modelFile);
+		final long start = System.nanoTime();
+		try {
+			final FileHandler<IFeatureModel> fileHandler = FeatureModelManager.getFileHandler(modelFile);
+			if (fileHandler.getLastProblems().containsError()) {
+				// files found in a directory are skipped, if no format matches their content (e.g., configurations)
+				if (explicit || (fileHandler.getFormat() != null)) {
+					result.error = fileHandler.getLastProblems().getErrors().get(0).getMessage();
+				}
+				return result;
+			}
+			final IFeatureModel featureModel = fileHandler.getObject();
+			result.featureCount = featureModel.getNumberOfFeatures();
+			result.constraintCount = featureModel.getConstraintCount();
+
+			final FeatureModelAnalyzer analyzer = new FeatureModelFormula(featureModel).getAnalyzer();
+			analyzer.getAnalysesCollection().setParallelism(analysisParallelism);
+			final boolean valid = analyzer.isValid(new NullMonitor<>());
+			for (final Analysis analysis : analyses) {
+				if (valid || (analysis == Analysis.VALID) || (analysis == Analysis.VOID) || (analysis == Analysis.CONTRADICTORY)) {
+					result.values.put(analysis, analyze(analyzer, analysis, valid));
+				}
+			}
+		} catch (final Exception e) {
+			result.error = String.valueOf(e.getMessage());
+		} finally {
+			result.time = System.nanoTime() - start;
+		}
+		return result;
+	}
+
+	private Object analyze(FeatureModelAnalyzer analyzer, Analysis analysis, boolean valid) {
+		switch (analysis) {
+		case VALID:
+			return valid;
+		case CORE:
+			return getFeatureNames(analyzer.getCoreFeatures(new NullMonitor<>()));
+		case DEAD:
+			return getFeatureNames(analyzer.getDeadFeatures(new NullMonitor<>()));
+		case FALSE_OPTIONAL:
+			return getFeatureNames(analyzer.getFalseOptionalFeatures(new NullMonitor<>()));
+		case ATOMIC_SETS:
+			return analyzer.getAtomicSets(new NullMonitor<>()).stream().map(this::getFeatureNames).collect(Collectors.toList());
+		case INDETERMINED:
+			return getFeatureNames(analyzer.getIndeterminedHiddenFeatures(new NullMonitor<>()));
+		case REDUNDANT:
+			return getConstraintStrings(analyzer.getRedundantConstraints(new NullMonitor<>()));
+		case TAUTOLOGY:
+			return getConstraintStrings(analyzer.getTautologyConstraints(new NullMonitor<>()));
+		case VOID:
+			return getConstraintStrings(analyzer.getVoidConstraints(new NullMonitor<>()));
+		case CONTRADICTORY:
+			return getConstraintStrings(analyzer.getContradictoryConstraints(new NullMonitor<>()));
+		default:
+			throw new IllegalStateException(String.valueOf(analysis));
+		}
+	}
+
+	private List<String> getFeatureNames(List<IFeature> features) {
+		return features.stream().map(IFeature::getName).collect(Collectors.toList());
+	}
+
+	private List<String> getConstraintStrings(List<IConstraint> constraints) {
+		return constraints.stream().map(constraint -> constraint.getNode().toString()).collect(Collectors.toList());
+	}
+
+	private Writer createWriter() throws IOException {
+		if (outputFile == null) {
+			return new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8)) {
+
+				@Override
+				public void close() throws IOException {
+					flush();
+				}
+			};
+		} else {
+			return Files.newBufferedWriter(outputFile, StandardCharsets.UTF_8);
+		}
+	}
+
+	private void writeJSON(Writer out, Result result) throws IOException {
+		final StringBuilder sb = new StringBuilder("{\"model\":");
+		appendJSON(sb, result.path.toString());
+		if (result.error != null) {
+			sb.append(",\"error\":");
+			appendJSON(sb, result.error);
+		} else {
+			sb.append(",\"features\":").append(result.featureCount);
+			sb.append(",\"constraints\":").append(result.constraintCount);
+			for (final Entry<Analysis, Object> entry : result.values.entrySet()) {
+				sb.append(",\"").append(entry.getKey().getId()).append("\":");
+				appendJSON(sb, entry.getValue());
+			}
+		}
+		sb.append(",\"time\":").append(result.time / 1_000_000).append("}\n");
+		out.write(sb.toString());
+	}
+
+	private void appendJSON(StringBuilder sb, Object value) {
+		if (value instanceof Collection<?>) {
+			sb.append('[');
+			for (final Iterator<?> iterator = ((Collection<?>) value).iterator(); iterator.hasNext();) {
+				appendJSON(sb, iterator.next());
+				if (iterator.hasNext()) {
+					sb.append(',');
+				}
+			}
+			sb.append(']');
+		} else if (value instanceof String) {
+			sb.append('"');
+			final String string = (String) value;
+			for (int i = 0; i < string.length(); i++) {
+				final char c = string.charAt(i);
+				switch (c) {
+				case '"':
+					sb.append("\\\"");
+					break;
+				case '\\':
+					sb.append("\\\\");
+					break;
+				case '\n':
+					sb.append("\\n");
+					break;
+				case '\r':
+					sb.append("\\r");
+					break;
+				case '\t':
+					sb.append("\\t");
+					break;
+				default:
+					if (c < 0x20) {
+						sb.append(String.format("\\u%04x", (int) c));
+					} else {
+						sb.append(c);
+					}
+					break;
+				}
+			}
+			sb.append('"');
+		} else {
+			sb.append(value);
+		}
+	}
+
+	private void writeCSVHeader(Writer out) throws IOException {
+		final StringBuilder sb = new StringBuilder("model;features;constraints");
+		for (final Analysis analysis : analyses) {
+			sb.append(';').append(analysis.getId());
+		}
+		sb.append(";time;error\n");
+		out.write(sb.toString());
+	}
+
+	private void writeCSV(Writer out, Result result) throws IOException {
+		final StringBuilder sb = new StringBuilder();
+		appendCSV(sb, result.path.toString());
+		sb.append(';');
+		if (result.error == null) {
+			sb.append(result.featureCount).append(';').append(result.constraintCount);
+		} else {
+			sb.append(';');
+		}
+		for (final Analysis analysis : analyses) {
+			sb.append(';');
+			final Object value = result.values.get(analysis);
+			if (value instanceof Collection<?>) {
+				sb.append(((Collection<?>) value).size());
+			} else if (value != null) {
+				sb.append(value);
+			}
+		}
+		sb.append(';').append(result.time / 1_000_000).append(';');
+		if (result.error != null) {
+			appendCSV(sb, result.error);
+		}
+		sb.append('\n');
+		out.write(sb.toString());
+	}
+
+	private void appendCSV(StringBuilder sb, String value) {
+		if ((value.indexOf(';') >= 0) || (value.indexOf('"') >= 0) || (value.indexOf('\n') >= 0)) {
+			sb.append('"').append(value.replace("\"", "\"\"")).append('"');
+		} else {
+			sb.append(value);
+		}
+	}
+
+	private void resetArguments() {
+		inputPaths.clear();
+		analyses = EnumSet.copyOf(DEFAULT_ANALYSES);
+		outputFile = null;
+		csv = false;
+		strict = false;
+		cache = false;
+		threads = Runtime.getRuntime().availableProcessors();
+	}
+
+	private void parseArguments(List<String> args) {
+		resetArguments();
+		for (final Iterator<String> iterator = args.iterator(); iterator.hasNext();) {
+			final String arg = iterator.next();
+			if (arg.startsWith("-")) {
+				switch (arg.substring(1)) {
+				case "fm": {
+					inputPaths.add(Paths.get(getArgValue(iterator, arg)));
+					break;
+				}
+				case "o": {
+					outputFile = Paths.get(getArgValue(iterator, arg));
+					break;
+				}
+				case "a": {
+					analyses = EnumSet.noneOf(Analysis.class);
+					for (final String id : getArgValue(iterator, arg).split(",")) {
+						if (id.trim().equals("all")) {
+							analyses = EnumSet.allOf(Analysis.class);
+						} else {
+							analyses.add(Analysis.getAnalysis(id.trim().toLowerCase()));
+						}
+					}
+					break;
+				}
+				case "f": {
+					final String format = getArgValue(iterator, arg).toLowerCase();
+					switch (format) {
+					case "json":
+						csv = false;
+						break;
+					case "csv":
+						csv = true;
+						break;
+					default:
+						throw new IllegalArgumentException("Unknown output format " + format);
+					}
+					break;
+				}
+				case "threads": {
+					threads = Integer.parseInt(getArgValue(iterator, arg));
+					if (threads < 1) {
+						throw new IllegalArgumentException("Number of threads must be positive!");
+					}
+					break;
+				}
+				case "strict": {
+					strict = true;
+					break;
+				}
+				case "cache": {
+					cache = true;
+					break;
+				}
+				default: {
+					throw new IllegalArgumentException(arg);
+				}
+				}
+			} else {
+				throw new IllegalArgumentException(arg);
+			}
+		}
+	}
+
+	private String getArgValue(final Iterator<String> iterator, final String arg) {
+		if (iterator.hasNext()) {
+			return iterator.next();
+		} else {
+			throw new IllegalArgumentException("No value specified for " + arg);
+		}
+	}
+
+}
@@ -0,0 +1,285 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.configuration;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+import de.ovgu.featureide.fm.core.analysis.cnf.IVariables;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet.Order;
+import de.ovgu.featureide.fm.core.analysis.cnf.formula.FeatureModelFormula;
+
+/**
+ * An immutable, memory efficient representation of the selections of a {@link Configuration}.<br> The selected and deselected features are stored as two bit
+ * sets indexed by the variable ids of an {@link IVariables} instance. Thus, a configuration only needs two bits per feature, which makes it suitable for
+ * handling large numbers of configurations at once.<br> Conversions from and to {@link Configuration} and {@link LiteralSet} preserve the selection of each
+ * feature. The distinction between manual and automatic selections is not kept.
+ *
+ * @author agent
+ */
+public final class CompactConfiguration {
+
+	private final IVariables variables;
+	private final long[] selected;
+	private final long[] deselected;
+
+	private CompactConfiguration(IVariables variables, long[] selected, long[] deselected) {
+		this.variables = variables;
+		this.selected = selected;
+		this.deselected = deselected;
+	}
+
+	/**
+	 * Creates a compact representation of the given configuration.<br> Features that are not contained in the given variables are ignored.
+	 *
+	 * @param configuration the configuration
+	 * @param variables the variables of the corresponding feature model
+	 * @return a new compact configuration
+	 */
+	public static CompactConfiguration of(Configuration configuration, IVariables variables) {
+		final long[] selected = createBitSet(variables);
+		final long[] deselected = createBitSet(variables);
+		for (final SelectableFeature feature : configuration.getFeatures()) {
+			final int variable = variables.getVariable(feature.getName());
+			if (variable > 0) {
+				switch (feature.getSelection()) {
+				case SELECTED:
+					set(selected, variable);
+					break;
+				case UNSELECTED:
+					set(deselected, variable);
+					break;
+				case UNDEFINED:
+				default:
+					break;
+				}
+			}
+		}
+		return new CompactConfiguration(variables, selected, deselected);
+	}
+
+	/**
+	 * Creates a compact representation of the given literals.<br> Positive literals denote selected and negative literals deselected features.
+	 *
+	 * @param literals the literals
+	 * @param variables the variables the literals refer to
+	 * @return a new compact configuration
+	 */
+	public static CompactConfiguration of(LiteralSet literals, IVariables variables) {
+		final long[] selected = createBitSet(variables);
+		final long[] deselected = createBitSet(variables);
+		for (final int literal : literals.getLiterals()) {
+			if (literal > 0) {
+				set(selected, literal);
+			} else if (literal < 0) {
+				set(deselected, -literal);
+			}
+		}
+		return new CompactConfiguration(variables, selected, deselected);
+	}
+
+	private static long[] createBitSet(IVariables variables) {
+		return new long[(variables.maxVariableID() >>> 6) + 1];
+	}
+
+	private static void set(long[] bitSet, int variable) {
+		bitSet[variable >>> 6] |= 1L << variable;
+	}
+
+	private static boolean get(long[] bitSet, int variable) {
+		return (bitSet[variable >>> 6] & (1L << variable)) != 0;
+	}
+
+	private static int count(long[] bitSet) {
+		int count = 0;
+		for (final long word : bitSet) {
+			count += Long.bitCount(word);
+		}
+		return count;
+	}
+
+	private static void forEach(long[] bitSet, IntConsumer consumer) {
+		for (int i = 0; i < bitSet.length; i++) {
+			long word = bitSet[i];
+			while (word != 0) {
+				consumer.accept((i << 6) + Long.numberOfTrailingZeros(word));
+				word &= word - 1;
+			}
+		}
+	}
+
+	/**
+	 * Creates a new configuration for the given feature model, in which all features have the same selection as in this configuration.<br> The selections are
+	 * set as manual selections. No propagation is performed.
+	 *
+	 * @param formula the formula of the feature model
+	 * @return a new configuration
+	 */
+	public Configuration toConfiguration(FeatureModelFormula formula) {
+		final Configuration configuration = new Configuration(formula);
+		forEach(selected, variable -> setManual(configuration, variable, Selection.SELECTED));
+		forEach(deselected, variable -> setManual(configuration, variable, Selection.UNSELECTED));
+		return configuration;
+	}
+
+	private void setManual(Configuration configuration, int variable, Selection selection) {
+		final SelectableFeature feature = configuration.getSelectableFeature(variables.getName(variable));
+		if (feature != null) {
+			configuration.setManual(feature, selection);
+		}
+	}
+
+	/**
+	 * Returns the selections of this configuration as literals.<br> If all variables are assigned, the literals are in {@link Order#INDEX index order}, such
+	 * that they can be used as a solution. Otherwise, they are in {@link Order#NATURAL natural order}.
+	 *
+	 * @return a new literal set
+	 */
+	public LiteralSet toLiteralSet() {
+		final int[] literals = new int[count(selected) + count(deselected)];
+		int i = 0;
+		for (int variable = 1; variable <= variables.maxVariableID(); variable++) {
+			if (get(selected, variable)) {
+				literals[i++] = variable;
+			} else if (get(deselected, variable)) {
+				literals[i++] = -variable;
+			}
+		}
+		return (literals.length == variables.maxVariableID()) ? new LiteralSet(literals, Order.INDEX, false) : new LiteralSet(literals, Order.NATURAL);
+	}
+
+	public IVariables getVariables() {
+		return variables;
+	}
+
+	public Selection getSelection(int variable) {
+		if ((variable <= 0) || (variable > variables.maxVariableID())) {
+			return Selection.UNDEFINED;
+		} else if (get(selected, variable)) {
+			return Selection.SELECTED;
+		} else if (get(deselected, variable)) {
+			return Selection.UNSELECTED;
+		} else {
+			return Selection.UNDEFINED;
+		}
+	}
+
+	public Selection getSelection(String featureName) {
+		return getSelection(variables.getVariable(featureName));
+	}
+
+	public boolean isSelected(String featureName) {
+		final int variable = variables.getVariable(featureName);
+		return (variable > 0) && get(selected, variable);
+	}
+
+	public boolean isDeselected(String featureName) {
+		final int variable = variables.getVariable(featureName);
+		return (variable > 0) && get(deselected, variable);
+	}
+
+	public int countSelected() {
+		return count(selected);
+	}
+
+	public int countDeselected() {
+		return count(deselected);
+	}
+
+	/**
+	 * Passes the variable id of each selected feature to the given consumer in ascending order.
+	 *
+	 * @param consumer the consumer
+	 */
+	public void forEachSelected(IntConsumer consumer) {
+		forEach(selected, consumer);
+	}
+
+	/**
+	 * Passes the variable id of each deselected feature to the given consumer in ascending order.
+	 *
+	 * @param consumer the consumer
+	 */
+	public void forEachDeselected(IntConsumer consumer) {
+		forEach(deselected, consumer);
+	}
+
+	public List<String> getSelectedFeatureNames() {
+		final List<String> names = new ArrayList<>(countSelected());
+		forEach(selected, variable -> names.add(variables.getName(variable)));
+		return names;
+	}
+
+	public List<String> getDeselectedFeatureNames() {
+		final List<String> names = new ArrayList<>(countDeselected());
+		forEach(deselected, variable -> names.add(variables.getName(variable)));
+		return names;
+	}
+
+	/**
+	 * Counts the features that are selected in exactly one of both configurations. Both configurations must use the same variables.
+	 *
+	 * @param otherConfiguration the other configuration
+	 * @return the number of features that are selected in this configuration, but not in the other configuration or vice versa.
+	 */
+	public int countSelectionDifferences(CompactConfiguration otherConfiguration) {
+		final long[] otherSelected = otherConfiguration.selected;
+		final int length = Math.min(selected.length, otherSelected.length);
+		int count = 0;
+		for (int i = 0; i < length; i++) {
+			count += Long.bitCount(selected[i] ^ otherSelected[i]);
+		}
+		for (int i = length; i < selected.length; i++) {
+			count += Long.bitCount(selected[i]);
+		}
+		for (int i = length; i < otherSelected.length; i++) {
+			count += Long.bitCount(otherSelected[i]);
+		}
+		return count;
+	}
+
+	@Override
+	public int hashCode() {
+		return (31 * Arrays.hashCode(selected)) + Arrays.hashCode(deselected);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if ((obj == null) || (getClass() != obj.getClass())) {
+			return false;
+		}
+		final CompactConfiguration other = (CompactConfiguration) obj;
+		return Arrays.equals(selected, other.selected) && Arrays.equals(deselected, other.deselected)
+			&& ((variables == other.variables) || variables.equals(other.variables));
+	}
+
+	@Override
+	public String toString() {
+		return "CompactConfiguration [selected=" + getSelectedFeatureNames() + ", deselected=" + getDeselectedFeatureNames() + "]";
+	}
+
+}
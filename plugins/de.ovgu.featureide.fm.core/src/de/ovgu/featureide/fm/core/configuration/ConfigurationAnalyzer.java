@@ -20,6 +20,7 @@
  */
 package de.ovgu.featureide.fm.core.configuration;
 
+import java.math.BigInteger;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -28,6 +29,7 @@ import org.sat4j.specs.TimeoutException;
 
 import de.ovgu.featureide.fm.core.analysis.cnf.formula.FeatureModelFormula;
 import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
+import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
 
 /**
  * Analyzes a configuration.
@@ -118,6 +120,27 @@ public class ConfigurationAnalyzer {
 		return (result != null) ? result : 0;
 	}
 
+	/**
+	 * Counts the exact number of possible solutions using a compiled representation of the feature model.
+	 *
+	 * @return The number of solutions.
+	 */
+	public BigInteger exactNumber() {
+		final BigInteger result = LongRunningWrapper.runMethod(propagator.exactNumber(0));
+		return (result != null) ? result : BigInteger.ZERO;
+	}
+
+	/**
+	 * Counts the exact number of possible solutions using a compiled representation of the feature model.
+	 *
+	 * @param timeout The maximal time for compiling the feature model in milliseconds.
+	 * @param monitor The monitor to cancel the computation.
+	 * @return The number of solutions, or {@code null} if the feature model could not be compiled within the timeout.
+	 */
+	public BigInteger exactNumber(int timeout, IMonitor<BigInteger> monitor) {
+		return LongRunningWrapper.runMethod(propagator.exactNumber(timeout), monitor);
+	}
+
 	public Collection<SelectableFeature> update(boolean redundantManual, List<SelectableFeature> featureOrder) {
 		final Collection<SelectableFeature> result = LongRunningWrapper.runMethod(propagator.update(redundantManual, featureOrder));
 		return (result != null) ? result : Collections.emptyList();
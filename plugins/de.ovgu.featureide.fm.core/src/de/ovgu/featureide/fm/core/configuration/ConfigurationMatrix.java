@@ -24,16 +24,17 @@ import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 
+import de.ovgu.featureide.fm.core.analysis.cnf.IVariables;
 import de.ovgu.featureide.fm.core.analysis.cnf.formula.FeatureModelFormula;
 import de.ovgu.featureide.fm.core.configuration.io.ConfigurationLoader;
 import de.ovgu.featureide.fm.core.configuration.io.IConfigurationLoaderCallback;
 
 /**
- * Reads all configuration file from a certain folder and saves their content in form of a selection matrix.
+ * Reads all configuration file from a certain folder and saves their content in form of a selection matrix.<br> Each configuration is stored as a
+ * {@link CompactConfiguration}.
  *
  * @author Paul Maximilan Bittner
  * @author Sebastian Krieter
@@ -41,7 +42,7 @@ import de.ovgu.featureide.fm.core.configuration.io.IConfigurationLoaderCallback;
  */
 public class ConfigurationMatrix {
 
-	private final List<Config> configurationMatrix;
+	private final List<CompactConfiguration> configurationMatrix;
 	private final ConfigurationLoader loader;
 	private final FeatureModelFormula featureModel;
 	private final Path path;
@@ -67,15 +68,12 @@ public class ConfigurationMatrix {
 			public void onLoadingError(IOException exception) {}
 
 			@Override
-			public void onConfigurationLoaded(Configuration configuration, Path path) {
-				configurationMatrix.add(createConfig(configuration));
+			public void onConfigurationLoaded(CompactConfiguration configuration, FeatureModelFormula featureModel, Path path) {
+				configurationMatrix.add(configuration);
 			}
 
 			@Override
-			public void onLoadingFinished() {
-				// TODO Auto-generated method stub
-
-			}
+			public void onLoadingFinished() {}
 		});
 	}
 
@@ -87,80 +85,49 @@ public class ConfigurationMatrix {
 		loader.loadConfigurations(featureModel, path, excludeFile);
 	}
 
-	private Config createConfig(Configuration configuration) {
-		final Collection<SelectableFeature> features = configuration.getFeatures();
-		final byte[] configArray = new byte[features.size()];
-		int i = 0;
-		for (final SelectableFeature feature : features) {
-			switch (feature.getSelection()) {
-			case SELECTED:
-				configArray[i++] = 1;
-				break;
-			case UNDEFINED:
-			case UNSELECTED:
-			default:
-				configArray[i++] = 0;
-				break;
-			}
-		}
-		return new Config(configArray);
-	}
-
+	/**
+	 * Returns the recommendation value for each feature, as computed by the last call of {@link #calcRec(Configuration)}.
+	 *
+	 * @return an array containing a value between 0 and 1 for each feature in the order of {@link Configuration#getFeatures()} or {@code null}.
+	 */
 	public double[] getRec() {
 		return rec;
 	}
 
+	/**
+	 * Computes a recommendation value for each feature of the given configuration. Each loaded configuration is weighted by the number of features that
+	 * have the same selection as in the given configuration.
+	 *
+	 * @param configuration the current configuration
+	 */
 	public void calcRec(Configuration configuration) {
 		if (configurationMatrix.isEmpty()) {
 			return;
 		}
 
-		final Config curConfig = createConfig(configuration);
-
-		rec = new double[configurationMatrix.get(0).configArray.length];
-		Arrays.fill(rec, 0);
+		final IVariables variables = featureModel.getVariables();
+		final CompactConfiguration curConfig = CompactConfiguration.of(configuration, variables);
+		final Collection<SelectableFeature> features = configuration.getFeatures();
 
-		final int[] w = new int[configurationMatrix.size()];
-		int wSum = 0;
-		{
-			int j = 0;
-			for (final Config config : configurationMatrix) {
-				final int delta = curConfig.getDelta(config);
-				w[j++] = delta;
-				wSum += delta;
-			}
+		// weighted number of selections for each variable
+		final long[] fSums = new long[variables.maxVariableID() + 1];
+		long wSum = 0;
+		for (final CompactConfiguration config : configurationMatrix) {
+			final int w = features.size() - curConfig.countSelectionDifferences(config);
+			wSum += w;
+			config.forEachSelected(variable -> fSums[variable] += w);
 		}
 
-		for (int i = 0; i < rec.length; i++) {
-			int fSum = 0;
-			for (int j = 0; j < w.length; j++) {
-				fSum += configurationMatrix.get(j).configArray[i] * w[j];
-			}
-			double recValue = ((double) fSum) / wSum;
-			if (curConfig.configArray[i] == 1) {
+		rec = new double[features.size()];
+		int i = 0;
+		for (final SelectableFeature feature : features) {
+			final int variable = variables.getVariable(feature.getName());
+			double recValue = ((double) fSums[variable]) / wSum;
+			if (curConfig.getSelection(variable) == Selection.SELECTED) {
 				recValue = 1 - recValue;
 			}
-			rec[i] = recValue;
+			rec[i++] = recValue;
 		}
 	}
 
-	private static class Config {
-
-		private final byte[] configArray;
-
-		public Config(byte[] configArray) {
-			this.configArray = configArray;
-		}
-
-		public int getDelta(Config otherConfig) {
-			int count = 0;
-			for (int i = 0; i < configArray.length; i++) {
-				if (configArray[i] == otherConfig.configArray[i]) {
-					count++;
-				}
-			}
-			return count;
-		}
-
-	}
 }
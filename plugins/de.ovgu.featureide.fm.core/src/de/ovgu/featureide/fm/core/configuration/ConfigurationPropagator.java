@@ -20,6 +20,7 @@
  */
 package de.ovgu.featureide.fm.core.configuration;
 
+import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -32,8 +33,12 @@ import org.sat4j.specs.TimeoutException;
 import de.ovgu.featureide.fm.core.Logger;
 import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
 import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet.Order;
 import de.ovgu.featureide.fm.core.analysis.cnf.analysis.CoreDeadAnalysis;
 import de.ovgu.featureide.fm.core.analysis.cnf.analysis.CountSolutionsAnalysis;
+import de.ovgu.featureide.fm.core.analysis.cnf.formula.ACreator;
+import de.ovgu.featureide.fm.core.analysis.cnf.formula.CNFCreator;
+import de.ovgu.featureide.fm.core.analysis.cnf.formula.DDNNFCreator;
 import de.ovgu.featureide.fm.core.analysis.cnf.formula.FeatureModelFormula;
 import de.ovgu.featureide.fm.core.analysis.cnf.formula.NoAbstractCNFCreator;
 import de.ovgu.featureide.fm.core.analysis.cnf.formula.NoAbstractNoHiddenCNFCreator;
@@ -45,6 +50,7 @@ import de.ovgu.featureide.fm.core.analysis.cnf.solver.AdvancedSatSolver;
 import de.ovgu.featureide.fm.core.analysis.cnf.solver.ISatSolver.SelectionStrategy;
 import de.ovgu.featureide.fm.core.analysis.cnf.solver.ISimpleSatSolver.SatResult;
 import de.ovgu.featureide.fm.core.analysis.cnf.solver.RuntimeContradictionException;
+import de.ovgu.featureide.fm.core.analysis.ddnnf.DecisionDNNF;
 import de.ovgu.featureide.fm.core.job.LongRunningMethod;
 import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
 import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
@@ -179,6 +185,33 @@ public class ConfigurationPropagator implements IConfigurationPropagator {
 
 	}
 
+	/**
+	 * Counts the exact number of solutions using a compiled {@link DecisionDNNF} of the feature model. The compiled formula is cached in the
+	 * {@link FeatureModelFormula}, such that subsequent calls only require a linear pass over the compiled formula.<br> Returns {@code null}, if the
+	 * formula cannot be compiled within the given timeout.
+	 */
+	public class ExactCountSolutionsMethod implements LongRunningMethod<BigInteger> {
+
+		private final int timeout;
+
+		public ExactCountSolutionsMethod(int timeout) {
+			this.timeout = timeout;
+		}
+
+		@Override
+		public BigInteger execute(IMonitor<BigInteger> monitor) throws Exception {
+			if (formula == null) {
+				return BigInteger.ZERO;
+			}
+			final DecisionDNNF decisionDNNF = DDNNFCreator.getDecisionDNNF(formula, getCNFCreator(false), timeout, monitor.subTask(1));
+			if (decisionDNNF == null) {
+				return null;
+			}
+			return decisionDNNF.countSolutions(getCurrentAssumptions(decisionDNNF.getSatInstance(), false));
+		}
+
+	}
+
 	public class FindOpenClauses implements LongRunningMethod<Collection<SelectableFeature>> {
 
 		@Override
@@ -388,13 +421,11 @@ public class ConfigurationPropagator implements IConfigurationPropagator {
 			workMonitor.setRemainingWork(manualLiterals.size() + 1);
 			Collections.reverse(manualLiterals);
 
-			final CoreDeadAnalysis analysis = new CoreDeadAnalysis(rootNode);
 			final int[] intLiterals = new int[manualLiterals.size()];
 			for (int i = 0; i < intLiterals.length; i++) {
 				intLiterals[i] = manualLiterals.get(i);
 			}
-			analysis.setAssumptions(new LiteralSet(intLiterals));
-			final LiteralSet impliedFeatures = LongRunningWrapper.runMethod(analysis, workMonitor.subTask(1));
+			final LiteralSet impliedFeatures = computeImpliedFeatures(rootNode, new LiteralSet(intLiterals), workMonitor.subTask(1));
 
 			// if there is a contradiction within the configuration
 			if (impliedFeatures == null) {
@@ -425,10 +456,11 @@ public class ConfigurationPropagator implements IConfigurationPropagator {
 			workMonitor.invoke(updateFeatures);
 
 			if (redundantManual) {
-				final AdvancedSatSolver solver = getSolver(true);
+				final AdvancedSatSolver solver = getRedundancySolver();
 				if (solver == null) {
 					return result;
 				}
+				solver.assignmentClear(0);
 				for (final int feature : intLiterals) {
 					solver.assignmentPush(feature);
 				}
@@ -460,10 +492,32 @@ public class ConfigurationPropagator implements IConfigurationPropagator {
 					}
 					workMonitor.worked();
 				}
+				solver.assignmentClear(0);
 			}
 			return result;
 		}
 
+		/**
+		 * Computes all features that are implied by the given assumptions.
+		 *
+		 * @param rootNode the formula of the feature model
+		 * @param assumptions the manually selected and deselected features
+		 * @param monitor the monitor
+		 * @return the implied literals (without the assumptions) or {@code null} if they cannot be computed
+		 */
+		protected LiteralSet computeImpliedFeatures(CNF rootNode, LiteralSet assumptions, IMonitor<LiteralSet> monitor) {
+			final CoreDeadAnalysis analysis = new CoreDeadAnalysis(rootNode);
+			analysis.setAssumptions(assumptions);
+			return LongRunningWrapper.runMethod(analysis, monitor);
+		}
+
+		/**
+		 * @return the solver used to detect redundant manual selections
+		 */
+		protected AdvancedSatSolver getRedundancySolver() {
+			return getSolver(true);
+		}
+
 	}
 
 	public class ResetAutomaticMethod implements LongRunningMethod<Collection<SelectableFeature>> {
@@ -535,32 +589,48 @@ public class ConfigurationPropagator implements IConfigurationPropagator {
 		if (solver == null) {
 			return null;
 		}
+		solver.assignmentPushAll(getCurrentAssumptions(solver.getSatInstance(), deselectUndefinedFeatures, includeHiddenFeatures).getLiterals());
+		return solver;
+	}
+
+	protected LiteralSet getCurrentAssumptions(CNF satInstance, boolean includeHiddenFeatures) {
+		return getCurrentAssumptions(satInstance, false, includeHiddenFeatures);
+	}
+
+	private LiteralSet getCurrentAssumptions(CNF satInstance, boolean deselectUndefinedFeatures, boolean includeHiddenFeatures) {
+		final ArrayList<Integer> literals = new ArrayList<>();
 		for (final SelectableFeature feature : configuration.getFeatures()) {
 			if ((deselectUndefinedFeatures || (feature.getSelection() != Selection.UNDEFINED))
 				&& (includeAbstractFeatures || feature.getFeature().getStructure().isConcrete())
 				&& (includeHiddenFeatures || !feature.getFeature().getStructure().hasHiddenParent())) {
-				solver.assignmentPush(
-						solver.getSatInstance().getVariables().getVariable(feature.getFeature().getName(), feature.getSelection() == Selection.SELECTED));
+				literals.add(satInstance.getVariables().getVariable(feature.getFeature().getName(), feature.getSelection() == Selection.SELECTED));
 			}
 		}
-		return solver;
+		final int[] literalArray = new int[literals.size()];
+		for (int i = 0; i < literalArray.length; i++) {
+			literalArray[i] = literals.get(i);
+		}
+		return new LiteralSet(literalArray, Order.UNORDERED, false);
 	}
 
-	protected AdvancedSatSolver getSolver(boolean includeHiddenFeatures) {
-		final CNF satInstance;
+	protected ACreator<CNF> getCNFCreator(boolean includeHiddenFeatures) {
 		if (includeAbstractFeatures) {
 			if (includeHiddenFeatures) {
-				satInstance = formula.getCNF();
+				return new CNFCreator();
 			} else {
-				satInstance = formula.getElement(new NoHiddenCNFCreator());
+				return new NoHiddenCNFCreator();
 			}
 		} else {
 			if (includeHiddenFeatures) {
-				satInstance = formula.getElement(new NoAbstractCNFCreator());
+				return new NoAbstractCNFCreator();
 			} else {
-				satInstance = formula.getElement(new NoAbstractNoHiddenCNFCreator());
+				return new NoAbstractNoHiddenCNFCreator();
 			}
 		}
+	}
+
+	protected AdvancedSatSolver getSolver(boolean includeHiddenFeatures) {
+		final CNF satInstance = formula.getElement(getCNFCreator(includeHiddenFeatures));
 		try {
 			if (satInstance != null) {
 				return new AdvancedSatSolver(satInstance);
@@ -627,6 +697,17 @@ public class ConfigurationPropagator implements IConfigurationPropagator {
 		return new CountSolutionsMethod(timeout);
 	}
 
+	/**
+	 * Counts the exact number of possible solutions using a compiled representation of the feature model.
+	 *
+	 * @param timeout The maximal time for compiling the feature model in milliseconds, or {@code 0} for no limit.
+	 * @return The number of solutions, or {@code null} if the timeout was reached.
+	 */
+	@Override
+	public ExactCountSolutionsMethod exactNumber(int timeout) {
+		return new ExactCountSolutionsMethod(timeout);
+	}
+
 	@Override
 	public UpdateMethod update(boolean redundantManual, List<SelectableFeature> featureOrder) {
 		return new UpdateMethod(redundantManual, featureOrder);
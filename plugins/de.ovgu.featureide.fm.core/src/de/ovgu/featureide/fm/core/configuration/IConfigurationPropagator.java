@@ -20,6 +20,7 @@
  */
 package de.ovgu.featureide.fm.core.configuration;
 
+import java.math.BigInteger;
 import java.util.Collection;
 import java.util.List;
 
@@ -59,6 +60,14 @@ public interface IConfigurationPropagator {
 	 */
 	LongRunningMethod<Long> number(int timeout);
 
+	/**
+	 * Counts the exact number of possible solutions using a compiled representation of the feature model.
+	 *
+	 * @param timeout the maximal time for compiling the feature model in milliseconds, or {@code 0} for no limit
+	 * @return the number of solutions, or {@code null} if the timeout was reached
+	 */
+	LongRunningMethod<BigInteger> exactNumber(int timeout);
+
 	LongRunningMethod<Collection<SelectableFeature>> update(boolean redundantManual, List<SelectableFeature> featureOrder);
 
 	LongRunningMethod<Collection<SelectableFeature>> update(boolean redundantManual);
@@ -21,6 +21,7 @@
 package de.ovgu.featureide.fm.core.configuration.io;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -29,17 +30,34 @@ import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import de.ovgu.featureide.fm.core.Logger;
+import de.ovgu.featureide.fm.core.analysis.cnf.IVariables;
 import de.ovgu.featureide.fm.core.analysis.cnf.formula.FeatureModelFormula;
+import de.ovgu.featureide.fm.core.configuration.CompactConfiguration;
 import de.ovgu.featureide.fm.core.configuration.Configuration;
 import de.ovgu.featureide.fm.core.configuration.FeatureIDEFormat;
 import de.ovgu.featureide.fm.core.io.manager.ConfigurationManager;
 import de.ovgu.featureide.fm.core.io.manager.FileHandler;
 
 /**
- * This class loads all configurations of a given IFeatureModel.
+ * This class loads all configurations of a given IFeatureModel.<br> Configurations are stored as {@link CompactConfiguration compact configurations}, such that
+ * large numbers of configurations can be kept in memory.<br> The files are parsed in parallel by a fixed number of threads, but the configurations are
+ * always passed on in the order in which the files were found. At most {@value #BUFFER_SIZE_PER_THREAD} configurations per thread are parsed ahead of the
+ * consumer.
  *
  * @author Paul Maximilian Bittner
  * @author Antje Moench
@@ -47,65 +65,234 @@ import de.ovgu.featureide.fm.core.io.manager.FileHandler;
  */
 public class ConfigurationLoader {
 
+	/**
+	 * A configuration together with the file it was loaded from.
+	 */
+	public static final class LoadedConfiguration {
+
+		private final Path path;
+		private final CompactConfiguration configuration;
+
+		private LoadedConfiguration(Path path, CompactConfiguration configuration) {
+			this.path = path;
+			this.configuration = configuration;
+		}
+
+		public Path getPath() {
+			return path;
+		}
+
+		public CompactConfiguration getConfiguration() {
+			return configuration;
+		}
+
+	}
+
+	private static final int BUFFER_SIZE_PER_THREAD = 4;
+
+	/**
+	 * Marks the end of the files in the queue of a {@link ConfigurationStream}.
+	 */
+	private static final Future<LoadedConfiguration> END = CompletableFuture.completedFuture(null);
+
+	/**
+	 * Walks a folder in a separate thread and hands over the files to a thread pool for parsing. The futures are queued in the order of the files, such
+	 * that the consumer receives the configurations in this order. As the queue is bounded, the walker waits if the consumer is too slow.
+	 */
+	private final class ConfigurationStream implements Iterator<LoadedConfiguration>, Runnable {
+
+		private final BlockingQueue<Future<LoadedConfiguration>> queue = new ArrayBlockingQueue<>(threads * BUFFER_SIZE_PER_THREAD);
+		private final ForkJoinPool pool = new ForkJoinPool(threads);
+		private final Thread walker = new Thread(this, "ConfigurationLoader");
+
+		private final IVariables variables;
+		private final Path path;
+		private final String excludeFile;
+
+		private volatile IOException walkException;
+		private volatile boolean closed;
+		private LoadedConfiguration next;
+		private boolean finished;
+
+		public ConfigurationStream(FeatureModelFormula featureModel, Path path, String excludeFile) {
+			variables = featureModel.getVariables();
+			this.path = path;
+			this.excludeFile = excludeFile;
+			walker.setDaemon(true);
+		}
+
+		public void start() {
+			walker.start();
+		}
+
+		@Override
+		public void run() {
+			final HashSet<String> configurationNames = new HashSet<>();
+			final String featureIDESuffix = "." + new FeatureIDEFormat().getSuffix();
+			try {
+				Files.walkFileTree(path, new SimpleFileVisitor<Path>() {
+
+					@Override
+					public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+						if (closed) {
+							return FileVisitResult.TERMINATE;
+						}
+						final String fileName = file.getFileName().toString();
+						if (!fileName.equals(excludeFile) && !fileName.endsWith(featureIDESuffix) && Files.isReadable(file) && Files.isRegularFile(file)) {
+							final int extensionIndex = fileName.lastIndexOf('.');
+							final String configurationName = (extensionIndex > 0) ? fileName.substring(0, extensionIndex) : fileName;
+							if (configurationNames.add(configurationName)) {
+								try {
+									queue.put(pool.submit(() -> load(file)));
+								} catch (final InterruptedException e) {
+									return FileVisitResult.TERMINATE;
+								}
+							}
+						}
+						return FileVisitResult.CONTINUE;
+					}
+				});
+			} catch (final IOException e) {
+				walkException = e;
+			} finally {
+				if (closed) {
+					queue.offer(END);
+				} else {
+					try {
+						queue.put(END);
+					} catch (final InterruptedException e) {}
+				}
+			}
+		}
+
+		private LoadedConfiguration load(Path file) {
+			final FileHandler<Configuration> fileHandler = ConfigurationManager.getFileHandler(file);
+			if (fileHandler.getLastProblems().containsError()) {
+				return null;
+			}
+			return new LoadedConfiguration(file, CompactConfiguration.of(fileHandler.getObject(), variables));
+		}
+
+		@Override
+		public boolean hasNext() {
+			while ((next == null) && !finished) {
+				final Future<LoadedConfiguration> future;
+				try {
+					future = queue.take();
+				} catch (final InterruptedException e) {
+					Thread.currentThread().interrupt();
+					close();
+					return false;
+				}
+				if (future == END) {
+					finished = true;
+					pool.shutdown();
+					if (walkException != null) {
+						throw new UncheckedIOException(walkException);
+					}
+				} else {
+					try {
+						next = future.get();
+					} catch (final InterruptedException e) {
+						Thread.currentThread().interrupt();
+						close();
+						return false;
+					} catch (final ExecutionException e) {
+						Logger.logError(e.getCause());
+					}
+				}
+			}
+			return next != null;
+		}
+
+		@Override
+		public LoadedConfiguration next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			final LoadedConfiguration result = next;
+			next = null;
+			return result;
+		}
+
+		public void close() {
+			if (!closed) {
+				closed = true;
+				finished = true;
+				walker.interrupt();
+				pool.shutdownNow();
+				queue.clear();
+			}
+		}
+
+	}
+
 	private final IConfigurationLoaderCallback callback;
+	private final int threads;
 
 	public ConfigurationLoader() {
 		this(null);
 	}
 
 	public ConfigurationLoader(IConfigurationLoaderCallback callback) {
+		this(callback, Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * @param callback is notified about the progress of loading configurations (can be {@code null})
+	 * @param threads the number of threads that are used for parsing configuration files
+	 */
+	public ConfigurationLoader(IConfigurationLoaderCallback callback, int threads) {
+		if (threads < 1) {
+			throw new IllegalArgumentException("Number of threads must be positive!");
+		}
 		this.callback = callback;
+		this.threads = threads;
+	}
+
+	public int getThreads() {
+		return threads;
 	}
 
-	public List<Configuration> loadConfigurations(FeatureModelFormula featureModel, String path) {
+	public List<CompactConfiguration> loadConfigurations(FeatureModelFormula featureModel, String path) {
 		return loadConfigurations(featureModel, Paths.get(path));
 	}
 
-	public List<Configuration> loadConfigurations(FeatureModelFormula featureModel, Path path) {
+	public List<CompactConfiguration> loadConfigurations(FeatureModelFormula featureModel, Path path) {
 		return loadConfigurations(featureModel, path, null);
 	}
 
-	public List<Configuration> loadConfigurations(FeatureModelFormula featureModel, String path, String excludeFile) {
+	public List<CompactConfiguration> loadConfigurations(FeatureModelFormula featureModel, String path, String excludeFile) {
 		return loadConfigurations(featureModel, Paths.get(path), excludeFile);
 	}
 
-	public List<Configuration> loadConfigurations(final FeatureModelFormula featureModel, Path path, final String excludeFile) {
-		final List<Configuration> configs = new ArrayList<>();
-		final HashSet<String> configurationNames = new HashSet<>();
+	/**
+	 * Loads all configurations in the given folder and its sub folders. The callback is notified in the calling thread.
+	 *
+	 * @param featureModel the formula of the feature model
+	 * @param path the folder containing the configuration files
+	 * @param excludeFile the name of a file that is skipped (can be {@code null})
+	 * @return the list of loaded configurations
+	 */
+	public List<CompactConfiguration> loadConfigurations(final FeatureModelFormula featureModel, Path path, final String excludeFile) {
+		final List<CompactConfiguration> configs = new ArrayList<>();
 
 		if (callback != null) {
 			callback.onLoadingStarted();
 		}
 
-		try {
-			Files.walkFileTree(path, new SimpleFileVisitor<Path>() {
-
-				@Override
-				public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
-					final String fileName = file.getFileName().toString();
-					if (!fileName.equals(excludeFile) && !fileName.endsWith("." + new FeatureIDEFormat().getSuffix()) && Files.isReadable(file)
-						&& Files.isRegularFile(file)) {
-						final int extensionIndex = fileName.lastIndexOf('.');
-						final String configurationName = (extensionIndex > 0) ? fileName.substring(0, extensionIndex) : fileName;
-						if (configurationNames.add(configurationName)) {
-							final FileHandler<Configuration> fileHandler = ConfigurationManager.getFileHandler(file);
-							if (!fileHandler.getLastProblems().containsError()) {
-								final Configuration currentConfiguration = fileHandler.getObject();
-								currentConfiguration.updateFeatures(featureModel);
-								configs.add(currentConfiguration);
-								if (callback != null) {
-									callback.onConfigurationLoaded(currentConfiguration, file);
-								}
-							}
-						}
-					}
-					return super.visitFile(file, attrs);
+		try (Stream<LoadedConfiguration> stream = streamConfigurations(featureModel, path, excludeFile)) {
+			for (final Iterator<LoadedConfiguration> iterator = stream.iterator(); iterator.hasNext();) {
+				final LoadedConfiguration loadedConfiguration = iterator.next();
+				configs.add(loadedConfiguration.getConfiguration());
+				if (callback != null) {
+					callback.onConfigurationLoaded(loadedConfiguration.getConfiguration(), featureModel, loadedConfiguration.getPath());
 				}
-			});
-		} catch (final IOException e) {
-			Logger.logError(e);
+			}
+		} catch (final UncheckedIOException e) {
+			Logger.logError(e.getCause());
 			if (callback != null) {
-				callback.onLoadingError(e);
+				callback.onLoadingError(e.getCause());
 			}
 		}
 
@@ -116,4 +303,22 @@ public class ConfigurationLoader {
 		return configs;
 	}
 
+	/**
+	 * Returns a stream of all configurations in the given folder and its sub folders. The files are parsed in the background while the stream is consumed.
+	 * Files that cannot be parsed are skipped. The callback of this loader is not notified.<br> The returned stream must be closed, if it is not consumed
+	 * completely.
+	 *
+	 * @param featureModel the formula of the feature model
+	 * @param path the folder containing the configuration files
+	 * @param excludeFile the name of a file that is skipped (can be {@code null})
+	 * @return a sequential stream of the loaded configurations in the order of the files
+	 * @throws UncheckedIOException while consuming the stream, if the folder cannot be read
+	 */
+	public Stream<LoadedConfiguration> streamConfigurations(FeatureModelFormula featureModel, Path path, String excludeFile) {
+		final ConfigurationStream configurationStream = new ConfigurationStream(featureModel, path, excludeFile);
+		configurationStream.start();
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(configurationStream, Spliterator.ORDERED | Spliterator.NONNULL), false)
+				.onClose(configurationStream::close);
+	}
+
 }
@@ -23,6 +23,8 @@ package de.ovgu.featureide.fm.core.configuration.io;
 import java.io.IOException;
 import java.nio.file.Path;
 
+import de.ovgu.featureide.fm.core.analysis.cnf.formula.FeatureModelFormula;
+import de.ovgu.featureide.fm.core.configuration.CompactConfiguration;
 import de.ovgu.featureide.fm.core.configuration.Configuration;
 
 /**
@@ -35,7 +37,25 @@ public interface IConfigurationLoaderCallback {
 
 	public void onLoadingStarted();
 
-	public void onConfigurationLoaded(Configuration configuration, Path path);
+	/**
+	 * Called for each loaded configuration, if {@link #onConfigurationLoaded(CompactConfiguration, FeatureModelFormula, Path)} is not overridden.
+	 *
+	 * @param configuration the loaded configuration
+	 * @param path the path of the configuration file
+	 */
+	public default void onConfigurationLoaded(Configuration configuration, Path path) {}
+
+	/**
+	 * Called for each loaded configuration in its compact representation.<br> By default, the configuration is converted and passed to
+	 * {@link #onConfigurationLoaded(Configuration, Path)}. Override this method to avoid creating a full {@link Configuration} for each file.
+	 *
+	 * @param configuration the loaded configuration
+	 * @param featureModel the formula of the feature model the configuration belongs to
+	 * @param path the path of the configuration file
+	 */
+	public default void onConfigurationLoaded(CompactConfiguration configuration, FeatureModelFormula featureModel, Path path) {
+		onConfigurationLoaded(configuration.toConfiguration(featureModel), path);
+	}
 
 	public void onLoadingFinished();
 
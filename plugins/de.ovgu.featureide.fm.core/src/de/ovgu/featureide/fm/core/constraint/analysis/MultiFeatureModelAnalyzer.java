@@ -21,7 +21,12 @@
 package de.ovgu.featureide.fm.core.constraint.analysis;
 
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
 
 import org.sat4j.specs.TimeoutException;
 
@@ -68,6 +73,32 @@ public class MultiFeatureModelAnalyzer extends FeatureModelAnalyzer {
 		return true;
 	}
 
+	/**
+	 * Computes the core and dead features of the model including its attribute constraints.
+	 *
+	 * @return the name of each core or dead feature mapped to {@code true} for core and {@code false} for dead features
+	 */
+	public Map<String, Boolean> getCoreDeadFeatures_PBSolver() {
+		if (deFm == null) {
+			setUpDeRestrictions();
+		}
+
+		final PBSolver solver = new SAT4JPBSolver();
+		solver.addRestrictions(deFm);
+
+		final Set<Integer> backbone = solver.backbone(new HashSet<>(map.values()));
+		final Map<String, Boolean> coreDeadFeatures = new LinkedHashMap<>();
+		for (final Entry<String, Integer> entry : map.entrySet()) {
+			final Integer id = entry.getValue();
+			if (backbone.contains(id)) {
+				coreDeadFeatures.put(entry.getKey(), Boolean.TRUE);
+			} else if (backbone.contains(-id)) {
+				coreDeadFeatures.put(entry.getKey(), Boolean.FALSE);
+			}
+		}
+		return coreDeadFeatures;
+	}
+
 	private void setUpDeRestrictions() {
 		deFm = Translator.translateFmTree(map, efm, deFactory);
 		deFm.addAll(Translator.translateFmConstraints(map, efm, deFactory));
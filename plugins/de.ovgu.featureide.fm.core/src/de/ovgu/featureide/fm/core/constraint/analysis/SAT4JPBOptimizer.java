@@ -0,0 +1,318 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.constraint.analysis;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.sat4j.core.Vec;
+import org.sat4j.core.VecInt;
+import org.sat4j.pb.IPBSolver;
+import org.sat4j.pb.SolverFactory;
+import org.sat4j.specs.ContradictionException;
+import org.sat4j.specs.IConstr;
+import org.sat4j.specs.TimeoutException;
+
+import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet.Order;
+
+/**
+ * Finds solutions of a {@link CNF} that minimize or maximize a linear objective function using the pseudo boolean solver of sat4j.<br> The clauses are
+ * only added once, such that the optimizer can be queried repeatedly under different assumptions (e.g., the current selection of a configuration). An
+ * optimum is found by linear search: after each solution, the objective function is bounded by the value of this solution until the solver proves that no
+ * better solution exists.<br> If the assumptions of a query extend the assumptions of the previous query in the same direction and the previous optimal
+ * solution satisfies them, this solution is still optimal and returned without calling the solver.<br> Each query stops after a timeout and returns the best
+ * solution found so far, which is then not proven to be optimal.
+ *
+ * @author agent
+ */
+public class SAT4JPBOptimizer {
+
+	/**
+	 * The best solution found by a query.
+	 */
+	public static final class Optimum {
+
+		private final long value;
+		private final LiteralSet solution;
+		private final boolean optimal;
+
+		private Optimum(long value, LiteralSet solution, boolean optimal) {
+			this.value = value;
+			this.solution = solution;
+			this.optimal = optimal;
+		}
+
+		/**
+		 * @return the value of the objective function for the solution.
+		 */
+		public long getValue() {
+			return value;
+		}
+
+		/**
+		 * @return the solution, containing one literal for each variable of the CNF.
+		 */
+		public LiteralSet getSolution() {
+			return solution;
+		}
+
+		/**
+		 * @return {@code true} if the solution was proven to be optimal, {@code false} if the solver reached its timeout before.
+		 */
+		public boolean isOptimal() {
+			return optimal;
+		}
+
+		@Override
+		public String toString() {
+			return "Optimum [value=" + value + ", optimal=" + optimal + ", solution=" + solution + "]";
+		}
+
+	}
+
+	/**
+	 * The default timeout of a query in milliseconds.
+	 */
+	public static final long DEFAULT_TIMEOUT = 1000;
+
+	private static final int MINIMUM = 0;
+	private static final int MAXIMUM = 1;
+
+	private final IPBSolver solver = SolverFactory.newDefault();
+	private final int numberOfVariables;
+
+	private boolean contradiction = false;
+	private long timeout = DEFAULT_TIMEOUT;
+
+	private long[] coefficients;
+	private VecInt objectiveVariables;
+	private long relaxation;
+
+	private final Optimum[] lastOptimum = new Optimum[2];
+	private final int[][] lastAssumptions = new int[2][];
+
+	/**
+	 * @param cnf the formula
+	 * @param coefficients the coefficient of each variable in the objective function. The coefficient of variable {@code v} is at index {@code v - 1}.
+	 * @throws ArithmeticException if the values of the objective function exceed the range of {@code long}
+	 */
+	public SAT4JPBOptimizer(CNF cnf, long[] coefficients) {
+		numberOfVariables = cnf.getVariables().size();
+		solver.newVar(numberOfVariables);
+		try {
+			for (final LiteralSet clause : cnf.getClauses()) {
+				solver.addClause(new VecInt(Arrays.copyOf(clause.getLiterals(), clause.size())));
+			}
+		} catch (final ContradictionException e) {
+			contradiction = true;
+		}
+		setCoefficients(coefficients);
+	}
+
+	public synchronized long[] getCoefficients() {
+		return Arrays.copyOf(coefficients, coefficients.length);
+	}
+
+	public synchronized long getTimeout() {
+		return timeout;
+	}
+
+	/**
+	 * @param timeout the maximal time of a query in milliseconds
+	 */
+	public synchronized void setTimeout(long timeout) {
+		this.timeout = timeout;
+	}
+
+	/**
+	 * Changes the objective function. Has no effect, if the coefficients are equal to the current ones.
+	 *
+	 * @param coefficients the coefficient of each variable in the objective function. The coefficient of variable {@code v} is at index {@code v - 1}.
+	 * @throws ArithmeticException if the values of the objective function exceed the range of {@code long}. The previous objective function is kept in this
+	 *         case.
+	 */
+	public synchronized void setCoefficients(long[] coefficients) {
+		if (coefficients.length != numberOfVariables) {
+			throw new IllegalArgumentException("Expected " + numberOfVariables + " coefficients, but got " + coefficients.length);
+		}
+		if (!Arrays.equals(this.coefficients, coefficients)) {
+			// the relaxation exceeds the absolute value of any bound, such that neither the bounds nor the values of solutions can overflow
+			long newRelaxation = 1;
+			for (final long coefficient : coefficients) {
+				if (coefficient == Long.MIN_VALUE) {
+					throw new ArithmeticException("long overflow");
+				}
+				newRelaxation = Math.addExact(newRelaxation, Math.multiplyExact(2, Math.abs(coefficient)));
+			}
+			relaxation = newRelaxation;
+			this.coefficients = Arrays.copyOf(coefficients, coefficients.length);
+			objectiveVariables = new VecInt(numberOfVariables);
+			for (int i = 0; i < numberOfVariables; i++) {
+				if (coefficients[i] != 0) {
+					objectiveVariables.push(i + 1);
+				}
+			}
+			Arrays.fill(lastOptimum, null);
+			Arrays.fill(lastAssumptions, null);
+		}
+	}
+
+	/**
+	 * @param assumptions literals that must be contained in the solution
+	 * @return a solution with the minimal value of the objective function, or {@code null} if there is no solution or none was found within the timeout
+	 */
+	public Optimum minimize(int... assumptions) {
+		return optimize(assumptions, MINIMUM);
+	}
+
+	/**
+	 * @param assumptions literals that must be contained in the solution
+	 * @return a solution with the maximal value of the objective function, or {@code null} if there is no solution or none was found within the timeout
+	 */
+	public Optimum maximize(int... assumptions) {
+		return optimize(assumptions, MAXIMUM);
+	}
+
+	private synchronized Optimum optimize(int[] assumptions, int direction) {
+		if (contradiction) {
+			return null;
+		}
+		final Optimum cachedOptimum = lastOptimum[direction];
+		if ((cachedOptimum != null) && containsAll(assumptions, lastAssumptions[direction])
+			&& cachedOptimum.getSolution().containsAll(new LiteralSet(assumptions))) {
+			lastAssumptions[direction] = Arrays.copyOf(assumptions, assumptions.length);
+			return cachedOptimum;
+		}
+		lastOptimum[direction] = null;
+		lastAssumptions[direction] = null;
+
+		// the bounds only apply if a new selector variable is assumed, such that the solver cannot derive permanent facts from them
+		final int selector = solver.nextFreeVarId(true);
+
+		// a maximum is found as the minimum of the negated objective function
+		final long sign = direction == MAXIMUM ? -1 : 1;
+		final Vec<BigInteger> boundCoefficients = new Vec<>(objectiveVariables.size() + 1);
+		for (int i = 0; i < objectiveVariables.size(); i++) {
+			boundCoefficients.push(BigInteger.valueOf(sign * coefficients[objectiveVariables.get(i) - 1]));
+		}
+		// without the selector, the left side of a bound is decreased, such that the bound is always satisfied
+		boundCoefficients.push(BigInteger.valueOf(-relaxation));
+		final VecInt boundVariables = new VecInt(objectiveVariables.size() + 1);
+		objectiveVariables.copyTo(boundVariables);
+		boundVariables.push(-selector);
+
+		final VecInt assumptionVec = new VecInt(Arrays.copyOf(assumptions, assumptions.length + 1));
+		assumptionVec.set(assumptions.length, selector);
+
+		final long deadline = System.currentTimeMillis() + timeout;
+		final List<IConstr> bounds = new ArrayList<>();
+		try {
+			if (!isSatisfiable(assumptionVec, deadline)) {
+				return null;
+			}
+			int[] solution = getSolution();
+			long value = sign * getValue(solution);
+			boolean optimal = false;
+			try {
+				while (true) {
+					// the next solution must be strictly better
+					bounds.add(solver.addPseudoBoolean(boundVariables, boundCoefficients, false, BigInteger.valueOf(value - 1)));
+					if (!isSatisfiable(assumptionVec, deadline)) {
+						optimal = true;
+						break;
+					}
+					solution = getSolution();
+					value = sign * getValue(solution);
+				}
+			} catch (final ContradictionException e) {
+				optimal = true;
+			} catch (final TimeoutException e) {}
+
+			final Optimum optimum = new Optimum(sign * value, new LiteralSet(solution, Order.INDEX, false), optimal);
+			if (optimal) {
+				lastOptimum[direction] = optimum;
+				lastAssumptions[direction] = Arrays.copyOf(assumptions, assumptions.length);
+			}
+			return optimum;
+		} catch (final TimeoutException e) {
+			return null;
+		} finally {
+			for (final IConstr bound : bounds) {
+				if (bound != null) {
+					solver.removeConstr(bound);
+				}
+			}
+			if (!bounds.isEmpty()) {
+				solver.clearLearntClauses();
+			}
+		}
+	}
+
+	private boolean isSatisfiable(VecInt assumptions, long deadline) throws TimeoutException {
+		final long remainingTime = deadline - System.currentTimeMillis();
+		if (remainingTime <= 0) {
+			throw new TimeoutException();
+		}
+		solver.setTimeoutMs(remainingTime);
+		return solver.isSatisfiable(assumptions);
+	}
+
+	private int[] getSolution() {
+		final int[] solution = new int[numberOfVariables];
+		for (final int literal : solver.model()) {
+			final int var = Math.abs(literal);
+			if (var <= numberOfVariables) {
+				solution[var - 1] = literal;
+			}
+		}
+		return solution;
+	}
+
+	private long getValue(int[] solution) {
+		long value = 0;
+		for (int i = 0; i < solution.length; i++) {
+			if (solution[i] > 0) {
+				value += coefficients[i];
+			}
+		}
+		return value;
+	}
+
+	private static boolean containsAll(int[] literals, int[] otherLiterals) {
+		if (otherLiterals == null) {
+			return false;
+		}
+		outer: for (final int otherLiteral : otherLiterals) {
+			for (final int literal : literals) {
+				if (literal == otherLiteral) {
+					continue outer;
+				}
+			}
+			return false;
+		}
+		return true;
+	}
+
+}
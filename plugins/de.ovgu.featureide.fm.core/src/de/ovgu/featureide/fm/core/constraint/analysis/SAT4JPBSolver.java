@@ -21,6 +21,7 @@
 package de.ovgu.featureide.fm.core.constraint.analysis;
 
 import java.math.BigInteger;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
@@ -30,9 +31,12 @@ import org.sat4j.core.VecInt;
 import org.sat4j.pb.IPBSolver;
 import org.sat4j.pb.SolverFactory;
 import org.sat4j.specs.ContradictionException;
+import org.sat4j.specs.IConstr;
 import org.sat4j.specs.IVecInt;
 import org.sat4j.specs.TimeoutException;
 
+import de.ovgu.featureide.fm.core.analysis.cnf.analysis.BackboneEngine;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.ISimpleSatSolver.SatResult;
 import de.ovgu.featureide.fm.core.constraint.analysis.Restriction.Op;
 
 /**
@@ -104,18 +108,113 @@ public class SAT4JPBSolver implements PBSolver {
 		}
 	}
 
+	/**
+	 * Computes the backbone with a {@link BackboneEngine}, which needs considerably fewer solver calls than testing both assignments of each variable.
+	 */
 	@Override
 	public Set<Integer> backbone(Set<Integer> varibales) {
 		final Set<Integer> backbone = new HashSet<>();
 
-		for (final Integer variable : varibales) {
-			if (!isSatisfiable(new int[] { variable })) {
+		final int[] backboneLiterals = alreadyContradiction ? null : new BackboneEngine(new PBOracle()).compute(toArray(varibales));
+		if (backboneLiterals == null) {
+			// all assignments are implied by an unsatisfiable set of restrictions
+			for (final Integer variable : varibales) {
 				backbone.add(-variable);
-			} else if (!isSatisfiable(new int[] { -variable })) {
-				backbone.add(variable);
+			}
+		} else {
+			for (final int literal : backboneLiterals) {
+				backbone.add(literal);
 			}
 		}
 
 		return backbone;
 	}
+
+	private static int[] toArray(Set<Integer> variables) {
+		final int[] array = new int[variables.size()];
+		int i = 0;
+		for (final Integer variable : variables) {
+			array[i++] = variable;
+		}
+		return array;
+	}
+
+	/**
+	 * Passes the assumptions of a {@link BackboneEngine} to the pseudo boolean solver.
+	 */
+	private final class PBOracle implements BackboneEngine.IOracle {
+
+		/**
+		 * Whether a call returned a solution, i.e., whether the restrictions are satisfiable without any assumptions.
+		 */
+		private boolean satisfiable;
+		/**
+		 * Whether the solver has an unsatisfiable core for the last call.
+		 */
+		private boolean unsatCoreAvailable;
+
+		/**
+		 * The clause is guarded by a new selector variable, such that the solver cannot simplify it into a permanent unit clause.
+		 */
+		@Override
+		public SatResult solve(int[] assumptions, int[] clause) {
+			unsatCoreAvailable = false;
+			if (clause == null) {
+				return solve(assumptions);
+			}
+			final int selector = solver.nextFreeVarId(true);
+			final int[] guardedClause = Arrays.copyOf(clause, clause.length + 1);
+			guardedClause[clause.length] = -selector;
+			final int[] guardedAssumptions = Arrays.copyOf(assumptions, assumptions.length + 1);
+			guardedAssumptions[assumptions.length] = selector;
+
+			final IConstr constr;
+			try {
+				constr = solver.addClause(new VecInt(guardedClause));
+			} catch (final ContradictionException e) {
+				return SatResult.FALSE;
+			}
+			try {
+				return solve(guardedAssumptions);
+			} finally {
+				if (constr != null) {
+					solver.removeConstr(constr);
+				}
+			}
+		}
+
+		private SatResult solve(int[] assumptions) {
+			if (isSatisfiable(assumptions)) {
+				satisfiable = true;
+				return SatResult.TRUE;
+			}
+			// sat4j explains an unsatisfiable result only in terms of the assumptions, if the restrictions are satisfiable without them
+			unsatCoreAvailable = satisfiable && (assumptions.length > 0);
+			return SatResult.FALSE;
+		}
+
+		@Override
+		public int[] getSolution() {
+			final int[] model = solver.model();
+			int maxVariable = 0;
+			for (final int literal : model) {
+				maxVariable = Math.max(maxVariable, Math.abs(literal));
+			}
+			final int[] solution = new int[maxVariable];
+			for (final int literal : model) {
+				solution[Math.abs(literal) - 1] = literal;
+			}
+			return solution;
+		}
+
+		@Override
+		public int[] getUnsatCore() {
+			if (!unsatCoreAvailable) {
+				return null;
+			}
+			final IVecInt unsatExplanation = solver.unsatExplanation();
+			return (unsatExplanation == null) ? null : Arrays.copyOf(unsatExplanation.toArray(), unsatExplanation.size());
+		}
+
+	}
 }
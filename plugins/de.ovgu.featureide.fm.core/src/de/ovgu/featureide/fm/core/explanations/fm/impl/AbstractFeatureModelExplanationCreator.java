@@ -73,6 +73,21 @@ public abstract class AbstractFeatureModelExplanationCreator<S, E extends Featur
 		setOracle(null);
 	}
 
+	/**
+	 * Sets the feature model of the given creator and reuses its CNF and trace model instead of creating them again. Both are created first if necessary.
+	 * Afterwards, they are only read, so multiple creators may share them across threads.
+	 *
+	 * @param source the creator whose encoding of the feature model is reused; not null
+	 * @throws IllegalStateException if the feature model of the source is not set
+	 */
+	public void reuseFeatureModel(AbstractFeatureModelExplanationCreator<?, ?, ?> source) throws IllegalStateException {
+		fm = source.getFeatureModel();
+		nodeCreator = source.getNodeCreator();
+		cnf = source.getCnf();
+		traceModel = source.getTraceModel();
+		setOracle(null);
+	}
+
 	/**
 	 * Returns the node creator. Creates it first if necessary.
 	 *
@@ -0,0 +1,289 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.explanations.fm.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import org.sat4j.specs.TimeoutException;
+
+import de.ovgu.featureide.fm.core.Logger;
+import de.ovgu.featureide.fm.core.base.IConstraint;
+import de.ovgu.featureide.fm.core.base.IFeature;
+import de.ovgu.featureide.fm.core.explanations.fm.DeadFeatureExplanation;
+import de.ovgu.featureide.fm.core.explanations.fm.DeadFeatureExplanationCreator;
+import de.ovgu.featureide.fm.core.explanations.fm.FalseOptionalFeatureExplanation;
+import de.ovgu.featureide.fm.core.explanations.fm.FalseOptionalFeatureExplanationCreator;
+import de.ovgu.featureide.fm.core.explanations.fm.FeatureModelExplanation;
+import de.ovgu.featureide.fm.core.explanations.fm.FeatureModelExplanationCreator;
+import de.ovgu.featureide.fm.core.explanations.fm.FeatureModelExplanationCreatorFactory;
+import de.ovgu.featureide.fm.core.explanations.fm.RedundantConstraintExplanation;
+import de.ovgu.featureide.fm.core.explanations.fm.RedundantConstraintExplanationCreator;
+import de.ovgu.featureide.fm.core.explanations.fm.impl.mus.MusFeatureModelExplanationCreator;
+import de.ovgu.featureide.fm.core.explanations.impl.composite.CompositeExplanationCreator;
+import de.ovgu.featureide.fm.core.job.LongRunningMethod;
+import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
+
+/**
+ * Creates explanations for many dead features, false-optional features, and redundant constraints at once.<br> The explanations are computed
+ * concurrently by a pool of workers. Each worker has its own explanation creators (and thus its own oracles), which reuse the encoding of the feature
+ * model of the given base creators where possible.
+ *
+ * @author agent
+ */
+public class ParallelFeatureModelExplainer implements LongRunningMethod<ParallelFeatureModelExplainer.Result> {
+
+	/**
+	 * The explanations created by a {@link ParallelFeatureModelExplainer}. Subjects that could not be explained are mapped to {@code null}.
+	 */
+	public static class Result {
+
+		private final Map<IFeature, DeadFeatureExplanation> deadFeatureExplanations = new HashMap<>();
+		private final Map<IFeature, FalseOptionalFeatureExplanation> falseOptionalFeatureExplanations = new HashMap<>();
+		private final Map<IConstraint, RedundantConstraintExplanation> redundantConstraintExplanations = new HashMap<>();
+
+		public Map<IFeature, DeadFeatureExplanation> getDeadFeatureExplanations() {
+			return deadFeatureExplanations;
+		}
+
+		public Map<IFeature, FalseOptionalFeatureExplanation> getFalseOptionalFeatureExplanations() {
+			return falseOptionalFeatureExplanations;
+		}
+
+		public Map<IConstraint, RedundantConstraintExplanation> getRedundantConstraintExplanations() {
+			return redundantConstraintExplanations;
+		}
+
+	}
+
+	private interface Task {
+
+		void explain(Worker worker);
+
+	}
+
+	private final class Worker implements Callable<Void> {
+
+		private final DeadFeatureExplanationCreator deadFeatureCreator;
+		private final FalseOptionalFeatureExplanationCreator falseOptionalFeatureCreator;
+		private final RedundantConstraintExplanationCreator redundantConstraintCreator;
+
+		private Worker() {
+			deadFeatureCreator = deadFeatures.isEmpty() ? null : createCreator(factory.getDeadFeatureExplanationCreator(), deadFeatureBase);
+			falseOptionalFeatureCreator =
+				falseOptionalFeatures.isEmpty() ? null : createCreator(factory.getFalseOptionalFeatureExplanationCreator(), falseOptionalFeatureBase);
+			redundantConstraintCreator =
+				redundantConstraints.isEmpty() ? null : createCreator(factory.getRedundantConstraintExplanationCreator(), redundantConstraintBase);
+		}
+
+		@Override
+		public Void call() {
+			for (Task task = tasks.poll(); task != null; task = tasks.poll()) {
+				try {
+					monitor.checkCancel();
+					task.explain(this);
+					synchronized (monitor) {
+						monitor.step();
+					}
+				} catch (final RuntimeException e) {
+					tasks.clear();
+					throw e;
+				}
+			}
+			return null;
+		}
+
+	}
+
+	/** The default timeout for each explanation in milliseconds. */
+	public static final int DEFAULT_TIMEOUT = 10_000;
+
+	private final FeatureModelExplanationCreatorFactory factory;
+	private final DeadFeatureExplanationCreator deadFeatureBase;
+	private final FalseOptionalFeatureExplanationCreator falseOptionalFeatureBase;
+	private final RedundantConstraintExplanationCreator redundantConstraintBase;
+
+	private final List<IFeature> deadFeatures = new ArrayList<>();
+	private final List<IFeature> falseOptionalFeatures = new ArrayList<>();
+	private final List<IConstraint> redundantConstraints = new ArrayList<>();
+
+	private final ConcurrentLinkedQueue<Task> tasks = new ConcurrentLinkedQueue<>();
+
+	private int threads = Runtime.getRuntime().availableProcessors();
+	private int timeout = DEFAULT_TIMEOUT;
+
+	private IMonitor<?> monitor;
+
+	/**
+	 * Constructs a new instance of this class.
+	 *
+	 * @param factory the factory used to create the explanation creators of the workers; not null
+	 * @param deadFeatureBase creator whose feature model (and encoding) is used for dead features; not null
+	 * @param falseOptionalFeatureBase creator whose feature model (and encoding) is used for false-optional features; not null
+	 * @param redundantConstraintBase creator whose feature model (and encoding) is used for redundant constraints; not null
+	 */
+	public ParallelFeatureModelExplainer(FeatureModelExplanationCreatorFactory factory, DeadFeatureExplanationCreator deadFeatureBase,
+			FalseOptionalFeatureExplanationCreator falseOptionalFeatureBase, RedundantConstraintExplanationCreator redundantConstraintBase) {
+		this.factory = factory;
+		this.deadFeatureBase = deadFeatureBase;
+		this.falseOptionalFeatureBase = falseOptionalFeatureBase;
+		this.redundantConstraintBase = redundantConstraintBase;
+	}
+
+	public void addDeadFeatures(Collection<IFeature> features) {
+		deadFeatures.addAll(features);
+	}
+
+	public void addFalseOptionalFeatures(Collection<IFeature> features) {
+		falseOptionalFeatures.addAll(features);
+	}
+
+	public void addRedundantConstraints(Collection<IConstraint> constraints) {
+		redundantConstraints.addAll(constraints);
+	}
+
+	public int getThreads() {
+		return threads;
+	}
+
+	public void setThreads(int threads) {
+		this.threads = Math.max(1, threads);
+	}
+
+	public int getTimeout() {
+		return timeout;
+	}
+
+	/**
+	 * Sets the timeout for each explanation. Subjects whose explanation runs into the timeout are mapped to {@code null}.
+	 *
+	 * @param timeout the timeout in milliseconds; non-positive values disable the timeout
+	 */
+	public void setTimeout(int timeout) {
+		this.timeout = timeout;
+	}
+
+	@Override
+	public Result execute(IMonitor<Result> monitor) throws Exception {
+		this.monitor = monitor;
+		final Result result = new Result();
+
+		tasks.clear();
+		for (final IFeature feature : deadFeatures) {
+			tasks.add(worker -> put(result.deadFeatureExplanations, feature, explain(worker.deadFeatureCreator, feature)));
+		}
+		for (final IFeature feature : falseOptionalFeatures) {
+			tasks.add(worker -> put(result.falseOptionalFeatureExplanations, feature, explain(worker.falseOptionalFeatureCreator, feature)));
+		}
+		for (final IConstraint constraint : redundantConstraints) {
+			tasks.add(worker -> put(result.redundantConstraintExplanations, constraint, explain(worker.redundantConstraintCreator, constraint)));
+		}
+		monitor.setRemainingWork(tasks.size());
+
+		// Workers are created in this thread, so the encoding of the base creators is created only once.
+		final int numberOfWorkers = Math.min(threads, tasks.size());
+		final List<Worker> workers = new ArrayList<>(numberOfWorkers);
+		for (int i = 0; i < numberOfWorkers; i++) {
+			workers.add(new Worker());
+		}
+
+		if (workers.size() > 1) {
+			final ForkJoinPool pool = new ForkJoinPool(workers.size());
+			try {
+				for (final Future<Void> future : pool.invokeAll(workers)) {
+					future.get();
+				}
+			} catch (final ExecutionException e) {
+				final Throwable cause = e.getCause();
+				throw (cause instanceof Exception) ? (Exception) cause : new RuntimeException(cause);
+			} finally {
+				pool.shutdown();
+			}
+		} else {
+			for (final Worker worker : workers) {
+				worker.call();
+			}
+		}
+		return result;
+	}
+
+	private static <K, V> void put(Map<K, V> map, K key, V value) {
+		synchronized (map) {
+			map.put(key, value);
+		}
+	}
+
+	private static <S, E extends FeatureModelExplanation<S>> E explain(FeatureModelExplanationCreator<S, E> creator, S subject) {
+		creator.setSubject(subject);
+		try {
+			return creator.getExplanation();
+		} catch (final IllegalStateException e) {
+			if (!(e.getCause() instanceof TimeoutException)) {
+				// only a timeout of the oracle is expected, anything else (e.g., a subject that is not defect) hints at an inconsistent analysis
+				Logger.logError("Could not explain " + subject, e);
+			}
+			return null;
+		}
+	}
+
+	private <C extends FeatureModelExplanationCreator<?, ?>> C createCreator(C creator, C base) {
+		configure(creator, base);
+		return creator;
+	}
+
+	private void configure(Object creator, Object base) {
+		if ((creator instanceof CompositeExplanationCreator) && (base instanceof CompositeExplanationCreator)) {
+			final List<?> composites = ((CompositeExplanationCreator<?, ?, ?>) creator).getComposites();
+			final List<?> baseComposites = ((CompositeExplanationCreator<?, ?, ?>) base).getComposites();
+			if (composites.size() == baseComposites.size()) {
+				for (int i = 0; i < composites.size(); i++) {
+					configure(composites.get(i), baseComposites.get(i));
+				}
+				return;
+			}
+		}
+		if ((creator instanceof AbstractFeatureModelExplanationCreator) && (base instanceof AbstractFeatureModelExplanationCreator)) {
+			((AbstractFeatureModelExplanationCreator<?, ?, ?>) creator).reuseFeatureModel((AbstractFeatureModelExplanationCreator<?, ?, ?>) base);
+		} else if ((creator instanceof FeatureModelExplanationCreator) && (base instanceof FeatureModelExplanationCreator)) {
+			((FeatureModelExplanationCreator<?, ?>) creator).setFeatureModel(((FeatureModelExplanationCreator<?, ?>) base).getFeatureModel());
+		}
+		setTimeout(creator);
+	}
+
+	private void setTimeout(Object creator) {
+		if (creator instanceof CompositeExplanationCreator) {
+			for (final Object composite : ((CompositeExplanationCreator<?, ?, ?>) creator).getComposites()) {
+				setTimeout(composite);
+			}
+		} else if (creator instanceof MusFeatureModelExplanationCreator) {
+			((MusFeatureModelExplanationCreator<?, ?>) creator).setTimeout(timeout);
+		}
+	}
+
+}
@@ -22,6 +22,7 @@ package de.ovgu.featureide.fm.core.explanations.fm.impl.mus;
 
 import org.prop4j.explain.solvers.MusExtractor;
 import org.prop4j.explain.solvers.SatSolverFactory;
+import org.sat4j.specs.ISolver;
 
 import de.ovgu.featureide.fm.core.explanations.fm.FeatureModelExplanation;
 import de.ovgu.featureide.fm.core.explanations.fm.FeatureModelExplanationCreator;
@@ -39,6 +40,8 @@ public abstract class MusFeatureModelExplanationCreator<S, E extends FeatureMode
 
 	/** The solver factory used to create the oracle. */
 	private final SatSolverFactory solverFactory;
+	/** The timeout of the oracle in milliseconds. Non-positive values disable the timeout. */
+	private int timeout = 0;
 
 	/**
 	 * Constructs a new instance of this class.
@@ -61,9 +64,31 @@ public abstract class MusFeatureModelExplanationCreator<S, E extends FeatureMode
 		return solverFactory;
 	}
 
+	/**
+	 * Returns the timeout of the oracle.
+	 *
+	 * @return the timeout in milliseconds
+	 */
+	public int getTimeout() {
+		return timeout;
+	}
+
+	/**
+	 * Sets the timeout of the oracle. Only supported by oracles based on Sat4J. An explanation that runs into the timeout cannot be created.
+	 *
+	 * @param timeout the timeout in milliseconds; non-positive values disable the timeout
+	 */
+	public void setTimeout(int timeout) {
+		this.timeout = timeout;
+		setOracle(null);
+	}
+
 	@Override
 	protected MusExtractor createOracle() {
 		final MusExtractor oracle = getSatSolverFactory().getMusExtractor();
+		if ((timeout > 0) && (oracle.getOracle() instanceof ISolver)) {
+			((ISolver) oracle.getOracle()).setTimeoutMs(timeout);
+		}
 		oracle.addFormula(getCnf());
 		return oracle;
 	}
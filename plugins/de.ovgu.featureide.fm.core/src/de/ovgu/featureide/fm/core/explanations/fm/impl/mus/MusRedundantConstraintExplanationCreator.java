@@ -30,6 +30,7 @@ import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator.ModelType;
 import de.ovgu.featureide.fm.core.explanations.Reason;
 import de.ovgu.featureide.fm.core.explanations.fm.RedundantConstraintExplanation;
 import de.ovgu.featureide.fm.core.explanations.fm.RedundantConstraintExplanationCreator;
+import de.ovgu.featureide.fm.core.explanations.fm.impl.AbstractFeatureModelExplanationCreator;
 
 /**
  * Implementation of {@link RedundantConstraintExplanationCreator} using a {@link MusExtractor MUS extractor}.
@@ -71,6 +72,14 @@ public class MusRedundantConstraintExplanationCreator extends MusFeatureModelExp
 		return nc;
 	}
 
+	/**
+	 * {@inheritDoc}<br> Only the feature model is reused, because the trace model is modified for each explanation.
+	 */
+	@Override
+	public void reuseFeatureModel(AbstractFeatureModelExplanationCreator<?, ?, ?> source) {
+		setFeatureModel(source.getFeatureModel());
+	}
+
 	/**
 	 * Adds the given constraint to the oracle.
 	 *
@@ -24,6 +24,7 @@ import de.ovgu.featureide.fm.core.EclipseExtensionLoader;
 import de.ovgu.featureide.fm.core.EclipseLogger;
 import de.ovgu.featureide.fm.core.Logger;
 import de.ovgu.featureide.fm.core.PluginID;
+import de.ovgu.featureide.fm.core.analysis.AnalysisResultCache;
 import de.ovgu.featureide.fm.core.base.IFactory;
 import de.ovgu.featureide.fm.core.base.IFeatureModel;
 import de.ovgu.featureide.fm.core.base.IFeatureModelFactory;
@@ -65,6 +66,7 @@ public class FMCoreEclipseLibrary implements ILibrary {
 		FileSystem.INSTANCE = new EclipseFileSystem();
 		LongRunningWrapper.INSTANCE = new LongRunningEclipse();
 		Logger.logger = new EclipseLogger();
+		AnalysisResultCache.setEnabled(true);
 
 		FMFactoryManager.getInstance().addExtensions(new EclipseExtensionLoader<IFactory<IFeatureModel>>(PluginID.PLUGIN_ID,
 				IFeatureModelFactory.extensionPointID, IFeatureModelFactory.extensionID, IFeatureModelFactory.class));
@@ -0,0 +1,194 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.io;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map.Entry;
+
+import de.ovgu.featureide.fm.core.PluginID;
+import de.ovgu.featureide.fm.core.analysis.AnalysisResultCache;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet.Order;
+
+/**
+ * Reads / Writes an {@link AnalysisResultCache}.<br> Each line contains one result consisting of its key, its type, and its value separated by a
+ * tab.
+ *
+ * @author agent
+ */
+public class AnalysisResultCacheFormat extends APersistentFormat<AnalysisResultCache> implements IPersistentFormat<AnalysisResultCache> {
+
+	public static final String ID = PluginID.PLUGIN_ID + ".format.analysis." + AnalysisResultCacheFormat.class.getSimpleName();
+
+	private static final String VERSION = "v1";
+
+	private static final String TYPE_BOOLEAN = "B";
+	private static final String TYPE_LITERAL_SET = "L";
+	private static final String TYPE_LITERAL_SET_LIST = "S";
+
+	private static final String NULL = "null";
+
+	@Override
+	public ProblemList read(AnalysisResultCache object, CharSequence source) {
+		final ProblemList problems = new ProblemList();
+		object.clear();
+		final String[] lines = source.toString().split("\\R");
+		if ((lines.length == 0) || !VERSION.equals(lines[0].trim())) {
+			problems.add(new Problem("Unknown version", 1));
+			return problems;
+		}
+		for (int i = 1; i < lines.length; i++) {
+			final String line = lines[i];
+			if (line.isEmpty()) {
+				continue;
+			}
+			final String[] parts = line.split("\t", -1);
+			if (parts.length != 3) {
+				problems.add(new Problem("Invalid entry", i + 1));
+				continue;
+			}
+			try {
+				final Object result;
+				switch (parts[1]) {
+				case TYPE_BOOLEAN:
+					result = Boolean.valueOf(parts[2]);
+					break;
+				case TYPE_LITERAL_SET:
+					result = readLiteralSet(parts[2]);
+					break;
+				case TYPE_LITERAL_SET_LIST:
+					final List<LiteralSet> list = new ArrayList<>();
+					if (!parts[2].isEmpty()) {
+						for (final String literalSet : parts[2].split(";", -1)) {
+							list.add(readLiteralSet(literalSet));
+						}
+					}
+					result = list;
+					break;
+				default:
+					problems.add(new Problem("Unknown type " + parts[1], i + 1));
+					continue;
+				}
+				object.add(parts[0], result);
+			} catch (final IllegalArgumentException e) {
+				problems.add(new Problem(e.getMessage(), i + 1, e));
+			}
+		}
+		return problems;
+	}
+
+	private LiteralSet readLiteralSet(String value) {
+		if (NULL.equals(value)) {
+			return null;
+		}
+		final int separator = value.indexOf(':');
+		if (separator < 0) {
+			throw new IllegalArgumentException("Invalid literal set " + value);
+		}
+		final String orderName = value.substring(0, separator);
+		final Order order = NULL.equals(orderName) ? null : Order.valueOf(orderName);
+		final String literalString = value.substring(separator + 1).trim();
+		final String[] literalNames = literalString.isEmpty() ? new String[0] : literalString.split(" ");
+		final int[] literals = new int[literalNames.length];
+		for (int i = 0; i < literals.length; i++) {
+			literals[i] = Integer.parseInt(literalNames[i]);
+		}
+		return new LiteralSet(literals, order, false);
+	}
+
+	@Override
+	public String write(AnalysisResultCache object) {
+		final StringBuilder sb = new StringBuilder();
+		sb.append(VERSION);
+		sb.append('\n');
+		for (final Entry<String, Object> entry : object.getEntries()) {
+			final Object result = entry.getValue();
+			sb.append(entry.getKey());
+			sb.append('\t');
+			if (result instanceof Boolean) {
+				sb.append(TYPE_BOOLEAN);
+				sb.append('\t');
+				sb.append(result);
+			} else if (result instanceof LiteralSet) {
+				sb.append(TYPE_LITERAL_SET);
+				sb.append('\t');
+				writeLiteralSet(sb, (LiteralSet) result);
+			} else {
+				sb.append(TYPE_LITERAL_SET_LIST);
+				sb.append('\t');
+				boolean first = true;
+				for (final Object literalSet : (List<?>) result) {
+					if (first) {
+						first = false;
+					} else {
+						sb.append(';');
+					}
+					writeLiteralSet(sb, (LiteralSet) literalSet);
+				}
+			}
+			sb.append('\n');
+		}
+		return sb.toString();
+	}
+
+	private void writeLiteralSet(StringBuilder sb, LiteralSet literalSet) {
+		if (literalSet == null) {
+			sb.append(NULL);
+		} else {
+			sb.append(literalSet.getOrder() == null ? NULL : literalSet.getOrder().name());
+			sb.append(':');
+			final int[] literals = literalSet.getLiterals();
+			for (int i = 0; i < literals.length; i++) {
+				if (i > 0) {
+					sb.append(' ');
+				}
+				sb.append(literals[i]);
+			}
+		}
+	}
+
+	@Override
+	public String getSuffix() {
+		return "analysis";
+	}
+
+	@Override
+	public boolean supportsRead() {
+		return true;
+	}
+
+	@Override
+	public boolean supportsWrite() {
+		return true;
+	}
+
+	@Override
+	public String getId() {
+		return ID;
+	}
+
+	@Override
+	public String getName() {
+		return "Analysis Results";
+	}
+
+}
@@ -21,14 +21,11 @@
 package de.ovgu.featureide.fm.core.io.dimacs;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.text.ParseException;
 
-import org.prop4j.Node;
-
 import de.ovgu.featureide.fm.core.PluginID;
 import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
-import de.ovgu.featureide.fm.core.analysis.cnf.ClauseList;
-import de.ovgu.featureide.fm.core.analysis.cnf.Nodes;
 import de.ovgu.featureide.fm.core.analysis.cnf.Variables;
 import de.ovgu.featureide.fm.core.io.APersistentFormat;
 import de.ovgu.featureide.fm.core.io.Problem;
@@ -54,22 +51,61 @@ public class DIMACSFormatCNF extends APersistentFormat<CNF> {
 	@Override
 	public ProblemList read(CNF cnf, CharSequence source) {
 		final ProblemList problemList = new ProblemList();
-		final DimacsReader r = new DimacsReader();
-		r.setReadingVariableDirectory(true);
-		r.setFlattenCNF(false);
 		try {
-			final Node node = r.read(source.toString());
-			final Variables variables = new Variables(r.getVariables());
-			final ClauseList clauseList = Nodes.convertNF(variables, node, true, true);
-			cnf.setVariables(variables);
-			cnf.getClauses().clear();
-			cnf.getClauses().addAll(clauseList);
+			setCNF(cnf, createReader().read(source));
+		} catch (final ParseException e) {
+			problemList.add(new Problem(e));
+		}
+		return problemList;
+	}
+
+	/**
+	 * Reads a DIMACS file without loading its content into a string first. The clauses are parsed by the calling thread.
+	 *
+	 * @param cnf the CNF to fill
+	 * @param path the file to read
+	 * @return a list of problems that occurred while reading
+	 *
+	 * @see #read(CNF, Path, int)
+	 */
+	public ProblemList read(CNF cnf, Path path) {
+		return read(cnf, path, 1);
+	}
+
+	/**
+	 * Reads a DIMACS file without loading its content into a string first.
+	 *
+	 * @param cnf the CNF to fill
+	 * @param path the file to read
+	 * @param threads the number of threads that parse clauses
+	 * @return a list of problems that occurred while reading
+	 *
+	 * @see DimacsCNFReader#read(Path)
+	 */
+	public ProblemList read(CNF cnf, Path path, int threads) {
+		final ProblemList problemList = new ProblemList();
+		final DimacsCNFReader r = createReader();
+		r.setThreads(threads);
+		try {
+			setCNF(cnf, r.read(path));
 		} catch (ParseException | IOException e) {
 			problemList.add(new Problem(e));
 		}
 		return problemList;
 	}
 
+	private DimacsCNFReader createReader() {
+		final DimacsCNFReader r = new DimacsCNFReader();
+		r.setReadingVariableDirectory(true);
+		return r;
+	}
+
+	private void setCNF(CNF cnf, CNF newCNF) {
+		cnf.setVariables((Variables) newCNF.getVariables());
+		cnf.getClauses().clear();
+		cnf.getClauses().addAll(newCNF.getClauses());
+	}
+
 	@Override
 	public String getSuffix() {
 		return "dimacs";
@@ -0,0 +1,526 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.io.dimacs;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.annotation.Nonnull;
+
+import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
+import de.ovgu.featureide.fm.core.analysis.cnf.ClauseList;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet.Order;
+import de.ovgu.featureide.fm.core.analysis.cnf.Variables;
+
+/**
+ * Reads DIMACS CNF files directly into a {@link CNF}.<br> In contrast to the {@link DimacsReader}, no intermediate {@link org.prop4j.Node} is
+ * created. The input is tokenized on byte level (files are memory-mapped) and each clause is stored directly as a {@link LiteralSet}. The clauses
+ * can be parsed in parallel by splitting the input into blocks of complete clauses.<br> Accepts the same inputs as the {@link DimacsReader}. The
+ * variables of the resulting CNF are ordered by their index in the DIMACS file.
+ *
+ * @author agent
+ */
+public class DimacsCNFReader {
+
+	private static final Pattern commentPattern = Pattern.compile("\\A" + DIMACSConstants.COMMENT + "\\s*(.*)\\Z");
+	private static final Pattern problemPattern = Pattern.compile("\\A\\s*" + DIMACSConstants.PROBLEM + "\\s+" + DIMACSConstants.CNF + "\\s+(\\d+)\\s+(\\d+)");
+
+	/** Minimum number of bytes per block when parsing clauses in parallel. */
+	private static final int MIN_BLOCK_SIZE = 1 << 20;
+	private static final int BLOCKS_PER_THREAD = 4;
+
+	/** True to read the variable directory for naming variables. */
+	private boolean readVariableDirectory = false;
+	private int threads = 1;
+
+	/** Maps indexes to variables. */
+	private final Map<Integer, String> indexVariables = new LinkedHashMap<>();
+	private int variableCount;
+	private int clauseCount;
+
+	private ByteBuffer buffer;
+	private int position;
+	/** End of the content of the last line read (excluding line break). */
+	private int lineEnd;
+	/** Number of the last line read or, after reading the header, number of the line in which the clauses start. */
+	private int lineCount;
+
+	/**
+	 * <p> Sets the reading variable directory flag. If true, the reader will look for a variable directory in the comments. This contains names for the
+	 * variables which would otherwise just be numbers. </p>
+	 *
+	 * <p> Defaults to false. </p>
+	 *
+	 * @param readVariableDirectory whether to read the variable directory
+	 */
+	public void setReadingVariableDirectory(boolean readVariableDirectory) {
+		this.readVariableDirectory = readVariableDirectory;
+	}
+
+	public int getThreads() {
+		return threads;
+	}
+
+	/**
+	 * Sets the number of threads that parse clauses. Inputs with less than one megabyte of clauses are always parsed by the calling thread.
+	 *
+	 * <p> Defaults to 1. </p>
+	 *
+	 * @param threads the number of threads
+	 */
+	public void setThreads(int threads) {
+		this.threads = Math.max(1, threads);
+	}
+
+	/**
+	 * Reads a file. The file is memory-mapped instead of being read into memory.
+	 *
+	 * @param path the file to read
+	 * @return a CNF; not null
+	 * @throws IOException if the file cannot be read
+	 * @throws ParseException if the input does not conform to the DIMACS CNF file format
+	 */
+	@Nonnull
+	public CNF read(Path path) throws ParseException, IOException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			final long size = channel.size();
+			if (size > Integer.MAX_VALUE) {
+				throw new IOException("File is larger than 2 GB: " + path);
+			}
+			return read(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+		}
+	}
+
+	/**
+	 * Reads the input.
+	 *
+	 * @param in The string to read from.
+	 * @return a CNF; not null
+	 * @throws ParseException if the input does not conform to the DIMACS CNF file format
+	 */
+	@Nonnull
+	public CNF read(CharSequence in) throws ParseException {
+		return read(ByteBuffer.wrap(in.toString().getBytes(StandardCharsets.UTF_8)));
+	}
+
+	/**
+	 * Reads the input from the current position to the limit of the given buffer. The buffer is not modified.
+	 *
+	 * @param in The buffer to read from (UTF-8 encoded).
+	 * @return a CNF; not null
+	 * @throws ParseException if the input does not conform to the DIMACS CNF file format
+	 */
+	@Nonnull
+	public CNF read(ByteBuffer in) throws ParseException {
+		indexVariables.clear();
+		variableCount = -1;
+		clauseCount = -1;
+		buffer = in.slice();
+		position = 0;
+		lineCount = 0;
+		try {
+			readHeader();
+			final List<Block> blocks = readClauses();
+			return createCNF(blocks);
+		} finally {
+			buffer = null;
+		}
+	}
+
+	/**
+	 * Reads the comments and the problem definition until the first clause.
+	 *
+	 * @throws ParseException if the input does not conform to the DIMACS CNF file format
+	 */
+	private void readHeader() throws ParseException {
+		String line = nextLine();
+		line = readComments(line);
+		if (line == null) {
+			throw new ParseException("Invalid problem format", lineCount);
+		}
+		final Matcher matcher = problemPattern.matcher(line);
+		if (!matcher.find()) {
+			throw new ParseException("Invalid problem format", lineCount);
+		}
+		try {
+			variableCount = Integer.parseInt(matcher.group(1));
+		} catch (final NumberFormatException e) {
+			throw new ParseException("Variable count is not an integer", lineCount);
+		}
+		try {
+			clauseCount = Integer.parseInt(matcher.group(2));
+		} catch (final NumberFormatException e) {
+			throw new ParseException("Clause count is not an integer", lineCount);
+		}
+
+		final String trail = line.substring(matcher.end());
+		if (trail.trim().isEmpty()) {
+			final int clauseStart = position;
+			final int clauseStartLine = lineCount + 1;
+			if (readComments(nextLine()) != null) {
+				// Clauses start after the comments following the problem definition, which are skipped again when parsing the clauses
+				position = clauseStart;
+				lineCount = clauseStartLine;
+			}
+		} else {
+			// Clauses start directly after the problem definition in the same line
+			position = lineEnd - trail.getBytes(StandardCharsets.UTF_8).length;
+		}
+	}
+
+	/**
+	 * Reads comments starting with the given line until a non-comment line is found.
+	 *
+	 * @param line the current line
+	 * @return the first non-comment line or {@code null} if the input ends
+	 */
+	private String readComments(String line) {
+		for (; line != null; line = nextLine()) {
+			if (line.trim().isEmpty()) {
+				continue;
+			}
+			final Matcher matcher = commentPattern.matcher(line);
+			if (matcher.matches()) {
+				if (readVariableDirectory) {
+					readVariableDirectoryEntry(matcher.group(1));
+				}
+			} else {
+				break;
+			}
+		}
+		return line;
+	}
+
+	/**
+	 * @return the next line without line break or {@code null} if the input ends
+	 */
+	private String nextLine() {
+		final int limit = buffer.limit();
+		if (position >= limit) {
+			return null;
+		}
+		int end = position;
+		while ((end < limit) && (buffer.get(end) != '\n')) {
+			end++;
+		}
+		lineEnd = end;
+		if ((lineEnd > position) && (buffer.get(lineEnd - 1) == '\r')) {
+			lineEnd--;
+		}
+		final byte[] lineBytes = new byte[lineEnd - position];
+		for (int i = 0; i < lineBytes.length; i++) {
+			lineBytes[i] = buffer.get(position + i);
+		}
+		position = Math.min(end + 1, limit);
+		lineCount++;
+		return new String(lineBytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Reads an entry of the variable directory.
+	 *
+	 * @param comment variable directory entry
+	 */
+	private void readVariableDirectoryEntry(String comment) {
+		final int firstSeparator = comment.indexOf(' ');
+		if (firstSeparator <= 0) {
+			return;
+		}
+		final int index;
+		try {
+			index = Integer.parseInt(comment.substring(0, firstSeparator));
+		} catch (final NumberFormatException e) {
+			return;
+		}
+		if (index <= 0) {
+			return;
+		}
+		if (comment.length() < (firstSeparator + 2)) {
+			return;
+		}
+		final String variable = comment.substring(firstSeparator + 1);
+		if (!indexVariables.containsKey(index)) {
+			indexVariables.put(index, variable);
+		}
+	}
+
+	/**
+	 * Splits the remaining input into blocks of complete clauses and parses them.
+	 *
+	 * @return the parsed blocks in input order
+	 * @throws ParseException if the input does not conform to the DIMACS CNF file format
+	 */
+	private List<Block> readClauses() throws ParseException {
+		final List<Block> blocks = new ArrayList<>();
+		final int limit = buffer.limit();
+		final int blockSize = Math.max(MIN_BLOCK_SIZE, (limit - position) / (threads * BLOCKS_PER_THREAD));
+		int blockStart = position;
+		while (blockStart < limit) {
+			final int blockEnd = (threads == 1) ? limit : findBlockEnd(blockStart + blockSize);
+			blocks.add(new Block(blockStart, blockEnd, blocks.isEmpty() || (buffer.get(blockStart - 1) == '\n')));
+			blockStart = blockEnd;
+		}
+
+		if (blocks.size() > 1) {
+			final ForkJoinPool pool = new ForkJoinPool(threads);
+			try {
+				for (final Future<Void> future : pool.invokeAll(blocks)) {
+					future.get();
+				}
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new RuntimeException(e);
+			} catch (final ExecutionException e) {
+				throw new RuntimeException(e.getCause());
+			} finally {
+				pool.shutdown();
+			}
+		} else {
+			for (final Block block : blocks) {
+				block.call();
+			}
+		}
+
+		int blockLineCount = lineCount;
+		for (final Block block : blocks) {
+			if (block.errorMessage != null) {
+				throw new ParseException(block.errorMessage, blockLineCount + block.lineCount);
+			}
+			blockLineCount += block.lineCount;
+		}
+		return blocks;
+	}
+
+	/**
+	 * Finds the end of the first line after the given position whose last token ends a clause.
+	 *
+	 * @param start the position to start from
+	 * @return a position directly after a line break or the limit of the buffer
+	 */
+	private int findBlockEnd(int start) {
+		final int limit = buffer.limit();
+		for (int i = start; i < limit; i++) {
+			if (buffer.get(i) == '\n') {
+				int tokenEnd = i;
+				while ((tokenEnd > 0) && isWhitespace(buffer.get(tokenEnd - 1))) {
+					tokenEnd--;
+				}
+				if ((tokenEnd > 1) && (buffer.get(tokenEnd - 1) == '0') && isWhitespace(buffer.get(tokenEnd - 2))) {
+					// Make sure the line is not a comment
+					int lineStart = tokenEnd - 2;
+					while ((lineStart > 0) && (buffer.get(lineStart - 1) != '\n')) {
+						lineStart--;
+					}
+					if (buffer.get(lineStart) != DIMACSConstants.COMMENT.charAt(0)) {
+						return i + 1;
+					}
+				}
+			}
+		}
+		return limit;
+	}
+
+	private static boolean isWhitespace(byte b) {
+		switch (b) {
+		case ' ':
+		case '\t':
+		case '\r':
+		case '\f':
+		case 0x0B:
+			return true;
+		default:
+			return false;
+		}
+	}
+
+	/**
+	 * Parses the clauses in a part of the input.
+	 */
+	private class Block implements Callable<Void> {
+
+		private final int start, end;
+		private final boolean startsAtLineStart;
+
+		private final ClauseList clauses = new ClauseList();
+		private final BitSet variables = new BitSet();
+
+		/** Whether the last clause of the block misses its end token. */
+		private boolean openClause;
+		private String errorMessage;
+		private int lineCount;
+
+		private Block(int start, int end, boolean startsAtLineStart) {
+			this.start = start;
+			this.end = end;
+			this.startsAtLineStart = startsAtLineStart;
+		}
+
+		@Override
+		public Void call() {
+			int[] literals = new int[16];
+			int clauseSize = 0;
+			boolean lineStart = startsAtLineStart;
+			int i = start;
+			while (i < end) {
+				final byte b = buffer.get(i);
+				if (b == '\n') {
+					lineCount++;
+					lineStart = true;
+					i++;
+				} else if (isWhitespace(b)) {
+					lineStart = false;
+					i++;
+				} else if (lineStart && (b == DIMACSConstants.COMMENT.charAt(0))) {
+					while ((i < end) && (buffer.get(i) != '\n')) {
+						i++;
+					}
+				} else {
+					lineStart = false;
+					final int tokenStart = i;
+					boolean negative = false;
+					if ((b == '-') || (b == '+')) {
+						negative = b == '-';
+						i++;
+					}
+					long value = 0;
+					final int digitStart = i;
+					for (; i < end; i++) {
+						final byte digit = buffer.get(i);
+						if ((digit >= '0') && (digit <= '9')) {
+							value = (value * 10) + (digit - '0');
+							if (value > Integer.MAX_VALUE) {
+								break;
+							}
+						} else {
+							break;
+						}
+					}
+					if ((i == digitStart) || (value > Integer.MAX_VALUE) || ((i < end) && !isWhitespace(buffer.get(i)) && (buffer.get(i) != '\n'))) {
+						errorMessage = "Illegal literal";
+						return null;
+					}
+					if (value == 0) {
+						if (((i - tokenStart) != 1)) {
+							errorMessage = "Illegal literal";
+							return null;
+						}
+						if (clauseSize == 0) {
+							errorMessage = "Empty clause";
+							return null;
+						}
+						clauses.add(new LiteralSet(Arrays.copyOf(literals, clauseSize), Order.UNORDERED));
+						clauseSize = 0;
+					} else {
+						variables.set((int) value);
+						if (clauseSize == literals.length) {
+							literals = Arrays.copyOf(literals, literals.length << 1);
+						}
+						literals[clauseSize++] = negative ? (int) -value : (int) value;
+					}
+				}
+			}
+			if (clauseSize > 0) {
+				clauses.add(new LiteralSet(Arrays.copyOf(literals, clauseSize), Order.UNORDERED));
+				openClause = true;
+			}
+			return null;
+		}
+
+	}
+
+	/**
+	 * Creates the CNF from the parsed blocks. Variables are compacted if the used indexes contain gaps.
+	 *
+	 * @throws ParseException if the number of variables or clauses does not match the problem definition
+	 */
+	private CNF createCNF(List<Block> blocks) throws ParseException {
+		final BitSet usedVariables = new BitSet();
+		for (final Integer index : indexVariables.keySet()) {
+			usedVariables.set(index);
+		}
+		int readClausesCount = 0;
+		for (final Block block : blocks) {
+			usedVariables.or(block.variables);
+			readClausesCount += block.clauses.size();
+			if (block.openClause && (block != blocks.get(blocks.size() - 1))) {
+				// Can only happen if the line ending a block is not the end of a clause
+				throw new IllegalStateException();
+			}
+		}
+		if (readClausesCount > clauseCount) {
+			throw new ParseException(String.format("Found more than %d clauses", clauseCount), 1);
+		}
+		if (readClausesCount < clauseCount) {
+			throw new ParseException(String.format("Found %d instead of %d clauses", readClausesCount, clauseCount), 1);
+		}
+		final int actualVariableCount = usedVariables.cardinality();
+		if (variableCount != actualVariableCount) {
+			throw new ParseException(String.format("Found %d instead of %d variables", actualVariableCount, variableCount), 1);
+		}
+
+		final List<String> names = new ArrayList<>(actualVariableCount);
+		final int[] indexMap = new int[usedVariables.length()];
+		boolean identity = true;
+		for (int index = usedVariables.nextSetBit(0); index >= 0; index = usedVariables.nextSetBit(index + 1)) {
+			final String name = indexVariables.get(index);
+			names.add(name != null ? name : String.valueOf(index));
+			indexMap[index] = names.size();
+			identity &= index == names.size();
+		}
+
+		final ClauseList clauses = new ClauseList(readClausesCount);
+		for (final Block block : blocks) {
+			if (identity) {
+				clauses.addAll(block.clauses);
+			} else {
+				for (final LiteralSet clause : block.clauses) {
+					final int[] literals = clause.getLiterals();
+					final int[] newLiterals = new int[literals.length];
+					for (int i = 0; i < literals.length; i++) {
+						final int literal = literals[i];
+						newLiterals[i] = literal > 0 ? indexMap[literal] : -indexMap[-literal];
+					}
+					clauses.add(new LiteralSet(newLiterals, Order.UNORDERED));
+				}
+			}
+		}
+		return new CNF(new Variables(names), clauses);
+	}
+
+}
@@ -24,11 +24,12 @@ import java.io.IOException;
 import java.lang.reflect.Constructor;
 import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Consumer;
@@ -172,7 +173,10 @@ public abstract class AFileManager<T> implements IFileManager<T> {
 	private final List<? extends IPersistentFormat<T>> formats;
 	private final FactoryManager<T> factoryManager;
 
-	protected String persistentObjectSource;
+	/**
+	 * SHA-256 digest of the textual representation of the persistent object. Used to detect changes without keeping the complete source in memory.
+	 */
+	private byte[] persistentObjectDigest;
 	protected T persistentObject;
 	protected T variableObject;
 	protected T snapshot;
@@ -197,13 +201,12 @@ public abstract class AFileManager<T> implements IFileManager<T> {
 					detectFormat(content);
 				}
 				final ProblemList problems = format.getInstance().read(variableObject, content, path);
-				final T newPersistentObject = createObject();
-				format.getInstance().read(newPersistentObject, content);
 				if (problems != null) {
 					lastProblems.addAll(problems);
 				}
-				persistentObjectSource = content;
-				this.persistentObject = newPersistentObject;
+				// The file is only parsed once, the persistent object is derived from the variable object.
+				persistentObject = copyObject(variableObject);
+				persistentObjectDigest = digest(content);
 				return true;
 			} catch (final Exception e) {
 				handleException(e);
@@ -356,11 +359,25 @@ public abstract class AFileManager<T> implements IFileManager<T> {
 	}
 
 	protected void setPersistentObject(T persistentObject) {
+		setPersistentObject(persistentObject, (persistentObject == null) ? null : format.getInstance().write(persistentObject));
+	}
+
+	/**
+	 * Sets the persistent object together with its already known textual representation.
+	 *
+	 * @param persistentObject the new persistent object
+	 * @param source the textual representation of the persistent object in the current format
+	 */
+	protected void setPersistentObject(T persistentObject, CharSequence source) {
 		this.persistentObject = persistentObject;
-		if (persistentObject == null) {
-			persistentObjectSource = null;
-		} else {
-			persistentObjectSource = format.getInstance().write(persistentObject);
+		persistentObjectDigest = (source == null) ? null : digest(source);
+	}
+
+	private static byte[] digest(CharSequence source) {
+		try {
+			return MessageDigest.getInstance("SHA-256").digest(source.toString().getBytes(SimpleFileHandler.DEFAULT_CHARSET));
+		} catch (final NoSuchAlgorithmException e) {
+			throw new RuntimeException(e);
 		}
 	}
 
@@ -406,7 +423,7 @@ public abstract class AFileManager<T> implements IFileManager<T> {
 		}
 		changed = hasChanged(tempObject);
 		if (changed) {
-			setPersistentObject(tempObject);
+			setPersistentObject(tempObject, content);
 		}
 		return changed;
 	}
@@ -439,8 +456,8 @@ public abstract class AFileManager<T> implements IFileManager<T> {
 			if (modifying) {
 				return;
 			}
-			if (persistentObjectSource != null) {
-				format.getInstance().read(variableObject, persistentObjectSource);
+			if (persistentObject != null) {
+				format.getInstance().read(variableObject, format.getInstance().write(persistentObject));
 			}
 		} finally {
 			fileOperationLock.unlock();
@@ -455,8 +472,7 @@ public abstract class AFileManager<T> implements IFileManager<T> {
 	 * @return {@code true} if objects differ, {@code false} otherwise.
 	 */
 	protected boolean hasChanged(T newObject) {
-		final String write = format.getInstance().write(newObject);
-		return !Objects.equals(write, persistentObjectSource);
+		return !Arrays.equals(digest(format.getInstance().write(newObject)), persistentObjectDigest);
 	}
 
 	/**
@@ -482,9 +498,7 @@ public abstract class AFileManager<T> implements IFileManager<T> {
 				modifying = true;
 				final String source = format.getInstance().write(variableObject);
 				FileSystem.write(path, source.getBytes(SimpleFileHandler.DEFAULT_CHARSET));
-				final T tempObject = createObject();
-				format.getInstance().read(tempObject, source);
-				setPersistentObject(tempObject);
+				setPersistentObject(copyObject(variableObject), source);
 			} catch (final Exception e) {
 				handleException(e);
 				return new ProblemList(lastProblems);
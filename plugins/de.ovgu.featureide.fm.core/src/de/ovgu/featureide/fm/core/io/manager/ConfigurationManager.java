@@ -80,6 +80,13 @@ public class ConfigurationManager extends AFileManager<Configuration> {
 		return oldObject.clone();
 	}
 
+	@Override
+	protected void resetSnapshot(int changeIndicator) {
+		if (changeIndicator != CHANGE_NOTHING) {
+			super.resetSnapshot(changeIndicator);
+		}
+	}
+
 	private IFeatureModelManager featureModelManager;
 
 	public void linkFeatureModel(IFeatureModelManager featureModelManager) {
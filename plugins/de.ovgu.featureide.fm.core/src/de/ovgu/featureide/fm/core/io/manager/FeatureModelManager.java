@@ -50,6 +50,10 @@ public class FeatureModelManager extends AFileManager<IFeatureModel> implements
 
 	private FeatureModelFormula persistentFormula = null;
 	private FeatureModelFormula variableFormula = null;
+	/**
+	 * The last variable formula that was discarded due to a change of the feature model. Its elements may be reused by the next variable formula.
+	 */
+	private FeatureModelFormula previousVariableFormula = null;
 
 	@CheckForNull
 	public static FeatureModelManager getInstance(Path path) {
@@ -117,7 +121,8 @@ public class FeatureModelManager extends AFileManager<IFeatureModel> implements
 		fileOperationLock.lock();
 		try {
 			if (variableFormula == null) {
-				variableFormula = new FeatureModelFormula(getSnapshot());
+				variableFormula = new FeatureModelFormula(getSnapshot(), previousVariableFormula);
+				previousVariableFormula = null;
 			}
 			return variableFormula;
 		} finally {
@@ -127,9 +132,18 @@ public class FeatureModelManager extends AFileManager<IFeatureModel> implements
 
 	@Override
 	protected void resetSnapshot(int changeIndicator) {
-		super.resetSnapshot(changeIndicator);
+		if (changeIndicator == CHANGE_NOTHING) {
+			return;
+		}
+		if ((changeIndicator == CHANGE_MODEL_PROPERTY) && (snapshot != null)) {
+			// Only the properties of the model itself changed, so the snapshot can be kept
+			snapshot.getProperty().setProperties(variableObject.getProperty().getProperties());
+		} else {
+			super.resetSnapshot(changeIndicator);
+		}
 		if (variableFormula != null) {
 			if (changeIndicator <= CHANGE_DEPENDENCIES) {
+				previousVariableFormula = variableFormula;
 				variableFormula = null;
 			} else if (changeIndicator == CHANGE_MODEL_PROPERTY) {
 				// Not nessessary to rebuild the variable formula, just copy the properties to the variable formula's model
@@ -139,8 +153,8 @@ public class FeatureModelManager extends AFileManager<IFeatureModel> implements
 	}
 
 	@Override
-	protected void setPersistentObject(IFeatureModel persistentObject) {
-		super.setPersistentObject(persistentObject);
+	protected void setPersistentObject(IFeatureModel persistentObject, CharSequence source) {
+		super.setPersistentObject(persistentObject, source);
 		persistentFormula = null;
 	}
 
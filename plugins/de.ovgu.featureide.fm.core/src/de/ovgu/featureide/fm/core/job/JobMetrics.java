@@ -0,0 +1,88 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.job;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Statistics about the jobs that were started with a {@link JobToken}.
+ *
+ * @see JobToken#getMetrics()
+ *
+ * @author agent
+ */
+public final class JobMetrics {
+
+	private final AtomicLong queued = new AtomicLong();
+	private final AtomicLong cancelled = new AtomicLong();
+	private final AtomicLong completed = new AtomicLong();
+	private final AtomicLong wallTime = new AtomicLong();
+
+	JobMetrics() {}
+
+	void jobQueued() {
+		queued.incrementAndGet();
+	}
+
+	void jobCancelled() {
+		cancelled.incrementAndGet();
+	}
+
+	void jobCompleted(long time) {
+		completed.incrementAndGet();
+		wallTime.addAndGet(time);
+	}
+
+	/**
+	 * @return the number of jobs that were accepted for execution.
+	 */
+	public long getQueued() {
+		return queued.get();
+	}
+
+	/**
+	 * @return the number of jobs that were rejected, superseded before they were started, or cancelled while running.
+	 */
+	public long getCancelled() {
+		return cancelled.get();
+	}
+
+	/**
+	 * @return the number of jobs that finished without being cancelled.
+	 */
+	public long getCompleted() {
+		return completed.get();
+	}
+
+	/**
+	 * @return the accumulated wall time of all completed jobs in nanoseconds.
+	 */
+	public long getWallTime() {
+		return wallTime.get();
+	}
+
+	@Override
+	public String toString() {
+		return "JobMetrics [queued=" + getQueued() + ", cancelled=" + getCancelled() + ", completed=" + getCompleted() + ", wallTime="
+			+ (getWallTime() / 1_000_000) + "ms]";
+	}
+
+}
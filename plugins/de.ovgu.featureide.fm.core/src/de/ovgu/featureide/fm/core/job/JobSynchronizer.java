@@ -20,125 +20,203 @@
  */
 package de.ovgu.featureide.fm.core.job;
 
-import java.util.Iterator;
+import java.util.ArrayDeque;
 import java.util.WeakHashMap;
-import java.util.concurrent.ConcurrentLinkedDeque;
-import java.util.concurrent.Semaphore;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import de.ovgu.featureide.fm.core.Logger;
+import de.ovgu.featureide.fm.core.job.util.JobFinishListener;
 
 /**
- * Maps related jobs.
+ * Maps related jobs.<br> Jobs of the same {@link JobToken} are started one after another. Instead of waiting in a separate thread, the next job
+ * is started as soon as the previous one has finished. All start requests are handled by a single shared thread.<br> Optionally, the start of a
+ * job can be delayed by a debounce delay. Every new job of the same token restarts the delay, such that a burst of requests (e.g., multiple edits
+ * of a feature model) only starts the most recent job if the strategy cancels previous jobs.
  *
  * @author Sebastian Krieter
  */
 public final class JobSynchronizer {
 
-	private static class JobEntry {
+	private static class JobEntry implements JobFinishListener<Object> {
 
-		private final ConcurrentLinkedDeque<IRunner<?>> jobs = new ConcurrentLinkedDeque<>();
-		private final Semaphore semaphore = new Semaphore(1);
+		private final ArrayDeque<IRunner<?>> waitingJobs = new ArrayDeque<>();
 
 		private final JobStartingStrategy strategy;
+		private final long debounceDelay;
+		private final JobMetrics metrics;
+
+		private IRunner<?> runningJob;
+		private boolean runningJobCancelled;
+		private long runningJobStartTime;
+		private long lastRequestTime;
+		private ScheduledFuture<?> startTask;
 
-		public JobEntry(JobStartingStrategy strategy) {
+		public JobEntry(JobStartingStrategy strategy, long debounceDelay, JobMetrics metrics) {
 			this.strategy = strategy;
+			this.debounceDelay = TimeUnit.MILLISECONDS.toNanos(debounceDelay);
+			this.metrics = metrics;
 		}
 
 		private synchronized void run(IRunner<?> job) {
+			final int numberOfJobs = waitingJobs.size() + (runningJob != null ? 1 : 0);
 			switch (strategy) {
 			case RETURN:
-				if (jobs.isEmpty()) {
-					start(job);
+				if (numberOfJobs > 0) {
+					metrics.jobCancelled();
+					return;
 				}
 				break;
 			case WAIT_ONE:
-				if (jobs.size() > 1) {
+				if (numberOfJobs > 1) {
+					metrics.jobCancelled();
 					return;
 				}
-			case WAIT: {
-				start(job);
+			case WAIT:
 				break;
-			}
 			case CANCEL_WAIT_ONE:
-				if (jobs.size() > 1) {
+				if (numberOfJobs > 1) {
+					metrics.jobCancelled();
 					return;
 				}
 			case CANCEL_WAIT:
-				for (final Iterator<IRunner<?>> iterator = jobs.descendingIterator(); iterator.hasNext();) {
-					iterator.next().cancel();
-				}
-				start(job);
+				cancelAll();
 				break;
 			default:
 				throw new RuntimeException();
 			}
+			metrics.jobQueued();
+			waitingJobs.offer(job);
+			lastRequestTime = System.nanoTime();
+			scheduleNext();
 		}
 
-		private void start(IRunner<?> job) {
-			jobs.offer(job);
-			new Starter(this).start();
-		}
-
-		public synchronized void cancelAll() {
-			for (final Iterator<IRunner<?>> iterator = jobs.descendingIterator(); iterator.hasNext();) {
-				iterator.next().cancel();
-				iterator.remove();
+		private void scheduleNext() {
+			if (runningJob == null) {
+				if (startTask != null) {
+					startTask.cancel(false);
+				}
+				startTask = executor.schedule(this::startNext, getRemainingDelay(), TimeUnit.NANOSECONDS);
 			}
 		}
 
-	}
-
-	private static class Starter extends Thread {
-
-		private final JobEntry jobEntry;
+		private long getRemainingDelay() {
+			return Math.max(0, (lastRequestTime + debounceDelay) - System.nanoTime());
+		}
 
-		public Starter(JobEntry jobEntry) {
-			this.jobEntry = jobEntry;
+		@SuppressWarnings("unchecked")
+		private void startNext() {
+			final IRunner<Object> job;
+			synchronized (this) {
+				if (runningJob != null) {
+					return;
+				}
+				final long remainingDelay = getRemainingDelay();
+				if (remainingDelay > 0) {
+					startTask = executor.schedule(this::startNext, remainingDelay, TimeUnit.NANOSECONDS);
+					return;
+				}
+				startTask = null;
+				job = (IRunner<Object>) waitingJobs.poll();
+				if (job == null) {
+					return;
+				}
+				runningJob = job;
+				runningJobCancelled = false;
+				runningJobStartTime = System.nanoTime();
+			}
+			try {
+				job.addJobFinishedListener(this);
+				job.schedule();
+			} catch (final Exception e) {
+				Logger.logError(e);
+				jobFinished(job);
+			}
 		}
 
 		@Override
-		public void run() {
-			try {
-				jobEntry.semaphore.acquire();
-				try {
-					final IRunner<?> job = jobEntry.jobs.peek();
-					if (job != null) {
-						job.schedule();
-						job.join();
-					}
-				} finally {
-					jobEntry.jobs.poll();
-					jobEntry.semaphore.release();
+		public void jobFinished(IJob<Object> finishedJob) {
+			synchronized (this) {
+				if (finishedJob != runningJob) {
+					return;
+				}
+				if (runningJobCancelled) {
+					metrics.jobCancelled();
+				} else {
+					metrics.jobCompleted(System.nanoTime() - runningJobStartTime);
 				}
-			} catch (final InterruptedException e) {
-				return;
+				runningJob = null;
+				if (!waitingJobs.isEmpty()) {
+					scheduleNext();
+				}
+			}
+		}
+
+		public synchronized void cancelAll() {
+			for (final IRunner<?> job : waitingJobs) {
+				job.cancel();
+				metrics.jobCancelled();
+			}
+			waitingJobs.clear();
+			if ((runningJob != null) && !runningJobCancelled) {
+				runningJobCancelled = true;
+				runningJob.cancel();
 			}
 		}
 
 	}
 
+	private static final ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+		final Thread thread = new Thread(runnable, JobSynchronizer.class.getSimpleName());
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	static {
+		executor.setKeepAliveTime(10, TimeUnit.SECONDS);
+		executor.allowCoreThreadTimeOut(true);
+		executor.setRemoveOnCancelPolicy(true);
+	}
+
 	private JobSynchronizer() {}
 
 	private static final WeakHashMap<JobToken, JobEntry> jobMap = new WeakHashMap<>();
 
 	static JobToken createToken(JobStartingStrategy strategy) {
+		return createToken(strategy, 0);
+	}
+
+	static JobToken createToken(JobStartingStrategy strategy, long debounceDelay) {
 		final JobToken token = new JobToken();
-		jobMap.put(token, new JobEntry(strategy));
+		synchronized (jobMap) {
+			jobMap.put(token, new JobEntry(strategy, debounceDelay, token.getMetrics()));
+		}
 		return token;
 	}
 
 	static void removeToken(JobToken token) {
-		jobMap.remove(token);
+		synchronized (jobMap) {
+			jobMap.remove(token);
+		}
 	}
 
 	static void startJob(JobToken token, final IRunner<?> job) {
 		if (job == null) {
 			return;
 		}
-		jobMap.get(token).run(job);
+		final JobEntry jobEntry;
+		synchronized (jobMap) {
+			jobEntry = jobMap.get(token);
+		}
+		jobEntry.run(job);
 	}
 
 	static void cancelAllJobs(JobToken token) {
-		final JobEntry jobEntry = jobMap.get(token);
+		final JobEntry jobEntry;
+		synchronized (jobMap) {
+			jobEntry = jobMap.get(token);
+		}
 		if (jobEntry != null) {
 			jobEntry.cancelAll();
 		}
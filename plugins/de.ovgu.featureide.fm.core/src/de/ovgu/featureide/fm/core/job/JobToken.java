@@ -31,6 +31,15 @@ package de.ovgu.featureide.fm.core.job;
  */
 public class JobToken {
 
+	private final JobMetrics metrics = new JobMetrics();
+
 	JobToken() {}
 
+	/**
+	 * @return statistics about all jobs that were started with this token.
+	 */
+	public JobMetrics getMetrics() {
+		return metrics;
+	}
+
 }
@@ -87,6 +87,17 @@ public final class LongRunningWrapper {
 		return JobSynchronizer.createToken(strategy);
 	}
 
+	/**
+	 * Creates a token whose jobs are started with a delay. Every new job restarts the delay.
+	 *
+	 * @param strategy the strategy for jobs that are started while other jobs of the token are waiting or running
+	 * @param debounceDelay the delay in milliseconds
+	 * @return a new token
+	 */
+	public static JobToken createToken(JobStartingStrategy strategy, long debounceDelay) {
+		return JobSynchronizer.createToken(strategy, debounceDelay);
+	}
+
 	public static void removeToken(JobToken token) {
 		JobSynchronizer.removeToken(token);
 	}
@@ -29,7 +29,7 @@ import de.ovgu.featureide.fm.core.job.IJob;
  */
 public final class NullMonitor<T> extends AMonitor<T> {
 
-	private boolean cancel = false;
+	private volatile boolean cancel = false;
 
 	@Override
 	public void cancel() {
@@ -0,0 +1,543 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.job.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+import de.ovgu.featureide.fm.core.Logger;
+
+/**
+ * Passes elements through a sequence of stages. Each stage is processed by its own worker threads and reads its input from a bounded queue. If a stage is
+ * slower than its predecessor, the queue in between fills up and the predecessor blocks until there is space again (back-pressure). Thus, the number of
+ * elements that are held in the pipeline is limited by the queue capacities.<br> <br> Elements are handed over by {@link #put(Object)} or
+ * {@link #offer(Object, long, TimeUnit)}. After the last element was handed over, {@link #finish()} must be called. The pipeline then terminates as soon as
+ * all elements passed the last stage. Alternatively, {@link #finishAsync(Runnable)} hands over the last elements and finishes the pipeline in a thread
+ * of the pipeline, such that the caller is never blocked. Elements that passed all stages are reported to the element listener, failures to the error handler.
+ *
+ * @param <T> the type of the elements
+ *
+ * @author agent
+ */
+public final class Pipeline<T> {
+
+	/**
+	 * A single processing step of a {@link Pipeline}.
+	 */
+	@FunctionalInterface
+	public interface Stage<T> {
+
+		void process(T element) throws Exception;
+	}
+
+	/**
+	 * Is notified if a stage fails to process an element. The element is not passed to the subsequent stages.
+	 */
+	@FunctionalInterface
+	public interface ErrorHandler<T> {
+
+		void handleError(String stageName, T element, Exception exception);
+	}
+
+	/**
+	 * Statistics about the elements that were processed by a single stage.
+	 */
+	public static final class StageMetrics {
+
+		private final String name;
+		private final int threads;
+		private final BlockingQueue<?> queue;
+
+		private final AtomicLong processed = new AtomicLong();
+		private final AtomicLong failed = new AtomicLong();
+		private final AtomicLong processingTime = new AtomicLong();
+		private final AtomicLong idleTime = new AtomicLong();
+		private final AtomicLong blockedTime = new AtomicLong();
+
+		private volatile long startTime = 0;
+		private volatile long endTime = 0;
+
+		private StageMetrics(String name, int threads, BlockingQueue<?> queue) {
+			this.name = name;
+			this.threads = threads;
+			this.queue = queue;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public int getThreads() {
+			return threads;
+		}
+
+		/**
+		 * @return the number of elements that are currently waiting for this stage.
+		 */
+		public int getQueueSize() {
+			return queue.size();
+		}
+
+		/**
+		 * @return the number of elements that were processed successfully.
+		 */
+		public long getProcessed() {
+			return processed.get();
+		}
+
+		/**
+		 * @return the number of elements for which the stage threw an exception.
+		 */
+		public long getFailed() {
+			return failed.get();
+		}
+
+		/**
+		 * @return the accumulated time all workers spent processing elements in nanoseconds.
+		 */
+		public long getProcessingTime() {
+			return processingTime.get();
+		}
+
+		/**
+		 * @return the accumulated time all workers waited for input in nanoseconds.
+		 */
+		public long getIdleTime() {
+			return idleTime.get();
+		}
+
+		/**
+		 * @return the accumulated time all workers waited for space in the queue of the next stage in nanoseconds.
+		 */
+		public long getBlockedTime() {
+			return blockedTime.get();
+		}
+
+		/**
+		 * @return the number of successfully processed elements per second since the stage was started.
+		 */
+		public double getThroughput() {
+			if (startTime == 0) {
+				return 0;
+			}
+			final long end = endTime == 0 ? System.nanoTime() : endTime;
+			final long time = Math.max(1, end - startTime);
+			return (getProcessed() * 1_000_000_000.0) / time;
+		}
+
+		@Override
+		public String toString() {
+			return name + " [threads=" + threads + ", processed=" + getProcessed() + ", failed=" + getFailed() + ", throughput="
+				+ (Math.round(getThroughput() * 100) / 100.0) + "/s, processing=" + (getProcessingTime() / 1_000_000) + "ms, idle="
+				+ (getIdleTime() / 1_000_000) + "ms, blocked=" + (getBlockedTime() / 1_000_000) + "ms]";
+		}
+
+	}
+
+	private static final Object END = new Object();
+
+	private final class StageWorkers {
+
+		private final IntFunction<Stage<T>> stageFactory;
+		private final BlockingQueue<Object> queue;
+		private final StageMetrics metrics;
+
+		private final AtomicInteger openWorkers;
+		private final AtomicInteger runningWorkers;
+
+		private StageWorkers next = null;
+
+		private StageWorkers(String name, int threads, int capacity, IntFunction<Stage<T>> stageFactory) {
+			this.stageFactory = stageFactory;
+			queue = new ArrayBlockingQueue<>(capacity);
+			metrics = new StageMetrics(name, threads, queue);
+			openWorkers = new AtomicInteger(threads);
+			runningWorkers = new AtomicInteger(threads);
+		}
+
+		private void close() throws InterruptedException {
+			for (int i = 0; i < metrics.threads; i++) {
+				queue.put(END);
+			}
+		}
+
+	}
+
+	private final class Worker extends Thread {
+
+		private final StageWorkers stageWorkers;
+		private final Stage<T> stage;
+
+		private Worker(StageWorkers stageWorkers, int nr) {
+			super(stageWorkers.metrics.name + " #" + nr);
+			this.stageWorkers = stageWorkers;
+			stage = stageWorkers.stageFactory.apply(nr);
+			setDaemon(true);
+		}
+
+		@Override
+		public void run() {
+			final StageMetrics metrics = stageWorkers.metrics;
+			try {
+				while (!cancelled) {
+					long time = System.nanoTime();
+					final Object next = stageWorkers.queue.take();
+					metrics.idleTime.addAndGet(System.nanoTime() - time);
+					if (next == END) {
+						if ((stageWorkers.openWorkers.decrementAndGet() == 0) && (stageWorkers.next != null)) {
+							stageWorkers.next.close();
+						}
+						return;
+					}
+					@SuppressWarnings("unchecked")
+					final T element = (T) next;
+
+					time = System.nanoTime();
+					boolean success;
+					try {
+						stage.process(element);
+						success = true;
+					} catch (final Exception e) {
+						success = false;
+						if (!cancelled) {
+							metrics.failed.incrementAndGet();
+							handleError(metrics.name, element, e);
+						}
+					}
+					metrics.processingTime.addAndGet(System.nanoTime() - time);
+
+					if (success) {
+						metrics.processed.incrementAndGet();
+						if (stageWorkers.next != null) {
+							time = System.nanoTime();
+							stageWorkers.next.queue.put(element);
+							metrics.blockedTime.addAndGet(System.nanoTime() - time);
+						} else {
+							elementFinished(element);
+						}
+					}
+				}
+			} catch (final InterruptedException e) {
+				// pipeline was canceled
+			} catch (final Error e) {
+				cancel();
+				throw e;
+			} finally {
+				if (stageWorkers.runningWorkers.decrementAndGet() == 0) {
+					metrics.endTime = System.nanoTime();
+				}
+				if (runningWorkers.decrementAndGet() == 0) {
+					terminated.countDown();
+				}
+			}
+		}
+
+	}
+
+	private final List<StageWorkers> stages = new ArrayList<>();
+	private final List<Worker> workers = new ArrayList<>();
+
+	private final AtomicInteger runningWorkers = new AtomicInteger();
+	private final CountDownLatch terminated = new CountDownLatch(1);
+
+	private final int defaultCapacity;
+
+	private ErrorHandler<T> errorHandler = (stageName, element, exception) -> Logger.logError(exception);
+	private Consumer<T> elementListener = null;
+
+	private Thread finisher = null;
+
+	private boolean started = false;
+	private volatile boolean finished = false;
+	private volatile boolean cancelled = false;
+
+	/**
+	 * @param defaultCapacity the capacity of the queue in front of each stage, if not specified otherwise
+	 */
+	public Pipeline(int defaultCapacity) {
+		if (defaultCapacity < 1) {
+			throw new IllegalArgumentException("Capacity must be positive: " + defaultCapacity);
+		}
+		this.defaultCapacity = defaultCapacity;
+	}
+
+	/**
+	 * Appends a new stage using the default queue capacity.
+	 *
+	 * @see #addStage(String, int, int, IntFunction)
+	 */
+	public Pipeline<T> addStage(String name, int threads, IntFunction<Stage<T>> stageFactory) {
+		return addStage(name, threads, defaultCapacity, stageFactory);
+	}
+
+	/**
+	 * Appends a new stage. The stage factory is called once for each worker thread with the number of the worker and is called in the thread that calls
+	 * {@link #start()}. Thus, workers may use their own stage instances if these are not thread-safe.
+	 *
+	 * @param name the name of the stage
+	 * @param threads the number of worker threads for this stage
+	 * @param capacity the capacity of the queue in front of this stage
+	 * @param stageFactory creates the stage for a worker
+	 * @return this pipeline
+	 */
+	public synchronized Pipeline<T> addStage(String name, int threads, int capacity, IntFunction<Stage<T>> stageFactory) {
+		if (started) {
+			throw new IllegalStateException("Pipeline was already started");
+		}
+		if ((threads < 1) || (capacity < 1)) {
+			throw new IllegalArgumentException("Number of threads and capacity must be positive");
+		}
+		final StageWorkers stage = new StageWorkers(name, threads, capacity, stageFactory);
+		if (!stages.isEmpty()) {
+			stages.get(stages.size() - 1).next = stage;
+		}
+		stages.add(stage);
+		return this;
+	}
+
+	public void setErrorHandler(ErrorHandler<T> errorHandler) {
+		this.errorHandler = errorHandler;
+	}
+
+	/**
+	 * @param elementListener is called for each element that successfully passed the last stage
+	 */
+	public void setElementListener(Consumer<T> elementListener) {
+		this.elementListener = elementListener;
+	}
+
+	/**
+	 * Creates and starts the worker threads of all stages.
+	 */
+	public synchronized void start() {
+		if (started) {
+			throw new IllegalStateException("Pipeline was already started");
+		}
+		if (stages.isEmpty()) {
+			throw new IllegalStateException("Pipeline has no stages");
+		}
+		started = true;
+		if (cancelled) {
+			return;
+		}
+		for (final StageWorkers stage : stages) {
+			for (int i = 0; i < stage.metrics.threads; i++) {
+				workers.add(new Worker(stage, i));
+			}
+		}
+		runningWorkers.set(workers.size());
+		for (final StageWorkers stage : stages) {
+			stage.metrics.startTime = System.nanoTime();
+		}
+		for (final Worker worker : workers) {
+			worker.start();
+		}
+	}
+
+	/**
+	 * Hands over a new element to the first stage. Blocks while the queue of the first stage is full.
+	 *
+	 * @param element the element
+	 * @return {@code true} if the element was accepted, {@code false} if the pipeline was already finished or canceled
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	public boolean put(T element) throws InterruptedException {
+		if (finished || cancelled) {
+			return false;
+		}
+		getFirstStage().queue.put(element);
+		return !cancelled;
+	}
+
+	/**
+	 * Hands over a new element to the first stage. Blocks while the queue of the first stage is full, but at most for the given time.
+	 *
+	 * @param element the element
+	 * @param timeout the maximum time to wait
+	 * @param unit the unit of the timeout
+	 * @return {@code true} if the element was accepted, {@code false} if the timeout elapsed or the pipeline was already finished or canceled
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	public boolean offer(T element, long timeout, TimeUnit unit) throws InterruptedException {
+		if (finished || cancelled) {
+			return false;
+		}
+		return getFirstStage().queue.offer(element, timeout, unit) && !cancelled;
+	}
+
+	/**
+	 * Signals that no more elements will be handed over. Must not be called concurrently to {@link #put(Object)} or {@link #offer(Object, long, TimeUnit)}.
+	 * Calling this method multiple times has no further effect.
+	 *
+	 * @throws InterruptedException if interrupted while waiting for space in the queue of the first stage
+	 */
+	public void finish() throws InterruptedException {
+		synchronized (this) {
+			if (finished) {
+				return;
+			}
+			finished = true;
+		}
+		if (!cancelled) {
+			getFirstStage().close();
+		}
+	}
+
+	/**
+	 * Runs the given task in a new thread of this pipeline and calls {@link #finish()} afterwards. The task may hand over the last elements by
+	 * {@link #put(Object)}, which blocks the thread of the pipeline instead of the caller. The thread is interrupted if the pipeline is canceled. Calling
+	 * this method after the pipeline was finished has no effect.
+	 *
+	 * @param lastElements hands over the last elements; may be {@code null}
+	 */
+	public synchronized void finishAsync(Runnable lastElements) {
+		if (finished || (finisher != null)) {
+			return;
+		}
+		finisher = new Thread(() -> {
+			if ((lastElements != null) && !cancelled) {
+				try {
+					lastElements.run();
+				} catch (final RuntimeException e) {
+					Logger.logError(e);
+				}
+			}
+			try {
+				finish();
+			} catch (final InterruptedException e) {
+				// pipeline was canceled
+			}
+		}, "Pipeline Finisher");
+		finisher.setDaemon(true);
+		finisher.start();
+	}
+
+	/**
+	 * Discards all waiting elements and stops all workers.
+	 */
+	public void cancel() {
+		final List<Worker> currentWorkers;
+		final Thread currentFinisher;
+		synchronized (this) {
+			cancelled = true;
+			currentWorkers = new ArrayList<>(workers);
+			currentFinisher = finisher;
+			if (!started || workers.isEmpty()) {
+				terminated.countDown();
+			}
+		}
+		for (final StageWorkers stage : stages) {
+			stage.queue.clear();
+		}
+		for (final Worker worker : currentWorkers) {
+			worker.interrupt();
+		}
+		if (currentFinisher != null) {
+			currentFinisher.interrupt();
+		}
+	}
+
+	public boolean isFinished() {
+		return finished;
+	}
+
+	public boolean isCancelled() {
+		return cancelled;
+	}
+
+	/**
+	 * Waits until all workers have terminated, either because all elements were processed after {@link #finish()} or because the pipeline was canceled.
+	 *
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	public void awaitTermination() throws InterruptedException {
+		terminated.await();
+	}
+
+	/**
+	 * Waits until all workers have terminated, but at most for the given time.
+	 *
+	 * @param timeout the maximum time to wait
+	 * @param unit the unit of the timeout
+	 * @return {@code true} if the pipeline has terminated, {@code false} if the timeout elapsed before
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+		return terminated.await(timeout, unit);
+	}
+
+	/**
+	 * @return the number of elements that are currently waiting in any queue of this pipeline.
+	 */
+	public int getBufferSize() {
+		int size = 0;
+		for (final StageWorkers stage : stages) {
+			size += stage.queue.size();
+		}
+		return size;
+	}
+
+	/**
+	 * @return the metrics of all stages in the order of the stages.
+	 */
+	public synchronized List<StageMetrics> getMetrics() {
+		final List<StageMetrics> metrics = new ArrayList<>(stages.size());
+		for (final StageWorkers stage : stages) {
+			metrics.add(stage.metrics);
+		}
+		return Collections.unmodifiableList(metrics);
+	}
+
+	private StageWorkers getFirstStage() {
+		if (stages.isEmpty()) {
+			throw new IllegalStateException("Pipeline has no stages");
+		}
+		return stages.get(0);
+	}
+
+	private void handleError(String stageName, T element, Exception exception) {
+		try {
+			errorHandler.handleError(stageName, element, exception);
+		} catch (final RuntimeException e) {
+			Logger.logError(e);
+		}
+	}
+
+	private void elementFinished(T element) {
+		if (elementListener != null) {
+			try {
+				elementListener.accept(element);
+			} catch (final RuntimeException e) {
+				Logger.logError(e);
+			}
+		}
+	}
+
+}
@@ -238,7 +238,12 @@ public class FeatureDiagramEditor extends FeatureModelEditorPage implements GUID
 
 	private int index;
 
-	private final JobToken analysisToken = LongRunningWrapper.createToken(JobStartingStrategy.CANCEL_WAIT);
+	/**
+	 * Delay in milliseconds before the analysis is started, such that a burst of edits only triggers one analysis.
+	 */
+	private static final long ANALYSIS_DEBOUNCE_DELAY = 200;
+
+	private final JobToken analysisToken = LongRunningWrapper.createToken(JobStartingStrategy.CANCEL_WAIT, ANALYSIS_DEBOUNCE_DELAY);
 
 	FeatureDiagramEditorKeyHandler editorKeyHandler;
 
@@ -545,8 +550,11 @@ public class FeatureDiagramEditor extends FeatureModelEditorPage implements GUID
 					return true;
 				}
 
-				final AnalysesCollection analysisResults = localAnalyzer.analyzeFeatureModel(monitor);
+				monitor.setRemainingWork(2);
+				final AnalysesCollection analysisResults = localAnalyzer.analyzeFeatureModel(monitor.subTask(1));
 				refreshGraphics(analysisResults);
+				// explain all defects at once, such that the explanations are available as soon as the user selects a defect
+				localAnalyzer.createExplanations(monitor.subTask(1));
 				return true;
 			}
 		}, ANALYZE_FEATURE_MODEL);
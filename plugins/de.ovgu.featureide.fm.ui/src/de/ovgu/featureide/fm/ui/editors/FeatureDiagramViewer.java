@@ -394,6 +394,13 @@ public class FeatureDiagramViewer extends ScrollingGraphicalViewer implements IS
 		return graphicalFeatureModel;
 	}
 
+	/**
+	 * @return the layout manager of the last {@link #setLayout() layout} or {@code null}, if the diagram was not laid out yet
+	 */
+	public FeatureDiagramLayoutManager getLayoutManager() {
+		return layoutManager;
+	}
+
 	@Override
 	public boolean matches(IGraphicalFeature element, String searchString) {
 		return element.getObject().getName().toLowerCase().matches(".*" + searchString.toLowerCase() + ".*");
@@ -108,6 +108,7 @@ import de.ovgu.featureide.fm.core.color.FeatureColorManager;
 import de.ovgu.featureide.fm.core.configuration.Configuration;
 import de.ovgu.featureide.fm.core.configuration.ConfigurationMatrix;
 import de.ovgu.featureide.fm.core.configuration.ConfigurationPropagator;
+import de.ovgu.featureide.fm.core.configuration.ConfigurationPropagatorMIG;
 import de.ovgu.featureide.fm.core.configuration.SelectableFeature;
 import de.ovgu.featureide.fm.core.configuration.Selection;
 import de.ovgu.featureide.fm.core.configuration.TreeElement;
@@ -214,6 +215,11 @@ public abstract class ConfigurationTreeEditorPage extends EditorPart implements
 
 	protected final JobToken updateToken = LongRunningWrapper.createToken(JobStartingStrategy.CANCEL_WAIT_ONE);
 
+	/**
+	 * Propagator that keeps its solver and the last propagation result between updates, as long as the feature model formula does not change.
+	 */
+	private ConfigurationPropagatorMIG incrementalPropagator = null;
+
 	/**
 	 * The item the toolTip belongs to.
 	 */
@@ -1122,9 +1128,18 @@ public abstract class ConfigurationTreeEditorPage extends EditorPart implements
 				ConfigurationManager.CHANGE_AUTOMATIC);
 	}
 
+	private synchronized ConfigurationPropagator getIncrementalPropagator(FeatureModelFormula formula, Configuration configuration) {
+		if ((incrementalPropagator == null) || (incrementalPropagator.getFormula() != formula)) {
+			incrementalPropagator = new ConfigurationPropagatorMIG(formula, configuration);
+		} else {
+			incrementalPropagator = incrementalPropagator.forConfiguration(configuration);
+		}
+		return incrementalPropagator;
+	}
+
 	private void update(UpdateStrategy updateStrategy, final Display currentDisplay, ConfigurationManager configurationManager,
 			final FeatureModelManager featureModelManager, final Configuration configuration) {
-		final ConfigurationPropagator propagator = new ConfigurationPropagator(featureModelManager.getPersistentFormula(), configuration);
+		final ConfigurationPropagator propagator = getIncrementalPropagator(featureModelManager.getPersistentFormula(), configuration);
 
 		final Boolean canBeValid = LongRunningWrapper.runMethod(propagator.canBeValid());
 		final boolean conflicting;
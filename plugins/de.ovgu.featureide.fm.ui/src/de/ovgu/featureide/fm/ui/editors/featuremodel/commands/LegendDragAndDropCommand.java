@@ -24,8 +24,10 @@ import java.util.List;
 
 import org.eclipse.draw2d.geometry.Point;
 import org.eclipse.draw2d.geometry.Rectangle;
+import org.eclipse.gef.EditPartViewer;
 import org.eclipse.gef.commands.Command;
 
+import de.ovgu.featureide.fm.ui.editors.FeatureDiagramViewer;
 import de.ovgu.featureide.fm.ui.editors.FeatureUIHelper;
 import de.ovgu.featureide.fm.ui.editors.IGraphicalConstraint;
 import de.ovgu.featureide.fm.ui.editors.IGraphicalFeature;
@@ -33,6 +35,7 @@ import de.ovgu.featureide.fm.ui.editors.IGraphicalFeatureModel;
 import de.ovgu.featureide.fm.ui.editors.featuremodel.editparts.ConnectionEditPart;
 import de.ovgu.featureide.fm.ui.editors.featuremodel.editparts.LegendEditPart;
 import de.ovgu.featureide.fm.ui.editors.featuremodel.figures.LegendFigure;
+import de.ovgu.featureide.fm.ui.editors.featuremodel.layouts.FeatureDiagramLayoutManager;
 import de.ovgu.featureide.fm.ui.editors.featuremodel.operations.FeatureModelOperationWrapper;
 import de.ovgu.featureide.fm.ui.editors.featuremodel.operations.LegendMoveOperation;
 
@@ -65,6 +68,15 @@ public class LegendDragAndDropCommand extends Command {
 	public boolean canExecute() {
 		final Rectangle newBounds = new Rectangle(newLocation, legendEditPart.getFigure().getSize());
 
+		// use the spatial index of the last layout, which only checks the features, connections, and constraints close to the legend
+		final EditPartViewer viewer = legendEditPart.getViewer();
+		if (viewer instanceof FeatureDiagramViewer) {
+			final FeatureDiagramLayoutManager layoutManager = ((FeatureDiagramViewer) viewer).getLayoutManager();
+			if (layoutManager != null) {
+				return !layoutManager.getSpatialIndex().intersects(newBounds);
+			}
+		}
+
 		// check if legend intersects with a feature
 		for (final IGraphicalFeature f : model.getVisibleFeatures()) {
 			if (newBounds.intersects(FeatureUIHelper.getBounds(f))) {
@@ -67,6 +67,7 @@ abstract public class FeatureDiagramLayoutManager {
 	private boolean firstManualLayout = false;
 
 	private final FeatureModelBounds featureModelBound = new FeatureModelBounds();
+	private final LayoutSpatialIndex<IGraphicalElement> spatialIndex = new LayoutSpatialIndex<>();
 
 	public final void layout(IGraphicalFeatureModel featureModel, ScrollingGraphicalViewer editor) {
 		this.editor = editor;
@@ -76,6 +77,7 @@ abstract public class FeatureDiagramLayoutManager {
 		for (final Entry<IGraphicalFeature, Point> entry : newLocations.entrySet()) {
 			entry.getKey().setLocation(entry.getValue());
 		}
+		updateSpatialIndex(featureModel);
 		if ((featureModel.getLayout().getLayoutAlgorithm() == 0) && !firstManualLayout) {
 			for (final IGraphicalFeature entry : featureModel.getFeatures()) {
 				// Fix of #571: All feature in manual layout are loaded to their position. Because the layout
@@ -162,39 +164,7 @@ abstract public class FeatureDiagramLayoutManager {
 	 * @return is there an intersection?
 	 */
 	public boolean rectangleConnectionIntersection(Point source, Point target, Rectangle rect) {
-		final Point min = rect.getTopLeft();
-		final Point max = rect.getBottomRight();
-
-		// Edge is definitely not inside the legend
-		if (((source.x < min.x) && (target.x < min.x)) || ((source.y < min.y) && (target.y < min.y)) || ((source.x > max.x) && (target.x > max.x))
-			|| ((source.y > max.y) && (target.y > max.y))) {
-			return false;
-		}
-
-		// Check every side of the legend for an intersection
-		final float m = (float) (target.y - source.y) / (float) (target.x - source.x);
-		float y = (m * (float) (min.x - source.x)) + (float) source.y;
-
-		if ((y >= min.y) && (y <= max.y)) {
-			return true;
-		}
-
-		y = (m * (float) (max.x - source.x)) + (float) source.y;
-		if ((y >= min.y) && (y <= max.y)) {
-			return true;
-		}
-
-		float x = ((float) (min.y - source.y) / m) + (float) source.x;
-		if ((x >= min.x) && (x <= max.x)) {
-			return true;
-		}
-
-		x = ((float) (max.y - source.y) / m) + (float) source.x;
-		if ((x >= min.x) && (x <= max.x)) {
-			return true;
-		}
-
-		return false;
+		return !rect.isEmpty() && LayoutSpatialIndex.intersects(source.x, source.y, target.x, target.y, rect.x, rect.y, rect.right(), rect.bottom());
 	}
 
 	/**
@@ -207,26 +177,9 @@ abstract public class FeatureDiagramLayoutManager {
 	 * @param verticalLayout true if any vertical layout is selected
 	 */
 	public void checkIntersections(List<? extends IGraphicalElement> elements, List<Rectangle> rects, boolean verticalLayout) {
-		final ListIterator<Rectangle> iter = rects.listIterator();
-		while (iter.hasNext()) {
-			final Rectangle rect = iter.next();
-
-			for (final IGraphicalElement element : elements) {
-				final Rectangle elementRect = new Rectangle(FeatureUIHelper.getBounds(element));
-				if (elementRect.intersects(rect)) {
-					iter.remove();
-					break;
-				}
-
-				if (element instanceof IGraphicalFeature) {
-					final List<FeatureConnection> targets = ((IGraphicalFeature) element).getTargetConnections();
-					if (checkConnectionIntersections(targets, rect, verticalLayout)) {
-						iter.remove();
-						break;
-					}
-				}
-			}
-		}
+		final LayoutSpatialIndex<IGraphicalElement> index = new LayoutSpatialIndex<>();
+		addToIndex(index, elements, verticalLayout);
+		removeIntersections(index, rects);
 	}
 
 	/**
@@ -238,21 +191,13 @@ abstract public class FeatureDiagramLayoutManager {
 	 * @return true if intersects
 	 */
 	public boolean checkConnectionIntersections(List<FeatureConnection> targets, Rectangle rect, boolean verticalLayout) {
-		for (int i = 0; i < targets.size(); i++) {
-			Point target = null;
-			Point source = null;
-			if (!verticalLayout) {
-				target = new Point(targets.get(i).getSource().getLocation().x + (targets.get(i).getSource().getSize().width / 2),
-						targets.get(i).getSource().getLocation().y);
-				source = new Point(targets.get(i).getTarget().getLocation().x + (targets.get(i).getTarget().getSize().width / 2),
-						targets.get(i).getTarget().getLocation().y + targets.get(i).getTarget().getSize().height);
-			} else {
-				target = new Point(targets.get(i).getSource().getLocation().x,
-						targets.get(i).getSource().getLocation().y + (targets.get(i).getSource().getSize().height / 2));
-				source = new Point(targets.get(i).getTarget().getLocation().x + targets.get(i).getTarget().getSize().width,
-						targets.get(i).getTarget().getLocation().y + (targets.get(i).getTarget().getSize().height / 2));
-			}
-			if (rectangleConnectionIntersection(source, target, rect)) {
+		if (rect.isEmpty()) {
+			return false;
+		}
+		final int[] segment = new int[4];
+		for (final FeatureConnection connection : targets) {
+			getConnectionSegment(connection, verticalLayout, segment);
+			if (LayoutSpatialIndex.intersects(segment[0], segment[1], segment[2], segment[3], rect.x, rect.y, rect.right(), rect.bottom())) {
 				return true;
 			}
 		}
@@ -260,7 +205,69 @@ abstract public class FeatureDiagramLayoutManager {
 	}
 
 	/**
-	 * Manages the placement of the legend
+	 * Rebuilds the {@link #getSpatialIndex() spatial index} from the current bounds of all visible features, their connections, and all visible
+	 * constraints.
+	 *
+	 * @param featureModel feature model
+	 */
+	public void updateSpatialIndex(IGraphicalFeatureModel featureModel) {
+		final boolean verticalLayout = featureModel.getLayout().hasVerticalLayout();
+		spatialIndex.clear();
+		addToIndex(spatialIndex, featureModel.getVisibleFeatures(), verticalLayout);
+		addToIndex(spatialIndex, featureModel.getVisibleConstraints(), verticalLayout);
+	}
+
+	/**
+	 * @return the spatial index of the last {@link #updateSpatialIndex(IGraphicalFeatureModel) update} for intersection and hit-testing queries.
+	 */
+	public LayoutSpatialIndex<IGraphicalElement> getSpatialIndex() {
+		return spatialIndex;
+	}
+
+	private static void addToIndex(LayoutSpatialIndex<IGraphicalElement> index, List<? extends IGraphicalElement> elements, boolean verticalLayout) {
+		final int[] segment = new int[4];
+		for (final IGraphicalElement element : elements) {
+			index.put(element, FeatureUIHelper.getBounds(element));
+			if (element instanceof IGraphicalFeature) {
+				for (final FeatureConnection connection : ((IGraphicalFeature) element).getTargetConnections()) {
+					getConnectionSegment(connection, verticalLayout, segment);
+					index.addSegment(segment[0], segment[1], segment[2], segment[3]);
+				}
+			}
+		}
+	}
+
+	private static void getConnectionSegment(FeatureConnection connection, boolean verticalLayout, int[] segment) {
+		final IGraphicalFeature child = connection.getSource();
+		final IGraphicalFeature parent = connection.getTarget();
+		final Point childLocation = child.getLocation();
+		final Point parentLocation = parent.getLocation();
+		final Dimension childSize = child.getSize();
+		final Dimension parentSize = parent.getSize();
+		if (!verticalLayout) {
+			segment[0] = parentLocation.x + (parentSize.width / 2);
+			segment[1] = parentLocation.y + parentSize.height;
+			segment[2] = childLocation.x + (childSize.width / 2);
+			segment[3] = childLocation.y;
+		} else {
+			segment[0] = parentLocation.x + parentSize.width;
+			segment[1] = parentLocation.y + (parentSize.height / 2);
+			segment[2] = childLocation.x;
+			segment[3] = childLocation.y + (childSize.height / 2);
+		}
+	}
+
+	private static void removeIntersections(LayoutSpatialIndex<IGraphicalElement> index, List<Rectangle> rects) {
+		final ListIterator<Rectangle> iter = rects.listIterator();
+		while (iter.hasNext()) {
+			if (index.intersects(iter.next())) {
+				iter.remove();
+			}
+		}
+	}
+
+	/**
+	 * Manages the placement of the legend using the spatial index of the last layout.
 	 *
 	 * @param featureModel feature model
 	 * @return new location of the legend
@@ -298,12 +305,9 @@ abstract public class FeatureDiagramLayoutManager {
 		rects.add(new Rectangle(new Point(min.x, max.y - legendSize.height()), legendSize));
 		rects.add(new Rectangle(new Point(max.x - legendSize.width(), max.y - legendSize.height()), legendSize));
 
-		// Check the first four positions for intersections with the features
-		checkIntersections(featureModel.getVisibleFeatures(), rects, featureModel.getLayout().hasVerticalLayout());
-
-		// Add the position next to the featureModel and check for hits with the constraints
+		// Add the position next to the featureModel and check all positions for hits with the features, their connections, and the constraints
 		rects.add(new Rectangle(new Point(max.x + FMPropertyManager.getFeatureSpaceX(), min.y), legendSize));
-		checkIntersections(featureModel.getVisibleConstraints(), rects, featureModel.getLayout().hasVerticalLayout());
+		removeIntersections(spatialIndex, rects);
 
 		if (rects.size() > 0) {
 			// At this point, rects does only contain positions for the legend that are acceptable. So we take the first
@@ -0,0 +1,283 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.ui.editors.featuremodel.layouts;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.draw2d.geometry.Point;
+import org.eclipse.draw2d.geometry.Rectangle;
+
+/**
+ * Uniform grid over the bounds of graphical elements and the line segments of their connections.<br> Each element and segment is registered in all
+ * cells it overlaps, such that intersection and hit-testing queries only check the elements close to the queried area instead of all elements of the
+ * feature diagram.
+ *
+ * @param <T> The type of the elements.
+ *
+ * @author agent
+ */
+public class LayoutSpatialIndex<T> {
+
+	public static final int DEFAULT_CELL_SIZE = 128;
+
+	private static final class Segment {
+
+		private final int x1, y1, x2, y2;
+
+		private Segment(int x1, int y1, int x2, int y2) {
+			this.x1 = x1;
+			this.y1 = y1;
+			this.x2 = x2;
+			this.y2 = y2;
+		}
+
+	}
+
+	private static final class Cell<T> {
+
+		private final List<T> elements = new ArrayList<>(4);
+		private final List<Segment> segments = new ArrayList<>(4);
+
+	}
+
+	private final int cellSize;
+
+	private final Map<Long, Cell<T>> cells = new HashMap<>();
+	private final Map<T, Rectangle> bounds = new HashMap<>();
+
+	public LayoutSpatialIndex() {
+		this(DEFAULT_CELL_SIZE);
+	}
+
+	public LayoutSpatialIndex(int cellSize) {
+		if (cellSize <= 0) {
+			throw new IllegalArgumentException(Integer.toString(cellSize));
+		}
+		this.cellSize = cellSize;
+	}
+
+	public void clear() {
+		cells.clear();
+		bounds.clear();
+	}
+
+	public int size() {
+		return bounds.size();
+	}
+
+	/**
+	 * Adds an element or updates its bounds, if it is already contained.
+	 *
+	 * @param element the element
+	 * @param elementBounds the bounds of the element
+	 */
+	public void put(T element, Rectangle elementBounds) {
+		remove(element);
+		final Rectangle copy = elementBounds.getCopy();
+		bounds.put(element, copy);
+		final int minX = getCell(copy.x);
+		final int maxX = getCell(copy.right());
+		final int minY = getCell(copy.y);
+		final int maxY = getCell(copy.bottom());
+		for (int cx = minX; cx <= maxX; cx++) {
+			for (int cy = minY; cy <= maxY; cy++) {
+				getOrCreateCell(cx, cy).elements.add(element);
+			}
+		}
+	}
+
+	/**
+	 * Removes an element from the index.
+	 *
+	 * @param element the element
+	 * @return {@code true} if the element was contained
+	 */
+	public boolean remove(T element) {
+		final Rectangle oldBounds = bounds.remove(element);
+		if (oldBounds == null) {
+			return false;
+		}
+		final int minX = getCell(oldBounds.x);
+		final int maxX = getCell(oldBounds.right());
+		final int minY = getCell(oldBounds.y);
+		final int maxY = getCell(oldBounds.bottom());
+		for (int cx = minX; cx <= maxX; cx++) {
+			for (int cy = minY; cy <= maxY; cy++) {
+				final Cell<T> cell = cells.get(getKey(cx, cy));
+				if (cell != null) {
+					cell.elements.remove(element);
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Adds the line segment of a connection between two points.
+	 *
+	 * @param source the first point of the segment
+	 * @param target the second point of the segment
+	 */
+	public void addSegment(Point source, Point target) {
+		addSegment(source.x, source.y, target.x, target.y);
+	}
+
+	public void addSegment(int x1, int y1, int x2, int y2) {
+		final Segment segment = new Segment(x1, y1, x2, y2);
+		final int minX = getCell(Math.min(x1, x2));
+		final int maxX = getCell(Math.max(x1, x2));
+		final int minY = getCell(Math.min(y1, y2));
+		final int maxY = getCell(Math.max(y1, y2));
+		for (int cx = minX; cx <= maxX; cx++) {
+			for (int cy = minY; cy <= maxY; cy++) {
+				// only register the segment in cells it actually passes through (including their shared borders)
+				final int cellX = cx * cellSize;
+				final int cellY = cy * cellSize;
+				if (intersects(x1, y1, x2, y2, cellX, cellY, cellX + cellSize, cellY + cellSize)) {
+					getOrCreateCell(cx, cy).segments.add(segment);
+				}
+			}
+		}
+	}
+
+	/**
+	 * @param rect the area to check
+	 * @return {@code true} if any element or connection of the index intersects the given area
+	 */
+	public boolean intersects(Rectangle rect) {
+		if (rect.isEmpty()) {
+			return false;
+		}
+		final int minX = getCell(rect.x);
+		final int maxX = getCell(rect.right());
+		final int minY = getCell(rect.y);
+		final int maxY = getCell(rect.bottom());
+		final int right = rect.right();
+		final int bottom = rect.bottom();
+		for (int cx = minX; cx <= maxX; cx++) {
+			for (int cy = minY; cy <= maxY; cy++) {
+				final Cell<T> cell = cells.get(getKey(cx, cy));
+				if (cell != null) {
+					for (final T element : cell.elements) {
+						if (bounds.get(element).intersects(rect)) {
+							return true;
+						}
+					}
+					for (final Segment segment : cell.segments) {
+						if (intersects(segment.x1, segment.y1, segment.x2, segment.y2, rect.x, rect.y, right, bottom)) {
+							return true;
+						}
+					}
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @param rect the area to check
+	 * @return all elements whose bounds intersect the given area
+	 */
+	public Set<T> getElements(Rectangle rect) {
+		final Set<T> result = new LinkedHashSet<>();
+		final int minX = getCell(rect.x);
+		final int maxX = getCell(rect.right());
+		final int minY = getCell(rect.y);
+		final int maxY = getCell(rect.bottom());
+		for (int cx = minX; cx <= maxX; cx++) {
+			for (int cy = minY; cy <= maxY; cy++) {
+				final Cell<T> cell = cells.get(getKey(cx, cy));
+				if (cell != null) {
+					for (final T element : cell.elements) {
+						if (bounds.get(element).intersects(rect)) {
+							result.add(element);
+						}
+					}
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * @param point the point to check
+	 * @return an element whose bounds contain the given point, or {@code null} if there is none
+	 */
+	public T getElementAt(Point point) {
+		final Cell<T> cell = cells.get(getKey(getCell(point.x), getCell(point.y)));
+		if (cell != null) {
+			for (final T element : cell.elements) {
+				if (bounds.get(element).contains(point)) {
+					return element;
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Checks whether the line between two points crosses or touches the given area.
+	 *
+	 * @return {@code true} if the line intersects the area
+	 */
+	static boolean intersects(int x1, int y1, int x2, int y2, int minX, int minY, int maxX, int maxY) {
+		// line is definitely not inside the area
+		if (((x1 < minX) && (x2 < minX)) || ((y1 < minY) && (y2 < minY)) || ((x1 > maxX) && (x2 > maxX)) || ((y1 > maxY) && (y2 > maxY))) {
+			return false;
+		}
+		// an end point lies inside the area
+		if (((x1 >= minX) && (x1 <= maxX) && (y1 >= minY) && (y1 <= maxY)) || ((x2 >= minX) && (x2 <= maxX) && (y2 >= minY) && (y2 <= maxY))) {
+			return true;
+		}
+		// the line crosses the area, if the corners do not all lie on the same side of it
+		final long dx = (long) x2 - x1;
+		final long dy = (long) y2 - y1;
+		final long c1 = Long.signum((dx * (minY - y1)) - (dy * (minX - x1)));
+		final long c2 = Long.signum((dx * (minY - y1)) - (dy * (maxX - x1)));
+		final long c3 = Long.signum((dx * (maxY - y1)) - (dy * (minX - x1)));
+		final long c4 = Long.signum((dx * (maxY - y1)) - (dy * (maxX - x1)));
+		return !(((c1 > 0) && (c2 > 0) && (c3 > 0) && (c4 > 0)) || ((c1 < 0) && (c2 < 0) && (c3 < 0) && (c4 < 0)));
+	}
+
+	private int getCell(int coordinate) {
+		return Math.floorDiv(coordinate, cellSize);
+	}
+
+	private static long getKey(int cx, int cy) {
+		return ((long) cx << 32) | (cy & 0xFFFFFFFFL);
+	}
+
+	private Cell<T> getOrCreateCell(int cx, int cy) {
+		final long key = getKey(cx, cy);
+		Cell<T> cell = cells.get(key);
+		if (cell == null) {
+			cell = new Cell<>();
+			cells.put(key, cell);
+		}
+		return cell;
+	}
+
+}
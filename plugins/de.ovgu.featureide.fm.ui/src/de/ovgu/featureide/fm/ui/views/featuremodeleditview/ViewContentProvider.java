@@ -38,6 +38,7 @@ import static de.ovgu.featureide.fm.core.localization.StringTable.TIMEOUT_STRING
 import static de.ovgu.featureide.fm.core.localization.StringTable.WAITING_FOR_SUBTASKS_TO_FINISH;
 import static de.ovgu.featureide.fm.core.localization.StringTable.WAITING_FOR_SUBTASK_TO_FINISH;
 
+import java.math.BigInteger;
 import java.util.ConcurrentModificationException;
 
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -464,12 +465,21 @@ public class ViewContentProvider implements IStructuredContentProvider, ITreeCon
 		}
 		final ConfigurationAnalyzer analyzer = new ConfigurationAnalyzer(model, new Configuration(model));
 		analyzer.setIncludeAbstractFeatures(!ignoreAbstractFeatures);
-		final long number = analyzer.number(TIMEOUT_CONFIGURATION);
+		// the compilation and the fallback enumeration share one timeout
+		final long start = System.currentTimeMillis();
+		final BigInteger exactNumber = analyzer.exactNumber(TIMEOUT_CONFIGURATION / 2, null);
 		String s = "";
-		if (number < 0) {
-			s += MORE_THAN + (-1 - number);
+		if (exactNumber != null) {
+			s += exactNumber;
 		} else {
-			s += number;
+			// the feature model could not be compiled in time, so fall back to a bounded enumeration
+			final long remainingTime = TIMEOUT_CONFIGURATION - (System.currentTimeMillis() - start);
+			final long number = analyzer.number((int) Math.max(1, remainingTime));
+			if (number < 0) {
+				s += MORE_THAN + (-1 - number);
+			} else {
+				s += number;
+			}
 		}
 		s += " " + variants;
 		p.addChild(s);
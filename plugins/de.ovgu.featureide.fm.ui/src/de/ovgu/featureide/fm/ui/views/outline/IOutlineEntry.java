@@ -21,6 +21,7 @@
 package de.ovgu.featureide.fm.ui.views.outline;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.eclipse.swt.graphics.Image;
 
@@ -80,4 +81,12 @@ public interface IOutlineEntry {
 	 */
 	public void handleDoubleClick();
 
+	/**
+	 * Sets a listener that is notified when the label of the entry changes after it was shown, e.g., because a computation in the background has
+	 * finished. The listener may be called from any thread. Entries whose label does not change do not need to override this method.
+	 *
+	 * @param listener the listener that receives the changed entry
+	 */
+	public default void setChangeListener(Consumer<IOutlineEntry> listener) {}
+
 }
@@ -28,7 +28,9 @@ import org.eclipse.core.resources.IFile;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IConfigurationElement;
 import org.eclipse.core.runtime.Platform;
+import org.eclipse.jface.viewers.StructuredViewer;
 import org.eclipse.jface.viewers.Viewer;
+import org.eclipse.swt.widgets.Display;
 
 import de.ovgu.featureide.fm.core.Logger;
 import de.ovgu.featureide.fm.core.configuration.Configuration;
@@ -49,8 +51,11 @@ public class ConfigurationTreeContentProvider extends OutlineTreeContentProvider
 
 	private Configuration config;
 
+	private Viewer viewer;
+
 	@Override
 	public void inputChanged(Viewer viewer, Object oldInput, Object newInput) {
+		this.viewer = viewer;
 		if (newInput != null) {
 			if (newInput instanceof Configuration) {
 				config = ((Configuration) newInput);
@@ -90,7 +95,11 @@ public class ConfigurationTreeContentProvider extends OutlineTreeContentProvider
 		if (parentElement instanceof IOutlineEntry) {
 			final IOutlineEntry entry = (IOutlineEntry) parentElement;
 			if (entry.hasChildren()) {
-				return entry.getChildren().toArray();
+				final List<IOutlineEntry> children = entry.getChildren();
+				for (final IOutlineEntry child : children) {
+					child.setChangeListener(this::update);
+				}
+				return children.toArray();
 			}
 		}
 		return null;
@@ -118,6 +127,17 @@ public class ConfigurationTreeContentProvider extends OutlineTreeContentProvider
 		return false;
 	}
 
+	private void update(IOutlineEntry entry) {
+		final Viewer currentViewer = viewer;
+		if (currentViewer instanceof StructuredViewer) {
+			Display.getDefault().asyncExec(() -> {
+				if (!currentViewer.getControl().isDisposed()) {
+					((StructuredViewer) currentViewer).update(entry, null);
+				}
+			});
+		}
+	}
+
 	private List<IOutlineEntry> getExtensionEntries() {
 		final List<IOutlineEntry> extensionEntries = new ArrayList<>();
 		for (final IConfigurationElement extension : Platform.getExtensionRegistry().getConfigurationElementsFor(ENTRY_EXTENSION_ID)) {
@@ -126,6 +146,7 @@ public class ConfigurationTreeContentProvider extends OutlineTreeContentProvider
 				if (o instanceof IOutlineEntry) {
 					final IOutlineEntry entry = (IOutlineEntry) o;
 					entry.setConfig(config);
+					entry.setChangeListener(this::update);
 					if (entry.supportsType(null)) {
 						extensionEntries.add(entry);
 					}
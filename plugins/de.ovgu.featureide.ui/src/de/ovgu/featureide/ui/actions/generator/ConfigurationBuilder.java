@@ -23,17 +23,17 @@ package de.ovgu.featureide.ui.actions.generator;
 import static de.ovgu.featureide.fm.core.localization.StringTable.CASA_;
 import static de.ovgu.featureide.fm.core.localization.StringTable.CHVATAL;
 import static de.ovgu.featureide.fm.core.localization.StringTable.COUNTING___;
+import static de.ovgu.featureide.fm.core.localization.StringTable.ERROR_IN_CONFIGURATION;
 import static de.ovgu.featureide.fm.core.localization.StringTable.ICPL;
 import static de.ovgu.featureide.fm.core.localization.StringTable.INCLING;
 import static de.ovgu.featureide.fm.core.localization.StringTable.OF;
 import static de.ovgu.featureide.fm.core.localization.StringTable.RESTRICTION;
 import static de.ovgu.featureide.fm.core.localization.StringTable.YASA;
 
-import java.security.KeyStore.Builder;
+import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
-
-import javax.annotation.CheckForNull;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.core.resources.IFolder;
 import org.eclipse.core.resources.IMarker;
@@ -53,11 +53,12 @@ import org.eclipse.jdt.internal.core.JavaProject;
 import de.ovgu.featureide.core.IFeatureProject;
 import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
 import de.ovgu.featureide.fm.core.analysis.cnf.formula.FeatureModelFormula;
-import de.ovgu.featureide.fm.core.job.IJob.JobStatus;
 import de.ovgu.featureide.fm.core.job.IRunner;
 import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
 import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
 import de.ovgu.featureide.fm.core.job.monitor.ProgressMonitor;
+import de.ovgu.featureide.fm.core.job.util.Pipeline;
+import de.ovgu.featureide.fm.core.job.util.Pipeline.StageMetrics;
 import de.ovgu.featureide.fm.core.localization.StringTable;
 import de.ovgu.featureide.ui.UIPlugin;
 import de.ovgu.featureide.ui.actions.generator.configuration.AConfigurationGenerator;
@@ -75,7 +76,8 @@ import de.ovgu.featureide.ui.actions.generator.sorter.InteractionSorter;
 import de.ovgu.featureide.ui.actions.generator.sorter.PriorizationSorter;
 
 /**
- * Builds all valid or current configurations for a selected feature project.
+ * Builds all valid or current configurations for a selected feature project.<br> The configurations are passed through a {@link Pipeline}, which composes,
+ * compiles, and tests them concurrently.
  *
  * @author Jens Meinicke
  */
@@ -84,6 +86,16 @@ public class ConfigurationBuilder implements IConfigurationBuilderBasics {
 
 	private static final UIPlugin LOGGER = UIPlugin.getDefault();
 
+	/**
+	 * The capacity of the queue in front of each stage of the pipeline per worker of the stage.
+	 */
+	private static final int QUEUE_CAPACITY_PER_WORKER = 2;
+
+	/**
+	 * The interval in milliseconds in which the progress monitor is checked for cancellation while waiting for the pipeline.
+	 */
+	private static final long CANCEL_CHECK_INTERVAL = 150;
+
 	public IFeatureProject featureProject;
 	private FeatureModelFormula featureModel;
 
@@ -107,6 +119,16 @@ public class ConfigurationBuilder implements IConfigurationBuilderBasics {
 	 */
 	String classpath = "";
 
+	/**
+	 * Saves the classpath entries for in-process compilation.
+	 */
+	final List<File> classpathEntries = new ArrayList<>();
+
+	/**
+	 * The compilers of the pipeline, which are disposed after the pipeline has terminated.
+	 */
+	private final List<JavaCompiler> compilers = new ArrayList<>();
+
 	/**
 	 * This folder is used for compilation.
 	 */
@@ -122,30 +144,20 @@ public class ConfigurationBuilder implements IConfigurationBuilderBasics {
 	 */
 	private int built;
 
-	/**
-	 * This flag indicates that all jobs should be aborted.
-	 */
-	boolean cancelGeneratorJobs = false;
-
 	/**
 	 * Saves the time of start.
 	 */
 	protected long time;
 
-	/**
-	 * This flag indicates that no more configurations will be added and the {@link Generator} jobs can finish.
-	 */
-	boolean finish = false;
-
 	/**
 	 * <code>true</code>: all valid configurations should be built.<br> <code>false</code>: all configurations at the configurations folder should be built.
 	 */
 	BuildType buildType;
 
 	/**
-	 * This list contains all {@link Generator} jobs.
+	 * Composes, compiles, and tests the configurations.
 	 */
-	final List<Generator> generatorJobs = new ArrayList<>();
+	private volatile Pipeline<BuilderConfiguration> pipeline;
 
 	public AbstractConfigurationSorter sorter;
 
@@ -156,22 +168,43 @@ public class ConfigurationBuilder implements IConfigurationBuilderBasics {
 	private AConfigurationGenerator configurationGenerator;
 
 	/**
-	 * Gets the first entry of configurations or <code>null</code> if there is none.
+	 * Adds the given configuration to configurations.<br> If the configurations do not need to be sorted, the configuration is directly handed over to the
+	 * pipeline. In this case, the method blocks while the pipeline is full.
 	 *
-	 * @return The first entry
+	 * @param configuration to add
 	 */
-	@CheckForNull
-	public synchronized BuilderConfiguration getConfiguration() {
-		return sorter.getConfiguration();
+	public void addConfiguration(BuilderConfiguration configuration) {
+		if (sorter.isSorted()) {
+			enqueue(configuration);
+		} else {
+			sorter.addConfiguration(configuration);
+		}
 	}
 
 	/**
-	 * Adds the given configuration to configurations.
+	 * Hands over the given configuration to the pipeline. Blocks while the pipeline is full, even if the current thread is interrupted.
 	 *
 	 * @param configuration to add
+	 * @return <code>true</code> if the configuration was accepted, <code>false</code> if the pipeline was canceled or finished
 	 */
-	public synchronized void addConfiguration(BuilderConfiguration configuration) {
-		sorter.addConfiguration(configuration);
+	private boolean enqueue(BuilderConfiguration configuration) {
+		boolean interrupted = false;
+		try {
+			while (true) {
+				try {
+					return pipeline.put(configuration);
+				} catch (final InterruptedException e) {
+					interrupted = true;
+					if (pipeline.isCancelled()) {
+						return false;
+					}
+				}
+			}
+		} finally {
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+			}
+		}
 	}
 
 	// TODO revise long parameter list
@@ -304,22 +337,23 @@ public class ConfigurationBuilder implements IConfigurationBuilderBasics {
 
 					time = System.currentTimeMillis();
 
+					final int threads;
 					if (featureProject.getComposer().canGeneratInParallelJobs()) {
 						if (buildType != BuildType.ALL_CURRENT) {
-							newgeneratorJobs(Runtime.getRuntime().availableProcessors() * 2);
+							threads = Runtime.getRuntime().availableProcessors() * 2;
 						} else {
-							int contJobs = Runtime.getRuntime().availableProcessors() * 2;
-							if (configurationNumber < contJobs) {
-								contJobs = (int) configurationNumber;
-							}
-							newgeneratorJobs(contJobs);
+							threads = (int) Math.max(1, Math.min(configurationNumber, Runtime.getRuntime().availableProcessors() * 2));
 						}
 					} else {
-						newgeneratorJobs(1);
+						threads = 1;
 					}
+					pipeline = createPipeline(threads);
+					pipeline.start();
+
 					configurationBuilderJob = LongRunningWrapper.getRunner(configurationGenerator, "Create Configurations " + id++);
+					configurationBuilderJob.addJobFinishedListener(finishedJob -> samplingFinished());
 					configurationBuilderJob.schedule();
-					showStatistics(monitor);
+					awaitPipeline(monitor);
 					if (!createNewProjects) {
 						try {
 							folder.refreshLocal(IResource.DEPTH_INFINITE, null);
@@ -328,84 +362,43 @@ public class ConfigurationBuilder implements IConfigurationBuilderBasics {
 						}
 					}
 				} finally {
-					configurationBuilderJob.cancel();
-					cancelGenerationJobs();
-					for (final Thread g : generatorJobs) {
-						g.interrupt();
+					if (configurationBuilderJob != null) {
+						configurationBuilderJob.cancel();
 					}
+					cancelGenerationJobs();
 					monitor.done();
 				}
 				return Status.OK_STATUS;
 			}
 
-			private void showStatistics(IProgressMonitor monitor) {
+			private void awaitPipeline(IProgressMonitor monitor) {
 				try {
-					while (configurationBuilderJob.getStatus() == JobStatus.NOT_STARTED) {
-						try {
-							Thread.sleep(150);
-						} catch (final InterruptedException e) {
-							LOGGER.logError(e);
-						}
-					}
-					while (configurationBuilderJob.getStatus() == JobStatus.RUNNING) {
-						monitor.setTaskName(getTaskName());
+					while (!pipeline.awaitTermination(CANCEL_CHECK_INTERVAL, TimeUnit.MILLISECONDS)) {
 						if (monitor.isCanceled()) {
 							cancelGenerationJobs();
 							configurationBuilderJob.cancel();
-							return;
-						}
-						try {
-							Thread.sleep(150);
-						} catch (final InterruptedException e) {
-							LOGGER.logError(e);
 						}
 					}
-					System.err.println(configurationBuilderJob.getStatus());
-
-					if (!sorter.isSorted()) {
-						final IMonitor<?> workMonitor = new ProgressMonitor<>(getTaskName(), monitor);
-						configurationNumber = Math.min(configurationNumber, sorter.sortConfigurations(workMonitor));
-					}
-					finish();
-
-					((SubMonitor) monitor).setWorkRemaining((int) configurationNumber - built);
-					while (!generatorJobs.isEmpty()) {
-						try {
-							if (monitor.isCanceled()) {
-								cancelGenerationJobs();
-								break;
-							}
-							final Generator generator = generatorJobs.get(0);
-							if (generator == null) {
-								// generator can never be null, however see #416
-								generatorJobs.remove(0);
-							} else if (generator.getState() == Thread.State.TERMINATED) {
-								generatorJobs.remove(generator);
-								if (sorter.getBufferSize() != 0) {
-									createNewGenerator(generator.nr);
-								}
-							}
-							monitor.setTaskName(getTaskName());
-							Thread.sleep(150);
-						} catch (final InterruptedException e) {
-							LOGGER.logError(e);
-						} catch (final IndexOutOfBoundsException e) {
-							// nothing here
-						}
+					for (final JavaCompiler compiler : compilers) {
+						compiler.dispose();
 					}
+				} catch (final InterruptedException e) {
+					cancelGenerationJobs();
+					Thread.currentThread().interrupt();
+				}
 
-					final long duration = System.currentTimeMillis() - time;
-					final long s = (duration / 1000) % 60;
-					final long min = (duration / (60 * 1000)) % 60;
-					final long h = duration / (60 * 60 * 1000);
-					final String t = h + "h " + (min < 10 ? "0" + min : min) + "min " + (s < 10 ? "0" + s : s) + "s.";
+				final long duration = System.currentTimeMillis() - time;
+				final long s = (duration / 1000) % 60;
+				final long min = (duration / (60 * 1000)) % 60;
+				final long h = duration / (60 * 60 * 1000);
+				final String t = h + "h " + (min < 10 ? "0" + min : min) + "min " + (s < 10 ? "0" + s : s) + "s.";
 
-					if (built > configurationNumber) {
-						built = (int) configurationNumber;
-					}
-					LOGGER.logInfo(built + (configurationNumber != 0 ? OF + configurationNumber : "") + " configurations built in " + t);
-				} finally {
-					generatorJobs.clear();
+				if (built > configurationNumber) {
+					built = (int) configurationNumber;
+				}
+				LOGGER.logInfo(built + (configurationNumber != 0 ? OF + configurationNumber : "") + " configurations built in " + t);
+				for (final StageMetrics metrics : pipeline.getMetrics()) {
+					LOGGER.logInfo(metrics.toString());
 				}
 			}
 
@@ -502,10 +495,12 @@ public class ConfigurationBuilder implements IConfigurationBuilderBasics {
 				final String path = e.getPath().toOSString();
 				if (e.getPath().isAbsolute()) {
 					classpath += sep + "\"" + path + "\"";
+					classpathEntries.add(new File(path));
 				} else {
 					final IResource resource = e.getResource();
 					if ((resource != null) && "jar".equals(resource.getFileExtension())) {
 						classpath += sep + "\"" + resource.getLocation().toOSString() + "\"";
+						classpathEntries.add(resource.getLocation().toFile());
 					} else {
 						UIPlugin.getDefault().logWarning("ClassPath element " + e.toString() + " is missing.");
 					}
@@ -518,48 +513,82 @@ public class ConfigurationBuilder implements IConfigurationBuilderBasics {
 	}
 
 	/**
-	 * Creates new {@link Generator}s
+	 * Creates the pipeline that composes the configurations and, if the configurations are built into the folder of the feature project, compiles and tests
+	 * them. The compilation and the tests share the folder of the binary files and are therefore executed within the same stage.
 	 *
-	 * @param count The amount of Generators that will be created.
+	 * @param threads The number of workers per stage
 	 */
-	private void newgeneratorJobs(int count) {
-		if (count < 1) {
-			return;
-		}
-
-		if (count == 1) {
-			createNewGenerator(0);
-			return;
+	private Pipeline<BuilderConfiguration> createPipeline(int threads) {
+		final Pipeline<BuilderConfiguration> newPipeline = new Pipeline<>(threads * QUEUE_CAPACITY_PER_WORKER);
+		final Generator generator = new Generator(this);
+		newPipeline.addStage("Compose", threads, nr -> generator::compose);
+		if (!createNewProjects && hasJavaNature()) {
+			final boolean test = runTests && Generator.JUNIT_INSTALLED;
+			newPipeline.addStage(test ? "Compile and test" : "Compile", threads, nr -> {
+				final JavaCompiler compiler = new JavaCompiler(nr, this);
+				compilers.add(compiler);
+				if (test) {
+					final TestRunner testRunner = new TestRunner(compiler.tmp, testResults, this);
+					return configuration -> {
+						compiler.compile(configuration);
+						testRunner.runTests(configuration);
+					};
+				}
+				return compiler::compile;
+			});
 		}
+		newPipeline.setElementListener(configuration -> builtConfiguration());
+		newPipeline.setErrorHandler((stageName, configuration, exception) -> LOGGER.logError(ERROR_IN_CONFIGURATION + configuration, exception));
+		return newPipeline;
+	}
 
-		for (; count > 0; count--) {
-			createNewGenerator(count);
+	private boolean hasJavaNature() {
+		try {
+			return featureProject.getProject().hasNature(Generator.JAVA_NATURE);
+		} catch (final CoreException e) {
+			LOGGER.logError(e);
+			return false;
 		}
 	}
 
 	/**
-	 * Created a new {@link Generator} with the given number
-	 *
-	 * @param nr
+	 * Called when the configuration generator has terminated. Sorts the buffered configurations if necessary and hands them over to the pipeline. As both
+	 * may take a while, this is done in a thread of the pipeline instead of the listener thread of the job.
 	 */
-	void createNewGenerator(int nr) {
-		final Generator g = new Generator(nr, this);
-		generatorJobs.add(g);
-		g.start();
+	private void samplingFinished() {
+		pipeline.finishAsync(() -> {
+			if (!sorter.isSorted()) {
+				final IMonitor<?> workMonitor = new ProgressMonitor<>(getTaskName(), globalMonitor);
+				configurationNumber = Math.min(configurationNumber, sorter.sortConfigurations(workMonitor));
+				updateMonitor();
+				for (BuilderConfiguration configuration = sorter.getConfiguration(); configuration != null; configuration = sorter.getConfiguration()) {
+					if (!enqueue(configuration)) {
+						break;
+					}
+				}
+			}
+		});
 	}
 
 	/**
-	 * This is called if the main job is canceled and all {@link Builder} and {@link JavaCompiler} should finish.
+	 * This is called if the main job is canceled and all {@link Generator}s and {@link JavaCompiler}s should finish.
 	 */
 	public void cancelGenerationJobs() {
-		cancelGeneratorJobs = true;
+		if (pipeline != null) {
+			pipeline.cancel();
+		}
 	}
 
 	/**
 	 * This is called if the main job has finished and no more configurations will be added.
 	 */
 	public void finish() {
-		finish = true;
+		try {
+			pipeline.finish();
+		} catch (final InterruptedException e) {
+			cancelGenerationJobs();
+			Thread.currentThread().interrupt();
+		}
 	}
 
 	/**
@@ -575,7 +604,8 @@ public class ConfigurationBuilder implements IConfigurationBuilderBasics {
 			final long h = duration / (60 * 60 * 1000);
 			t = " " + h + "h " + (min < 10 ? "0" + min : min) + "min " + (s < 10 ? "0" + s : s) + "s.";
 		}
-		final long buffer = sorter.getBufferSize();
+		final Pipeline<BuilderConfiguration> currentPipeline = pipeline;
+		final long buffer = sorter.getBufferSize() + (currentPipeline != null ? currentPipeline.getBufferSize() : 0);
 		return "Built configurations: " + built + "/" + (configurationNumber == Integer.MAX_VALUE ? COUNTING___ : configurationNumber) + "(" + buffer
 			+ " buffered)" + " Expected time: " + t;
 	}
@@ -585,9 +615,13 @@ public class ConfigurationBuilder implements IConfigurationBuilderBasics {
 	 */
 	public synchronized void builtConfiguration() {
 		built++;
+		updateMonitor();
+		globalMonitor.worked(1);
+	}
+
+	private synchronized void updateMonitor() {
 		((SubMonitor) globalMonitor).setWorkRemaining((int) configurationNumber - built);
 		globalMonitor.setTaskName(getTaskName());
-		globalMonitor.worked(1);
 	}
 
 	/**
@@ -24,49 +24,96 @@ import static de.ovgu.featureide.fm.core.localization.StringTable.CANNOT_FIND_SY
 import static de.ovgu.featureide.fm.core.localization.StringTable.COMPILER;
 import static de.ovgu.featureide.fm.core.localization.StringTable.SYMBOL;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
 import java.util.Scanner;
 import java.util.TreeMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import javax.annotation.CheckForNull;
+import javax.tools.Diagnostic;
+import javax.tools.Diagnostic.Kind;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IFolder;
 import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.compiler.batch.BatchCompiler;
 
 import de.ovgu.featureide.ui.UIPlugin;
 
 /**
- * This {@link Job} compiles all configurations of the corresponding {@link Generator}
+ * This {@link Job} compiles all configurations of the corresponding {@link Generator}.<br> If FeatureIDE runs on a JDK, the configurations are compiled
+ * in-process by the compiler of the JDK, otherwise by the batch compiler of the JDT.
  *
  * @author Jens Meinicke
  */
 public class JavaCompiler implements IConfigurationBuilderBasics {
 
-	private final Generator generator;
+	/**
+	 * The compiler of the running JDK or <code>null</code> if there is none.
+	 */
+	@CheckForNull
+	private static final javax.tools.JavaCompiler SYSTEM_COMPILER = ToolProvider.getSystemJavaCompiler();
+
+	/**
+	 * The options for the compiler of the JDK. Instead of filtering the compiler output, the ignored warnings are disabled. The source level is added for
+	 * each project.
+	 */
+	private static final List<String> SYSTEM_COMPILER_OPTIONS =
+		Collections.unmodifiableList(Arrays.asList("-g", "-Xlint:all,-options,-rawtypes,-serial,-cast,-deprecation", "-proc:none"));
+
+	private final ConfigurationBuilder builder;
+
+	/**
+	 * The Java source level of the feature project (e.g., <code>1.8</code>).
+	 */
+	private final String sourceLevel;
 
 	/**
 	 * The parent folder of the generated variants
 	 */
 	final IFolder tmp;
 
+	/**
+	 * The file manager that is used for all configurations compiled by this compiler. It keeps the libraries of the class path open between compilations. Is
+	 * <code>null</code> if the batch compiler of the JDT is used.
+	 */
+	@CheckForNull
+	private StandardJavaFileManager fileManager;
+
 	/**
 	 *
 	 * @param nr The number of the compiler
-	 * @param generator The generator holding this compiler
+	 * @param builder The builder holding this compiler
 	 */
-	public JavaCompiler(int nr, Generator generator) {
-		this.generator = generator;
+	public JavaCompiler(int nr, ConfigurationBuilder builder) {
+		this.builder = builder;
+		sourceLevel = getSourceLevel(builder.featureProject.getProject());
 
-		tmp = generator.builder.tmp.getFolder(COMPILER + nr);
+		tmp = builder.tmp.getFolder(COMPILER + nr);
 		if (!tmp.exists()) {
 			try {
 				tmp.create(true, true, null);
@@ -74,7 +121,50 @@ public class JavaCompiler implements IConfigurationBuilderBasics {
 				UIPlugin.getDefault().logError(e);
 			}
 		}
+		fileManager = createFileManager();
+	}
+
+	/**
+	 * Returns the source level from the compiler settings of the given project, which fall back to the settings of the workspace.
+	 */
+	private static String getSourceLevel(IProject project) {
+		final String level = JavaCore.create(project).getOption(JavaCore.COMPILER_SOURCE, true);
+		return level != null ? level : JavaCore.getOption(JavaCore.COMPILER_SOURCE);
+	}
+
+	@CheckForNull
+	private StandardJavaFileManager createFileManager() {
+		if (SYSTEM_COMPILER == null) {
+			return null;
+		}
+		final StandardJavaFileManager newFileManager = SYSTEM_COMPILER.getStandardFileManager(null, null, null);
+		try {
+			newFileManager.setLocation(StandardLocation.CLASS_PATH, builder.classpathEntries);
+			newFileManager.setLocation(StandardLocation.CLASS_OUTPUT, Collections.singleton(tmp.getRawLocation().toFile()));
+			return newFileManager;
+		} catch (final IOException e) {
+			UIPlugin.getDefault().logError(e);
+			closeFileManager(newFileManager);
+			return null;
+		}
+	}
 
+	/**
+	 * Releases the resources of this compiler. Must be called after the last configuration was compiled.
+	 */
+	public void dispose() {
+		if (fileManager != null) {
+			closeFileManager(fileManager);
+			fileManager = null;
+		}
+	}
+
+	private static void closeFileManager(StandardJavaFileManager fileManager) {
+		try {
+			fileManager.close();
+		} catch (final IOException e) {
+			UIPlugin.getDefault().logError(e);
+		}
 	}
 
 	/**
@@ -85,7 +175,7 @@ public class JavaCompiler implements IConfigurationBuilderBasics {
 	 */
 	protected void compile(BuilderConfiguration configuration) throws CoreException {
 		try {
-			generator.builder.folder.getFolder(configuration.getName()).refreshLocal(IResource.DEPTH_INFINITE, null);
+			builder.folder.getFolder(configuration.getName()).refreshLocal(IResource.DEPTH_INFINITE, null);
 		} catch (final CoreException e) {
 			UIPlugin.getDefault().logError(e);
 		}
@@ -99,9 +189,110 @@ public class JavaCompiler implements IConfigurationBuilderBasics {
 	 * Compiles the built configuration to create error markers. The binary files will be placed into an temporary folder.
 	 *
 	 * @param confName
+	 * @throws CoreException if the configuration could not be compiled at all
+	 */
+	private void compile(String confName) throws CoreException {
+		final LinkedList<IFile> files = getJavaFiles(builder.folder.getFolder(confName));
+		final LinkedList<IFile> errorFiles = fileManager != null ? compileInProcess(files, confName) : compileBatch(files, confName);
+		for (final IFile file : errorFiles) {
+			builder.featureProject.getComposer().postCompile(null, file);
+		}
+	}
+
+	/**
+	 * Compiles the given files with the compiler of the JDK and creates problem markers from its diagnostics. Errors that do not belong to a source file
+	 * (e.g., an unsupported source level or an invalid class path) are reported at the folder of the configuration and fail the configuration.
+	 *
+	 * @param files The files to compile
+	 * @param configurationName Name of the actual configuration
+	 * @return list of files with problems
+	 * @throws CoreException if the compiler failed without reporting errors for the given files
 	 */
-	private void compile(String confName) {
-		final LinkedList<IFile> files = getJavaFiles(generator.builder.folder.getFolder(confName));
+	private LinkedList<IFile> compileInProcess(LinkedList<IFile> files, String configurationName) throws CoreException {
+		if (files.isEmpty()) {
+			// The compiler rejects empty compilation tasks
+			return new LinkedList<IFile>();
+		}
+		final Map<File, IFile> sourceFiles = new LinkedHashMap<>();
+		for (final IFile file : files) {
+			sourceFiles.put(file.getLocation().toFile(), file);
+		}
+		final List<String> options = new ArrayList<>(SYSTEM_COMPILER_OPTIONS);
+		options.add("-source");
+		options.add(sourceLevel);
+		final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+		final Iterable<? extends JavaFileObject> compilationUnits = fileManager.getJavaFileObjectsFromFiles(sourceFiles.keySet());
+		final boolean success;
+		try {
+			success = SYSTEM_COMPILER.getTask(null, fileManager, diagnostics, options, null, compilationUnits).call();
+		} catch (IllegalArgumentException | IllegalStateException e) {
+			throw createConfigurationError(configurationName, configurationName + " " + e.getMessage(), e);
+		}
+
+		final LinkedList<IFile> errorFiles = new LinkedList<IFile>();
+		final StringBuilder generalErrors = new StringBuilder();
+		boolean sourceErrors = false;
+		try {
+			for (final Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+				final Kind kind = diagnostic.getKind();
+				if ((kind != Kind.ERROR) && (kind != Kind.WARNING) && (kind != Kind.MANDATORY_WARNING)) {
+					continue;
+				}
+				if (diagnostic.getSource() == null) {
+					if (kind == Kind.ERROR) {
+						generalErrors.append(' ').append(diagnostic.getMessage(null).replaceAll("\\s*\\n\\s*", " "));
+					}
+					continue;
+				}
+				final IFile currentFile = sourceFiles.get(new File(diagnostic.getSource().toUri()));
+				if (currentFile == null) {
+					continue;
+				}
+				if (!errorFiles.contains(currentFile)) {
+					errorFiles.add(currentFile);
+				}
+				sourceErrors |= kind == Kind.ERROR;
+				final String errorMessage = diagnostic.getMessage(null).replaceAll("\\s*\\n\\s*", " ");
+				final IMarker newMarker = currentFile.createMarker(PROBLEM_MARKER);
+				if (newMarker.exists()) {
+					newMarker.setAttribute(IMarker.LINE_NUMBER, (int) diagnostic.getLineNumber());
+					newMarker.setAttribute(IMarker.MESSAGE, configurationName + " " + errorMessage);
+					newMarker.setAttribute(IMarker.SEVERITY, kind == Kind.ERROR ? IMarker.SEVERITY_ERROR : IMarker.SEVERITY_WARNING);
+				}
+			}
+		} catch (final CoreException e) {
+			UIPlugin.getDefault().logError(e);
+		}
+
+		if ((generalErrors.length() > 0) || (!success && !sourceErrors)) {
+			throw createConfigurationError(configurationName,
+					configurationName + (generalErrors.length() > 0 ? generalErrors.toString() : " Compilation failed"), null);
+		}
+		return errorFiles;
+	}
+
+	/**
+	 * Creates a problem marker at the folder of the given configuration for an error that does not belong to a source file.
+	 *
+	 * @return the exception that fails the configuration
+	 */
+	private CoreException createConfigurationError(String configurationName, String errorMessage, Throwable cause) throws CoreException {
+		final IMarker newMarker = builder.folder.getFolder(configurationName).createMarker(PROBLEM_MARKER);
+		if (newMarker.exists()) {
+			newMarker.setAttribute(IMarker.MESSAGE, errorMessage);
+			newMarker.setAttribute(IMarker.SEVERITY, IMarker.SEVERITY_ERROR);
+		}
+		return new CoreException(new Status(IStatus.ERROR, UIPlugin.PLUGIN_ID, errorMessage, cause));
+	}
+
+	/**
+	 * Compiles the given files with the batch compiler of the JDT and creates problem markers from its output.
+	 *
+	 * @param files The files to compile
+	 * @param confName Name of the actual configuration
+	 * @return list of files with problems
+	 */
+	private LinkedList<IFile> compileBatch(LinkedList<IFile> files, String confName) {
 		final LinkedList<String> options = new LinkedList<>();
 		for (final IFile file : files) {
 			options.add(setupPath(file));
@@ -109,17 +300,14 @@ public class JavaCompiler implements IConfigurationBuilderBasics {
 		options.add("-g");
 		options.add("-Xlint");
 		options.add("-source");
-		options.add("1.7");
+		options.add(sourceLevel);
 		options.add("-d");
 		options.add(setupPath(tmp.getRawLocation().toOSString()));
 		options.add("-classpath");
-		options.add(generator.builder.classpath);
+		options.add(builder.classpath);
 
 		final String output = process(options);
-		final LinkedList<IFile> errorFiles = parseJavacOutput(output, files, confName);
-		for (final IFile file : errorFiles) {
-			generator.builder.featureProject.getComposer().postCompile(null, file);
-		}
+		return parseJavacOutput(output, files, confName);
 	}
 
 	/**
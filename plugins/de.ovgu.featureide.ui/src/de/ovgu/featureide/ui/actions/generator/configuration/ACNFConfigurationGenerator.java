@@ -109,6 +109,8 @@ public abstract class ACNFConfigurationGenerator extends AConfigurationGenerator
 		}
 		consumer.stop();
 		thread.interrupt();
+		// wait until all remaining configurations are handed over to the builder
+		thread.join();
 		return null;
 	}
 
@@ -21,15 +21,12 @@
 package de.ovgu.featureide.ui.actions.generator.sorter;
 
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 
+import de.ovgu.featureide.fm.core.analysis.cnf.generator.configuration.util.ConfigurationPrioritizer;
 import de.ovgu.featureide.fm.core.base.IFeatureModel;
 import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
 import de.ovgu.featureide.fm.core.job.monitor.IMonitor.MethodCancelException;
@@ -39,6 +36,8 @@ import de.ovgu.featureide.ui.actions.generator.BuilderConfiguration;
 /**
  * Sorts Configurations by interactions they cover.
  *
+ * @see ConfigurationPrioritizer#sortByInteractions(List, List, int, boolean, IMonitor)
+ *
  * @author Jens Meinicke
  */
 public class InteractionSorter extends AbstractConfigurationSorter {
@@ -47,8 +46,6 @@ public class InteractionSorter extends AbstractConfigurationSorter {
 
 	private final int t;
 
-	private final Map<BuilderConfiguration, Set<Interaction>> interactions = new HashMap<BuilderConfiguration, Set<Interaction>>();
-
 	private final boolean skippConfigurations;
 
 	public InteractionSorter(final int t, final IFeatureModel featureModel, final boolean skippConfigurations) {
@@ -59,162 +56,39 @@ public class InteractionSorter extends AbstractConfigurationSorter {
 	}
 
 	/**
-	 * Sorts Configurations by interactions they cover.
+	 * Sorts Configurations by interactions they cover. Configurations that cover the same number of new interactions are sorted by their names.
 	 *
 	 * @return number of configurations
 	 */
 	@Override
 	public int sort(final IMonitor<?> monitor) {
-		for (final BuilderConfiguration c : configurations) {
-			try {
-				monitor.checkCancel();
-			} catch (final MethodCancelException e) {
-				configurations.clear();
-				return 0;
-			}
-			interactions.put(c, new HashSet<Interaction>(concreteFeatures.size() * (10 ^ t)));
-			getInteractions(interactions.get(c), c.getSelectedFeatureNames(), new ArrayList<String>(0), new ArrayList<String>(0), 1, null);
-			monitor.worked();
+		final List<BuilderConfiguration> unsorted = new ArrayList<>(configurations);
+		Collections.sort(unsorted, (c1, c2) -> c1.getName().compareTo(c2.getName()));
+		final List<Set<String>> selectedFeatures = new ArrayList<>(unsorted.size());
+		for (final BuilderConfiguration c : unsorted) {
+			selectedFeatures.add(c.getSelectedFeatureNames());
 		}
 
-		final LinkedList<BuilderConfiguration> sorted = new LinkedList<>();
-		while (!interactions.isEmpty()) {
-			try {
-				monitor.checkCancel();
-			} catch (final MethodCancelException e) {
-				configurations.clear();
-				return 0;
-			}
-
-			final BuilderConfiguration mostCovering = getMostCoveringConfiguration(interactions);
-			final Set<Interaction> coveredInteractions = interactions.get(mostCovering);
-			if (coveredInteractions.isEmpty()) {
-				if (skippConfigurations) {
-					LOGGER.logInfo(interactions.size() + " solutions skipped because interactions are already covered!");
-				} else {
-					sorted.addAll(interactions.keySet());
-				}
-				interactions.clear();
-				break;
-			}
-			sorted.add(mostCovering);
-			interactions.remove(mostCovering);
-			for (final Set<Interaction> interaction : interactions.values()) {
-				interaction.removeAll(coveredInteractions);
-			}
-			monitor.worked();
+		final ConfigurationPrioritizer prioritizer = new ConfigurationPrioritizer(Runtime.getRuntime().availableProcessors());
+		final int[] order;
+		try {
+			order = prioritizer.sortByInteractions(new ArrayList<>(concreteFeatures), selectedFeatures, t, skippConfigurations, monitor);
+		} catch (final MethodCancelException e) {
+			configurations.clear();
+			return 0;
+		} finally {
+			prioritizer.dispose();
 		}
-		configurations = sorted;
-		return configurations.size();
-	}
-
-	@Override
-	public int getBufferSize() {
-		return interactions.size() + configurations.size();
-	}
-
-	/**
-	 * Gets the configuration that covers the most interactions that are left.<br> Basically, the configurations with the greatest set of interactions.
-	 */
-	private BuilderConfiguration getMostCoveringConfiguration(final Map<BuilderConfiguration, Set<Interaction>> interactions) {
-		BuilderConfiguration mostCovering = null;
-		int longest = -1;
-		for (final BuilderConfiguration config : interactions.keySet()) {
-			final int size = interactions.get(config).size();
-			if (size > longest) {
-				longest = size;
-				mostCovering = config;
-			} else if (size == longest) {
-				if (mostCovering.getName().compareTo(config.getName()) > 0) {
-					mostCovering = config;
-				}
-			}
+		if (order.length < unsorted.size()) {
+			LOGGER.logInfo((unsorted.size() - order.length) + " solutions skipped because interactions are already covered!");
 		}
-		return mostCovering;
-	}
 
-	/**
-	 * Calculate the interactions of one configuration.
-	 *
-	 * @param interactions The set where the interactions are stored
-	 * @param configSelectedFeatures The selected feature of the current configuration
-	 * @param selectedFeatures The selected features of the current interaction
-	 * @param unselectedFeatures The unselected feature of the current interaction
-	 * @param t The current size of the interaction
-	 * @param lastFeature A marker for the last feature
-	 */
-	private void getInteractions(final Set<Interaction> interactions, final Set<String> configSelectedFeatures, final List<String> selectedFeatures,
-			final List<String> unselectedFeatures, final int t, final String lastFeature) {
-		if (t > this.t) {
-			return;
-		}
-
-		boolean marker = lastFeature == null;
-		for (final String feature : concreteFeatures) {
-			if (!marker && feature.equals(lastFeature)) {
-				// skip all features until the feature of the last iteration is found
-				marker = true;
-				continue;
-			}
-			if (marker) {
-				List<String> selected = selectedFeatures;
-				List<String> unselected = unselectedFeatures;
-
-				if (configSelectedFeatures.contains(feature)) {
-					// CASE selected
-					selected = new ArrayList<String>(t);
-					selected.addAll(selectedFeatures);
-					selected.add(feature);
-					selected = Collections.unmodifiableList(selected);
-				} else {
-					// CASE unselected
-					unselected = new ArrayList<String>(t);
-					unselected.addAll(unselectedFeatures);
-					unselected.add(feature);
-					unselected = Collections.unmodifiableList(unselected);
-				}
-				interactions.add(new Interaction(selected, unselected));
-				getInteractions(interactions, configSelectedFeatures, selected, unselected, t + 1, feature);
-			}
-		}
-	}
-
-	private class Interaction {
-
-		private final Collection<String> selectedFeatures;
-		private final Collection<String> unselectedFeatures;
-		private final int hashCode;
-
-		/**
-		 * Represents an interaction between n selected features and m unselected features.
-		 */
-		Interaction(final Collection<String> selectedFeatures, final Collection<String> unselectedFeatures) {
-			this.selectedFeatures = selectedFeatures;
-			this.unselectedFeatures = unselectedFeatures;
-
-			// TODO _Sebastian Revise Hash Function
-			int hash = 0;
-			for (final String feature : selectedFeatures) {
-				hash = (hash * 3) + feature.hashCode();
-			}
-			for (final String feature : unselectedFeatures) {
-				hash += (hash * 7) + feature.hashCode();
-			}
-			hashCode = hash;
-		}
-
-		@Override
-		public boolean equals(final Object obj) {
-			if (obj.hashCode() != hashCode()) {
-				return false;
-			}
-			return selectedFeatures.equals(((Interaction) obj).selectedFeatures) && unselectedFeatures.equals(((Interaction) obj).unselectedFeatures);
-		}
-
-		@Override
-		public int hashCode() {
-			return hashCode;
+		final LinkedList<BuilderConfiguration> sorted = new LinkedList<>();
+		for (final int index : order) {
+			sorted.add(unsorted.get(index));
 		}
+		configurations = sorted;
+		return configurations.size();
 	}
 
 }
@@ -20,18 +20,13 @@
  */
 package de.ovgu.featureide.ui.actions.generator.sorter;
 
-import static de.ovgu.featureide.fm.core.localization.StringTable.CREATE_CONFIGS;
-import static de.ovgu.featureide.fm.core.localization.StringTable.EMPTY___;
-import static de.ovgu.featureide.fm.core.localization.StringTable.OF;
-import static de.ovgu.featureide.fm.core.localization.StringTable.WE_SHOULDNT_GET_HERE_COMMA___HERE_IS_WRONG;
-
 import java.util.ArrayList;
-import java.util.Collection;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
 
 import de.ovgu.featureide.fm.core.analysis.cnf.formula.FeatureModelFormula;
+import de.ovgu.featureide.fm.core.analysis.cnf.generator.configuration.util.ConfigurationPrioritizer;
 import de.ovgu.featureide.fm.core.configuration.Configuration;
 import de.ovgu.featureide.fm.core.configuration.Selection;
 import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
@@ -40,14 +35,12 @@ import de.ovgu.featureide.ui.actions.generator.BuilderConfiguration;
 /**
  * Sorts configurations before they are generated based on their difference.
  *
+ * @see ConfigurationPrioritizer#sortByDissimilarity(List, IMonitor)
+ *
  * @author Mustafa Alhajjaj
  */
 public class PriorizationSorter extends AbstractConfigurationSorter {
 
-	private final List<List<String>> allconfigs = new ArrayList<List<String>>();
-	private final List<List<String>> allsortedconfigs = new ArrayList<List<String>>();
-	HashMap<String, Double> configsDistancesResult = new HashMap<String, Double>();
-
 	private final FeatureModelFormula featureModel;
 
 	public PriorizationSorter(FeatureModelFormula featureModel) {
@@ -63,20 +56,26 @@ public class PriorizationSorter extends AbstractConfigurationSorter {
 		if (configurations.isEmpty()) {
 			return 0;
 		}
-		final List<List<String>> configs = new ArrayList<List<String>>();
+		final List<Set<String>> configs = new ArrayList<>(configurations.size());
 		for (final BuilderConfiguration c : configurations) {
-			configs.add(new ArrayList<String>(c.getSelectedFeatureNames()));
+			configs.add(c.getSelectedFeatureNames());
 		}
-		configurations.clear();
-		final List<List<String>> sortedConfigs = sortConfigs(configs, monitor);
-		for (final List<String> solution : sortedConfigs) {
-			System.out.println(CREATE_CONFIGS + configurationCounter + OF + sortedConfigs.size());
-			configurations.add(createConfiguration(solution, configurationCounter++));
+		final ConfigurationPrioritizer prioritizer = new ConfigurationPrioritizer(Runtime.getRuntime().availableProcessors());
+		final int[] order;
+		try {
+			order = prioritizer.sortByDissimilarity(configs, monitor);
+		} finally {
+			prioritizer.dispose();
 		}
+		final LinkedList<BuilderConfiguration> sortedConfigurations = new LinkedList<>();
+		for (final int index : order) {
+			sortedConfigurations.add(createConfiguration(configs.get(index), configurationCounter++));
+		}
+		configurations = sortedConfigurations;
 		return configurations.size();
 	}
 
-	private BuilderConfiguration createConfiguration(final List<String> solution, int i) {
+	private BuilderConfiguration createConfiguration(final Set<String> solution, int i) {
 		final Configuration configuration = new Configuration(featureModel);
 		for (final String selection : solution) {
 			configuration.setManual(selection, Selection.SELECTED);
@@ -84,125 +83,4 @@ public class PriorizationSorter extends AbstractConfigurationSorter {
 		return new BuilderConfiguration(configuration, i);
 	}
 
-	protected List<List<String>> sortConfigs(List<List<String>> configs, IMonitor<?> monitor) {
-		// bring the first product with maximum number of optional feature.\
-		System.err.println("START sort");
-		allconfigs.addAll(configs);
-
-		System.err.println("getconfigsDistanceMap");
-		configsDistancesResult = getconfigsDistanceMap(allconfigs, monitor);
-		System.err.println("allyes");
-		allyesconfig();
-		while (!allconfigs.isEmpty()) {
-			monitor.checkCancel();
-			selectConfig();
-		}
-		return allsortedconfigs;
-	}
-
-	@Override
-	public int getBufferSize() {
-		return allconfigs.size() + configurations.size();
-	}
-
-	private HashMap<String, Double> getconfigsDistanceMap(List<List<String>> allConfig, IMonitor<?> monitor) {
-		configsDistancesResult = new HashMap<String, Double>();
-		String mapKey;
-		for (int i = 0; i < allConfig.size(); i++) {
-			monitor.checkCancel();
-			for (int j = i + 1; j < allConfig.size(); j++) {
-				final int xHashCode = allConfig.get(i).hashCode();
-				final int yHashCode = allConfig.get(j).hashCode();
-
-				mapKey = xHashCode + EMPTY___ + yHashCode;
-
-				if (configsDistancesResult.get(mapKey) == null) {// not added before
-					configsDistancesResult.put(mapKey, clacDistance(allConfig.get(i), allConfig.get(j)));
-				}
-			}
-		}
-		return configsDistancesResult;
-	}
-
-	private List<String> allyesconfig() {
-		// here add the first element to the allsortedconfig list
-		// and Remove the element from the original list which is already added
-		// to the new sorted list
-		int allYes = 0;
-		int index = 0;
-
-		for (final List<String> x : allconfigs) {
-			final int tempAllYes = x.size();
-			if (tempAllYes > allYes) {
-				allYes = tempAllYes;
-				index = allconfigs.indexOf(x);
-			}
-		}
-
-		allsortedconfigs.add(allconfigs.get(index));
-
-		return allconfigs.remove(index);
-
-	}
-
-	private List<String> selectConfig() {
-		double distance = 1.0;
-		int index = 0;
-
-		int xHashCode = 0;
-		int yHashCode = 0;
-
-		String mapKeyXY;
-		String mapKeyYX;
-
-		for (final List<String> x : allconfigs) {
-
-			double tempDistance = 0.0;
-			for (final List<String> y : allsortedconfigs) {
-				xHashCode = x.hashCode();
-				yHashCode = y.hashCode();
-
-				mapKeyXY = xHashCode + EMPTY___ + yHashCode;
-				mapKeyYX = yHashCode + EMPTY___ + xHashCode;
-				double tempDistanceLocal = 0.0;
-				if (configsDistancesResult.get(mapKeyXY) != null) {
-					tempDistanceLocal = configsDistancesResult.get(mapKeyXY);
-				} else if (configsDistancesResult.get(mapKeyYX) != null) {
-					tempDistanceLocal = configsDistancesResult.get(mapKeyYX);
-
-				} else {
-					System.out.println(WE_SHOULDNT_GET_HERE_COMMA___HERE_IS_WRONG);
-				}
-				if (tempDistanceLocal > tempDistance) {
-					tempDistance = tempDistanceLocal;
-
-				}
-			}
-			if (tempDistance < distance) {
-				distance = tempDistance;
-				index = allconfigs.indexOf(x);
-			}
-		}
-
-		allsortedconfigs.add(allconfigs.get(index));
-		return allconfigs.remove(index);
-	}
-
-	private double clacDistance(List<String> x, List<String> y) {
-		final Collection<String> similar = new HashSet<String>(x);
-		final Collection<String> different = new HashSet<String>();
-
-		different.addAll(x);
-		different.addAll(y);
-		similar.retainAll(y);
-
-		different.removeAll(similar);
-
-		final double s = similar.size();
-		final double d = different.size();
-		final double t = concreteFeatures.size();
-
-		return (s + (t - (s + d))) / t;
-	}
-
 }
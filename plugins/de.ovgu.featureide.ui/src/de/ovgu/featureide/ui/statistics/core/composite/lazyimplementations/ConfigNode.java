@@ -23,6 +23,8 @@ package de.ovgu.featureide.ui.statistics.core.composite.lazyimplementations;
 import static de.ovgu.featureide.fm.core.localization.StringTable.CALCULATING;
 import static de.ovgu.featureide.fm.core.localization.StringTable.MORE_THAN;
 
+import java.math.BigInteger;
+
 import de.ovgu.featureide.fm.core.analysis.cnf.formula.FeatureModelFormula;
 import de.ovgu.featureide.fm.core.configuration.Configuration;
 import de.ovgu.featureide.fm.core.configuration.ConfigurationAnalyzer;
@@ -46,15 +48,15 @@ public class ConfigNode extends Parent {
 	}
 
 	/**
-	 * calculates the number of configurations/variants depending on ignoreAbstract. This method should be called by {@link TreeClickListener}.
+	 * calculates the exact number of configurations/variants depending on ignoreAbstract. This method should be called by {@link TreeClickListener}.
 	 *
-	 * @param timeout defines how long the SAT-Solver may take to accomplish the task.
+	 * @param timeout defines how long the compilation of the feature model and, if it fails, the SAT-Solver may take together to accomplish the task.
 	 * @param priority for the job.
 	 */
 	public void calculate(final int timeout, final int priority) {
 		final LongRunningMethod<Boolean> job = new TreeJob(this) {
 
-			private String calculateConfigs() {
+			private String calculateConfigs(IMonitor<BigInteger> monitor) {
 				final boolean removeAbstract = !description.equals(DESC_CONFIGS);
 				if (removeAbstract && (innerModel.getAnalyzer().countConcreteFeatures() == 0)) {
 					// case: there is no concrete feature so there is only one program variant,
@@ -64,14 +66,21 @@ public class ConfigNode extends Parent {
 
 				final ConfigurationAnalyzer analyzer = new ConfigurationAnalyzer(innerModel, new Configuration(innerModel));
 				analyzer.setIncludeAbstractFeatures(!removeAbstract);
-				final long number = analyzer.number(timeout);
+				// the compilation and the fallback enumeration share one timeout
+				final long start = System.currentTimeMillis();
+				final BigInteger exactNumber = analyzer.exactNumber(timeout / 2, monitor);
+				if (exactNumber != null) {
+					return exactNumber.toString();
+				}
+				final long remainingTime = timeout - (System.currentTimeMillis() - start);
+				final long number = analyzer.number((int) Math.max(1, remainingTime));
 
 				return ((number < 0) ? MORE_THAN + (-number - 1) : String.valueOf(number));
 			}
 
 			@Override
 			public Boolean execute(IMonitor<Boolean> workMonitor) throws Exception {
-				setValue(calculateConfigs());
+				setValue(calculateConfigs(workMonitor.subTask(1)));
 				return true;
 			}
 
@@ -24,9 +24,7 @@ import java.io.IOException;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.jface.action.IMenuListener;
@@ -62,11 +60,12 @@ import org.eclipse.ui.part.ViewPart;
 import de.ovgu.featureide.core.CorePlugin;
 import de.ovgu.featureide.core.IFeatureProject;
 import de.ovgu.featureide.core.listeners.IConfigurationChangedListener;
+import de.ovgu.featureide.fm.core.analysis.cnf.formula.FeatureModelFormula;
 import de.ovgu.featureide.fm.core.base.event.FeatureIDEEvent;
 import de.ovgu.featureide.fm.core.base.event.FeatureIDEEvent.EventType;
 import de.ovgu.featureide.fm.core.base.event.IEventListener;
 import de.ovgu.featureide.fm.core.color.FeatureColorManager;
-import de.ovgu.featureide.fm.core.configuration.Configuration;
+import de.ovgu.featureide.fm.core.configuration.CompactConfiguration;
 import de.ovgu.featureide.fm.core.configuration.io.ConfigurationLoader;
 import de.ovgu.featureide.fm.core.configuration.io.IConfigurationLoaderCallback;
 import de.ovgu.featureide.fm.ui.editors.featuremodel.actions.colors.SetFeatureColorAction;
@@ -121,8 +120,8 @@ public class ConfigurationMap extends ViewPart implements ICustomTableHeaderSele
 	private IPartListener partListener;
 
 	private ConfigurationLoader loader;
-	private List<Configuration> configurations;
-	private Map<Configuration, Path> configPaths;
+	private List<CompactConfiguration> configurations;
+	private List<Path> configPaths;
 
 	private final List<IConfigurationMapFilter> filters = new ArrayList<>();
 	private ConfigMapFilterMenuAction filterMenu;
@@ -153,7 +152,7 @@ public class ConfigurationMap extends ViewPart implements ICustomTableHeaderSele
 			 * Create a column in the view for each configuration, that has been loaded.
 			 */
 			@Override
-			public void onConfigurationLoaded(Configuration configuration, Path path) {
+			public void onConfigurationLoaded(CompactConfiguration configuration, FeatureModelFormula featureModel, Path path) {
 				if (tableTree == null) {
 					return;
 				}
@@ -172,7 +171,7 @@ public class ConfigurationMap extends ViewPart implements ICustomTableHeaderSele
 				}
 
 				configurationColumns.add(column);
-				configPaths.put(configuration, path);
+				configPaths.add(path);
 			}
 
 			@Override
@@ -196,7 +195,7 @@ public class ConfigurationMap extends ViewPart implements ICustomTableHeaderSele
 
 		loader = new ConfigurationLoader(configLoaderCallback);
 		configurationColumns = new ArrayList<>();
-		configPaths = new HashMap<>();
+		configPaths = new ArrayList<>();
 
 		FeatureColorManager.addListener(this);
 
@@ -629,14 +628,14 @@ public class ConfigurationMap extends ViewPart implements ICustomTableHeaderSele
 		currentEditor = newEditor;
 	}
 
-	public List<Configuration> getConfigurations() {
+	public List<CompactConfiguration> getConfigurations() {
 		if (configurations == null) {
 			return configurations;
 		}
 		return Collections.unmodifiableList(configurations);
 	}
 
-	public Configuration getConfigurationOfColumn(int columnIndex) {
+	public CompactConfiguration getConfigurationOfColumn(int columnIndex) {
 		if (isConfigColumn(columnIndex)) {
 			return configurations.get(columnIndex - configColumnsOffset);
 		}
@@ -659,8 +658,7 @@ public class ConfigurationMap extends ViewPart implements ICustomTableHeaderSele
 	}
 
 	private IFile getFileOfConfiguration(int configurationIndex) {
-		final Configuration config = configurations.get(configurationIndex);
-		return featureProject.getConfigFolder().getFile(configPaths.get(config).getFileName().toString());
+		return featureProject.getConfigFolder().getFile(configPaths.get(configurationIndex).getFileName().toString());
 	}
 
 	@Override
@@ -32,9 +32,7 @@ import de.ovgu.featureide.fm.core.base.IFeature;
 import de.ovgu.featureide.fm.core.color.ColorPalette;
 import de.ovgu.featureide.fm.core.color.FeatureColor;
 import de.ovgu.featureide.fm.core.color.FeatureColorManager;
-import de.ovgu.featureide.fm.core.configuration.Configuration;
-import de.ovgu.featureide.fm.core.configuration.SelectableFeature;
-import de.ovgu.featureide.fm.core.configuration.Selection;
+import de.ovgu.featureide.fm.core.configuration.CompactConfiguration;
 import de.ovgu.featureide.fm.ui.FMUIPlugin;
 
 /**
@@ -86,12 +84,10 @@ public class ConfigurationMapLabelProvider implements ITableLabelProvider, ITabl
 		if (element instanceof IFeature) {
 			final IFeature feature = (IFeature) element;
 			if (configurationMap.isConfigColumn(columnIndex)) {// && columnIndex < configurationMap.end) {
-				final Configuration config = configurationMap.getConfigurationOfColumn(columnIndex);
+				final CompactConfiguration config = configurationMap.getConfigurationOfColumn(columnIndex);
 
 				if (!feature.getStructure().isAbstract()) {
-					final SelectableFeature selectableFeature = config.getSelectableFeature(feature);
-					return cachedImages.get(
-							((selectableFeature != null) && (selectableFeature.getSelection() == Selection.SELECTED)) ? imgSelectedPath : imgUnselectedPath);
+					return cachedImages.get(config.isSelected(feature.getName()) ? imgSelectedPath : imgUnselectedPath);
 				}
 			}
 		}
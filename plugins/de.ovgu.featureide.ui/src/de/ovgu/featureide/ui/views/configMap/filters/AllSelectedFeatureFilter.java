@@ -21,7 +21,7 @@
 package de.ovgu.featureide.ui.views.configMap.filters;
 
 import de.ovgu.featureide.fm.core.base.IFeature;
-import de.ovgu.featureide.fm.core.configuration.Configuration;
+import de.ovgu.featureide.fm.core.configuration.CompactConfiguration;
 import de.ovgu.featureide.ui.views.configMap.ConfigurationMap;
 import de.ovgu.featureide.ui.views.configMap.ConfigurationMapFilter;
 
@@ -48,8 +48,8 @@ public class AllSelectedFeatureFilter extends ConfigurationMapFilter {
 			return false;
 		}
 		boolean addFeature = true;
-		for (final Configuration iConf : configurationMap.getConfigurations()) {
-			if (!iConf.getSelectedFeatures().contains(feature)) {
+		for (final CompactConfiguration iConf : configurationMap.getConfigurations()) {
+			if (!iConf.isSelected(feature.getName())) {
 				addFeature = false;
 			}
 		}
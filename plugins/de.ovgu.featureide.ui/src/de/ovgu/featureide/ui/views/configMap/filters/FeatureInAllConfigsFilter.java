@@ -23,9 +23,7 @@ package de.ovgu.featureide.ui.views.configMap.filters;
 import java.util.List;
 
 import de.ovgu.featureide.fm.core.base.IFeature;
-import de.ovgu.featureide.fm.core.configuration.Configuration;
-import de.ovgu.featureide.fm.core.configuration.SelectableFeature;
-import de.ovgu.featureide.fm.core.configuration.Selection;
+import de.ovgu.featureide.fm.core.configuration.CompactConfiguration;
 import de.ovgu.featureide.ui.views.configMap.ConfigurationMap;
 import de.ovgu.featureide.ui.views.configMap.ConfigurationMapFilter;
 
@@ -41,11 +39,10 @@ public class FeatureInAllConfigsFilter extends ConfigurationMapFilter {
 
 	@Override
 	public boolean test(ConfigurationMap configurationMap, IFeature feature) {
-		final List<Configuration> configs = configurationMap.getConfigurations();
+		final List<CompactConfiguration> configs = configurationMap.getConfigurations();
 
-		for (final Configuration config : configs) {
-			final SelectableFeature selectableFeature = config.getSelectableFeature(feature);
-			if ((selectableFeature == null) || (selectableFeature.getSelection() != Selection.SELECTED)) {
+		for (final CompactConfiguration config : configs) {
+			if (!config.isSelected(feature.getName())) {
 				return false;
 			}
 		}
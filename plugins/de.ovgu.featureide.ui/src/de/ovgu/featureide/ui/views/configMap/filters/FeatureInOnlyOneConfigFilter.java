@@ -23,9 +23,7 @@ package de.ovgu.featureide.ui.views.configMap.filters;
 import java.util.List;
 
 import de.ovgu.featureide.fm.core.base.IFeature;
-import de.ovgu.featureide.fm.core.configuration.Configuration;
-import de.ovgu.featureide.fm.core.configuration.SelectableFeature;
-import de.ovgu.featureide.fm.core.configuration.Selection;
+import de.ovgu.featureide.fm.core.configuration.CompactConfiguration;
 import de.ovgu.featureide.ui.views.configMap.ConfigurationMap;
 import de.ovgu.featureide.ui.views.configMap.ConfigurationMapFilter;
 
@@ -46,13 +44,12 @@ public class FeatureInOnlyOneConfigFilter extends ConfigurationMapFilter {
 	 */
 	@Override
 	public boolean test(ConfigurationMap configurationMap, IFeature feature) {
-		final List<Configuration> configs = configurationMap.getConfigurations();
+		final List<CompactConfiguration> configs = configurationMap.getConfigurations();
 
 		boolean isInConfig = false;
 
-		for (final Configuration config : configs) {
-			final SelectableFeature selectableFeature = config.getSelectableFeature(feature);
-			if ((selectableFeature != null) && (selectableFeature.getSelection() == Selection.SELECTED)) {
+		for (final CompactConfiguration config : configs) {
+			if (config.isSelected(feature.getName())) {
 				if (isInConfig) {
 					return false;
 				} else {
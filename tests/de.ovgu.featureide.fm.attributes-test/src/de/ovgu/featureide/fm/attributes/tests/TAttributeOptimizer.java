@@ -0,0 +1,226 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.attributes.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.prop4j.And;
+import org.prop4j.Literal;
+import org.prop4j.Not;
+
+import de.ovgu.featureide.fm.attributes.FMAttributesLibrary;
+import de.ovgu.featureide.fm.attributes.base.IFeatureAttribute;
+import de.ovgu.featureide.fm.attributes.base.impl.ExtendedFeature;
+import de.ovgu.featureide.fm.attributes.base.impl.ExtendedFeatureModel;
+import de.ovgu.featureide.fm.attributes.computations.impl.AttributeOptimizer;
+import de.ovgu.featureide.fm.attributes.computations.impl.AttributeOptimizer.Result;
+import de.ovgu.featureide.fm.attributes.computations.impl.AttributeOptimizerCreator;
+import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
+import de.ovgu.featureide.fm.core.analysis.cnf.formula.FeatureModelFormula;
+import de.ovgu.featureide.fm.core.base.IFeature;
+import de.ovgu.featureide.fm.core.base.impl.FMFactoryManager;
+import de.ovgu.featureide.fm.core.configuration.Configuration;
+import de.ovgu.featureide.fm.core.configuration.SelectableFeature;
+import de.ovgu.featureide.fm.core.configuration.Selection;
+import de.ovgu.featureide.fm.core.init.FMCoreLibrary;
+import de.ovgu.featureide.fm.core.init.LibraryManager;
+
+/**
+ * Tests the exact attribute optimization of {@link AttributeOptimizer} against an enumeration of all valid configurations.
+ *
+ * @author agent
+ */
+public class TAttributeOptimizer {
+
+	private static final String PRICE = "Price";
+	private static final double DELTA = 0.000001;
+
+	@Before
+	public void prepareWorkbench() {
+		LibraryManager.registerLibrary(FMCoreLibrary.getInstance());
+		LibraryManager.registerLibrary(FMAttributesLibrary.getInstance());
+	}
+
+	@Test
+	public void testWithoutConstraints() {
+		final ExtendedFeatureModel model = Commons.getSandwitchModel();
+		final Configuration configuration = new Configuration(new FeatureModelFormula(model));
+		select(configuration, "Full Grain ", Selection.SELECTED);
+
+		final AttributeOptimizer optimizer = configuration.getFeatureModelFormula().getElement(new AttributeOptimizerCreator(PRICE));
+		final Result maximum = optimizer.getMaximum(configuration);
+		final Result minimum = optimizer.getMinimum(configuration);
+		assertTrue(maximum.isOptimal());
+		assertTrue(minimum.isOptimal());
+		assertEquals(8.7, maximum.getValue(), DELTA);
+		assertEquals(1.99, minimum.getValue(), DELTA);
+		checkWitness(model, maximum);
+		checkWitness(model, minimum);
+		assertTrue(maximum.getWitness().getSelectedFeatureNames().contains("Full Grain "));
+		assertTrue(minimum.getWitness().getSelectedFeatureNames().contains("Full Grain "));
+
+		assertSame(optimizer, configuration.getFeatureModelFormula().getElement(new AttributeOptimizerCreator(PRICE)));
+	}
+
+	@Test
+	public void testCrossTreeConstraint() {
+		final ExtendedFeatureModel model = Commons.getSandwitchModel();
+		model.addConstraint(FMFactoryManager.getInstance().getFactory(model).createConstraint(model,
+				new Not(new And(new Literal("Salami "), new Literal("Chicken Breast")))));
+		final FeatureModelFormula formula = new FeatureModelFormula(model);
+		final Configuration configuration = new Configuration(formula);
+		final AttributeOptimizer optimizer = formula.getElement(new AttributeOptimizerCreator(PRICE));
+
+		checkOptimum(model, formula, optimizer, configuration);
+		final Result maximum = optimizer.getMaximum(configuration);
+		assertFalse(maximum.getWitness().getSelectedFeatureNames().contains("Salami ")
+			&& maximum.getWitness().getSelectedFeatureNames().contains("Chicken Breast"));
+
+		select(configuration, "Toast", Selection.SELECTED);
+		checkOptimum(model, formula, optimizer, configuration);
+		select(configuration, "Salami ", Selection.SELECTED);
+		checkOptimum(model, formula, optimizer, configuration);
+		select(configuration, "Cheddar", Selection.UNSELECTED);
+		checkOptimum(model, formula, optimizer, configuration);
+		select(configuration, "Salami ", Selection.UNDEFINED);
+		checkOptimum(model, formula, optimizer, configuration);
+	}
+
+	@Test
+	public void testChangedValue() {
+		final ExtendedFeatureModel model = Commons.getSandwitchModel();
+		final FeatureModelFormula formula = new FeatureModelFormula(model);
+		final Configuration configuration = new Configuration(formula);
+		final AttributeOptimizer optimizer = formula.getElement(new AttributeOptimizerCreator(PRICE));
+		checkOptimum(model, formula, optimizer, configuration);
+
+		getAttribute(model.getFeature("Ham")).setValue(5.25);
+		checkOptimum(model, formula, optimizer, configuration);
+		assertTrue(optimizer.getMaximum(configuration).getWitness().getSelectedFeatureNames().contains("Ham"));
+	}
+
+	@Test
+	public void testOverflow() {
+		final ExtendedFeatureModel model = Commons.getSandwitchModel();
+		final FeatureModelFormula formula = new FeatureModelFormula(model);
+		final Configuration configuration = new Configuration(formula);
+		final AttributeOptimizer optimizer = formula.getElement(new AttributeOptimizerCreator(PRICE));
+
+		getAttribute(model.getFeature("Ham")).setValue(1e30);
+		assertNull(optimizer.getMaximum(configuration));
+		assertNull(optimizer.getMinimum(configuration));
+
+		getAttribute(model.getFeature("Ham")).setValue(5.25);
+		checkOptimum(model, formula, optimizer, configuration);
+	}
+
+	private static void select(Configuration configuration, String name, Selection selection) {
+		final SelectableFeature feature = configuration.getSelectableFeature(name);
+		assertNotNull(feature);
+		configuration.setManual(feature, selection);
+	}
+
+	private static IFeatureAttribute getAttribute(IFeature feature) {
+		for (final IFeatureAttribute attribute : ((ExtendedFeature) feature).getAttributes()) {
+			if (attribute.getName().equals(PRICE)) {
+				return attribute;
+			}
+		}
+		return null;
+	}
+
+	private static double getPrice(ExtendedFeatureModel model, Iterable<String> selectedFeatures) {
+		double sum = 0;
+		for (final String name : selectedFeatures) {
+			final IFeatureAttribute attribute = getAttribute(model.getFeature(name));
+			if ((attribute != null) && (attribute.getValue() != null)) {
+				sum += (Double) attribute.getValue();
+			}
+		}
+		return sum;
+	}
+
+	private static void checkWitness(ExtendedFeatureModel model, Result result) {
+		assertNotNull(result.getWitness());
+		assertEquals(result.getValue(), getPrice(model, result.getWitness().getSelectedFeatureNames()), DELTA);
+	}
+
+	private static void checkOptimum(ExtendedFeatureModel model, FeatureModelFormula formula, AttributeOptimizer optimizer, Configuration configuration) {
+		final CNF cnf = formula.getCNF();
+		final int size = cnf.getVariables().size();
+		final int[] assumptions = new int[size];
+		for (final IFeature feature : configuration.getSelectedFeatures()) {
+			final int variable = cnf.getVariables().getVariable(feature.getName());
+			assumptions[variable - 1] = variable;
+		}
+		for (final IFeature feature : configuration.getUnSelectedFeatures()) {
+			final int variable = cnf.getVariables().getVariable(feature.getName());
+			assumptions[variable - 1] = -variable;
+		}
+
+		double expectedMinimum = Double.POSITIVE_INFINITY;
+		double expectedMaximum = Double.NEGATIVE_INFINITY;
+		final int[] literals = new int[size];
+		configurations: for (long assignment = 0; assignment < (1L << size); assignment++) {
+			final List<String> selectedFeatures = new ArrayList<>();
+			for (int i = 0; i < size; i++) {
+				final boolean selected = ((assignment >> i) & 1) != 0;
+				literals[i] = selected ? (i + 1) : -(i + 1);
+				if ((assumptions[i] != 0) && (assumptions[i] != literals[i])) {
+					continue configurations;
+				}
+				if (selected) {
+					selectedFeatures.add(cnf.getVariables().getName(i + 1));
+				}
+			}
+			final LiteralSet solution = new LiteralSet(literals);
+			for (final LiteralSet clause : cnf.getClauses()) {
+				if (!clause.hasDuplicates(solution)) {
+					continue configurations;
+				}
+			}
+			final double price = getPrice(model, selectedFeatures);
+			expectedMinimum = Math.min(expectedMinimum, price);
+			expectedMaximum = Math.max(expectedMaximum, price);
+		}
+
+		final Result maximum = optimizer.getMaximum(configuration);
+		final Result minimum = optimizer.getMinimum(configuration);
+		assertTrue(maximum.isOptimal());
+		assertTrue(minimum.isOptimal());
+		assertEquals(expectedMaximum, maximum.getValue(), DELTA);
+		assertEquals(expectedMinimum, minimum.getValue(), DELTA);
+		checkWitness(model, maximum);
+		checkWitness(model, minimum);
+	}
+
+}
@@ -0,0 +1,141 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.analysis;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map.Entry;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import de.ovgu.featureide.Commons;
+import de.ovgu.featureide.fm.core.FeatureModelAnalyzer;
+import de.ovgu.featureide.fm.core.analysis.AnalysisResultCache.KeyBuilder;
+import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet.Order;
+import de.ovgu.featureide.fm.core.analysis.cnf.Variables;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.io.AnalysisResultCacheFormat;
+import de.ovgu.featureide.fm.core.io.manager.FeatureModelManager;
+
+/**
+ * Tests for {@link AnalysisResultCache}.
+ *
+ * @author agent
+ */
+public class TAnalysisResultCache {
+
+	private static Path modelFile;
+
+	@BeforeClass
+	public static void setUp() throws IOException {
+		final Path folder = Files.createTempDirectory("analysisCache");
+		modelFile = folder.resolve("model.xml");
+		Files.copy(Commons.getRemoteOrLocalFolder("analyzefeaturemodels/").toPath().resolve("test_4.xml"), modelFile,
+				StandardCopyOption.REPLACE_EXISTING);
+		AnalysisResultCache.setEnabled(true);
+	}
+
+	@AfterClass
+	public static void tearDown() {
+		AnalysisResultCache.setEnabled(false);
+	}
+
+	@Test
+	public void cnfKeyIsCanonical() {
+		final Variables variables = new Variables(Arrays.asList("A", "B", "C"));
+		final CNF cnf1 = new CNF(variables, Arrays.asList(new LiteralSet(1, -2), new LiteralSet(2, 3)));
+		final CNF cnf2 = new CNF(variables, Arrays.asList(new LiteralSet(new int[] { 3, 2 }, Order.UNORDERED, false), new LiteralSet(-2, 1)));
+		final CNF cnf3 = new CNF(variables, Arrays.asList(new LiteralSet(1, -2), new LiteralSet(2, -3)));
+
+		assertEquals(new KeyBuilder("a").add(cnf1).build(), new KeyBuilder("a").add(cnf2).build());
+		assertFalse(new KeyBuilder("a").add(cnf1).build().equals(new KeyBuilder("a").add(cnf3).build()));
+		assertFalse(new KeyBuilder("a").add(cnf1).build().equals(new KeyBuilder("b").add(cnf1).build()));
+	}
+
+	@Test
+	public void formatRoundTrip() {
+		final AnalysisResultCache cache = new AnalysisResultCache();
+		cache.add("k1", Boolean.TRUE);
+		cache.add("k2", new LiteralSet(new int[] { 3, -1, 2 }, Order.UNORDERED, false));
+		cache.add("k3", Arrays.asList(new LiteralSet(1, 2), null, new LiteralSet()));
+		cache.add("k4", Arrays.asList());
+
+		final AnalysisResultCacheFormat format = new AnalysisResultCacheFormat();
+		final AnalysisResultCache readCache = new AnalysisResultCache();
+		assertFalse(format.read(readCache, format.write(cache)).containsError());
+		assertEntriesEqual(cache.getEntries(), readCache.getEntries());
+
+		final LiteralSet literalSet = (LiteralSet) readCache.get("k2");
+		assertEquals(Order.UNORDERED, literalSet.getOrder());
+		assertTrue(Arrays.equals(new int[] { 3, -1, 2 }, literalSet.getLiterals()));
+	}
+
+	@Test
+	public void reuseResults() {
+		final IFeatureModel featureModel = FeatureModelManager.load(modelFile);
+		assertNotNull(featureModel);
+		featureModel.setSourceFile(modelFile);
+
+		final FeatureModelAnalyzer analyzer1 = new FeatureModelAnalyzer(featureModel);
+		final FeatureModelAnalyzer analyzer2 = new FeatureModelAnalyzer(featureModel);
+		assertEquals(analyzer1.getCoreFeatures(null), analyzer2.getCoreFeatures(null));
+		assertEquals(analyzer1.getDeadFeatures(null), analyzer2.getDeadFeatures(null));
+		assertEquals(analyzer1.getAtomicSets(null), analyzer2.getAtomicSets(null));
+		assertEquals(analyzer1.getFalseOptionalFeatures(null), analyzer2.getFalseOptionalFeatures(null));
+		assertEquals(analyzer1.getRedundantConstraints(null), analyzer2.getRedundantConstraints(null));
+
+		final AnalysisResultCache cache = AnalysisResultCache.getInstance(modelFile);
+		assertNotNull(cache);
+		assertTrue(Files.exists(cache.getPath()));
+		assertFalse(cache.getEntries().isEmpty());
+
+		final AnalysisResultCacheFormat format = new AnalysisResultCacheFormat();
+		final AnalysisResultCache readCache = new AnalysisResultCache();
+		try {
+			assertFalse(format.read(readCache, new String(Files.readAllBytes(cache.getPath()), "UTF-8")).containsError());
+		} catch (final IOException e) {
+			throw new AssertionError(e);
+		}
+		assertEntriesEqual(cache.getEntries(), readCache.getEntries());
+	}
+
+	private static void assertEntriesEqual(List<Entry<String, Object>> expected, List<Entry<String, Object>> actual) {
+		assertEquals(expected.size(), actual.size());
+		for (int i = 0; i < expected.size(); i++) {
+			assertEquals(expected.get(i).getKey(), actual.get(i).getKey());
+			assertEquals(expected.get(i).getValue(), actual.get(i).getValue());
+		}
+	}
+
+}
@@ -0,0 +1,140 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.analysis.cnf.analysis;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+
+import de.ovgu.featureide.Commons;
+import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
+import de.ovgu.featureide.fm.core.analysis.cnf.formula.FeatureModelFormula;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.constraint.analysis.DeRestrictionFactory;
+import de.ovgu.featureide.fm.core.constraint.analysis.PBSolver;
+import de.ovgu.featureide.fm.core.constraint.analysis.SAT4JPBSolver;
+import de.ovgu.featureide.fm.core.constraint.analysis.Translator;
+import de.ovgu.featureide.fm.core.constraint.analysis.UniqueId;
+import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
+
+/**
+ * Tests {@link BackboneAnalysis} by comparing its results to {@link CoreDeadAnalysis} and the backbone of {@link SAT4JPBSolver} by comparing its
+ * results to testing both assignments of each variable.
+ *
+ * @author agent
+ */
+public class TBackboneAnalysis {
+
+	private static final String[] TEST_MODELS = { "basic.xml", "car.xml", "simple.xml", "gpl_medium_model.xml", "false_optional_test.xml",
+		"berkeley_db_model.xml", "apl_model.xml" };
+
+	private static final String[] BENCHMARK_MODELS = { "10-100.xml", "100-100.xml", "200-100-hidden.xml", "500-101.xml" };
+
+	@Test
+	public void testTestModels() {
+		for (final String modelName : TEST_MODELS) {
+			compare(modelName, Commons.loadTestFeatureModelFromFile(modelName));
+		}
+	}
+
+	@Test
+	public void testBenchmarkModels() {
+		for (final String modelName : BENCHMARK_MODELS) {
+			compare(modelName, Commons.loadBenchmarkFeatureModelFromFile(modelName));
+		}
+	}
+
+	@Test
+	public void testChunkSizes() {
+		final CNF cnf = new FeatureModelFormula(Commons.loadBenchmarkFeatureModelFromFile("500-101.xml")).getCNF();
+		final LiteralSet expected = LongRunningWrapper.runMethod(new CoreDeadAnalysis(cnf));
+		for (final int chunkSize : new int[] { 1, 2, 7, 1000 }) {
+			final BackboneAnalysis analysis = new BackboneAnalysis(cnf);
+			analysis.setChunkSize(chunkSize);
+			assertEquals(Integer.toString(chunkSize), expected, LongRunningWrapper.runMethod(analysis));
+		}
+	}
+
+	@Test
+	public void testCores() {
+		for (final String modelName : TEST_MODELS) {
+			final CNF cnf = new FeatureModelFormula(Commons.loadTestFeatureModelFromFile(modelName)).getCNF();
+			final BackboneAnalysis analysis = new BackboneAnalysis(cnf);
+			analysis.setUseCores(true);
+			assertEquals(modelName, LongRunningWrapper.runMethod(new CoreDeadAnalysis(cnf)), LongRunningWrapper.runMethod(analysis));
+		}
+	}
+
+	@Test
+	public void testAssumptions() {
+		final CNF cnf = new FeatureModelFormula(Commons.loadBenchmarkFeatureModelFromFile("500-101.xml")).getCNF();
+		for (int variable = 1; variable <= cnf.getVariables().size(); variable += 50) {
+			final LiteralSet assumptions = new LiteralSet(variable);
+
+			final CoreDeadAnalysis coreDead = new CoreDeadAnalysis(cnf);
+			coreDead.setAssumptions(assumptions);
+			final BackboneAnalysis backbone = new BackboneAnalysis(cnf);
+			backbone.setAssumptions(assumptions);
+			assertEquals(Integer.toString(variable), LongRunningWrapper.runMethod(coreDead), LongRunningWrapper.runMethod(backbone));
+		}
+	}
+
+	@Test
+	public void testFewerSolverCalls() {
+		final CNF cnf = new FeatureModelFormula(Commons.loadBenchmarkFeatureModelFromFile("500-101.xml")).getCNF();
+		final BackboneAnalysis analysis = new BackboneAnalysis(cnf);
+		LongRunningWrapper.runMethod(analysis);
+		assertTrue(Integer.toString(analysis.getNumberOfSolverCalls()), analysis.getNumberOfSolverCalls() < cnf.getVariables().size());
+	}
+
+	private void compare(String modelName, IFeatureModel featureModel) {
+		final CNF cnf = new FeatureModelFormula(featureModel).getCNF();
+		assertEquals(modelName, LongRunningWrapper.runMethod(new CoreDeadAnalysis(cnf)), LongRunningWrapper.runMethod(new BackboneAnalysis(cnf)));
+
+		final HashMap<String, Integer> map = Translator.buildFeatureNameMap(featureModel, new UniqueId());
+		final PBSolver solver = new SAT4JPBSolver();
+		solver.addRestrictions(Translator.translateFm(map, featureModel, new DeRestrictionFactory()));
+		final Set<Integer> variables = new HashSet<>(map.values());
+		assertEquals(modelName, getNaiveBackbone(solver, variables), solver.backbone(variables));
+	}
+
+	/**
+	 * Tests both assignments of each variable.
+	 */
+	private Set<Integer> getNaiveBackbone(PBSolver solver, Set<Integer> variables) {
+		final Set<Integer> backbone = new HashSet<>();
+		for (final Integer variable : variables) {
+			if (!solver.isSatisfiable(new int[] { variable })) {
+				backbone.add(-variable);
+			} else if (!solver.isSatisfiable(new int[] { -variable })) {
+				backbone.add(variable);
+			}
+		}
+		return backbone;
+	}
+
+}
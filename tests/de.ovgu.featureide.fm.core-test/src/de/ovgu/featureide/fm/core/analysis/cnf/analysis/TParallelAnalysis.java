@@ -0,0 +1,124 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.analysis.cnf.analysis;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import de.ovgu.featureide.Commons;
+import de.ovgu.featureide.fm.core.AnalysesCollection;
+import de.ovgu.featureide.fm.core.FeatureModelAnalyzer;
+import de.ovgu.featureide.fm.core.analysis.FeatureProperties.FeatureStatus;
+import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
+import de.ovgu.featureide.fm.core.analysis.cnf.formula.FeatureModelFormula;
+import de.ovgu.featureide.fm.core.base.IFeature;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
+
+/**
+ * Tests the parallel mode of {@link CoreDeadAnalysis}, {@link AtomicSetAnalysis}, and {@link FeatureModelAnalyzer} by comparing its results to the
+ * sequential mode.
+ *
+ * @author agent
+ */
+public class TParallelAnalysis {
+
+	private static final String[] TEST_MODELS = { "basic.xml", "car.xml", "simple.xml", "gpl_medium_model.xml", "false_optional_test.xml",
+		"berkeley_db_model.xml", "apl_model.xml" };
+
+	private static final String[] BENCHMARK_MODELS = { "10-100.xml", "100-100.xml", "200-100-hidden.xml", "500-101.xml" };
+
+	private static final int PARALLELISM = 4;
+
+	@Test
+	public void testTestModels() {
+		for (final String modelName : TEST_MODELS) {
+			compare(modelName, Commons.loadTestFeatureModelFromFile(modelName));
+		}
+	}
+
+	@Test
+	public void testBenchmarkModels() {
+		for (final String modelName : BENCHMARK_MODELS) {
+			compare(modelName, Commons.loadBenchmarkFeatureModelFromFile(modelName));
+		}
+	}
+
+	@Test
+	public void testAssumptions() {
+		final CNF cnf = new FeatureModelFormula(Commons.loadBenchmarkFeatureModelFromFile("500-101.xml")).getCNF();
+		for (int variable = 1; variable <= cnf.getVariables().size(); variable += 50) {
+			final LiteralSet assumptions = new LiteralSet(variable);
+
+			final CoreDeadAnalysis sequential = new CoreDeadAnalysis(cnf);
+			sequential.setAssumptions(assumptions);
+			final CoreDeadAnalysis parallel = new CoreDeadAnalysis(cnf);
+			parallel.setParallelism(PARALLELISM);
+			parallel.setAssumptions(assumptions);
+			assertEquals(Integer.toString(variable), LongRunningWrapper.runMethod(sequential), LongRunningWrapper.runMethod(parallel));
+		}
+	}
+
+	@Test
+	public void testFeatureModelAnalyzer() {
+		assertEquals(AnalysesCollection.getDefaultParallelism(),
+				new FeatureModelFormula(Commons.loadTestFeatureModelFromFile("car.xml")).getAnalyzer().getAnalysesCollection().getParallelism());
+
+		for (final String modelName : TEST_MODELS) {
+			final IFeatureModel featureModel = Commons.loadTestFeatureModelFromFile(modelName);
+			final AnalysesCollection sequential = analyze(featureModel, 1);
+			final AnalysesCollection parallel = analyze(featureModel, PARALLELISM);
+			for (final IFeature feature : featureModel.getFeatures()) {
+				for (final FeatureStatus status : FeatureStatus.values()) {
+					assertEquals(modelName + ": " + feature.getName() + " " + status, sequential.getFeatureProperty(feature).hasStatus(status),
+							parallel.getFeatureProperty(feature).hasStatus(status));
+				}
+			}
+		}
+	}
+
+	private AnalysesCollection analyze(IFeatureModel featureModel, int parallelism) {
+		final FeatureModelAnalyzer analyzer = new FeatureModelFormula(featureModel).getAnalyzer();
+		analyzer.getAnalysesCollection().setParallelism(parallelism);
+		return analyzer.analyzeFeatureModel(null);
+	}
+
+	private void compare(String modelName, IFeatureModel featureModel) {
+		final CNF cnf = new FeatureModelFormula(featureModel).getCNF();
+
+		final CoreDeadAnalysis sequentialCoreDead = new CoreDeadAnalysis(cnf);
+		final CoreDeadAnalysis parallelCoreDead = new CoreDeadAnalysis(cnf);
+		parallelCoreDead.setParallelism(PARALLELISM);
+		final LiteralSet expectedCoreDead = LongRunningWrapper.runMethod(sequentialCoreDead);
+		assertEquals(modelName, expectedCoreDead, LongRunningWrapper.runMethod(parallelCoreDead));
+
+		final AtomicSetAnalysis sequentialAtomicSets = new AtomicSetAnalysis(cnf);
+		final AtomicSetAnalysis parallelAtomicSets = new AtomicSetAnalysis(cnf);
+		parallelAtomicSets.setParallelism(PARALLELISM);
+		final List<LiteralSet> expectedAtomicSets = LongRunningWrapper.runMethod(sequentialAtomicSets);
+		assertEquals(modelName, expectedAtomicSets, LongRunningWrapper.runMethod(parallelAtomicSets));
+	}
+
+}
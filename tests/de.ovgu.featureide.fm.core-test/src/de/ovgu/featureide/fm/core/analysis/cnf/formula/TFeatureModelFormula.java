@@ -0,0 +1,129 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.analysis.cnf.formula;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.prop4j.Implies;
+import org.prop4j.Literal;
+import org.prop4j.Not;
+
+import de.ovgu.featureide.Commons;
+import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
+import de.ovgu.featureide.fm.core.base.IConstraint;
+import de.ovgu.featureide.fm.core.base.IFeature;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.base.impl.FMFactoryManager;
+import de.ovgu.featureide.fm.core.io.manager.FeatureModelManager;
+
+/**
+ * Tests the reuse of elements in {@link FeatureModelFormula}.
+ *
+ * @author agent
+ */
+public class TFeatureModelFormula {
+
+	private static final IFeatureModel featureModel =
+		FeatureModelManager.load(Commons.getRemoteOrLocalFolder("analyzefeaturemodels/").toPath().resolve("test_4.xml"));
+
+	@Test
+	public void reuseUnchangedFormula() {
+		final FeatureModelFormula formula1 = new FeatureModelFormula(featureModel);
+		final CNF cnf1 = formula1.getCNF();
+		final Object mig1 = formula1.getElement(new ModalImplicationGraphCreator());
+
+		final FeatureModelFormula formula2 = new FeatureModelFormula(featureModel.clone(), formula1);
+		assertSame(cnf1, formula2.getCNF());
+		assertSame(mig1, formula2.getElement(new ModalImplicationGraphCreator()));
+	}
+
+	@Test
+	public void rebuildChangedFormula() {
+		final FeatureModelFormula formula1 = new FeatureModelFormula(featureModel);
+		final CNF cnf1 = formula1.getCNF();
+
+		final IFeatureModel changedFeatureModel = featureModel.clone();
+		changedFeatureModel.removeConstraint(0);
+		final FeatureModelFormula formula2 = new FeatureModelFormula(changedFeatureModel, formula1);
+		assertNotSame(cnf1, formula2.getCNF());
+	}
+
+	@Test
+	public void noReuseOfMissingElements() {
+		final FeatureModelFormula formula1 = new FeatureModelFormula(featureModel);
+		final FeatureModelFormula formula2 = new FeatureModelFormula(featureModel.clone(), formula1);
+		formula2.getCNF();
+		assertNotSame(formula1.getCNF(), formula2.getCNF());
+	}
+
+	@Test
+	public void incrementalConstraintChanges() {
+		final FeatureModelFormula formula1 = new FeatureModelFormula(featureModel);
+		final CNF cnf1 = formula1.getCNF();
+
+		final IFeatureModel changedFeatureModel = featureModel.clone();
+		final IConstraint removedConstraint = changedFeatureModel.getConstraints().get(0);
+		changedFeatureModel.removeConstraint(removedConstraint);
+		final List<IFeature> features = new ArrayList<>(changedFeatureModel.getFeatures());
+		changedFeatureModel.addConstraint(FMFactoryManager.getInstance().getFactory(changedFeatureModel).createConstraint(changedFeatureModel,
+				new Implies(new Literal(features.get(1).getName()), new Not(new Literal(features.get(2).getName())))));
+		final FeatureModelFormula formula2 = new FeatureModelFormula(changedFeatureModel, formula1);
+		final CNF cnf2 = formula2.getCNF();
+
+		final CNF expectedCNF = new FeatureModelFormula(changedFeatureModel).getCNF();
+		assertEquals(expectedCNF.getVariables(), cnf2.getVariables());
+		assertEquals(expectedCNF.getClauses(), cnf2.getClauses());
+		assertEquals(new FeatureModelFormula(changedFeatureModel).getCNFNode(), formula2.getCNFNode());
+
+		final LiteralSet lastReusedClause = cnf2.getClauses().get(cnf2.getClauses().size() - 2);
+		boolean reused = false;
+		for (final LiteralSet clause : cnf1.getClauses()) {
+			reused |= clause == lastReusedClause;
+		}
+		assertTrue(reused);
+	}
+
+	@Test
+	public void incrementalFeatureChanges() {
+		final FeatureModelFormula formula1 = new FeatureModelFormula(featureModel);
+		formula1.getCNF();
+
+		final IFeatureModel changedFeatureModel = featureModel.clone();
+		final IFeature root = changedFeatureModel.getStructure().getRoot().getFeature();
+		final IFeature newFeature = FMFactoryManager.getInstance().getFactory(changedFeatureModel).createFeature(changedFeatureModel, "NewFeature");
+		changedFeatureModel.addFeature(newFeature);
+		root.getStructure().addChild(newFeature.getStructure());
+		final FeatureModelFormula formula2 = new FeatureModelFormula(changedFeatureModel, formula1);
+
+		final CNF expectedCNF = new FeatureModelFormula(changedFeatureModel).getCNF();
+		assertEquals(expectedCNF.getVariables(), formula2.getCNF().getVariables());
+		assertEquals(expectedCNF.getClauses(), formula2.getCNF().getClauses());
+	}
+
+}
@@ -0,0 +1,182 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.analysis.cnf.formula;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.prop4j.And;
+import org.prop4j.Equals;
+import org.prop4j.Literal;
+import org.prop4j.Node;
+import org.prop4j.Not;
+import org.prop4j.Or;
+
+import de.ovgu.featureide.Commons;
+import de.ovgu.featureide.fm.core.analysis.cnf.AuxiliaryVariables;
+import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
+import de.ovgu.featureide.fm.core.analysis.cnf.SolutionList;
+import de.ovgu.featureide.fm.core.analysis.cnf.analysis.CoreDeadAnalysis;
+import de.ovgu.featureide.fm.core.analysis.cnf.analysis.CountSolutionsAnalysis;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.ISimpleSatSolver.SatResult;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.SimpleSatSolver;
+import de.ovgu.featureide.fm.core.base.IFeature;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.base.IFeatureModelFactory;
+import de.ovgu.featureide.fm.core.base.impl.DefaultFeatureModelFactory;
+import de.ovgu.featureide.fm.core.io.manager.FeatureModelManager;
+import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
+
+/**
+ * Tests the {@link TseitinCNFCreator}.
+ *
+ * @author agent
+ */
+public class TTseitinCNFCreator {
+
+	/**
+	 * Encodes all constraints with auxiliary variables.
+	 */
+	private static class FullTseitinCNFCreator extends TseitinCNFCreator {
+
+		public FullTseitinCNFCreator() {
+			super(0, false);
+		}
+
+	}
+
+	/**
+	 * Encodes all constraints with auxiliary variables, which are only defined in one direction.
+	 */
+	private static class PlaistedGreenbaumCNFCreator extends TseitinCNFCreator {
+
+		public PlaistedGreenbaumCNFCreator() {
+			super(0, true);
+		}
+
+	}
+
+	private static final int NUMBER_OF_TERMS = 20;
+
+	@Test
+	public void sameCoreDeadFeatures() {
+		for (final String modelName : new String[] { "test_1.xml", "test_4.xml", "test_7.xml" }) {
+			final FeatureModelFormula formula = loadFormula(modelName);
+			final LiteralSet expected = LongRunningWrapper.runMethod(new CoreDeadAnalysis(formula.getCNF()));
+			for (final ACreator<CNF> creator : getCreators()) {
+				final CNF cnf = formula.getElement(creator);
+				final LiteralSet coreDead = LongRunningWrapper.runMethod(new CoreDeadAnalysis(cnf));
+				assertEquals(modelName, expected, ((AuxiliaryVariables) cnf.getVariables()).removeAuxiliaryVariables(coreDead));
+			}
+		}
+	}
+
+	@Test
+	public void sameNumberOfSolutions() {
+		final FeatureModelFormula formula = createModelWithComplexConstraints(4);
+		final long expected = LongRunningWrapper.runMethod(new CountSolutionsAnalysis(formula.getCNF()));
+		assertEquals(expected, (long) LongRunningWrapper.runMethod(new CountSolutionsAnalysis(formula.getElement(new TseitinCNFCreator()))));
+		assertEquals(expected, (long) LongRunningWrapper.runMethod(new CountSolutionsAnalysis(formula.getElement(new FullTseitinCNFCreator()))));
+	}
+
+	@Test
+	public void avoidExponentialGrowth() {
+		final FeatureModelFormula formula = createModelWithComplexConstraints(NUMBER_OF_TERMS);
+		final CNF cnf = formula.getElement(new TseitinCNFCreator());
+		final AuxiliaryVariables variables = (AuxiliaryVariables) cnf.getVariables();
+
+		assertEquals(formula.getFeatureModel().getNumberOfFeatures(), variables.getNumberOfOriginalVariables());
+		// one auxiliary variable for each term, one for their disjunction (shared by both constraints), and one for the equivalence
+		assertEquals(NUMBER_OF_TERMS + 2, variables.getNumberOfAuxiliaryVariables());
+		assertTrue(cnf.getClauses().size() < (10 * NUMBER_OF_TERMS));
+
+		final SimpleSatSolver solver = new SimpleSatSolver(cnf);
+		assertEquals(SatResult.TRUE, solver.hasSolution(variables.getVariable("A0"), variables.getVariable("B0"), -variables.getVariable("Switch")));
+		assertEquals(SatResult.FALSE, solver.hasSolution(variables.getVariable("Switch"), variables.getVariable("A0"), variables.getVariable("B0")));
+	}
+
+	@Test
+	public void hideAuxiliaryVariables() {
+		final FeatureModelFormula formula = createModelWithComplexConstraints(2);
+		final CNF cnf = formula.getElement(new FullTseitinCNFCreator());
+		final AuxiliaryVariables variables = (AuxiliaryVariables) cnf.getVariables();
+		final int firstAuxiliaryVariable = variables.getNumberOfOriginalVariables() + 1;
+		assertTrue(variables.isAuxiliary(firstAuxiliaryVariable));
+		assertEquals(0, variables.getVariable(variables.getName(firstAuxiliaryVariable)));
+
+		final SimpleSatSolver solver = new SimpleSatSolver(cnf);
+		assertEquals(SatResult.TRUE, solver.hasSolution());
+		final LiteralSet solution = new LiteralSet(solver.getSolution(), LiteralSet.Order.INDEX, false);
+		assertEquals(variables.maxVariableID(), solution.size());
+		assertEquals(variables.getNumberOfOriginalVariables(), variables.removeAuxiliaryVariables(solution).size());
+
+		final List<LiteralSet> solutions = new ArrayList<>();
+		solutions.add(solution);
+		final String solutionString = new SolutionList(variables, solutions).getSolutionsString();
+		assertEquals(variables.getNumberOfOriginalVariables(), solutionString.split(",").length);
+		assertFalse(solutionString.contains(variables.getName(firstAuxiliaryVariable)));
+	}
+
+	private static List<ACreator<CNF>> getCreators() {
+		return Arrays.asList(new TseitinCNFCreator(), new FullTseitinCNFCreator(), new PlaistedGreenbaumCNFCreator());
+	}
+
+	private static FeatureModelFormula loadFormula(String modelName) {
+		return new FeatureModelFormula(FeatureModelManager.load(Commons.getRemoteOrLocalFolder("analyzefeaturemodels/").toPath().resolve(modelName)));
+	}
+
+	/**
+	 * Creates a model with the constraints {@code Switch <=> -((A0 & B0) | ... | (An & Bn))} and {@code Switch | (A0 & B0) | ... | (An & Bn)}, whose
+	 * conversion by distribution results in more than 2^n clauses.
+	 */
+	private static FeatureModelFormula createModelWithComplexConstraints(int numberOfTerms) {
+		final IFeatureModelFactory factory = DefaultFeatureModelFactory.getInstance();
+		final IFeatureModel featureModel = factory.create();
+		final IFeature root = factory.createFeature(featureModel, "Root");
+		featureModel.addFeature(root);
+		featureModel.getStructure().setRoot(root.getStructure());
+		root.getStructure().setAnd();
+		addOptionalFeature(factory, featureModel, root, "Switch");
+		final Node[] terms = new Node[numberOfTerms];
+		for (int i = 0; i < numberOfTerms; i++) {
+			addOptionalFeature(factory, featureModel, root, "A" + i);
+			addOptionalFeature(factory, featureModel, root, "B" + i);
+			terms[i] = new And(new Literal("A" + i), new Literal("B" + i));
+		}
+		featureModel.addConstraint(factory.createConstraint(featureModel, new Equals(new Literal("Switch"), new Not(new Or(terms.clone())))));
+		featureModel.addConstraint(factory.createConstraint(featureModel, new Or(new Literal("Switch"), new Or(Node.clone(terms)))));
+		return new FeatureModelFormula(featureModel);
+	}
+
+	private static void addOptionalFeature(IFeatureModelFactory factory, IFeatureModel featureModel, IFeature parent, String name) {
+		final IFeature feature = factory.createFeature(featureModel, name);
+		featureModel.addFeature(feature);
+		parent.getStructure().addChild(feature.getStructure());
+	}
+
+}
@@ -0,0 +1,80 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.analysis.cnf.generator.configuration.twise;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import de.ovgu.featureide.Commons;
+import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
+import de.ovgu.featureide.fm.core.analysis.cnf.formula.FeatureModelFormula;
+import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
+
+/**
+ * Tests the concurrent checking of combinations in the {@link TWiseConfigurationGenerator}.
+ *
+ * @author agent
+ */
+public class TTWiseConfigurationGeneratorThreads {
+
+	private static final String[] TEST_MODELS = { "car.xml", "gpl_medium_model.xml", "berkeley_db_model.xml", "apl_model.xml" };
+
+	private static final int THREADS = 4;
+
+	@Test
+	public void testCoverage() {
+		for (final String modelName : TEST_MODELS) {
+			final CNF cnf = new FeatureModelFormula(Commons.loadTestFeatureModelFromFile(modelName)).getCNF();
+			for (int t = 1; t <= 2; t++) {
+				final List<LiteralSet> sample = sample(cnf, t, 1);
+
+				final TWiseConfigurationTester tester = new TWiseConfigurationTester(cnf);
+				tester.setNodes(TWiseConfigurationGenerator.convertLiterals(cnf.getVariables().getLiterals()));
+				tester.setT(t);
+				tester.setSample(sample);
+				assertFalse(modelName + " t=" + t, tester.hasUncoveredConditions());
+				assertFalse(modelName + " t=" + t, tester.hasInvalidSolutions());
+			}
+		}
+	}
+
+	@Test
+	public void testReproducibility() {
+		for (final String modelName : TEST_MODELS) {
+			final CNF cnf = new FeatureModelFormula(Commons.loadTestFeatureModelFromFile(modelName)).getCNF();
+			assertEquals(modelName, sample(cnf, 2, 7), sample(cnf, 2, 7));
+		}
+	}
+
+	private List<LiteralSet> sample(CNF cnf, int t, long seed) {
+		final TWiseConfigurationGenerator generator = new TWiseConfigurationGenerator(cnf, t);
+		generator.setThreads(THREADS);
+		generator.setRandom(new Random(seed));
+		return LongRunningWrapper.runMethod(generator);
+	}
+
+}
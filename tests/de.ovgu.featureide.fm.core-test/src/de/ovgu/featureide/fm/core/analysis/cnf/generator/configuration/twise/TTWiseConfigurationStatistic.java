@@ -0,0 +1,178 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.analysis.cnf.generator.configuration.twise;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import de.ovgu.featureide.Commons;
+import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
+import de.ovgu.featureide.fm.core.analysis.cnf.ClauseList;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
+import de.ovgu.featureide.fm.core.analysis.cnf.formula.FeatureModelFormula;
+import de.ovgu.featureide.fm.core.analysis.cnf.generator.configuration.twise.iterator.ICombinationIterator;
+import de.ovgu.featureide.fm.core.analysis.cnf.generator.configuration.twise.iterator.LexicographicIterator;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.AdvancedSatSolver;
+import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
+
+/**
+ * Tests the bit set based coverage computation of the {@link TWiseConfigurationStatistic} and the {@link TWiseConfigurationTester} against a direct
+ * check of each combination.
+ *
+ * @author agent
+ */
+public class TTWiseConfigurationStatistic {
+
+	private static final String[] TEST_MODELS = { "car.xml", "gpl_medium_model.xml", "berkeley_db_model.xml" };
+
+	private static final int THREADS = 4;
+
+	@Test
+	public void testCoverage() {
+		for (final String modelName : TEST_MODELS) {
+			final CNF cnf = new FeatureModelFormula(Commons.loadTestFeatureModelFromFile(modelName)).getCNF();
+			final List<LiteralSet> sample = sample(cnf, 1);
+			final List<List<ClauseList>> nodes = TWiseConfigurationGenerator.convertLiterals(cnf.getVariables().getLiterals());
+
+			final TWiseConfigurationUtil util = new TWiseConfigurationUtil(cnf, new AdvancedSatSolver(cnf));
+			util.computeRandomSample();
+			util.computeMIG();
+			final List<List<PresenceCondition>> groupedPresenceConditions = new PresenceConditionManager(util, nodes).getGroupedPresenceConditions();
+
+			final List<ClauseList> expectedUncovered = new ArrayList<>();
+			final long expectedCovered = checkCombinations(util, sample, groupedPresenceConditions, 2, expectedUncovered);
+
+			TWiseConfigurationStatistic previousStatistic = null;
+			for (final int threads : new int[] { 1, THREADS }) {
+				final String message = modelName + " threads=" + threads;
+
+				final TWiseConfigurationTester tester = new TWiseConfigurationTester(cnf);
+				tester.setNodes(nodes);
+				tester.setT(2);
+				tester.setSample(sample);
+				tester.setThreads(threads);
+				assertEquals(message, expectedUncovered, tester.getUncoveredConditions());
+				assertEquals(message, expectedUncovered.isEmpty() ? null : expectedUncovered.get(0), tester.getFirstUncoveredCondition());
+
+				final TWiseConfigurationStatistic coverage = tester.getCoverage();
+				assertEquals(message, expectedCovered, coverage.getNumberOfCoveredConditions());
+				assertEquals(message, expectedUncovered.size(), coverage.getNumberOfUncoveredConditions());
+				assertEquals(message, expectedCovered + expectedUncovered.size(), coverage.getNumberOfValidConditions());
+
+				final TWiseConfigurationStatistic statistic = new TWiseConfigurationStatistic();
+				statistic.setT(2);
+				statistic.setThreads(threads);
+				statistic.calculate(util, sample, groupedPresenceConditions);
+				assertEquals(message, expectedCovered, statistic.getNumberOfCoveredConditions());
+				assertEquals(message, expectedUncovered.size(), statistic.getNumberOfUncoveredConditions());
+				if (previousStatistic != null) {
+					assertArrayEquals(message, previousStatistic.getConfigValues(), statistic.getConfigValues(), 0);
+					assertArrayEquals(message, previousStatistic.getConfigValues2(), statistic.getConfigValues2(), 0);
+				}
+				previousStatistic = statistic;
+			}
+		}
+	}
+
+	@Test
+	public void testFastCalc() {
+		for (final String modelName : TEST_MODELS) {
+			final CNF cnf = new FeatureModelFormula(Commons.loadTestFeatureModelFromFile(modelName)).getCNF();
+			final List<LiteralSet> sample = sample(cnf, 2);
+
+			final TWiseConfigurationUtil util = new TWiseConfigurationUtil(cnf, null);
+			final List<List<PresenceCondition>> groupedPresenceConditions =
+				new PresenceConditionManager(util, TWiseConfigurationGenerator.convertLiterals(cnf.getVariables().getLiterals()))
+						.getGroupedPresenceConditions();
+
+			final double[] expectedValues = new double[sample.size()];
+			final List<ClauseList> uncovered = new ArrayList<>();
+			final long expectedCovered = checkCombinations(util, sample, groupedPresenceConditions, 2, uncovered, expectedValues);
+
+			for (final int threads : new int[] { 1, THREADS }) {
+				final String message = modelName + " threads=" + threads;
+				final TWiseConfigurationStatistic statistic = new TWiseConfigurationStatistic();
+				statistic.setT(2);
+				statistic.setFastCalc(true);
+				statistic.setThreads(threads);
+				statistic.calculate(util, sample, groupedPresenceConditions);
+				assertEquals(message, expectedCovered, statistic.getNumberOfCoveredConditions());
+				assertArrayEquals(message, expectedValues, statistic.getConfigValues2(), 0);
+			}
+		}
+	}
+
+	private long checkCombinations(TWiseConfigurationUtil util, List<LiteralSet> sample, List<List<PresenceCondition>> groupedPresenceConditions, int t,
+			List<ClauseList> uncovered) {
+		return checkCombinations(util, sample, groupedPresenceConditions, t, uncovered, new double[sample.size()]);
+	}
+
+	private long checkCombinations(TWiseConfigurationUtil util, List<LiteralSet> sample, List<List<PresenceCondition>> groupedPresenceConditions, int t,
+			List<ClauseList> uncovered, double[] uniquelyCovered) {
+		long covered = 0;
+		final TWiseCombiner combiner = new TWiseCombiner(util.getCnf().getVariables().size());
+		for (final List<PresenceCondition> expressions : groupedPresenceConditions) {
+			for (final ICombinationIterator iterator = new LexicographicIterator(t, expressions); iterator.hasNext();) {
+				final PresenceCondition[] combination = iterator.next();
+				if (combination == null) {
+					break;
+				}
+				final ClauseList combinedCondition = new ClauseList();
+				combiner.combineConditions(combination, combinedCondition);
+
+				int lastCoveringConfiguration = -1;
+				int count = 0;
+				for (int i = 0; i < sample.size(); i++) {
+					if (TWiseConfigurationUtil.isCovered(combinedCondition, sample.subList(i, i + 1))) {
+						lastCoveringConfiguration = i;
+						count++;
+					}
+				}
+				if (count > 0) {
+					covered++;
+					if (count == 1) {
+						uniquelyCovered[lastCoveringConfiguration]++;
+					}
+				} else if (util.isCombinationValid(combinedCondition)) {
+					uncovered.add(combinedCondition);
+				}
+			}
+		}
+		// sample configurations are complete, so the fast calculation scales all values by two
+		for (int i = 0; i < uniquelyCovered.length; i++) {
+			uniquelyCovered[i] *= 2;
+		}
+		return covered;
+	}
+
+	private List<LiteralSet> sample(CNF cnf, int t) {
+		final TWiseConfigurationGenerator generator = new TWiseConfigurationGenerator(cnf, t);
+		generator.setRandom(new Random(1));
+		return LongRunningWrapper.runMethod(generator);
+	}
+
+}
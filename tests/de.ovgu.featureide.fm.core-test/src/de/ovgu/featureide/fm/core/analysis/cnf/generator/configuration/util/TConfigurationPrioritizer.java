@@ -0,0 +1,237 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.analysis.cnf.generator.configuration.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+import de.ovgu.featureide.fm.core.job.monitor.NullMonitor;
+
+/**
+ * Compares the orderings of {@link ConfigurationPrioritizer} with straight-forward implementations.
+ *
+ * @author agent
+ */
+public class TConfigurationPrioritizer {
+
+	private static List<String> createFeatures(int numberOfFeatures) {
+		final List<String> features = new ArrayList<>();
+		for (int i = 0; i < numberOfFeatures; i++) {
+			features.add("F" + i);
+		}
+		return features;
+	}
+
+	private static List<Set<String>> createConfigurations(List<String> features, int numberOfConfigurations, long seed) {
+		final Random random = new Random(seed);
+		final List<Set<String>> configurations = new ArrayList<>();
+		for (int i = 0; i < numberOfConfigurations; i++) {
+			final Set<String> configuration = new HashSet<>();
+			for (final String feature : features) {
+				if (random.nextBoolean()) {
+					configuration.add(feature);
+				}
+			}
+			configurations.add(configuration);
+		}
+		// some duplicates
+		configurations.add(configurations.get(0));
+		configurations.add(configurations.get(numberOfConfigurations / 2));
+		return configurations;
+	}
+
+	private static int distance(Collection<String> x, Collection<String> y) {
+		final Set<String> different = new HashSet<>(x);
+		different.addAll(y);
+		final Set<String> similar = new HashSet<>(x);
+		similar.retainAll(y);
+		different.removeAll(similar);
+		return different.size();
+	}
+
+	private static int[] sortByDissimilarity(List<Set<String>> configurations) {
+		final List<Integer> remaining = new ArrayList<>();
+		for (int i = 0; i < configurations.size(); i++) {
+			remaining.add(i);
+		}
+		final List<Integer> sorted = new ArrayList<>();
+		int first = 0;
+		for (int i = 0; i < configurations.size(); i++) {
+			if (configurations.get(i).size() > configurations.get(first).size()) {
+				first = i;
+			}
+		}
+		sorted.add(remaining.remove(first));
+		while (!remaining.isEmpty()) {
+			int index = 0;
+			int maxDistance = 0;
+			for (int i = 0; i < remaining.size(); i++) {
+				int minDistance = Integer.MAX_VALUE;
+				for (final Integer s : sorted) {
+					minDistance = Math.min(minDistance, distance(configurations.get(remaining.get(i)), configurations.get(s)));
+				}
+				if (minDistance > maxDistance) {
+					maxDistance = minDistance;
+					index = i;
+				}
+			}
+			sorted.add(remaining.remove(index));
+		}
+		return toArray(sorted);
+	}
+
+	private static void addInteractions(Set<List<String>> interactions, List<String> literals, List<String> interaction, int start, int t) {
+		for (int i = start; (i < literals.size()) && (interaction.size() < t); i++) {
+			final List<String> newInteraction = new ArrayList<>(interaction);
+			newInteraction.add(literals.get(i));
+			interactions.add(newInteraction);
+			addInteractions(interactions, literals, newInteraction, i + 1, t);
+		}
+	}
+
+	private static int[] sortByInteractions(List<String> features, List<Set<String>> configurations, int t, boolean skipCovered) {
+		final List<Set<List<String>>> interactions = new ArrayList<>();
+		for (final Set<String> configuration : configurations) {
+			final List<String> literals = new ArrayList<>();
+			for (final String feature : features) {
+				literals.add((configuration.contains(feature) ? "+" : "-") + feature);
+			}
+			final Set<List<String>> configurationInteractions = new HashSet<>();
+			addInteractions(configurationInteractions, literals, new ArrayList<String>(), 0, t);
+			interactions.add(configurationInteractions);
+		}
+		final List<Integer> remaining = new ArrayList<>();
+		for (int i = 0; i < configurations.size(); i++) {
+			remaining.add(i);
+		}
+		final List<Integer> sorted = new ArrayList<>();
+		while (!remaining.isEmpty()) {
+			int index = 0;
+			for (int i = 1; i < remaining.size(); i++) {
+				if (interactions.get(remaining.get(i)).size() > interactions.get(remaining.get(index)).size()) {
+					index = i;
+				}
+			}
+			final Set<List<String>> covered = interactions.get(remaining.get(index));
+			if (covered.isEmpty()) {
+				if (!skipCovered) {
+					sorted.addAll(remaining);
+				}
+				break;
+			}
+			sorted.add(remaining.remove(index));
+			for (final Integer i : remaining) {
+				interactions.get(i).removeAll(covered);
+			}
+		}
+		return toArray(sorted);
+	}
+
+	private static int[] toArray(List<Integer> list) {
+		final int[] array = new int[list.size()];
+		for (int i = 0; i < array.length; i++) {
+			array[i] = list.get(i);
+		}
+		return array;
+	}
+
+	@Test
+	public void dissimilarity() {
+		final List<String> features = createFeatures(100);
+		final List<Set<String>> configurations = createConfigurations(features, 60, 1);
+		final int[] expected = sortByDissimilarity(configurations);
+		for (final int threads : new int[] { 1, 4 }) {
+			final ConfigurationPrioritizer prioritizer = new ConfigurationPrioritizer(threads);
+			try {
+				assertArrayEquals(expected, prioritizer.sortByDissimilarity(configurations, new NullMonitor<>()));
+			} finally {
+				prioritizer.dispose();
+			}
+		}
+	}
+
+	@Test
+	public void dissimilarityParallel() {
+		final List<String> features = createFeatures(70);
+		final List<Set<String>> configurations = createConfigurations(features, 1000, 2);
+		final ConfigurationPrioritizer sequential = new ConfigurationPrioritizer(1);
+		final ConfigurationPrioritizer parallel = new ConfigurationPrioritizer(4);
+		try {
+			final int[] expected = sequential.sortByDissimilarity(configurations, new NullMonitor<>());
+			assertEquals(configurations.size(), expected.length);
+			assertEquals(configurations.size(), Arrays.stream(expected).distinct().count());
+			assertArrayEquals(expected, parallel.sortByDissimilarity(configurations, new NullMonitor<>()));
+		} finally {
+			sequential.dispose();
+			parallel.dispose();
+		}
+	}
+
+	@Test
+	public void interactions() {
+		final List<String> features = createFeatures(12);
+		final List<Set<String>> configurations = createConfigurations(features, 40, 3);
+		for (int t = 1; t <= 3; t++) {
+			for (final boolean skipCovered : new boolean[] { false, true }) {
+				final int[] expected = sortByInteractions(features, configurations, t, skipCovered);
+				for (final int threads : new int[] { 1, 4 }) {
+					final ConfigurationPrioritizer prioritizer = new ConfigurationPrioritizer(threads);
+					try {
+						assertArrayEquals(expected, prioritizer.sortByInteractions(features, configurations, t, skipCovered, new NullMonitor<>()));
+					} finally {
+						prioritizer.dispose();
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	public void interactionsParallel() {
+		final List<String> features = createFeatures(10);
+		final List<Set<String>> configurations = createConfigurations(features, 1000, 4);
+		final int[] expected = sortByInteractions(features, configurations, 2, true);
+		final ConfigurationPrioritizer prioritizer = new ConfigurationPrioritizer(4);
+		try {
+			assertArrayEquals(expected, prioritizer.sortByInteractions(features, configurations, 2, true, new NullMonitor<>()));
+		} finally {
+			prioritizer.dispose();
+		}
+	}
+
+	@Test
+	public void emptyInput() {
+		final ConfigurationPrioritizer prioritizer = new ConfigurationPrioritizer(1);
+		assertEquals(0, prioritizer.sortByDissimilarity(new ArrayList<Set<String>>(), new NullMonitor<>()).length);
+		assertEquals(0, prioritizer.sortByInteractions(createFeatures(5), new ArrayList<Set<String>>(), 2, false, new NullMonitor<>()).length);
+	}
+
+}
@@ -0,0 +1,86 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.analysis.cnf.solver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import de.ovgu.featureide.Commons;
+import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
+import de.ovgu.featureide.fm.core.analysis.cnf.formula.FeatureModelFormula;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.ISatSolver.SelectionStrategy;
+
+/**
+ * Tests the random phase selection of the {@link AdvancedSatSolver}.
+ *
+ * @author agent
+ */
+public class TAdvancedSatSolver {
+
+	private static final int NUMBER_OF_SOLUTIONS = 20;
+
+	private final CNF cnf = new FeatureModelFormula(Commons.loadTestFeatureModelFromFile("gpl_medium_model.xml")).getCNF();
+
+	@Test
+	public void testPhaseSeed() {
+		assertEquals(getSolutions(createSolver(1)), getSolutions(createSolver(1)));
+		assertFalse(getSolutions(createSolver(1)).equals(getSolutions(createSolver(2))));
+	}
+
+	@Test
+	public void testClones() {
+		final AdvancedSatSolver solver = createSolver(1);
+		assertFalse(getSolutions(createClone(solver)).equals(getSolutions(createClone(solver))));
+
+		// Clones of solvers with the same seed are reproducible
+		assertEquals(getSolutions(createClone(createSolver(1))), getSolutions(createClone(createSolver(1))));
+	}
+
+	private AdvancedSatSolver createSolver(long seed) {
+		final AdvancedSatSolver solver = new AdvancedSatSolver(cnf);
+		solver.setPhaseSeed(seed);
+		solver.setSelectionStrategy(SelectionStrategy.RANDOM);
+		return solver;
+	}
+
+	private static ISatSolver createClone(AdvancedSatSolver solver) {
+		final ISatSolver clone = solver.clone();
+		// A clone keeps the selection strategy of its original, but not the corresponding variable order.
+		clone.setSelectionStrategy(SelectionStrategy.ORG);
+		clone.setSelectionStrategy(SelectionStrategy.RANDOM);
+		return clone;
+	}
+
+	private static List<LiteralSet> getSolutions(ISatSolver solver) {
+		final List<LiteralSet> solutions = new ArrayList<>();
+		for (int i = 0; i < NUMBER_OF_SOLUTIONS; i++) {
+			solutions.add(new LiteralSet(solver.findSolution()));
+		}
+		return solutions;
+	}
+
+}
@@ -0,0 +1,129 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2017  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.analysis.cnf.solver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+import org.prop4j.And;
+import org.prop4j.Implies;
+import org.prop4j.Literal;
+import org.prop4j.Node;
+import org.prop4j.Not;
+import org.prop4j.Or;
+import org.prop4j.SatSolver;
+import org.sat4j.specs.TimeoutException;
+
+import de.ovgu.featureide.Commons;
+import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
+import de.ovgu.featureide.fm.core.analysis.cnf.Variables;
+import de.ovgu.featureide.fm.core.analysis.cnf.formula.FeatureModelFormula;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.base.impl.FMFactoryManager;
+import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator;
+import de.ovgu.featureide.fm.core.editing.NodeCreator;
+
+/**
+ * Tests for {@link NodeSatSolver}.
+ *
+ * @author agent
+ */
+public class TNodeSatSolver {
+
+	@Test
+	public void expressionsWithoutModel() {
+		final NodeSatSolver solver = new NodeSatSolver(new CNF(new Variables()));
+		assertTrue(solver.hasSolution());
+		assertTrue(solver.hasSolution(new Literal("A")));
+		assertFalse(solver.hasSolution(new And("A", new Not("A"))));
+		assertTrue(solver.hasSolution(new Or("A", new Not("A"))));
+		assertFalse(solver.hasSolution(new Not(new Or("A", new Not("A")))));
+		assertFalse(solver.hasSolution(new Literal(NodeCreator.varFalse)));
+		assertTrue(solver.hasSolution(new Literal(NodeCreator.varTrue)));
+		assertFalse(solver.hasSolution(new Literal("A"), new Not("A")));
+		assertTrue(solver.hasSolution(new Literal("A"), null));
+	}
+
+	@Test
+	public void voidModel() {
+		final IFeatureModel fm = Commons.loadBenchmarkFeatureModelFromFile("berkeley_db_model.xml");
+		final String root = fm.getStructure().getRoot().getFeature().getName();
+		fm.addConstraint(FMFactoryManager.getInstance().getFactory(fm).createConstraint(fm, new Not(root)));
+		final NodeSatSolver solver = new NodeSatSolver(new FeatureModelFormula(fm).getCNF());
+		assertFalse(solver.hasSolution());
+		assertFalse(solver.hasSolution(new Literal(root)));
+	}
+
+	@Test
+	public void compareWithModel() throws TimeoutException {
+		final IFeatureModel fm = Commons.loadBenchmarkFeatureModelFromFile("berkeley_db_model.xml");
+		final Node fmNode = AdvancedNodeCreator.createNodes(fm);
+		final CNF cnf = new FeatureModelFormula(fm).getCNF();
+		final List<String> names = new ArrayList<>();
+		for (int i = 1; i <= cnf.getVariables().size(); i++) {
+			names.add(cnf.getVariables().getName(i));
+		}
+		names.add("Undefined1");
+		names.add("Undefined2");
+
+		final NodeSatSolver solver = new NodeSatSolver(cnf);
+		assertTrue(solver.hasSolution());
+
+		// enough distinct expressions to enforce a rebuild of the internal solver
+		final Random random = new Random(0);
+		final List<Node> contexts = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			contexts.add(createRandomNode(random, names, 2));
+		}
+		for (int i = 0; i < 600; i++) {
+			final Node context = contexts.get(random.nextInt(contexts.size()));
+			final Node expression = createRandomNode(random, names, 2);
+			final boolean expected = new SatSolver(new And(fmNode, context, expression), 1000).hasSolution();
+			assertEquals(expression.toString(), expected, solver.hasSolution(context, expression));
+			assertEquals(expression.toString(), expected, solver.hasSolution(context, expression));
+		}
+	}
+
+	private Node createRandomNode(Random random, List<String> names, int depth) {
+		if (depth == 0) {
+			return new Literal(names.get(random.nextInt(names.size())), random.nextBoolean());
+		}
+		final Node left = createRandomNode(random, names, depth - 1);
+		final Node right = createRandomNode(random, names, depth - 1);
+		switch (random.nextInt(4)) {
+		case 0:
+			return new And(left, right);
+		case 1:
+			return new Or(left, right);
+		case 2:
+			return new Implies(left, right);
+		default:
+			return new Not(new And(left, right));
+		}
+	}
+
+}
@@ -0,0 +1,170 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.analysis.ddnnf;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import de.ovgu.featureide.Commons;
+import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
+import de.ovgu.featureide.fm.core.analysis.cnf.Variables;
+import de.ovgu.featureide.fm.core.analysis.cnf.analysis.ExactCountSolutionsAnalysis;
+import de.ovgu.featureide.fm.core.analysis.cnf.formula.DDNNFCreator;
+import de.ovgu.featureide.fm.core.analysis.cnf.formula.FeatureModelFormula;
+import de.ovgu.featureide.fm.core.analysis.cnf.formula.NoAbstractCNFCreator;
+import de.ovgu.featureide.fm.core.analysis.cnf.formula.NoHiddenCNFCreator;
+import de.ovgu.featureide.fm.core.analysis.cnf.generator.configuration.AllConfigurationGenerator;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.RuntimeTimeoutException;
+import de.ovgu.featureide.fm.core.configuration.Configuration;
+import de.ovgu.featureide.fm.core.configuration.ConfigurationAnalyzer;
+import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
+import de.ovgu.featureide.fm.core.job.monitor.NullMonitor;
+
+/**
+ * Tests the {@link DecisionDNNF} by comparing its results to an enumeration of all solutions.
+ *
+ * @author agent
+ */
+public class TDecisionDNNF {
+
+	private static final String[] MODELS = { "basic.xml", "car.xml", "simple.xml", "gpl_medium_model.xml", "false_optional_test.xml" };
+
+	@Test
+	public void testCountSolutions() {
+		for (final String modelName : MODELS) {
+			final FeatureModelFormula formula = new FeatureModelFormula(Commons.loadTestFeatureModelFromFile(modelName));
+			final CNF cnf = formula.getCNF();
+			final DecisionDNNF decisionDNNF = formula.getElement(new DDNNFCreator());
+			final List<LiteralSet> solutions = LongRunningWrapper.runMethod(new AllConfigurationGenerator(cnf));
+			final BigInteger[] expected = countPerVariable(cnf, solutions, new LiteralSet());
+			assertEquals(modelName, BigInteger.valueOf(solutions.size()), expected[0]);
+			assertEquals(modelName, expected[0], decisionDNNF.countSolutions());
+			expected[0] = BigInteger.ZERO;
+			assertArrayEquals(modelName, expected, decisionDNNF.countSolutionsPerVariable(new LiteralSet()));
+		}
+	}
+
+	@Test
+	public void testCountSolutionsWithAssumptions() {
+		for (final String modelName : MODELS) {
+			final FeatureModelFormula formula = new FeatureModelFormula(Commons.loadTestFeatureModelFromFile(modelName));
+			final CNF cnf = formula.getCNF();
+			final DecisionDNNF decisionDNNF = formula.getElement(new DDNNFCreator());
+			final List<LiteralSet> solutions = LongRunningWrapper.runMethod(new AllConfigurationGenerator(cnf));
+			final int maxVariable = cnf.getVariables().maxVariableID();
+			for (int i = 1; i <= maxVariable; i++) {
+				final LiteralSet assumptions = new LiteralSet(-i, (i % maxVariable) + 1);
+				final BigInteger[] expected = countPerVariable(cnf, solutions, assumptions);
+				assertEquals(modelName + assumptions, expected[0], decisionDNNF.countSolutions(assumptions));
+				expected[0] = BigInteger.ZERO;
+				assertArrayEquals(modelName + assumptions, expected, decisionDNNF.countSolutionsPerVariable(assumptions));
+			}
+		}
+	}
+
+	@Test
+	public void testSlicedCNF() {
+		for (final String modelName : MODELS) {
+			final FeatureModelFormula formula = new FeatureModelFormula(Commons.loadTestFeatureModelFromFile(modelName));
+			final CNF cnf = formula.getElement(new NoAbstractCNFCreator());
+			final List<LiteralSet> solutions = LongRunningWrapper.runMethod(new AllConfigurationGenerator(cnf));
+			final BigInteger count = LongRunningWrapper.runMethod(new ExactCountSolutionsAnalysis(cnf));
+			assertEquals(modelName, BigInteger.valueOf(solutions.size()), count);
+			assertEquals(modelName, count, formula.getElement(new DDNNFCreator(new NoAbstractCNFCreator())).countSolutions());
+		}
+	}
+
+	@Test
+	public void testTimeout() throws Exception {
+		// random 3-CNF with many solutions, which is expensive to compile
+		final Random random = new Random(0);
+		final int numberOfVariables = 300;
+		final List<String> names = new ArrayList<>();
+		for (int i = 1; i <= numberOfVariables; i++) {
+			names.add("x" + i);
+		}
+		final List<LiteralSet> clauses = new ArrayList<>();
+		for (int i = 0; i < (2 * numberOfVariables); i++) {
+			final int[] literals = new int[3];
+			for (int j = 0; j < literals.length; j++) {
+				literals[j] = (random.nextInt(numberOfVariables) + 1) * (random.nextBoolean() ? 1 : -1);
+			}
+			clauses.add(new LiteralSet(literals));
+		}
+		final DDNNFCompiler compiler = new DDNNFCompiler(new CNF(new Variables(names), clauses));
+		compiler.setTimeout(1);
+		try {
+			compiler.execute(new NullMonitor<DecisionDNNF>());
+			fail();
+		} catch (final RuntimeTimeoutException e) {}
+	}
+
+	@Test
+	public void testCachedCompilation() {
+		final FeatureModelFormula formula = new FeatureModelFormula(Commons.loadTestFeatureModelFromFile("gpl_medium_model.xml"));
+		assertNull(formula.getElementIfPresent(new DDNNFCreator(new NoHiddenCNFCreator())));
+
+		final ConfigurationAnalyzer analyzer = new ConfigurationAnalyzer(formula, new Configuration(formula));
+		final BigInteger count = analyzer.exactNumber(60000, null);
+		assertNotNull(count);
+		final DecisionDNNF decisionDNNF = formula.getElementIfPresent(new DDNNFCreator(new NoHiddenCNFCreator()));
+		assertNotNull(decisionDNNF);
+		assertEquals(count, decisionDNNF.countSolutions());
+		assertEquals(count, analyzer.exactNumber());
+		assertSame(decisionDNNF, DDNNFCreator.getDecisionDNNF(formula, new NoHiddenCNFCreator(), 1, null));
+		assertSame(decisionDNNF, formula.getElement(new DDNNFCreator(new NoHiddenCNFCreator())));
+	}
+
+	/**
+	 * @return the number of solutions that contain each variable (index 0 contains the number of all solutions).
+	 */
+	private BigInteger[] countPerVariable(CNF cnf, List<LiteralSet> solutions, LiteralSet assumptions) {
+		final long[] counts = new long[cnf.getVariables().maxVariableID() + 1];
+		for (final LiteralSet solution : solutions) {
+			if (solution.containsAll(assumptions)) {
+				counts[0]++;
+				for (final int literal : solution.getLiterals()) {
+					if (literal > 0) {
+						counts[literal]++;
+					}
+				}
+			}
+		}
+		final BigInteger[] result = new BigInteger[counts.length];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = BigInteger.valueOf(counts[i]);
+		}
+		return result;
+	}
+
+}
@@ -0,0 +1,95 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.analysis.mig;
+
+import java.io.File;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import de.ovgu.featureide.Commons;
+import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
+import de.ovgu.featureide.fm.core.analysis.cnf.formula.FeatureModelFormula;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.io.manager.FeatureModelManager;
+import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
+
+/**
+ * This is a benchmark comparing the {@link MIGBuilder} to the {@link SparseMIGBuilder} on the example models in the <i>featuremodels</i> folder of the
+ * repository. For each model, it prints the build times of both builders and the number of bytes needed for their adjacency matrices. The test cases also
+ * check that both builders yield the same graph.
+ *
+ * @author agent
+ */
+public class BSparseMIGBuilder {
+
+	private static final File MODEL_FOLDER = new File("../../featuremodels");
+
+	private static final int WARM_UP_ITERATIONS = 3;
+
+	static {
+		// Warm up the builders to get comparable times
+		final IFeatureModel featureModel = Commons.loadBenchmarkFeatureModelFromFile("200-100.xml");
+		for (int i = 0; i < WARM_UP_ITERATIONS; i++) {
+			LongRunningWrapper.runMethod(new MIGBuilder(new FeatureModelFormula(featureModel).getCNF(), true));
+			LongRunningWrapper.runMethod(new SparseMIGBuilder(new FeatureModelFormula(featureModel).getCNF(), true));
+		}
+	}
+
+	@Test
+	public void BCompareBuilders() {
+		final File[] modelFolders = MODEL_FOLDER.listFiles(File::isDirectory);
+		if (modelFolders == null) {
+			System.out.println("Model folder not found: " + MODEL_FOLDER.getAbsolutePath());
+			return;
+		}
+		Arrays.sort(modelFolders);
+		System.out.println("model;variables;dense time (ms);sparse time (ms);dense matrix (bytes);sparse matrix (bytes)");
+		for (final File modelFolder : modelFolders) {
+			final File modelFile = new File(modelFolder, "model.xml");
+			if (modelFile.isFile()) {
+				compare(modelFolder.getName(), FeatureModelManager.load(modelFile.toPath()));
+			}
+		}
+	}
+
+	private void compare(String modelName, IFeatureModel featureModel) {
+		final CNF denseCNF = new FeatureModelFormula(featureModel).getCNF();
+		final CNF sparseCNF = new FeatureModelFormula(featureModel).getCNF();
+		final long numberOfVariables = denseCNF.getVariables().size();
+
+		final long denseStart = System.nanoTime();
+		final ModalImplicationGraph denseMIG = LongRunningWrapper.runMethod(new MIGBuilder(denseCNF, true));
+		final long denseTime = System.nanoTime() - denseStart;
+
+		final SparseMIGBuilder sparseBuilder = new SparseMIGBuilder(sparseCNF, true);
+		final long sparseStart = System.nanoTime();
+		final ModalImplicationGraph sparseMIG = LongRunningWrapper.runMethod(sparseBuilder);
+		final long sparseTime = System.nanoTime() - sparseStart;
+
+		TSparseMIGBuilder.assertEqualGraphs(modelName, denseMIG, sparseMIG);
+
+		// Each sparse entry consists of an int (column index) and a byte (edge value)
+		System.out.println(modelName + ";" + numberOfVariables + ";" + (denseTime / 1000000) + ";" + (sparseTime / 1000000) + ";"
+			+ (numberOfVariables * numberOfVariables) + ";" + (sparseBuilder.getNumberOfEntries() * 5));
+	}
+
+}
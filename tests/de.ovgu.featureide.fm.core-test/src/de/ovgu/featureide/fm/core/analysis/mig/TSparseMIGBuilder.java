@@ -0,0 +1,202 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.analysis.mig;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+import de.ovgu.featureide.Commons;
+import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
+import de.ovgu.featureide.fm.core.analysis.cnf.Variables;
+import de.ovgu.featureide.fm.core.analysis.cnf.formula.FeatureModelFormula;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
+
+/**
+ * Tests the {@link SparseMIGBuilder} by comparing its graphs to the graphs built by {@link MIGBuilder}.
+ *
+ * @author agent
+ */
+public class TSparseMIGBuilder {
+
+	private static final String[] TEST_MODELS = { "basic.xml", "car.xml", "simple.xml", "gpl_medium_model.xml", "false_optional_test.xml",
+		"berkeley_db_model.xml", "apl_model.xml" };
+
+	private static final String[] BENCHMARK_MODELS = { "10-100.xml", "100-100.xml", "200-100-hidden.xml", "500-101.xml" };
+
+	@Test
+	public void testTestModels() {
+		for (final String modelName : TEST_MODELS) {
+			compare(modelName, Commons.loadTestFeatureModelFromFile(modelName));
+		}
+	}
+
+	@Test
+	public void testBenchmarkModels() {
+		for (final String modelName : BENCHMARK_MODELS) {
+			compare(modelName, Commons.loadBenchmarkFeatureModelFromFile(modelName));
+		}
+	}
+
+	/**
+	 * Checks that the complete graphs contain every implication of small random formulas. The implications of a negative literal can only be found
+	 * by following the weak edges that start at that literal.
+	 */
+	@Test
+	public void testImplications() {
+		final Random random = new Random(0);
+		for (int i = 0; i < 200; i++) {
+			final CNF cnf = createRandomCNF(random, 8, 10);
+			final List<int[]> solutions = getSolutions(cnf);
+			if (solutions.isEmpty()) {
+				continue;
+			}
+			final ModalImplicationGraph expected = LongRunningWrapper.runMethod(new MIGBuilder(cnf, true));
+			final ModalImplicationGraph actual = LongRunningWrapper.runMethod(new SparseMIGBuilder(cnf, true));
+			assertImplications("formula " + i, cnf, solutions, expected);
+			assertImplications("formula " + i, cnf, solutions, actual);
+		}
+	}
+
+	private static CNF createRandomCNF(Random random, int numberOfVariables, int numberOfClauses) {
+		final List<String> names = new ArrayList<>();
+		for (int i = 1; i <= numberOfVariables; i++) {
+			names.add("x" + i);
+		}
+		final List<LiteralSet> clauses = new ArrayList<>();
+		for (int i = 0; i < numberOfClauses; i++) {
+			final Set<Integer> variables = new HashSet<>();
+			final int[] literals = new int[2 + random.nextInt(2)];
+			for (int j = 0; j < literals.length; j++) {
+				int variable;
+				do {
+					variable = random.nextInt(numberOfVariables) + 1;
+				} while (!variables.add(variable));
+				literals[j] = random.nextBoolean() ? variable : -variable;
+			}
+			clauses.add(new LiteralSet(literals));
+		}
+		return new CNF(new Variables(names), clauses);
+	}
+
+	private static List<int[]> getSolutions(CNF cnf) {
+		final int numberOfVariables = cnf.getVariables().size();
+		final List<int[]> solutions = new ArrayList<>();
+		for (int assignment = 0; assignment < (1 << numberOfVariables); assignment++) {
+			final int[] solution = new int[numberOfVariables];
+			for (int i = 0; i < numberOfVariables; i++) {
+				solution[i] = ((assignment >> i) & 1) != 0 ? i + 1 : -(i + 1);
+			}
+			if (isSolution(cnf, solution)) {
+				solutions.add(solution);
+			}
+		}
+		return solutions;
+	}
+
+	private static boolean isSolution(CNF cnf, int[] solution) {
+		clauses: for (final LiteralSet clause : cnf.getClauses()) {
+			for (final int literal : clause.getLiterals()) {
+				if (solution[Math.abs(literal) - 1] == literal) {
+					continue clauses;
+				}
+			}
+			return false;
+		}
+		return true;
+	}
+
+	private static void assertImplications(String message, CNF cnf, List<int[]> solutions, ModalImplicationGraph mig) {
+		final int numberOfVariables = cnf.getVariables().size();
+		for (int var = 1; var <= numberOfVariables; var++) {
+			for (final int literal : new int[] { -var, var }) {
+				final Vertex vertex = mig.getVertex(literal);
+				if (vertex.isCore() || vertex.isDead()) {
+					continue;
+				}
+				final Set<Integer> expectedEdges = new HashSet<>();
+				for (int other = 1; other <= numberOfVariables; other++) {
+					final Vertex otherVertex = mig.getVertex(other);
+					if ((other == var) || otherVertex.isCore() || otherVertex.isDead()) {
+						continue;
+					}
+					for (final int otherLiteral : new int[] { -other, other }) {
+						boolean implied = true;
+						for (final int[] solution : solutions) {
+							if ((solution[var - 1] == literal) && (solution[other - 1] != otherLiteral)) {
+								implied = false;
+								break;
+							}
+						}
+						if (implied) {
+							expectedEdges.add(otherLiteral);
+						}
+					}
+				}
+				final Set<Integer> actualEdges = new HashSet<>();
+				for (final int edge : vertex.getStrongEdges()) {
+					actualEdges.add(edge);
+				}
+				assertEquals(message + " " + literal + " " + Arrays.toString(cnf.getClauses().toArray()), expectedEdges, actualEdges);
+			}
+		}
+	}
+
+	private void compare(String modelName, IFeatureModel featureModel) {
+		for (final boolean detectStrong : new boolean[] { false, true }) {
+			// Separate formulas, as the builders must not share a solver instance
+			final ModalImplicationGraph expected =
+				LongRunningWrapper.runMethod(new MIGBuilder(new FeatureModelFormula(featureModel).getCNF(), detectStrong));
+			final ModalImplicationGraph actual =
+				LongRunningWrapper.runMethod(new SparseMIGBuilder(new FeatureModelFormula(featureModel).getCNF(), detectStrong));
+			assertEqualGraphs(modelName + (detectStrong ? " (complete)" : ""), expected, actual);
+		}
+	}
+
+	static void assertEqualGraphs(String message, ModalImplicationGraph expected, ModalImplicationGraph actual) {
+		assertEquals(message, expected.getComplexClauses(), actual.getComplexClauses());
+		final List<Vertex> expectedVertices = expected.getAdjList();
+		final List<Vertex> actualVertices = actual.getAdjList();
+		assertEquals(message, expectedVertices.size(), actualVertices.size());
+		for (int i = 0; i < expectedVertices.size(); i++) {
+			final Vertex expectedVertex = expectedVertices.get(i);
+			final Vertex actualVertex = actualVertices.get(i);
+			final String vertexMessage = message + " " + expectedVertex.getVar();
+			assertEquals(vertexMessage, expectedVertex.getVar(), actualVertex.getVar());
+			assertEquals(vertexMessage, expectedVertex.getId(), actualVertex.getId());
+			assertEquals(vertexMessage, expectedVertex.isCore(), actualVertex.isCore());
+			assertEquals(vertexMessage, expectedVertex.isDead(), actualVertex.isDead());
+			assertArrayEquals(vertexMessage, expectedVertex.getStrongEdges(), actualVertex.getStrongEdges());
+			assertArrayEquals(vertexMessage, expectedVertex.getComplexClauses(), actualVertex.getComplexClauses());
+		}
+	}
+
+}
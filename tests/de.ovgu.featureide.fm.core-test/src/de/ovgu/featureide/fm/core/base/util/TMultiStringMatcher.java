@@ -0,0 +1,79 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.base.util;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link MultiStringMatcher}.
+ *
+ * @author agent
+ */
+public class TMultiStringMatcher {
+
+	@Test
+	public void overlappingPatterns() {
+		final MultiStringMatcher matcher = new MultiStringMatcher(Arrays.asList("he", "she", "his", "hers", "", "Hers"));
+		assertEquals(new LinkedHashSet<>(Arrays.asList("he", "she", "hers")), matcher.findAll("ushers"));
+		assertEquals(new LinkedHashSet<>(Arrays.asList("his")), matcher.findAll("ahis"));
+		assertEquals(new LinkedHashSet<>(), matcher.findAll(""));
+	}
+
+	@Test
+	public void compareWithContains() {
+		final Random random = new Random(0);
+		for (int i = 0; i < 100; i++) {
+			final List<String> patterns = new ArrayList<>();
+			for (int j = 0; j < 20; j++) {
+				patterns.add(createRandomString(random, 1 + random.nextInt(4)));
+			}
+			final MultiStringMatcher matcher = new MultiStringMatcher(patterns);
+			for (int j = 0; j < 20; j++) {
+				final String text = createRandomString(random, random.nextInt(50));
+				final Set<String> expected = new LinkedHashSet<>();
+				for (final String pattern : patterns) {
+					if (text.contains(pattern)) {
+						expected.add(pattern);
+					}
+				}
+				assertEquals(text, expected, matcher.findAll(text));
+			}
+		}
+	}
+
+	private String createRandomString(Random random, int length) {
+		final char[] chars = new char[length];
+		for (int i = 0; i < length; i++) {
+			chars[i] = (char) ('a' + random.nextInt(3));
+		}
+		return new String(chars);
+	}
+
+}
@@ -0,0 +1,169 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.cli;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import de.ovgu.featureide.Commons;
+
+/**
+ * Tests the output and the exit behavior of the {@link ModelAnalyzer} command.
+ *
+ * @author agent
+ */
+public class TModelAnalyzer {
+
+	private static final String VALID_MODEL = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>\n" //
+		+ "<featureModel><struct><and abstract=\"true\" mandatory=\"true\" name=\"Root\">" //
+		+ "<feature name=\"A\"/><feature name=\"B\"/>" //
+		+ "</and></struct><constraints><rule><imp><var>A</var><var>B</var></imp></rule></constraints></featureModel>\n";
+
+	private Path folder;
+	private Path validModel;
+	private Path defectiveModel;
+	private Path outputFile;
+
+	@Before
+	public void createModelFolder() throws IOException {
+		folder = Files.createTempDirectory("fm");
+		final Path modelFolder = Files.createDirectory(folder.resolve("models"));
+		validModel = modelFolder.resolve("valid.xml");
+		Files.write(validModel, VALID_MODEL.getBytes(StandardCharsets.UTF_8));
+		defectiveModel = modelFolder.resolve("false_optional_test.xml");
+		Files.copy(Paths.get(Commons.getRemoteOrLocalFolder("testFeatureModels/false_optional_test.xml").getPath()), defectiveModel);
+		// files of an unknown format within a folder are skipped
+		Files.write(modelFolder.resolve("readme.txt"), "no model".getBytes(StandardCharsets.UTF_8));
+		outputFile = folder.resolve("result.out");
+	}
+
+	@After
+	public void deleteModelFolder() throws IOException {
+		try (Stream<Path> files = Files.walk(folder)) {
+			for (final Path file : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+				Files.deleteIfExists(file);
+			}
+		}
+	}
+
+	@Test
+	public void testJSON() throws IOException {
+		run("-fm", folder.resolve("models").toString(), "-o", outputFile.toString(), "-a", "valid,dead,falseoptional", "-threads", "2");
+
+		final List<String> lines = readOutput();
+		assertEquals(2, lines.size());
+		final String defectiveLine = getLine(lines, defectiveModel);
+		assertTrue(defectiveLine, defectiveLine.contains("\"valid\":true"));
+		assertTrue(defectiveLine, defectiveLine.contains("\"dead\":[\"OtherAlternative\"]"));
+		assertTrue(defectiveLine, defectiveLine.contains("\"falseoptional\":[\"AlternativeFalseOptional\",\"AndFalseOptional\",\"OrFalseOptional\"]"));
+		final String validLine = getLine(lines, validModel);
+		assertTrue(validLine, validLine.contains("\"features\":3,\"constraints\":1,\"valid\":true,\"dead\":[],\"falseoptional\":[]"));
+	}
+
+	@Test
+	public void testCSV() throws IOException {
+		run("-fm", validModel.toString(), "-fm", defectiveModel.toString(), "-o", outputFile.toString(), "-f", "csv", "-a", "dead,falseoptional");
+
+		final List<String> lines = readOutput();
+		assertEquals(3, lines.size());
+		assertEquals("model;features;constraints;dead;falseoptional;time;error", lines.get(0));
+		assertTrue(getLine(lines, validModel).startsWith(validModel + ";3;1;0;0;"));
+		assertTrue(getLine(lines, defectiveModel).startsWith(defectiveModel + ";10;3;1;3;"));
+	}
+
+	@Test
+	public void testStrict() {
+		run("-fm", validModel.toString(), "-o", outputFile.toString(), "-strict");
+		run("-fm", defectiveModel.toString(), "-o", outputFile.toString());
+		try {
+			run("-fm", defectiveModel.toString(), "-o", outputFile.toString(), "-strict");
+			fail("Anomalies not reported");
+		} catch (final IllegalStateException e) {}
+	}
+
+	@Test
+	public void testExitStatus() {
+		assertEquals(0, new ModelAnalyzer().analyze(Arrays.asList("-fm", defectiveModel.toString(), "-o", outputFile.toString())));
+		assertEquals(1, new ModelAnalyzer().analyze(Arrays.asList("-fm", defectiveModel.toString(), "-o", outputFile.toString(), "-strict")));
+		assertEquals(1, new ModelAnalyzer().analyze(Arrays.asList("-o", outputFile.toString())));
+	}
+
+	@Test
+	public void testUnreadableModel() throws IOException {
+		final Path brokenModel = folder.resolve("broken.xml");
+		Files.write(brokenModel, "<featureModel>".getBytes(StandardCharsets.UTF_8));
+		try {
+			run("-fm", brokenModel.toString(), "-o", outputFile.toString());
+			fail("Unreadable model not reported");
+		} catch (final IllegalStateException e) {}
+		assertTrue(getLine(readOutput(), brokenModel).contains("\"error\":"));
+	}
+
+	@Test
+	public void testInterrupted() {
+		Thread.currentThread().interrupt();
+		try {
+			run("-fm", folder.resolve("models").toString(), "-o", outputFile.toString());
+			fail("Interruption not reported");
+		} catch (final IllegalStateException e) {
+			assertTrue(Thread.interrupted());
+		} finally {
+			Thread.interrupted();
+		}
+	}
+
+	private void run(String... args) {
+		new ModelAnalyzer().run(Arrays.asList(args));
+	}
+
+	private List<String> readOutput() throws IOException {
+		return Files.readAllLines(outputFile, StandardCharsets.UTF_8);
+	}
+
+	private String getLine(List<String> lines, Path model) {
+		final String jsonPrefix = "{\"model\":\"" + model + "\"";
+		final String csvPrefix = model + ";";
+		for (final String line : lines) {
+			if (line.startsWith(jsonPrefix) || line.startsWith(csvPrefix)) {
+				return line;
+			}
+		}
+		fail("No result for " + model + " in " + lines);
+		return null;
+	}
+
+}
@@ -0,0 +1,218 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.configuration;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import de.ovgu.featureide.Commons;
+import de.ovgu.featureide.fm.core.analysis.cnf.IVariables;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet.Order;
+import de.ovgu.featureide.fm.core.analysis.cnf.formula.FeatureModelFormula;
+import de.ovgu.featureide.fm.core.io.manager.FileHandler;
+
+/**
+ * Tests the conversions of {@link CompactConfiguration} and compares {@link ConfigurationMatrix} to the previous computation on full configurations.
+ *
+ * @author agent
+ */
+public class TCompactConfiguration {
+
+	private static final String[] MODELS = { "basic.xml", "car.xml", "gpl_medium_model.xml", "berkeley_db_model.xml" };
+
+	private static final int NUMBER_OF_CONFIGURATIONS = 20;
+
+	@Test
+	public void testConfigurationConversion() {
+		final Random random = new Random(0);
+		for (final String modelName : MODELS) {
+			final FeatureModelFormula formula = new FeatureModelFormula(Commons.loadTestFeatureModelFromFile(modelName));
+			for (int i = 0; i < NUMBER_OF_CONFIGURATIONS; i++) {
+				final Configuration configuration = createRandomConfiguration(formula, random);
+				final CompactConfiguration compactConfiguration = CompactConfiguration.of(configuration, formula.getVariables());
+				for (final SelectableFeature feature : configuration.getFeatures()) {
+					assertEquals(modelName, feature.getSelection(), compactConfiguration.getSelection(feature.getName()));
+				}
+				assertEquals(modelName, configuration.getSelectedFeatureNames().size(), compactConfiguration.countSelected());
+				assertEquals(modelName, configuration.getUnselectedFeatureNames().size(), compactConfiguration.countDeselected());
+
+				final Configuration convertedConfiguration = compactConfiguration.toConfiguration(formula);
+				assertEquals(modelName, configuration.getSelectedFeatureNames(), convertedConfiguration.getSelectedFeatureNames());
+				assertEquals(modelName, configuration.getUnselectedFeatureNames(), convertedConfiguration.getUnselectedFeatureNames());
+				assertEquals(modelName, compactConfiguration, CompactConfiguration.of(convertedConfiguration, formula.getVariables()));
+			}
+		}
+	}
+
+	@Test
+	public void testLiteralSetConversion() {
+		final Random random = new Random(0);
+		for (final String modelName : MODELS) {
+			final IVariables variables = new FeatureModelFormula(Commons.loadTestFeatureModelFromFile(modelName)).getVariables();
+			for (int i = 0; i < NUMBER_OF_CONFIGURATIONS; i++) {
+				final boolean complete = (i % 2) == 0;
+				final List<Integer> literalList = new ArrayList<>();
+				for (int variable = 1; variable <= variables.maxVariableID(); variable++) {
+					final int value = random.nextInt(3);
+					if (complete) {
+						literalList.add(value == 0 ? -variable : variable);
+					} else if (value > 0) {
+						literalList.add(value == 1 ? -variable : variable);
+					}
+				}
+				final int[] literals = literalList.stream().mapToInt(Integer::intValue).toArray();
+				final LiteralSet literalSet = new LiteralSet(literals, literals.length == variables.maxVariableID() ? Order.INDEX : Order.NATURAL);
+
+				final CompactConfiguration compactConfiguration = CompactConfiguration.of(literalSet, variables);
+				for (final int literal : literals) {
+					assertEquals(modelName, literal > 0 ? Selection.SELECTED : Selection.UNSELECTED, compactConfiguration.getSelection(Math.abs(literal)));
+				}
+				assertEquals(modelName, literalSet, compactConfiguration.toLiteralSet());
+				assertEquals(modelName, literalSet.getOrder(), compactConfiguration.toLiteralSet().getOrder());
+			}
+		}
+	}
+
+	@Test
+	public void testSelectionDifferences() {
+		final Random random = new Random(0);
+		for (final String modelName : MODELS) {
+			final FeatureModelFormula formula = new FeatureModelFormula(Commons.loadTestFeatureModelFromFile(modelName));
+			final Configuration configuration1 = createRandomConfiguration(formula, random);
+			final CompactConfiguration compactConfiguration1 = CompactConfiguration.of(configuration1, formula.getVariables());
+			for (int i = 0; i < NUMBER_OF_CONFIGURATIONS; i++) {
+				final Configuration configuration2 = createRandomConfiguration(formula, random);
+				final CompactConfiguration compactConfiguration2 = CompactConfiguration.of(configuration2, formula.getVariables());
+				int expectedDifferences = 0;
+				for (final SelectableFeature feature : configuration1.getFeatures()) {
+					final boolean selected1 = feature.getSelection() == Selection.SELECTED;
+					final boolean selected2 = configuration2.getSelectableFeature(feature.getName()).getSelection() == Selection.SELECTED;
+					if (selected1 != selected2) {
+						expectedDifferences++;
+					}
+				}
+				assertEquals(modelName, expectedDifferences, compactConfiguration1.countSelectionDifferences(compactConfiguration2));
+				assertEquals(modelName, expectedDifferences, compactConfiguration2.countSelectionDifferences(compactConfiguration1));
+			}
+		}
+	}
+
+	@Test
+	public void testConfigurationMatrix() throws IOException {
+		final Random random = new Random(0);
+		for (final String modelName : MODELS) {
+			final FeatureModelFormula formula = new FeatureModelFormula(Commons.loadTestFeatureModelFromFile(modelName));
+			final Path folder = Files.createTempDirectory("configs");
+			try {
+				final List<Configuration> configurations = new ArrayList<>();
+				for (int i = 0; i < NUMBER_OF_CONFIGURATIONS; i++) {
+					final Configuration configuration = createRandomConfiguration(formula, random);
+					configurations.add(configuration);
+					FileHandler.save(folder.resolve("config" + i + ".xml"), configuration, new XMLConfFormat());
+				}
+				final Configuration currentConfiguration = createRandomConfiguration(formula, random);
+
+				final ConfigurationMatrix configurationMatrix = new ConfigurationMatrix(formula, folder);
+				configurationMatrix.readConfigurations();
+				configurationMatrix.calcRec(currentConfiguration);
+
+				final double[] expectedRec = computeRecommendations(configurations, currentConfiguration);
+				assertArrayEquals(modelName, expectedRec, configurationMatrix.getRec(), 1e-9);
+			} finally {
+				try (java.util.stream.Stream<Path> files = Files.list(folder)) {
+					for (final Path file : (Iterable<Path>) files::iterator) {
+						Files.delete(file);
+					}
+				}
+				Files.delete(folder);
+			}
+		}
+	}
+
+	/**
+	 * The previous implementation of {@link ConfigurationMatrix#calcRec(Configuration)} on byte arrays.
+	 */
+	private double[] computeRecommendations(List<Configuration> configurations, Configuration currentConfiguration) {
+		final byte[] curConfig = toByteArray(currentConfiguration);
+		final List<byte[]> matrix = new ArrayList<>();
+		for (final Configuration configuration : configurations) {
+			matrix.add(toByteArray(configuration));
+		}
+
+		final double[] rec = new double[curConfig.length];
+		final int[] w = new int[matrix.size()];
+		int wSum = 0;
+		for (int j = 0; j < w.length; j++) {
+			int delta = 0;
+			for (int i = 0; i < curConfig.length; i++) {
+				if (curConfig[i] == matrix.get(j)[i]) {
+					delta++;
+				}
+			}
+			w[j] = delta;
+			wSum += delta;
+		}
+		for (int i = 0; i < rec.length; i++) {
+			int fSum = 0;
+			for (int j = 0; j < w.length; j++) {
+				fSum += matrix.get(j)[i] * w[j];
+			}
+			double recValue = ((double) fSum) / wSum;
+			if (curConfig[i] == 1) {
+				recValue = 1 - recValue;
+			}
+			rec[i] = recValue;
+		}
+		return rec;
+	}
+
+	private byte[] toByteArray(Configuration configuration) {
+		final Collection<SelectableFeature> features = configuration.getFeatures();
+		final byte[] configArray = new byte[features.size()];
+		int i = 0;
+		for (final SelectableFeature feature : features) {
+			configArray[i++] = (byte) (feature.getSelection() == Selection.SELECTED ? 1 : 0);
+		}
+		return configArray;
+	}
+
+	private Configuration createRandomConfiguration(FeatureModelFormula formula, Random random) {
+		final Configuration configuration = new Configuration(formula);
+		final List<Selection> selections = Arrays.asList(Selection.values());
+		for (final SelectableFeature feature : configuration.getFeatures()) {
+			configuration.setManual(feature, selections.get(random.nextInt(selections.size())));
+		}
+		return configuration;
+	}
+
+}
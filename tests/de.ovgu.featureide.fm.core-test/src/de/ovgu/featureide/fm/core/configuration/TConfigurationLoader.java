@@ -0,0 +1,165 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.configuration;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import de.ovgu.featureide.Commons;
+import de.ovgu.featureide.fm.core.analysis.cnf.formula.FeatureModelFormula;
+import de.ovgu.featureide.fm.core.configuration.io.ConfigurationLoader;
+import de.ovgu.featureide.fm.core.configuration.io.ConfigurationLoader.LoadedConfiguration;
+import de.ovgu.featureide.fm.core.configuration.io.IConfigurationLoaderCallback;
+import de.ovgu.featureide.fm.core.io.manager.FileHandler;
+
+/**
+ * Tests the parallel {@link ConfigurationLoader}.
+ *
+ * @author agent
+ */
+public class TConfigurationLoader {
+
+	private static final int NUMBER_OF_CONFIGURATIONS = 100;
+
+	private FeatureModelFormula formula;
+	private Path folder;
+	private final Map<String, CompactConfiguration> expectedConfigurations = new HashMap<>();
+
+	@Before
+	public void createConfigurations() throws IOException {
+		formula = new FeatureModelFormula(Commons.loadTestFeatureModelFromFile("gpl_medium_model.xml"));
+		folder = Files.createTempDirectory("configs");
+		Files.createDirectory(folder.resolve("sub"));
+
+		final Random random = new Random(0);
+		final Selection[] selections = Selection.values();
+		for (int i = 0; i < NUMBER_OF_CONFIGURATIONS; i++) {
+			final Configuration configuration = new Configuration(formula);
+			for (final SelectableFeature feature : configuration.getFeatures()) {
+				configuration.setManual(feature, selections[random.nextInt(selections.length)]);
+			}
+			final Path file = folder.resolve(((i % 10) == 0) ? "sub" : ".").resolve("config" + i + ".xml").normalize();
+			FileHandler.save(file, configuration, new XMLConfFormat());
+			expectedConfigurations.put(file.getFileName().toString(), CompactConfiguration.of(configuration, formula.getVariables()));
+		}
+		Files.write(folder.resolve("invalid.xml"), "<configuration><feature".getBytes());
+	}
+
+	@After
+	public void deleteConfigurations() throws IOException {
+		try (Stream<Path> files = Files.walk(folder)) {
+			for (final Path file : files.sorted((p1, p2) -> p2.compareTo(p1)).collect(Collectors.toList())) {
+				Files.delete(file);
+			}
+		}
+	}
+
+	@Test
+	public void testAllConfigurationsLoaded() {
+		for (final int threads : new int[] { 1, 4 }) {
+			final List<Path> paths = new ArrayList<>();
+			final List<CompactConfiguration> loadedConfigurations = new ConfigurationLoader(new IConfigurationLoaderCallback() {
+
+				@Override
+				public void onLoadingStarted() {}
+
+				@Override
+				public void onConfigurationLoaded(CompactConfiguration configuration, FeatureModelFormula featureModel, Path path) {
+					paths.add(path);
+					assertEquals(expectedConfigurations.get(path.getFileName().toString()), configuration);
+				}
+
+				@Override
+				public void onLoadingFinished() {}
+
+				@Override
+				public void onLoadingError(IOException exception) {}
+			}, threads).loadConfigurations(formula, folder, "config1.xml");
+
+			assertEquals(NUMBER_OF_CONFIGURATIONS - 1, loadedConfigurations.size());
+			assertEquals(NUMBER_OF_CONFIGURATIONS - 1, paths.size());
+			assertFalse(paths.contains(folder.resolve("config1.xml")));
+		}
+	}
+
+	@Test
+	public void testFullConfigurationCallback() {
+		final List<Path> paths = new ArrayList<>();
+		new ConfigurationLoader(new IConfigurationLoaderCallback() {
+
+			@Override
+			public void onLoadingStarted() {}
+
+			@Override
+			public void onConfigurationLoaded(Configuration configuration, Path path) {
+				paths.add(path);
+				assertEquals(expectedConfigurations.get(path.getFileName().toString()), CompactConfiguration.of(configuration, formula.getVariables()));
+			}
+
+			@Override
+			public void onLoadingFinished() {}
+
+			@Override
+			public void onLoadingError(IOException exception) {}
+		}, 4).loadConfigurations(formula, folder);
+
+		assertEquals(NUMBER_OF_CONFIGURATIONS, paths.size());
+	}
+
+	@Test
+	public void testOrderIsPreserved() {
+		final List<Path> sequentialPaths;
+		try (Stream<LoadedConfiguration> stream = new ConfigurationLoader(null, 1).streamConfigurations(formula, folder, null)) {
+			sequentialPaths = stream.map(LoadedConfiguration::getPath).collect(Collectors.toList());
+		}
+		final List<Path> parallelPaths;
+		try (Stream<LoadedConfiguration> stream = new ConfigurationLoader(null, 8).streamConfigurations(formula, folder, null)) {
+			parallelPaths = stream.map(LoadedConfiguration::getPath).collect(Collectors.toList());
+		}
+		assertEquals(NUMBER_OF_CONFIGURATIONS, sequentialPaths.size());
+		assertEquals(sequentialPaths, parallelPaths);
+	}
+
+	@Test(timeout = 10000)
+	public void testCloseEarly() {
+		for (int i = 0; i < 10; i++) {
+			try (Stream<LoadedConfiguration> stream = new ConfigurationLoader(null, 2).streamConfigurations(formula, folder, null)) {
+				assertEquals(3, stream.limit(3).count());
+			}
+		}
+	}
+
+}
@@ -0,0 +1,106 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.configuration;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import de.ovgu.featureide.Commons;
+import de.ovgu.featureide.fm.core.analysis.cnf.formula.FeatureModelFormula;
+import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
+
+/**
+ * Tests the incremental {@link ConfigurationPropagatorMIG} by comparing its updates to the updates of the {@link ConfigurationPropagator} for a sequence of
+ * random decisions.
+ *
+ * @author agent
+ */
+public class TConfigurationPropagatorMIG {
+
+	private static final String[] MODELS = { "basic.xml", "car.xml", "simple.xml", "gpl_medium_model.xml", "false_optional_test.xml",
+		"berkeley_db_model.xml", "apl_model.xml" };
+
+	private static final int NUMBER_OF_DECISIONS = 100;
+
+	@Test
+	public void testRandomDecisions() {
+		for (final String modelName : MODELS) {
+			testRandomDecisions(modelName, false, false);
+		}
+	}
+
+	@Test
+	public void testRandomDecisionsRedundantManual() {
+		for (final String modelName : MODELS) {
+			testRandomDecisions(modelName, true, false);
+		}
+	}
+
+	@Test
+	public void testRandomDecisionsChangingAbstractFeatures() {
+		for (final String modelName : MODELS) {
+			testRandomDecisions(modelName, false, true);
+		}
+	}
+
+	private void testRandomDecisions(String modelName, boolean redundantManual, boolean changeAbstractFeatures) {
+		final FeatureModelFormula formula = new FeatureModelFormula(Commons.loadTestFeatureModelFromFile(modelName));
+		final Configuration expectedConfiguration = new Configuration(formula);
+		final Configuration actualConfiguration = new Configuration(formula);
+		ConfigurationPropagatorMIG incrementalPropagator = new ConfigurationPropagatorMIG(formula, actualConfiguration);
+
+		final Random random = new Random(0);
+		final Selection[] selections = Selection.values();
+		final List<SelectableFeature> features = new ArrayList<>(expectedConfiguration.getFeatures());
+		for (int i = 0; i < NUMBER_OF_DECISIONS; i++) {
+			final String featureName = features.get(random.nextInt(features.size())).getName();
+			final Selection selection = selections[random.nextInt(selections.length)];
+			if (expectedConfiguration.getSelectableFeature(featureName).getAutomatic() == Selection.UNDEFINED) {
+				expectedConfiguration.setManual(featureName, selection);
+				actualConfiguration.setManual(featureName, selection);
+			}
+
+			final boolean includeAbstractFeatures = !changeAbstractFeatures || ((i % 20) < 10);
+			final ConfigurationPropagator propagator = new ConfigurationPropagator(formula, expectedConfiguration);
+			propagator.setIncludeAbstractFeatures(includeAbstractFeatures);
+			LongRunningWrapper.runMethod(propagator.update(redundantManual));
+			if ((i % 10) == 0) {
+				// Test that clones share the state of their propagator
+				incrementalPropagator = new ConfigurationPropagatorMIG(incrementalPropagator, actualConfiguration);
+			}
+			incrementalPropagator.setIncludeAbstractFeatures(includeAbstractFeatures);
+			LongRunningWrapper.runMethod(incrementalPropagator.update(redundantManual));
+
+			for (final SelectableFeature expectedFeature : features) {
+				final SelectableFeature actualFeature = actualConfiguration.getSelectableFeature(expectedFeature.getName());
+				final String message = modelName + " " + i + " " + expectedFeature.getName();
+				assertEquals(message, expectedFeature.getManual(), actualFeature.getManual());
+				assertEquals(message, expectedFeature.getAutomatic(), actualFeature.getAutomatic());
+			}
+		}
+	}
+
+}
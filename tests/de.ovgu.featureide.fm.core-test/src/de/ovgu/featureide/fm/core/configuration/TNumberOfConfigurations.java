@@ -22,6 +22,8 @@ package de.ovgu.featureide.fm.core.configuration;
 
 import static org.junit.Assert.assertEquals;
 
+import java.math.BigInteger;
+
 import org.junit.Test;
 
 import de.ovgu.featureide.fm.core.analysis.cnf.formula.FeatureModelFormula;
@@ -44,7 +46,9 @@ public class TNumberOfConfigurations extends AbstractConfigurationTest {
 		final FeatureModelFormula featureModel = new FeatureModelFormula(fm);
 		final ConfigurationAnalyzer analyzer = new ConfigurationAnalyzer(featureModel, new Configuration(featureModel));
 		analyzer.setIncludeAbstractFeatures(!removeAbstract);
-		return analyzer.number();
+		final long number = analyzer.number();
+		assertEquals(BigInteger.valueOf(number), analyzer.exactNumber());
+		return number;
 	}
 
 	@Test
@@ -0,0 +1,220 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.constraint.analysis;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+import de.ovgu.featureide.Commons;
+import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
+import de.ovgu.featureide.fm.core.analysis.cnf.formula.FeatureModelFormula;
+import de.ovgu.featureide.fm.core.constraint.analysis.SAT4JPBOptimizer.Optimum;
+
+/**
+ * Tests {@link SAT4JPBOptimizer} by comparing its results to the minimum and maximum of all solutions.
+ *
+ * @author agent
+ */
+public class TSAT4JPBOptimizer {
+
+	private static final String[] TEST_MODELS = { "car.xml", "basic.xml", "simple.xml" };
+
+	@Test
+	public void testOptimum() {
+		for (final String modelName : TEST_MODELS) {
+			final CNF cnf = getCNF(modelName);
+			final long[] coefficients = getCoefficients(cnf, new Random(0));
+			final SAT4JPBOptimizer optimizer = new SAT4JPBOptimizer(cnf, coefficients);
+			check(modelName, cnf, coefficients, optimizer, new int[0]);
+		}
+	}
+
+	@Test
+	public void testAssumptions() {
+		for (final String modelName : TEST_MODELS) {
+			final CNF cnf = getCNF(modelName);
+			final long[] coefficients = getCoefficients(cnf, new Random(1));
+			final SAT4JPBOptimizer optimizer = new SAT4JPBOptimizer(cnf, coefficients);
+			for (int variable = 1; variable <= coefficients.length; variable++) {
+				check(modelName, cnf, coefficients, optimizer, new int[] { variable });
+				check(modelName, cnf, coefficients, optimizer, new int[] { -variable });
+			}
+		}
+	}
+
+	@Test
+	public void testIncremental() {
+		final CNF cnf = getCNF("car.xml");
+		final Random random = new Random(2);
+		long[] coefficients = getCoefficients(cnf, random);
+		final SAT4JPBOptimizer optimizer = new SAT4JPBOptimizer(cnf, coefficients);
+		for (int i = 0; i < 5; i++) {
+			int[] assumptions = new int[0];
+			for (int variable = 1; variable <= coefficients.length; variable++) {
+				check(Integer.toString(i), cnf, coefficients, optimizer, assumptions);
+				final int literal = random.nextBoolean() ? variable : -variable;
+				if (getBruteForceOptimum(cnf, coefficients, append(assumptions, literal), 1) != null) {
+					assumptions = append(assumptions, literal);
+				}
+			}
+			coefficients = getCoefficients(cnf, random);
+			optimizer.setCoefficients(coefficients);
+		}
+	}
+
+	@Test
+	public void testContradiction() {
+		final CNF cnf = getCNF("car.xml");
+		final SAT4JPBOptimizer optimizer = new SAT4JPBOptimizer(cnf, getCoefficients(cnf, new Random(3)));
+		assertNull(optimizer.minimize(1, -1));
+		assertNull(optimizer.maximize(1, -1));
+	}
+
+	@Test
+	public void testTimeout() {
+		final CNF cnf = getCNF("car.xml");
+		final long[] coefficients = getCoefficients(cnf, new Random(4));
+		final SAT4JPBOptimizer optimizer = new SAT4JPBOptimizer(cnf, coefficients);
+		optimizer.setTimeout(0);
+		assertNull(optimizer.minimize());
+		assertNull(optimizer.maximize());
+
+		// results of a query that reached the timeout are not reused
+		optimizer.setTimeout(SAT4JPBOptimizer.DEFAULT_TIMEOUT);
+		check("car.xml", cnf, coefficients, optimizer, new int[0]);
+	}
+
+	@Test
+	public void testOverflow() {
+		final CNF cnf = getCNF("car.xml");
+		final long[] coefficients = new long[cnf.getVariables().size()];
+		Arrays.fill(coefficients, Long.MAX_VALUE / coefficients.length);
+		try {
+			new SAT4JPBOptimizer(cnf, coefficients);
+			fail("Overflow not detected");
+		} catch (final ArithmeticException e) {}
+
+		final long[] validCoefficients = getCoefficients(cnf, new Random(5));
+		final SAT4JPBOptimizer optimizer = new SAT4JPBOptimizer(cnf, validCoefficients);
+		coefficients[0] = Long.MIN_VALUE;
+		try {
+			optimizer.setCoefficients(coefficients);
+			fail("Overflow not detected");
+		} catch (final ArithmeticException e) {}
+		assertArrayEquals(validCoefficients, optimizer.getCoefficients());
+		check("car.xml", cnf, validCoefficients, optimizer, new int[0]);
+	}
+
+	private void check(String message, CNF cnf, long[] coefficients, SAT4JPBOptimizer optimizer, int[] assumptions) {
+		check(message, cnf, coefficients, assumptions, getBruteForceOptimum(cnf, coefficients, assumptions, 1), optimizer.minimize(assumptions));
+		check(message, cnf, coefficients, assumptions, getBruteForceOptimum(cnf, coefficients, assumptions, -1), optimizer.maximize(assumptions));
+	}
+
+	private void check(String message, CNF cnf, long[] coefficients, int[] assumptions, Long expectedValue, Optimum optimum) {
+		if (expectedValue == null) {
+			assertNull(message, optimum);
+		} else {
+			assertTrue(message, optimum.isOptimal());
+			assertEquals(message, expectedValue.longValue(), optimum.getValue());
+
+			final int[] solution = optimum.getSolution().getLiterals();
+			assertTrue(message, isSolution(cnf, solution, assumptions));
+			assertEquals(message, optimum.getValue(), getValue(coefficients, solution));
+		}
+	}
+
+	/**
+	 * @param sign {@code 1} for the minimum, {@code -1} for the maximum
+	 */
+	private Long getBruteForceOptimum(CNF cnf, long[] coefficients, int[] assumptions, int sign) {
+		final int numberOfVariables = coefficients.length;
+		final int[] solution = new int[numberOfVariables];
+		Long optimum = null;
+		for (long assignment = 0; assignment < (1L << numberOfVariables); assignment++) {
+			for (int i = 0; i < numberOfVariables; i++) {
+				solution[i] = ((assignment >> i) & 1) == 1 ? i + 1 : -(i + 1);
+			}
+			if (isSolution(cnf, solution, assumptions)) {
+				final long value = getValue(coefficients, solution);
+				if ((optimum == null) || ((sign * value) < (sign * optimum))) {
+					optimum = value;
+				}
+			}
+		}
+		return optimum;
+	}
+
+	private boolean isSolution(CNF cnf, int[] solution, int[] assumptions) {
+		for (final int assumption : assumptions) {
+			if (solution[Math.abs(assumption) - 1] != assumption) {
+				return false;
+			}
+		}
+		clauses: for (final LiteralSet clause : cnf.getClauses()) {
+			for (final int literal : clause.getLiterals()) {
+				if (solution[Math.abs(literal) - 1] == literal) {
+					continue clauses;
+				}
+			}
+			return false;
+		}
+		return true;
+	}
+
+	private long getValue(long[] coefficients, int[] solution) {
+		long value = 0;
+		for (final int literal : solution) {
+			if (literal > 0) {
+				value += coefficients[literal - 1];
+			}
+		}
+		return value;
+	}
+
+	private long[] getCoefficients(CNF cnf, Random random) {
+		final long[] coefficients = new long[cnf.getVariables().size()];
+		for (int i = 0; i < coefficients.length; i++) {
+			coefficients[i] = random.nextInt(11) - 5;
+		}
+		return coefficients;
+	}
+
+	private int[] append(int[] literals, int literal) {
+		final int[] newLiterals = new int[literals.length + 1];
+		System.arraycopy(literals, 0, newLiterals, 0, literals.length);
+		newLiterals[literals.length] = literal;
+		return newLiterals;
+	}
+
+	private CNF getCNF(String modelName) {
+		return new FeatureModelFormula(Commons.loadTestFeatureModelFromFile(modelName)).getCNF();
+	}
+
+}
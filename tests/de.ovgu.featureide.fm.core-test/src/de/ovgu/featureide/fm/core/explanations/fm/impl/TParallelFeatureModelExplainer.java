@@ -0,0 +1,166 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.explanations.fm.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import de.ovgu.featureide.Commons;
+import de.ovgu.featureide.fm.core.AnalysesCollection;
+import de.ovgu.featureide.fm.core.FeatureModelAnalyzer;
+import de.ovgu.featureide.fm.core.analysis.ConstraintProperties.ConstraintStatus;
+import de.ovgu.featureide.fm.core.analysis.FeatureProperties.FeatureStatus;
+import de.ovgu.featureide.fm.core.base.IConstraint;
+import de.ovgu.featureide.fm.core.base.IFeature;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.explanations.Explanation;
+import de.ovgu.featureide.fm.core.explanations.fm.DeadFeatureExplanationCreator;
+import de.ovgu.featureide.fm.core.explanations.fm.FalseOptionalFeatureExplanationCreator;
+import de.ovgu.featureide.fm.core.explanations.fm.FeatureModelExplanationCreatorFactory;
+import de.ovgu.featureide.fm.core.explanations.fm.RedundantConstraintExplanationCreator;
+import de.ovgu.featureide.fm.core.explanations.fm.impl.ParallelFeatureModelExplainer.Result;
+import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
+
+/**
+ * Tests for {@link ParallelFeatureModelExplainer}.
+ *
+ * @author agent
+ */
+public class TParallelFeatureModelExplainer {
+
+	@Test
+	public void sameExplanationsAsSequentialCreation() {
+		final IFeatureModel fm = Commons.loadTestFeatureModelFromFile("car.xml");
+		final FeatureModelAnalyzer analyzer = new FeatureModelAnalyzer(fm);
+		analyzer.analyzeFeatureModel(null);
+		analyzer.createExplanations(null);
+
+		final FeatureModelExplanationCreatorFactory factory = FeatureModelExplanationCreatorFactory.getDefault();
+		final DeadFeatureExplanationCreator deadCreator = factory.getDeadFeatureExplanationCreator();
+		deadCreator.setFeatureModel(fm);
+		final FalseOptionalFeatureExplanationCreator falseOptionalCreator = factory.getFalseOptionalFeatureExplanationCreator();
+		falseOptionalCreator.setFeatureModel(fm);
+		final RedundantConstraintExplanationCreator redundantCreator = factory.getRedundantConstraintExplanationCreator();
+		redundantCreator.setFeatureModel(fm);
+
+		int numberOfDefects = 0;
+		for (final IFeature feature : fm.getFeatures()) {
+			if (analyzer.getFeatureProperties(feature).hasStatus(FeatureStatus.DEAD)) {
+				deadCreator.setSubject(feature);
+				assertSameReasons(deadCreator.getExplanation(), analyzer.getFeatureProperties(feature).getDeadExplanation());
+				numberOfDefects++;
+			}
+			if (analyzer.getFeatureProperties(feature).hasStatus(FeatureStatus.FALSE_OPTIONAL)) {
+				falseOptionalCreator.setSubject(feature);
+				assertSameReasons(falseOptionalCreator.getExplanation(), analyzer.getFeatureProperties(feature).getFalseOptionalExplanation());
+				numberOfDefects++;
+			}
+		}
+		for (final IConstraint constraint : fm.getConstraints()) {
+			if (analyzer.getConstraintProperties(constraint).hasStatus(ConstraintStatus.REDUNDANT)) {
+				redundantCreator.setSubject(constraint);
+				assertSameReasons(redundantCreator.getExplanation(), analyzer.getConstraintProperties(constraint).getRedundantExplanation());
+				numberOfDefects++;
+			}
+		}
+		assertFalse(numberOfDefects == 0);
+	}
+
+	@Test
+	public void multipleWorkers() {
+		final IFeatureModel fm = Commons.loadTestFeatureModelFromFile("car.xml");
+		final FeatureModelExplanationCreatorFactory factory = FeatureModelExplanationCreatorFactory.getDefault();
+		final DeadFeatureExplanationCreator deadCreator = factory.getDeadFeatureExplanationCreator();
+		deadCreator.setFeatureModel(fm);
+		final FalseOptionalFeatureExplanationCreator falseOptionalCreator = factory.getFalseOptionalFeatureExplanationCreator();
+		falseOptionalCreator.setFeatureModel(fm);
+		final RedundantConstraintExplanationCreator redundantCreator = factory.getRedundantConstraintExplanationCreator();
+		redundantCreator.setFeatureModel(fm);
+
+		final ParallelFeatureModelExplainer explainer = new ParallelFeatureModelExplainer(factory, deadCreator, falseOptionalCreator, redundantCreator);
+		explainer.setThreads(3);
+		final List<IFeature> deadFeatures = Arrays.asList(fm.getFeature("Bluetooth"), fm.getFeature("Manual"), fm.getFeature("Bluetooth"));
+		explainer.addDeadFeatures(deadFeatures);
+		final Result result = LongRunningWrapper.runMethod(explainer);
+		assertNotNull(result);
+		assertEquals(2, result.getDeadFeatureExplanations().size());
+		for (final IFeature feature : deadFeatures) {
+			deadCreator.setSubject(feature);
+			assertSameReasons(deadCreator.getExplanation(), result.getDeadFeatureExplanations().get(feature));
+		}
+	}
+
+	@Test
+	public void settingsOfAnalysesCollection() {
+		final IFeatureModel fm = Commons.loadTestFeatureModelFromFile("car.xml");
+		final FeatureModelAnalyzer analyzer = new FeatureModelAnalyzer(fm);
+		final AnalysesCollection analysesCollection = analyzer.getAnalysesCollection();
+		assertEquals(ParallelFeatureModelExplainer.DEFAULT_TIMEOUT, analysesCollection.getExplanationTimeout());
+		analysesCollection.setParallelism(2);
+		analysesCollection.setExplanationTimeout(60_000);
+
+		final FeatureModelAnalyzer otherAnalyzer = new FeatureModelAnalyzer(fm);
+		otherAnalyzer.getAnalysesCollection().inheritSettings(analysesCollection);
+		assertEquals(2, otherAnalyzer.getAnalysesCollection().getParallelism());
+		assertEquals(60_000, otherAnalyzer.getAnalysesCollection().getExplanationTimeout());
+
+		analyzer.analyzeFeatureModel(null);
+		analyzer.createExplanations(null);
+		final IFeature deadFeature = fm.getFeature("Bluetooth");
+		assertTrue(analyzer.getFeatureProperties(deadFeature).hasStatus(FeatureStatus.DEAD));
+		assertNotNull(analyzer.getFeatureProperties(deadFeature).getDeadExplanation());
+	}
+
+	@Test
+	public void subjectWithoutDefect() {
+		final IFeatureModel fm = Commons.loadTestFeatureModelFromFile("car.xml");
+		final FeatureModelExplanationCreatorFactory factory = FeatureModelExplanationCreatorFactory.getDefault();
+		final DeadFeatureExplanationCreator deadCreator = factory.getDeadFeatureExplanationCreator();
+		deadCreator.setFeatureModel(fm);
+		final FalseOptionalFeatureExplanationCreator falseOptionalCreator = factory.getFalseOptionalFeatureExplanationCreator();
+		falseOptionalCreator.setFeatureModel(fm);
+		final RedundantConstraintExplanationCreator redundantCreator = factory.getRedundantConstraintExplanationCreator();
+		redundantCreator.setFeatureModel(fm);
+
+		final ParallelFeatureModelExplainer explainer = new ParallelFeatureModelExplainer(factory, deadCreator, falseOptionalCreator, redundantCreator);
+		explainer.addDeadFeatures(Arrays.asList(fm.getFeature("Bluetooth"), fm.getFeature("Car")));
+		final Result result = LongRunningWrapper.runMethod(explainer);
+		assertNotNull(result);
+		assertNotNull(result.getDeadFeatureExplanations().get(fm.getFeature("Bluetooth")));
+		assertTrue(result.getDeadFeatureExplanations().containsKey(fm.getFeature("Car")));
+		assertNull(result.getDeadFeatureExplanations().get(fm.getFeature("Car")));
+	}
+
+	private void assertSameReasons(Explanation<?> expected, Explanation<?> actual) {
+		assertNotNull(expected);
+		assertNotNull(actual);
+		assertEquals(expected.getReasons(), actual.getReasons());
+	}
+
+}
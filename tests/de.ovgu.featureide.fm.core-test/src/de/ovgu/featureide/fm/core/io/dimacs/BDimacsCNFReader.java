@@ -0,0 +1,124 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.io.dimacs;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.Random;
+
+import org.junit.Test;
+import org.prop4j.Node;
+
+import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
+import de.ovgu.featureide.fm.core.analysis.cnf.ClauseList;
+import de.ovgu.featureide.fm.core.analysis.cnf.Nodes;
+import de.ovgu.featureide.fm.core.analysis.cnf.Variables;
+
+/**
+ * This is a benchmark comparing the {@link DimacsReader}, which creates an intermediate {@link Node}, to the {@link DimacsCNFReader}. For random
+ * DIMACS files of increasing size, it prints the load times of both readers (sequentially and in parallel for the latter). The test case also checks
+ * that both readers yield the same number of clauses.
+ *
+ * @author agent
+ */
+public class BDimacsCNFReader {
+
+	/**
+	 * The sizes are kept small, as the benchmark runs with every build. For meaningful times, larger sizes (e.g., one million clauses) should be used.
+	 */
+	private static final int[] NUMBER_OF_CLAUSES = { 1_000, 10_000, 50_000 };
+
+	private static final int THREADS = Runtime.getRuntime().availableProcessors();
+
+	@Test
+	public void BCompareReaders() throws IOException, ParseException {
+		System.out.println("clauses;file size (bytes);node time (ms);direct time (ms);direct parallel time (ms)");
+		for (final int numberOfClauses : NUMBER_OF_CLAUSES) {
+			final Path file = Files.createTempFile("benchmark", ".dimacs");
+			try {
+				writeRandomCNF(file, numberOfClauses / 4, numberOfClauses);
+				// Warm up
+				readNode(file);
+				readDirect(file, 1);
+
+				final long nodeStart = System.nanoTime();
+				final CNF nodeCNF = readNode(file);
+				final long nodeTime = System.nanoTime() - nodeStart;
+
+				final long directStart = System.nanoTime();
+				final CNF directCNF = readDirect(file, 1);
+				final long directTime = System.nanoTime() - directStart;
+
+				final long parallelStart = System.nanoTime();
+				final CNF parallelCNF = readDirect(file, THREADS);
+				final long parallelTime = System.nanoTime() - parallelStart;
+
+				assertEquals(nodeCNF.getClauses().size(), directCNF.getClauses().size());
+				assertEquals(directCNF.getClauses(), parallelCNF.getClauses());
+
+				System.out.println(numberOfClauses + ";" + Files.size(file) + ";" + (nodeTime / 1000000) + ";" + (directTime / 1000000) + ";"
+					+ (parallelTime / 1000000));
+			} finally {
+				Files.deleteIfExists(file);
+			}
+		}
+	}
+
+	private static CNF readNode(Path file) throws IOException, ParseException {
+		final DimacsReader reader = new DimacsReader();
+		reader.setReadingVariableDirectory(true);
+		final Node node = reader.read(new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+		final Variables variables = new Variables(reader.getVariables());
+		final ClauseList clauses = Nodes.convertNF(variables, node, true, true);
+		return new CNF(variables, clauses);
+	}
+
+	private static CNF readDirect(Path file, int threads) throws IOException, ParseException {
+		final DimacsCNFReader reader = new DimacsCNFReader();
+		reader.setReadingVariableDirectory(true);
+		reader.setThreads(threads);
+		return reader.read(file);
+	}
+
+	private static void writeRandomCNF(Path file, int numberOfVariables, int numberOfClauses) throws IOException {
+		final Random random = new Random(0);
+		try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+			for (int i = 1; i <= numberOfVariables; i++) {
+				writer.write("c " + i + " Variable" + i + "\n");
+			}
+			writer.write("p cnf " + numberOfVariables + " " + numberOfClauses + "\n");
+			for (int i = 0; i < numberOfClauses; i++) {
+				final int clauseSize = 2 + random.nextInt(3);
+				for (int j = 0; j < clauseSize; j++) {
+					writer.write((random.nextBoolean() ? -1 : 1) * (1 + random.nextInt(numberOfVariables)) + " ");
+				}
+				writer.write("0\n");
+			}
+		}
+	}
+
+}
@@ -0,0 +1,201 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.io.dimacs;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+import org.prop4j.Literal;
+import org.prop4j.Node;
+
+import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
+
+/**
+ * Tests that the {@link DimacsCNFReader} yields the same clauses as the {@link DimacsReader}.
+ *
+ * @author agent
+ */
+public class TDimacsCNFReader {
+
+	private static final String[] INPUTS = { //
+		"p cnf 3 2\n1 -3 0\n2 3 -1 0", //
+		"p cnf 3 2\n1 -3 0\n2 3 -1 0\n", //
+		"p cnf 3 2 1 -3 0 2 3 -1 0", //
+		"p cnf 3 2\n1 -3 0\n\n\n \n \n\n2 3 -1 0", //
+		"p cnf 3 2\n1\n-3 0\n2 3 -1 0", //
+		"p\tcnf\t3\t2\n1\t-3\t0\t\n2\t3\t-1\t0", //
+		"p cnf 3 2\r\n1 -3 0\r\n2 3 -1 0\r\n", //
+		"  p cnf 3 2\n  1 -3 0\n  2 3 -1 0", //
+		"  p cnf 3 2\n    1 -3 0  \n  2 3 -1 0  ", //
+		"p\n  cnf\n    3\n    2\n  1 -3 0\n  2 3 -1 0", //
+		"c Hello!\np cnf 3 2\n1 -3 0\n2 3 -1 0", //
+		"c\nc \np cnf 3 2\n1 -3 0\n2 3 -1 0", //
+		"cWhere is my space?p cnf 3 2\n1 -3 0\n2 3 -1 0\n", //
+		"p cnf 3 2\nc middle\n1 -3 0\nc more\n2 3 -1 0\nc Bye!", //
+		"p cnf 3 2\n1 c inline\n-3 0\n2 3 -1 0", //
+		"p cnf c comment\n3 2\n1 -3 0\n2 3 -1 0", //
+		"p cnf 3 2\n1 -3 0\n2 3 -1 0\nBye, correctness!", //
+		"P cnf 3 2\n1 -3 0\n2 3 -1 0", //
+		"p CNF 3 2\n1 -3 0\n2 3 -1 0", //
+		"C comment\np cnf 3 2\n1 -3 0\n2 3 -1 0", //
+		"p cnf 3 2\n1 -3 0\n2 3 -1", //
+		"p cnf 3 2\n1 -3 0\n2 3 -1\nJust tagging along", //
+		"p cnf 3 2\n1 -3 0\n2 3 -1\nc comment", //
+		"p cnf 3 2\n1 -3 0\n2 3 -1\nc comment\nby trailing data", //
+		"cnf 3 2\n1 -3 0\n2 3 -1 0", //
+		"p 3 2\n1 -3 0\n2 3 -1 0", //
+		"p cnf 0 2\n1 -3 0\n2 3 -1 0", //
+		"p cnf -3 2\n1 -3 0\n2 3 -1 0", //
+		"p cnf 4 2\n1 -3 0\n2 3 -1 0", //
+		"p cnf 2 2\n1 -3 0\n2 3 -1 0", //
+		"p cnf 3 0\n1 -3 0\n2 3 -1 0", //
+		"p cnf 3 3\n1 -3 0\n2 3 -1 0", //
+		"p cnf 3 1\n1 -3 0\n2 3 -1 0", //
+		"", //
+		"p cnf 0 0", //
+		"1 -3 0\n2 3 -1 0", //
+		"p cnf 3 2\n1 -3 0\n2 3 -1 0\np cnf 3 2\n1 -3 0\n2 3 -1 0", //
+		"p cnf 3 2\n11 -13 0\n12 13 -11 0", //
+		"p cnf 3 2\n1 -4 0\n2 4 -1 0", //
+		"p cnf 1 2\n1 -1 0\n1 1 -1 0", //
+		"p cnf 3 3\n1 -3 0\n0\n2 3 -1 0", //
+		"p cnf 3 2\n1 -3 0\n2 3 -1 -0", //
+		"p cnf 3 2\n1 -3 0\n2 3 -1x 0", //
+		"p cnf 3 2\n1 -3 0\n2 3 99999999999 0", //
+		"c 1 Foo\nc 2 Bar\nc 3 Baz\np cnf 3 2\n1 -3 0\n2 3 -1 0", //
+		"c 1 Variable\twith\twhitespace\nc 2  \nc 3   Surrounding whitespace  \np cnf 3 2\n1 -3 0\n2 3 -1 0", //
+		"c 1\nc 2 \nc\t\t3 c 3 Foo\np cnf 3 2\n1 -3 0\n2 3 -1 0", //
+		"c 3 Baz\nc 2 Bar\nc 1 Foo\np cnf 3 2\n1 -3 0\n2 3 -1 0", //
+		"c 1 Foo\nc 1 Overwritten\nc 2 Bar\nc 3 Baz\np cnf 3 2\n1 -3 0\n2 3 -1 0", //
+		"p cnf 3 2\nc 1 Foo\nc 2 Bar\nc 3 Baz\n1 -3 0\n2 3 -1 0", //
+		"c 1 Foo\nc 2 Bar\np cnf 3 2\nc 3 Baz\n1 -3 0\n2 3 -1 0", //
+		"c 1 Foo\nc 2 Bar\np cnf 3 2\n1 -3 0\nc 3 Baz\n2 3 -1 0", //
+		"c 1 Föö\nc 2 Bar\nc 3 Baz\np cnf 3 2\n1 -3 0\n2 3 -1 0", //
+	};
+
+	@Test
+	public void testSameResult() {
+		for (final String input : INPUTS) {
+			for (final boolean readVariableDirectory : new boolean[] { false, true }) {
+				final String message = input.replace("\n", "\\n") + " (variable directory: " + readVariableDirectory + ")";
+
+				List<List<String>> expected = null;
+				ParseException expectedException = null;
+				try {
+					final DimacsReader reader = new DimacsReader();
+					reader.setReadingVariableDirectory(readVariableDirectory);
+					expected = toNames(reader.read(input));
+				} catch (final ParseException e) {
+					expectedException = e;
+				} catch (final Exception e) {
+					throw new AssertionError(message, e);
+				}
+
+				List<List<String>> actual = null;
+				ParseException actualException = null;
+				try {
+					final DimacsCNFReader reader = new DimacsCNFReader();
+					reader.setReadingVariableDirectory(readVariableDirectory);
+					actual = toNames(reader.read(input));
+				} catch (final ParseException e) {
+					actualException = e;
+				}
+
+				if (expectedException != null) {
+					// Messages and offsets may differ, as the DimacsReader reports errors when a clause is complete
+					assertNotNull(message, actualException);
+				} else {
+					assertNull(message, actualException);
+					assertEquals(message, expected, actual);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testParallel() throws ParseException {
+		final int numberOfVariables = 10_000;
+		final int numberOfClauses = 200_000;
+		final Random random = new Random(0);
+		final StringBuilder sb = new StringBuilder();
+		for (int i = 1; i <= numberOfVariables; i++) {
+			sb.append("c ").append(i).append(" Variable").append(i).append('\n');
+		}
+		sb.append("p cnf ").append(numberOfVariables).append(' ').append(numberOfClauses).append('\n');
+		for (int i = 0; i < numberOfClauses; i++) {
+			final int clauseSize = 1 + random.nextInt(4);
+			for (int j = 0; j < clauseSize; j++) {
+				sb.append(random.nextBoolean() ? "" : "-").append(1 + random.nextInt(numberOfVariables));
+				// Some clauses span multiple lines
+				sb.append(random.nextInt(20) == 0 ? '\n' : ' ');
+			}
+			sb.append("0\n");
+			if (random.nextInt(1000) == 0) {
+				sb.append("c comment\n");
+			}
+		}
+		final String input = sb.toString();
+
+		final DimacsCNFReader reader = new DimacsCNFReader();
+		reader.setReadingVariableDirectory(true);
+		final CNF sequential = reader.read(input);
+		reader.setThreads(4);
+		final CNF parallel = reader.read(input);
+
+		assertEquals(numberOfClauses, sequential.getClauses().size());
+		assertEquals(sequential.getVariables(), parallel.getVariables());
+		assertEquals(sequential.getClauses(), parallel.getClauses());
+	}
+
+	private static List<List<String>> toNames(Node node) {
+		final List<List<String>> clauses = new ArrayList<>();
+		for (final Node clause : node.getChildren()) {
+			final List<String> literals = new ArrayList<>();
+			for (final Node child : clause.getChildren()) {
+				final Literal literal = (Literal) child;
+				literals.add((literal.positive ? "" : "-") + literal.var);
+			}
+			clauses.add(literals);
+		}
+		return clauses;
+	}
+
+	private static List<List<String>> toNames(CNF cnf) {
+		final List<List<String>> clauses = new ArrayList<>();
+		for (final LiteralSet clause : cnf.getClauses()) {
+			final List<String> literals = new ArrayList<>();
+			for (final int literal : clause.getLiterals()) {
+				literals.add((literal > 0 ? "" : "-") + cnf.getVariables().getName(literal));
+			}
+			clauses.add(literals);
+		}
+		return clauses;
+	}
+
+}
@@ -0,0 +1,131 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.io.manager;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import de.ovgu.featureide.Commons;
+import de.ovgu.featureide.fm.core.base.IFeature;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.base.impl.FMFactoryManager;
+
+/**
+ * Tests loading, saving, and snapshots of the {@link FeatureModelManager}.
+ *
+ * @author agent
+ */
+public class TFeatureModelManager {
+
+	private Path folder;
+	private Path file;
+	private FeatureModelManager manager;
+
+	@Before
+	public void createModelFile() throws IOException {
+		folder = Files.createTempDirectory("fm");
+		file = folder.resolve("model.xml");
+		Files.copy(Paths.get(Commons.getRemoteOrLocalFolder("testFeatureModels/gpl_medium_model.xml").getPath()), file);
+		manager = FeatureModelManager.getInstance(file);
+		assertNotNull(manager);
+	}
+
+	@After
+	public void deleteModelFile() throws IOException {
+		manager.dispose();
+		Files.deleteIfExists(file);
+		Files.deleteIfExists(folder);
+	}
+
+	@Test
+	public void testLoad() {
+		assertFalse(manager.getLastProblems().containsError());
+		final IFeatureModel persistentObject = manager.getObject();
+		final IFeatureModel variableObject = manager.getVarObject();
+		assertNotSame(persistentObject, variableObject);
+		assertEquals(variableObject.getNumberOfFeatures(), persistentObject.getNumberOfFeatures());
+		assertEquals(variableObject.getConstraintCount(), persistentObject.getConstraintCount());
+		for (final IFeature feature : variableObject.getFeatures()) {
+			final IFeature persistentFeature = persistentObject.getFeature(feature.getName());
+			assertNotNull(persistentFeature);
+			assertNotSame(feature, persistentFeature);
+			assertSame(persistentObject, persistentFeature.getFeatureModel());
+		}
+		assertEquals(file, persistentObject.getSourceFile());
+	}
+
+	@Test
+	public void testSave() {
+		manager.editObject(fm -> addFeature(fm, "NewFeature"), FeatureModelManager.CHANGE_ALL);
+		assertTrue(manager.hasChanged());
+		assertFalse(manager.save().containsError());
+		assertFalse(manager.hasChanged());
+		assertNotNull(manager.getObject().getFeature("NewFeature"));
+		assertNotSame(manager.getVarObject(), manager.getObject());
+
+		manager.editObject(fm -> addFeature(fm, "OtherFeature"), FeatureModelManager.CHANGE_ALL);
+		assertTrue(manager.hasChanged());
+		assertEquals(null, manager.getObject().getFeature("OtherFeature"));
+		manager.overwrite();
+		assertEquals(null, manager.getVarObject().getFeature("OtherFeature"));
+		assertFalse(manager.hasChanged());
+	}
+
+	@Test
+	public void testSnapshot() {
+		final IFeatureModel snapshot = manager.getSnapshot();
+		assertNotSame(manager.getVarObject(), snapshot);
+		assertSame(snapshot, manager.getSnapshot());
+
+		manager.editObject(fm -> {}, FeatureModelManager.CHANGE_NOTHING);
+		assertSame(snapshot, manager.getSnapshot());
+
+		manager.editObject(fm -> fm.getProperty().set("key", "type", "value"), FeatureModelManager.CHANGE_MODEL_PROPERTY);
+		assertSame(snapshot, manager.getSnapshot());
+		assertEquals("value", snapshot.getProperty().get("key", "type"));
+
+		manager.editObject(fm -> addFeature(fm, "NewFeature"), FeatureModelManager.CHANGE_ALL);
+		final IFeatureModel newSnapshot = manager.getSnapshot();
+		assertNotSame(snapshot, newSnapshot);
+		assertEquals(null, snapshot.getFeature("NewFeature"));
+		assertNotNull(newSnapshot.getFeature("NewFeature"));
+	}
+
+	private void addFeature(IFeatureModel featureModel, String name) {
+		final IFeature feature = FMFactoryManager.getInstance().getFactory(featureModel).createFeature(featureModel, name);
+		featureModel.addFeature(feature);
+		featureModel.getStructure().getRoot().addChild(feature.getStructure());
+	}
+
+}
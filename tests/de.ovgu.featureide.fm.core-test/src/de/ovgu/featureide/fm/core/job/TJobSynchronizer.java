@@ -0,0 +1,109 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.job;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link JobSynchronizer}.
+ *
+ * @author agent
+ */
+public class TJobSynchronizer {
+
+	private static final long TIMEOUT = 10_000;
+
+	private static void awaitFinished(JobToken token, long expectedFinishedJobs) throws InterruptedException {
+		final long end = System.currentTimeMillis() + TIMEOUT;
+		final JobMetrics metrics = token.getMetrics();
+		while ((metrics.getCompleted() + metrics.getCancelled()) < expectedFinishedJobs) {
+			assertTrue("Timeout", System.currentTimeMillis() < end);
+			Thread.sleep(10);
+		}
+	}
+
+	@Test
+	public void debounceBurst() throws InterruptedException {
+		final JobToken token = LongRunningWrapper.createToken(JobStartingStrategy.CANCEL_WAIT, 200);
+		final List<Integer> executedJobs = new CopyOnWriteArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			final int id = i;
+			LongRunningWrapper.startJob(token, LongRunningWrapper.getThread(monitor -> executedJobs.add(id)));
+		}
+		awaitFinished(token, 5);
+
+		assertEquals(Collections.singletonList(4), executedJobs);
+		assertEquals(5, token.getMetrics().getQueued());
+		assertEquals(4, token.getMetrics().getCancelled());
+		assertEquals(1, token.getMetrics().getCompleted());
+	}
+
+	@Test
+	public void cancelRunningJob() throws InterruptedException {
+		final JobToken token = LongRunningWrapper.createToken(JobStartingStrategy.CANCEL_WAIT);
+		final CountDownLatch started = new CountDownLatch(1);
+		final List<Integer> executedJobs = new CopyOnWriteArrayList<>();
+		LongRunningWrapper.startJob(token, LongRunningWrapper.getThread(monitor -> {
+			started.countDown();
+			while (true) {
+				monitor.checkCancel();
+				Thread.sleep(1);
+			}
+		}));
+		assertTrue(started.await(TIMEOUT, TimeUnit.MILLISECONDS));
+		LongRunningWrapper.startJob(token, LongRunningWrapper.getThread(monitor -> executedJobs.add(1)));
+		awaitFinished(token, 2);
+
+		assertEquals(Collections.singletonList(1), executedJobs);
+		assertEquals(2, token.getMetrics().getQueued());
+		assertEquals(1, token.getMetrics().getCancelled());
+		assertEquals(1, token.getMetrics().getCompleted());
+	}
+
+	@Test
+	public void waitForJobs() throws InterruptedException {
+		final JobToken token = LongRunningWrapper.createToken(JobStartingStrategy.WAIT);
+		final List<Integer> executedJobs = new CopyOnWriteArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			final int id = i;
+			LongRunningWrapper.startJob(token, LongRunningWrapper.getThread(monitor -> {
+				Thread.sleep(20);
+				return executedJobs.add(id);
+			}));
+		}
+		awaitFinished(token, 3);
+
+		assertEquals(Arrays.asList(0, 1, 2), executedJobs);
+		assertEquals(3, token.getMetrics().getCompleted());
+		assertTrue(token.getMetrics().getWallTime() > 0);
+	}
+
+}
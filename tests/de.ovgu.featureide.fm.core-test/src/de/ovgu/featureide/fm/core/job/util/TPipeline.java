@@ -0,0 +1,225 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.job.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import de.ovgu.featureide.fm.core.job.util.Pipeline.StageMetrics;
+
+/**
+ * Tests for {@link Pipeline}.
+ *
+ * @author agent
+ */
+public class TPipeline {
+
+	private static final long TIMEOUT = 10_000;
+
+	private static final class Element {
+
+		private final int id;
+		private final List<String> stages = new CopyOnWriteArrayList<>();
+
+		private Element(int id) {
+			this.id = id;
+		}
+	}
+
+	@Test
+	public void allElementsPassAllStages() throws InterruptedException {
+		final List<Element> finishedElements = new CopyOnWriteArrayList<>();
+		final Pipeline<Element> pipeline = new Pipeline<>(2);
+		for (final String name : Arrays.asList("A", "B", "C")) {
+			pipeline.addStage(name, 3, nr -> element -> element.stages.add(name));
+		}
+		pipeline.setElementListener(finishedElements::add);
+		pipeline.start();
+		for (int i = 0; i < 200; i++) {
+			assertTrue(pipeline.put(new Element(i)));
+		}
+		pipeline.finish();
+		assertTrue("Timeout", pipeline.awaitTermination(TIMEOUT, TimeUnit.MILLISECONDS));
+
+		assertEquals(200, finishedElements.size());
+		final List<Integer> ids = new ArrayList<>();
+		for (final Element element : finishedElements) {
+			assertEquals(Arrays.asList("A", "B", "C"), element.stages);
+			ids.add(element.id);
+		}
+		Collections.sort(ids);
+		for (int i = 0; i < ids.size(); i++) {
+			assertEquals(i, ids.get(i).intValue());
+		}
+		for (final StageMetrics metrics : pipeline.getMetrics()) {
+			assertEquals(200, metrics.getProcessed());
+			assertEquals(0, metrics.getFailed());
+			assertEquals(0, metrics.getQueueSize());
+		}
+		assertFalse(pipeline.put(new Element(200)));
+	}
+
+	@Test
+	public void backPressure() throws InterruptedException {
+		final CountDownLatch release = new CountDownLatch(1);
+		final List<Element> finishedElements = new CopyOnWriteArrayList<>();
+		final Pipeline<Element> pipeline = new Pipeline<>(2);
+		pipeline.addStage("Fast", 1, nr -> element -> {});
+		pipeline.addStage("Slow", 1, nr -> element -> release.await());
+		pipeline.setElementListener(finishedElements::add);
+		pipeline.start();
+
+		int accepted = 0;
+		while (pipeline.offer(new Element(accepted), 200, TimeUnit.MILLISECONDS)) {
+			accepted++;
+			assertTrue("No back-pressure", accepted <= 10);
+		}
+		// two queues with two elements each, one element in each stage
+		assertEquals(6, accepted);
+		assertTrue(pipeline.getMetrics().get(0).getBlockedTime() > 0);
+
+		release.countDown();
+		pipeline.finish();
+		assertTrue("Timeout", pipeline.awaitTermination(TIMEOUT, TimeUnit.MILLISECONDS));
+		assertEquals(accepted, finishedElements.size());
+	}
+
+	@Test
+	public void failedElementsAreNotPassedOn() throws InterruptedException {
+		final List<Element> finishedElements = new CopyOnWriteArrayList<>();
+		final List<Element> failedElements = new CopyOnWriteArrayList<>();
+		final Pipeline<Element> pipeline = new Pipeline<>(4);
+		pipeline.addStage("Check", 2, nr -> element -> {
+			if ((element.id % 2) == 1) {
+				throw new IllegalArgumentException();
+			}
+		});
+		pipeline.addStage("Collect", 2, nr -> element -> element.stages.add("Collect"));
+		pipeline.setElementListener(finishedElements::add);
+		pipeline.setErrorHandler((stageName, element, exception) -> {
+			assertEquals("Check", stageName);
+			failedElements.add(element);
+		});
+		pipeline.start();
+		for (int i = 0; i < 50; i++) {
+			pipeline.put(new Element(i));
+		}
+		pipeline.finish();
+		assertTrue("Timeout", pipeline.awaitTermination(TIMEOUT, TimeUnit.MILLISECONDS));
+
+		assertEquals(25, finishedElements.size());
+		assertEquals(25, failedElements.size());
+		for (final Element element : finishedElements) {
+			assertEquals(0, element.id % 2);
+		}
+		assertEquals(25, pipeline.getMetrics().get(0).getFailed());
+		assertEquals(25, pipeline.getMetrics().get(1).getProcessed());
+	}
+
+	@Test
+	public void finishAsync() throws InterruptedException {
+		final CountDownLatch release = new CountDownLatch(1);
+		final List<Element> finishedElements = new CopyOnWriteArrayList<>();
+		final Pipeline<Element> pipeline = new Pipeline<>(1);
+		pipeline.addStage("Slow", 1, nr -> element -> release.await());
+		pipeline.setElementListener(finishedElements::add);
+		pipeline.start();
+
+		// Does not block, although the elements do not fit into the pipeline
+		pipeline.finishAsync(() -> {
+			for (int i = 0; i < 10; i++) {
+				try {
+					assertTrue(pipeline.put(new Element(i)));
+				} catch (final InterruptedException e) {
+					throw new AssertionError(e);
+				}
+			}
+		});
+		assertFalse(pipeline.awaitTermination(100, TimeUnit.MILLISECONDS));
+
+		release.countDown();
+		assertTrue("Timeout", pipeline.awaitTermination(TIMEOUT, TimeUnit.MILLISECONDS));
+		assertTrue(pipeline.isFinished());
+		assertEquals(10, finishedElements.size());
+	}
+
+	@Test
+	public void cancelFinishAsync() throws InterruptedException {
+		final CountDownLatch started = new CountDownLatch(1);
+		final AtomicInteger accepted = new AtomicInteger();
+		final Pipeline<Element> pipeline = new Pipeline<>(1);
+		pipeline.addStage("Blocking", 1, nr -> element -> new CountDownLatch(1).await());
+		pipeline.start();
+
+		pipeline.finishAsync(() -> {
+			started.countDown();
+			for (int i = 0; i < 10; i++) {
+				try {
+					if (!pipeline.put(new Element(i))) {
+						return;
+					}
+					accepted.incrementAndGet();
+				} catch (final InterruptedException e) {
+					return;
+				}
+			}
+		});
+		assertTrue("Timeout", started.await(TIMEOUT, TimeUnit.MILLISECONDS));
+
+		pipeline.cancel();
+		assertTrue("Timeout", pipeline.awaitTermination(TIMEOUT, TimeUnit.MILLISECONDS));
+		// one element in the queue and one in the stage
+		assertTrue(accepted.get() <= 2);
+	}
+
+	@Test
+	public void cancel() throws InterruptedException {
+		final CountDownLatch started = new CountDownLatch(1);
+		final Pipeline<Element> pipeline = new Pipeline<>(2);
+		pipeline.addStage("Blocking", 2, nr -> element -> {
+			started.countDown();
+			new CountDownLatch(1).await();
+		});
+		pipeline.start();
+		pipeline.put(new Element(0));
+		pipeline.put(new Element(1));
+		assertTrue("Timeout", started.await(TIMEOUT, TimeUnit.MILLISECONDS));
+
+		pipeline.cancel();
+		assertTrue("Timeout", pipeline.awaitTermination(TIMEOUT, TimeUnit.MILLISECONDS));
+		assertTrue(pipeline.isCancelled());
+		assertFalse(pipeline.put(new Element(2)));
+		assertEquals(0, pipeline.getMetrics().get(0).getFailed());
+	}
+
+}
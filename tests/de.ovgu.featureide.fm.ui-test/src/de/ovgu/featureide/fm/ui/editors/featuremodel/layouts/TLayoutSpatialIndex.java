@@ -0,0 +1,122 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.ui.editors.featuremodel.layouts;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.eclipse.draw2d.geometry.Point;
+import org.eclipse.draw2d.geometry.Rectangle;
+import org.junit.Test;
+
+/**
+ * Tests the {@link LayoutSpatialIndex} against a linear scan over all elements and connections.
+ *
+ * @author agent
+ */
+public class TLayoutSpatialIndex {
+
+	@Test
+	public void testElements() {
+		final LayoutSpatialIndex<String> index = new LayoutSpatialIndex<>(50);
+		index.put("A", new Rectangle(0, 0, 40, 20));
+		index.put("B", new Rectangle(120, 10, 200, 20));
+
+		assertTrue(index.intersects(new Rectangle(30, 10, 5, 5)));
+		assertTrue(index.intersects(new Rectangle(290, 25, 100, 100)));
+		assertFalse(index.intersects(new Rectangle(50, 0, 60, 60)));
+		assertFalse(index.intersects(new Rectangle(0, 0, 0, 0)));
+		assertEquals(2, index.getElements(new Rectangle(-10, -10, 500, 50)).size());
+		assertEquals("B", index.getElementAt(new Point(300, 15)));
+		assertNull(index.getElementAt(new Point(100, 15)));
+
+		// moving an element removes it from its old cells
+		index.put("B", new Rectangle(500, 500, 20, 20));
+		assertEquals(2, index.size());
+		assertNull(index.getElementAt(new Point(300, 15)));
+		assertEquals("B", index.getElementAt(new Point(510, 510)));
+
+		assertTrue(index.remove("A"));
+		assertFalse(index.remove("A"));
+		assertFalse(index.intersects(new Rectangle(30, 10, 5, 5)));
+	}
+
+	@Test
+	public void testSegments() {
+		final LayoutSpatialIndex<String> index = new LayoutSpatialIndex<>(50);
+		index.addSegment(new Point(0, 0), new Point(400, 400));
+
+		assertTrue(index.intersects(new Rectangle(190, 190, 20, 20)));
+		assertTrue(index.intersects(new Rectangle(390, 390, 50, 50)));
+		assertFalse(index.intersects(new Rectangle(300, 0, 100, 100)));
+		assertFalse(index.intersects(new Rectangle(0, 300, 100, 100)));
+		assertTrue(index.getElements(new Rectangle(190, 190, 20, 20)).isEmpty());
+	}
+
+	@Test
+	public void testRandom() {
+		final Random random = new Random(0);
+		for (int i = 0; i < 50; i++) {
+			final LayoutSpatialIndex<Integer> index = new LayoutSpatialIndex<>(16 + random.nextInt(200));
+			final List<Rectangle> elements = new ArrayList<>();
+			final List<Point[]> segments = new ArrayList<>();
+			for (int j = 0; j < 50; j++) {
+				final Rectangle bounds =
+					new Rectangle(random.nextInt(2000) - 500, random.nextInt(2000) - 500, 1 + random.nextInt(150), 1 + random.nextInt(40));
+				elements.add(bounds);
+				index.put(j, bounds);
+			}
+			for (int j = 0; j < 30; j++) {
+				final Point source = new Point(random.nextInt(2000) - 500, random.nextInt(2000) - 500);
+				final Point target = new Point(random.nextInt(2000) - 500, random.nextInt(2000) - 500);
+				segments.add(new Point[] { source, target });
+				index.addSegment(source, target);
+			}
+
+			for (int j = 0; j < 100; j++) {
+				final Rectangle rect =
+					new Rectangle(random.nextInt(2200) - 600, random.nextInt(2200) - 600, 1 + random.nextInt(300), 1 + random.nextInt(300));
+				final Set<Integer> expectedElements = new HashSet<>();
+				for (int k = 0; k < elements.size(); k++) {
+					if (elements.get(k).intersects(rect)) {
+						expectedElements.add(k);
+					}
+				}
+				boolean expected = !expectedElements.isEmpty();
+				for (final Point[] segment : segments) {
+					expected |= LayoutSpatialIndex.intersects(segment[0].x, segment[0].y, segment[1].x, segment[1].y, rect.x, rect.y, rect.right(),
+							rect.bottom());
+				}
+				assertEquals(expected, index.intersects(rect));
+				assertEquals(expectedElements, index.getElements(rect));
+			}
+		}
+	}
+
+}